@@ -0,0 +1,32 @@
+package io.hd.springcache.application;
+
+import io.hd.springcache.domain.Goods;
+import io.hd.springcache.domain.GoodsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.NoSuchElementException;
+
+@Service
+@RequiredArgsConstructor
+public class GoodsService {
+
+    private final GoodsRepository goodsRepository;
+
+    // sync = true: 같은 노드에서 같은 상품을 동시에 읽으면 L2/DB 조회를 한 번으로 묶는다
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "goods", key = "#id", sync = true)
+    public Goods getGoods(Long id) {
+        return goodsRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Goods not found: " + id));
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = "goods", key = "#id")
+    public void deleteGoods(Long id) {
+        goodsRepository.deleteById(id);
+    }
+}
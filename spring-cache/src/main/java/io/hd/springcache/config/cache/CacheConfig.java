@@ -1,35 +1,42 @@
 package io.hd.springcache.config.cache;
 
+import io.hd.springcache.config.cache.invalidation.CacheInvalidationPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.jcache.JCacheCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 
-import javax.cache.Caching;
-import javax.cache.spi.CachingProvider;
-import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @EnableCaching
 @Configuration
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        try {
-            CachingProvider cachingProvider = Caching.getCachingProvider();
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                     MeterRegistry meterRegistry,
+                                     CacheInvalidationPublisher invalidationPublisher,
+                                     @Value("${cache.redis.key-prefix:spring-cache:}") String keyPrefix) {
+        // L2: 노드 간에 공유하는 Redis 캐시 (CacheType의 만료 시간을 그대로 사용)
+        Map<String, RedisCacheConfiguration> configurations = Arrays.stream(CacheType.values())
+                .collect(Collectors.toMap(CacheType::getCacheName, cacheType -> RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofSeconds(cacheType.getExpiredAfterWrite()))
+                        .prefixCacheNameWith(keyPrefix)));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .withInitialCacheConfigurations(configurations)
+                .disableCreateOnMissingCache()
+                .build();
+        redisCacheManager.initializeCaches();
 
-            ClassPathResource configResource = new ClassPathResource("ehcache.xml");
-            URI uri = configResource.getURI();
-            
-            javax.cache.CacheManager jCacheManager = cachingProvider.getCacheManager(
-                    uri, 
-                    getClass().getClassLoader());
-
-            return new JCacheCacheManager(jCacheManager);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to initialize EhCache manager", e);
-        }
+        // L1: 노드별 Caffeine 캐시 (CacheType의 만료 시간과 최대 크기, 다른 노드의 변경은 무효화 메시지로 반영)
+        return new TieredCacheManager(redisCacheManager, meterRegistry, invalidationPublisher);
     }
 }
@@ -0,0 +1,266 @@
+package io.hd.springcache.config.cache;
+
+import io.hd.springcache.config.cache.invalidation.CacheInvalidationPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 노드별 L1 캐시와 노드 간에 공유하는 L2 캐시를 하나로 묶은 캐시.
+ *
+ * - 조회: L1 → L2 → (get(key, loader)인 경우) 원본 순서로 찾고, L2에서 찾은 값은 L1으로 올린다.
+ * - 저장: L2에 먼저 쓰고 L1에 쓴다. (write-through)
+ * - 삭제: L2와 L1에서 모두 지운다.
+ *
+ * 저장과 삭제는 CacheInvalidationPublisher로 다른 노드에 알려 그 노드의 L1에서도 지운다. (evictLocal, clearLocal)
+ * 발행기가 없으면 다른 노드의 L1은 자기 TTL이 지나야 만료된다.
+ *
+ * L2 조회가 실패하면(Redis 장애 등) 미스로 보고 원본을 읽으므로 L2 장애가 요청 실패로 이어지지 않는다.
+ * L2 저장과 삭제가 실패해도 예외를 던지지 않고, L1은 지우고 다른 노드에도 알려 오래된 값이 남지 않게 한다.
+ * 레벨별 조회 결과는 cache.tiered.gets{cache, level, result} 카운터로 남긴다. (L2 저장, 삭제 실패도 level=l2, result=error)
+ */
+@Slf4j
+public class TieredCache implements Cache {
+
+    private final String name;
+    private final Cache l1;
+    private final Cache l2;
+    private final CacheInvalidationPublisher publisher;
+
+    private final Counter l1Hit;
+    private final Counter l1Miss;
+    private final Counter l2Hit;
+    private final Counter l2Miss;
+    private final Counter l2Error;
+
+    public TieredCache(String name, Cache l1, Cache l2, MeterRegistry meterRegistry) {
+        this(name, l1, l2, meterRegistry, null);
+    }
+
+    public TieredCache(String name, Cache l1, Cache l2, MeterRegistry meterRegistry,
+                       CacheInvalidationPublisher publisher) {
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.publisher = publisher;
+        this.l1Hit = counter(meterRegistry, "l1", "hit");
+        this.l1Miss = counter(meterRegistry, "l1", "miss");
+        this.l2Hit = counter(meterRegistry, "l2", "hit");
+        this.l2Miss = counter(meterRegistry, "l2", "miss");
+        this.l2Error = counter(meterRegistry, "l2", "error");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = l1.get(key);
+        if (value != null) {
+            l1Hit.increment();
+            return value;
+        }
+        l1Miss.increment();
+
+        value = getFromL2(key);
+        if (value != null) {
+            // 다음 조회부터는 이 노드에서 바로 응답
+            l1.put(key, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) {
+            return null;
+        }
+        Object stored = value.get();
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + stored);
+        }
+        return (T) stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = l1.get(key);
+        if (value != null) {
+            l1Hit.increment();
+            return (T) value.get();
+        }
+        l1Miss.increment();
+
+        // 같은 노드에서 같은 키를 동시에 읽으면 L1이 한 번만 L2와 원본을 읽도록 묶어 준다 (@Cacheable(sync = true))
+        return l1.get(key, () -> {
+            ValueWrapper shared = getFromL2(key);
+            if (shared != null) {
+                return (T) shared.get();
+            }
+            T loaded = valueLoader.call();
+            putToL2(key, loaded);
+            return loaded;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        try {
+            l2.put(key, value);
+            l1.put(key, value);
+        } catch (DataAccessException e) {
+            // L2에 없는 값을 이 노드에만 남기지 않도록 L1도 지운다
+            l2WriteFailed("put", key, e);
+            l1.evict(key);
+        }
+        publishEvict(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing;
+        try {
+            existing = l2.putIfAbsent(key, value);
+        } catch (DataAccessException e) {
+            // 기존 값을 알 수 없으므로 L1을 지우고 다음 조회가 다시 읽게 한다
+            l2WriteFailed("putIfAbsent", key, e);
+            l1.evict(key);
+            publishEvict(key);
+            return null;
+        }
+        l1.put(key, existing != null ? existing.get() : value);
+        if (existing == null) {
+            publishEvict(key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            l2.evict(key);
+        } catch (DataAccessException e) {
+            l2WriteFailed("evict", key, e);
+        }
+        l1.evict(key);
+        publishEvict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean l2Present = false;
+        try {
+            l2Present = l2.evictIfPresent(key);
+        } catch (DataAccessException e) {
+            l2WriteFailed("evictIfPresent", key, e);
+        }
+        boolean l1Present = l1.evictIfPresent(key);
+        // 이 노드의 L1에 없더라도 다른 노드의 L1에는 남아 있을 수 있음
+        publishEvict(key);
+        return l2Present || l1Present;
+    }
+
+    @Override
+    public void clear() {
+        try {
+            l2.clear();
+        } catch (DataAccessException e) {
+            l2WriteFailed("clear", null, e);
+        }
+        l1.clear();
+        publishClear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean l2Present = false;
+        try {
+            l2Present = l2.invalidate();
+        } catch (DataAccessException e) {
+            l2WriteFailed("invalidate", null, e);
+        }
+        boolean l1Present = l1.invalidate();
+        publishClear();
+        return l2Present || l1Present;
+    }
+
+    /**
+     * 다른 노드의 무효화를 반영한다. 공유 L2는 보낸 노드가 이미 지웠으므로 이 노드의 L1만 지운다.
+     */
+    public void evictLocal(Object key) {
+        l1.evict(key);
+    }
+
+    public void clearLocal() {
+        l1.clear();
+    }
+
+    public Cache getL1() {
+        return l1;
+    }
+
+    public Cache getL2() {
+        return l2;
+    }
+
+    private void publishEvict(Object key) {
+        if (publisher != null) {
+            publisher.evict(name, key);
+        }
+    }
+
+    private void publishClear() {
+        if (publisher != null) {
+            publisher.clear(name);
+        }
+    }
+
+    private ValueWrapper getFromL2(Object key) {
+        ValueWrapper value;
+        try {
+            value = l2.get(key);
+        } catch (DataAccessException e) {
+            l2Error.increment();
+            log.warn("L2 cache read failed, treating as miss. cache={}, key={}", name, key, e);
+            return null;
+        }
+        (value != null ? l2Hit : l2Miss).increment();
+        return value;
+    }
+
+    private void putToL2(Object key, Object value) {
+        try {
+            l2.put(key, value);
+        } catch (DataAccessException e) {
+            // 원본에서 읽은 값은 그대로 응답하고, 다른 노드는 다음 미스 때 다시 읽는다
+            l2WriteFailed("put after load", key, e);
+        }
+    }
+
+    private void l2WriteFailed(String operation, Object key, DataAccessException e) {
+        l2Error.increment();
+        log.warn("L2 cache {} failed. cache={}, key={}", operation, name, key, e);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("cache.tiered.gets")
+                .tag("cache", name)
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package io.hd.springcache.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.hd.springcache.config.cache.invalidation.CacheInvalidationPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * CacheType에 선언된 캐시마다 Caffeine L1과 공유 L2를 묶은 TieredCache를 만드는 CacheManager.
+ * L1의 만료 시간과 최대 크기는 CacheType을 따르고, L2는 주어진 CacheManager에서 같은 이름의 캐시를 가져온다.
+ * 저장과 삭제는 CacheInvalidationPublisher로 다른 노드의 L1에 알린다.
+ */
+public class TieredCacheManager extends AbstractCacheManager {
+
+    private final CacheManager l2CacheManager;
+    private final MeterRegistry meterRegistry;
+    private final CacheInvalidationPublisher publisher;
+
+    public TieredCacheManager(CacheManager l2CacheManager, MeterRegistry meterRegistry,
+                              CacheInvalidationPublisher publisher) {
+        this.l2CacheManager = l2CacheManager;
+        this.meterRegistry = meterRegistry;
+        this.publisher = publisher;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return Arrays.stream(CacheType.values())
+                .map(this::createCache)
+                .toList();
+    }
+
+    private TieredCache createCache(CacheType cacheType) {
+        CaffeineCache l1 = new CaffeineCache(cacheType.getCacheName(), Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(cacheType.getExpiredAfterWrite()))
+                .maximumSize(cacheType.getMaximumSize())
+                .build());
+        Cache l2 = l2CacheManager.getCache(cacheType.getCacheName());
+        if (l2 == null) {
+            throw new IllegalStateException("No L2 cache for " + cacheType.getCacheName());
+        }
+        return new TieredCache(cacheType.getCacheName(), l1, l2, meterRegistry, publisher);
+    }
+}
@@ -0,0 +1,90 @@
+package io.hd.springcache.config.cache.invalidation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hd.springcache.config.cache.TieredCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 다른 노드가 발행한 무효화 메시지를 이 노드의 CacheManager 캐시에 반영하는 리스너.
+ * TieredCache는 공유 L2를 보낸 노드가 이미 지웠으므로 이 노드의 L1만 지우고, 그 밖의 캐시는 evict/clear를 그대로 호출한다.
+ */
+@Slf4j
+public class CacheInvalidationListener implements MessageListener {
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+
+    private final Counter appliedCounter;
+
+    public CacheInvalidationListener(CacheManager cacheManager, ObjectMapper objectMapper, String nodeId,
+                                     MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.nodeId = nodeId;
+        this.appliedCounter = Counter.builder("cache.invalidation.applied")
+                .description("다른 노드에서 받아 반영한 무효화 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), CacheInvalidationMessage.class);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed cache invalidation message", e);
+            return;
+        }
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+
+        for (String cacheName : invalidation.cleared()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                clearLocal(cache);
+                appliedCounter.increment();
+            }
+        }
+        for (Map.Entry<String, Set<String>> entry : invalidation.keys().entrySet()) {
+            Cache cache = cacheManager.getCache(entry.getKey());
+            if (cache == null) {
+                continue;
+            }
+            for (String encoded : entry.getValue()) {
+                try {
+                    evictLocal(cache, CacheKeyCodec.decode(encoded));
+                    appliedCounter.increment();
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring invalid cache key. cache={}, key={}", entry.getKey(), encoded);
+                }
+            }
+        }
+    }
+
+    private static void evictLocal(Cache cache, Object key) {
+        if (cache instanceof TieredCache tieredCache) {
+            tieredCache.evictLocal(key);
+        } else {
+            cache.evict(key);
+        }
+    }
+
+    private static void clearLocal(Cache cache) {
+        if (cache instanceof TieredCache tieredCache) {
+            tieredCache.clearLocal();
+        } else {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.hd.springcache.config.cache.invalidation;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 한 번의 묶음 구간 동안 한 노드에서 일어난 캐시 무효화.
+ *
+ * @param origin 무효화를 보낸 노드 (자기 메시지는 무시)
+ * @param keys   캐시 이름별 무효화된 키 (CacheKeyCodec으로 인코딩)
+ * @param cleared 전체를 비운 캐시 이름 (인코딩할 수 없는 키가 무효화된 캐시 포함)
+ */
+public record CacheInvalidationMessage(String origin, Map<String, Set<String>> keys, Set<String> cleared) {
+
+    public boolean isEmpty() {
+        return keys.isEmpty() && cleared.isEmpty();
+    }
+}
@@ -0,0 +1,154 @@
+package io.hd.springcache.config.cache.invalidation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이 노드에서 일어난 캐시 무효화를 다른 노드에 알리는 발행기.
+ *
+ * 무효화를 바로 보내지 않고 첫 무효화부터 batch-window-ms 동안 모은 뒤 메시지 하나로 발행한다.
+ * 같은 구간에 같은 키가 여러 번 무효화되면 한 번만 보내고, 전체를 비운 캐시의 개별 키는 보내지 않는다.
+ * 다른 노드는 최대 batch-window-ms(+ 전달 지연) 동안 이전 값을 응답할 수 있다.
+ *
+ * 발행에 실패하면 다른 노드의 L1은 자기 TTL이 지나야 만료된다. (cache.invalidation.failed 카운터로 확인)
+ */
+@Slf4j
+@Component
+public class CacheInvalidationPublisher implements DisposableBean {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final long batchWindowMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 발행 전까지 모은 무효화 (this로 동기화)
+    private Map<String, Set<String>> pendingKeys = new HashMap<>();
+    private Set<String> pendingClears = new HashSet<>();
+    private boolean flushScheduled;
+
+    private final Counter publishedCounter;
+    private final Counter coalescedCounter;
+    private final Counter failedCounter;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${cache.invalidation.channel:spring-cache:invalidation}") String channel,
+                                      @Value("${cache.invalidation.batch-window-ms:50}") long batchWindowMillis) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.batchWindowMillis = batchWindowMillis;
+        this.publishedCounter = Counter.builder("cache.invalidation.published")
+                .description("발행한 무효화 메시지 수")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("cache.invalidation.coalesced")
+                .description("같은 구간의 중복으로 합쳐져 따로 보내지 않은 무효화 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("cache.invalidation.failed")
+                .description("발행에 실패한 무효화 메시지 수")
+                .register(meterRegistry);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public synchronized void evict(String cacheName, Object key) {
+        String encoded = CacheKeyCodec.encode(key);
+        if (encoded == null) {
+            // 받는 쪽에서 키를 되살릴 수 없으므로 캐시 전체를 비우도록 알림
+            clear(cacheName);
+            return;
+        }
+        if (pendingClears.contains(cacheName)
+                || !pendingKeys.computeIfAbsent(cacheName, name -> new HashSet<>()).add(encoded)) {
+            coalescedCounter.increment();
+            return;
+        }
+        scheduleFlush();
+    }
+
+    public synchronized void clear(String cacheName) {
+        Set<String> keys = pendingKeys.remove(cacheName);
+        if (keys != null) {
+            coalescedCounter.increment(keys.size());
+        }
+        if (!pendingClears.add(cacheName)) {
+            coalescedCounter.increment();
+            return;
+        }
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            try {
+                scheduler.schedule(this::flush, batchWindowMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // 종료 중(destroy 이후)에 일어난 무효화는 모으지 않고 바로 보냄
+                flush();
+            }
+        }
+    }
+
+    void flush() {
+        CacheInvalidationMessage message;
+        synchronized (this) {
+            message = new CacheInvalidationMessage(nodeId, pendingKeys, pendingClears);
+            pendingKeys = new HashMap<>();
+            pendingClears = new HashSet<>();
+            flushScheduled = false;
+        }
+        if (message.isEmpty()) {
+            return;
+        }
+
+        try {
+            String body = objectMapper.writeValueAsString(message);
+            redisTemplate.convertAndSend(channel, body);
+            publishedCounter.increment();
+        } catch (JsonProcessingException | DataAccessException e) {
+            failedCounter.increment();
+            log.warn("Failed to publish cache invalidation. caches={}, cleared={}",
+                    message.keys().keySet(), message.cleared(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        // 종료 전에 모아 둔 무효화를 보냄
+        flush();
+    }
+}
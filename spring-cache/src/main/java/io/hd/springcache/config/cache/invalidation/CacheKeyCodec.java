@@ -0,0 +1,40 @@
+package io.hd.springcache.config.cache.invalidation;
+
+/**
+ * 캐시 키를 무효화 메시지에 담을 문자열로 바꾼다.
+ * 받는 노드에서 같은 타입의 키로 되돌려야 Caffeine에서 찾을 수 있으므로 타입을 접두사로 남긴다. (1L -> "L:1")
+ *
+ * Java 직렬화는 Redis에 발행할 수 있는 누구나 임의 객체를 역직렬화시킬 수 있으므로 쓰지 않고,
+ * 여기서 지원하지 않는 타입의 키(SimpleKey 등)는 인코딩하지 않는다. 보내는 쪽은 그 캐시 전체를 비우도록 알린다.
+ */
+final class CacheKeyCodec {
+
+    private CacheKeyCodec() {
+    }
+
+    static String encode(Object key) {
+        if (key instanceof Long value) {
+            return "L:" + value;
+        }
+        if (key instanceof Integer value) {
+            return "I:" + value;
+        }
+        if (key instanceof String value) {
+            return "S:" + value;
+        }
+        return null;
+    }
+
+    static Object decode(String encoded) {
+        if (encoded == null || encoded.length() < 2 || encoded.charAt(1) != ':') {
+            throw new IllegalArgumentException("Invalid cache key: " + encoded);
+        }
+        String value = encoded.substring(2);
+        return switch (encoded.charAt(0)) {
+            case 'L' -> Long.valueOf(value);
+            case 'I' -> Integer.valueOf(value);
+            case 'S' -> value;
+            default -> throw new IllegalArgumentException("Invalid cache key: " + encoded);
+        };
+    }
+}
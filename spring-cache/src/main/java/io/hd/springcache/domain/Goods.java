@@ -5,14 +5,17 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 @Entity
+@Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class Goods {
+public class Goods implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
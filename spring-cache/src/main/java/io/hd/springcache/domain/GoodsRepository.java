@@ -0,0 +1,6 @@
+package io.hd.springcache.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface GoodsRepository extends JpaRepository<Goods, Long> {
+}
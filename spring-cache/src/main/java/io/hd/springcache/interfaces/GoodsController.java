@@ -0,0 +1,35 @@
+package io.hd.springcache.interfaces;
+
+import io.hd.springcache.application.GoodsService;
+import io.hd.springcache.domain.Goods;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/goods")
+@RequiredArgsConstructor
+public class GoodsController {
+    private final GoodsService goodsService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Goods> getGoods(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(goodsService.getGoods(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteGoods(@PathVariable Long id) {
+        goodsService.deleteGoods(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,139 @@
+package io.hd.springcache.config.cache;
+
+import io.hd.springcache.config.cache.invalidation.CacheInvalidationPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class TieredCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Cache l1;
+    private Cache l2;
+    private TieredCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        l1 = new ConcurrentMapCache("goods");
+        l2 = new ConcurrentMapCache("goods");
+        cache = new TieredCache("goods", l1, l2, meterRegistry);
+    }
+
+    @Test
+    void get_promotesL2HitToL1() {
+        l2.put(1L, "goods-1");
+
+        assertEquals("goods-1", cache.get(1L).get());
+        assertEquals("goods-1", l1.get(1L).get());
+        assertEquals("goods-1", cache.get(1L).get());
+
+        assertEquals(1, count("l1", "hit"));
+        assertEquals(1, count("l1", "miss"));
+        assertEquals(1, count("l2", "hit"));
+    }
+
+    @Test
+    void getWithLoader_readsThroughAndWritesBothLevels() {
+        AtomicInteger loads = new AtomicInteger();
+        Callable<String> loader = () -> "goods-" + loads.incrementAndGet();
+
+        assertEquals("goods-1", cache.get(1L, loader));
+        assertEquals("goods-1", cache.get(1L, loader));
+
+        assertEquals(1, loads.get());
+        assertEquals("goods-1", l2.get(1L).get());
+        assertEquals(1, count("l2", "miss"));
+    }
+
+    @Test
+    void putAndEvict_applyToBothLevels() {
+        cache.put(1L, "goods-1");
+        assertEquals("goods-1", l1.get(1L).get());
+        assertEquals("goods-1", l2.get(1L).get());
+
+        cache.evict(1L);
+        assertNull(l1.get(1L));
+        assertNull(l2.get(1L));
+    }
+
+    @Test
+    void getWithLoader_treatsL2FailureAsMiss() {
+        Cache failingL2 = new ConcurrentMapCache("goods") {
+            @Override
+            public ValueWrapper get(Object key) {
+                throw new QueryTimeoutException("redis down");
+            }
+        };
+        TieredCache tiered = new TieredCache("goods", l1, failingL2, meterRegistry);
+
+        assertEquals("goods-1", tiered.get(1L, () -> "goods-1"));
+        assertEquals("goods-1", l1.get(1L).get());
+        assertEquals(1, count("l2", "error"));
+    }
+
+    @Test
+    void put_evictsL1AndPublishesWhenL2Fails() {
+        Cache failingL2 = new ConcurrentMapCache("goods") {
+            @Override
+            public void put(Object key, Object value) {
+                throw new QueryTimeoutException("redis down");
+            }
+        };
+        CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+        TieredCache tiered = new TieredCache("goods", l1, failingL2, meterRegistry, publisher);
+        l1.put(1L, "goods-old");
+
+        tiered.put(1L, "goods-1");
+
+        assertNull(l1.get(1L));
+        assertEquals(1, count("l2", "error"));
+        verify(publisher).evict("goods", 1L);
+    }
+
+    @Test
+    void evictAndClear_evictL1AndPublishWhenL2Fails() {
+        Cache failingL2 = new ConcurrentMapCache("goods") {
+            @Override
+            public void evict(Object key) {
+                throw new QueryTimeoutException("redis down");
+            }
+
+            @Override
+            public void clear() {
+                throw new QueryTimeoutException("redis down");
+            }
+        };
+        CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+        TieredCache tiered = new TieredCache("goods", l1, failingL2, meterRegistry, publisher);
+        l1.put(1L, "goods-1");
+        l1.put(2L, "goods-2");
+
+        tiered.evict(1L);
+        assertNull(l1.get(1L));
+        verify(publisher).evict("goods", 1L);
+
+        tiered.clear();
+        assertNull(l1.get(2L));
+        verify(publisher).clear("goods");
+        assertEquals(2, count("l2", "error"));
+    }
+
+    private double count(String level, String result) {
+        return meterRegistry.get("cache.tiered.gets")
+                .tags("cache", "goods", "level", level, "result", result)
+                .counter()
+                .count();
+    }
+}
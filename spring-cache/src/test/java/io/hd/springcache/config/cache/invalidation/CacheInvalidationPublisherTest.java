@@ -0,0 +1,126 @@
+package io.hd.springcache.config.cache.invalidation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hd.springcache.config.cache.TieredCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CacheInvalidationPublisherTest {
+
+    private static final String CHANNEL = "spring-cache:invalidation";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private StringRedisTemplate redisTemplate;
+    private CacheInvalidationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        // 구간이 끝나기 전에 직접 flush하도록 충분히 긴 구간 사용
+        publisher = new CacheInvalidationPublisher(redisTemplate, objectMapper, new SimpleMeterRegistry(),
+                CHANNEL, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.destroy();
+    }
+
+    @Test
+    void flush_coalescesEvictionsIntoOneMessage() throws Exception {
+        publisher.evict("goods", 1L);
+        publisher.evict("goods", 1L);
+        publisher.evict("goods", 2L);
+
+        publisher.flush();
+
+        CacheInvalidationMessage message = objectMapper.readValue(publishedBody(), CacheInvalidationMessage.class);
+        assertEquals(publisher.getNodeId(), message.origin());
+        assertEquals(Map.of("goods", Set.of("L:1", "L:2")), message.keys());
+        assertEquals(Set.of(), message.cleared());
+    }
+
+    @Test
+    void flush_clearSupersedesKeysOfSameCache() throws Exception {
+        publisher.evict("goods", 1L);
+        publisher.clear("goods");
+        publisher.evict("goods", 2L);
+
+        publisher.flush();
+
+        CacheInvalidationMessage message = objectMapper.readValue(publishedBody(), CacheInvalidationMessage.class);
+        assertEquals(Map.of(), message.keys());
+        assertEquals(Set.of("goods"), message.cleared());
+    }
+
+    @Test
+    void flush_skipsWhenNothingPending() {
+        publisher.flush();
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void evict_publishesImmediatelyAfterDestroy() throws Exception {
+        publisher.destroy();
+
+        publisher.evict("goods", 1L);
+
+        CacheInvalidationMessage message = objectMapper.readValue(publishedBody(), CacheInvalidationMessage.class);
+        assertEquals(Map.of("goods", Set.of("L:1")), message.keys());
+    }
+
+    @Test
+    void listener_evictsOnlyLocalL1OfOtherNodes() throws Exception {
+        Cache l1 = new ConcurrentMapCache("goods");
+        Cache l2 = new ConcurrentMapCache("goods");
+        TieredCache goods = new TieredCache("goods", l1, l2, new SimpleMeterRegistry());
+        goods.put(1L, "goods-1");
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(goods));
+        cacheManager.initializeCaches();
+
+        publisher.evict("goods", 1L);
+        publisher.flush();
+        byte[] body = publishedBody().getBytes(StandardCharsets.UTF_8);
+
+        // 보낸 노드는 자기 메시지를 무시
+        new CacheInvalidationListener(cacheManager, objectMapper, publisher.getNodeId(), new SimpleMeterRegistry())
+                .onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+        assertNotNull(l1.get(1L));
+
+        new CacheInvalidationListener(cacheManager, objectMapper, "other-node", new SimpleMeterRegistry())
+                .onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+        assertNull(l1.get(1L));
+        assertEquals("goods-1", l2.get(1L).get());
+    }
+
+    private String publishedBody() {
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(1)).convertAndSend(eq(CHANNEL), body.capture());
+        return body.getValue();
+    }
+}
@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.3"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "project"
@@ -25,7 +26,9 @@ repositories {
 
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
+    implementation("org.apache.commons:commons-pool2")  // Lettuce 전용 연결 풀
     implementation("org.springframework.boot:spring-boot-starter-aop")
     
     // 모니터링을 위한 의존성 추가
@@ -36,6 +39,7 @@ dependencies {
     runtimeOnly("com.mysql:mysql-connector-j")
     annotationProcessor("org.projectlombok:lombok")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("io.projectreactor:reactor-test")
     testImplementation("org.springframework.boot:spring-boot-testcontainers")
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:mysql")
@@ -45,3 +49,26 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// 성능 측정 (./gradlew jmh, 결과: build/results/jmh)
+jmh {
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    profilers = listOf("gc")
+    // 특정 벤치마크만 실행 (예: ./gradlew jmh -PjmhIncludes=SlidingWindowMemoryBenchmark)
+    findProperty("jmhIncludes")?.let { includes = listOf(it.toString()) }
+}
+
+// 요청 기록 재생 (예: ./gradlew simulate -Ptrace=trace.csv -Plimit=100 -Pperiod=60)
+tasks.register<JavaExec>("simulate") {
+    group = "verification"
+    description = "요청 기록을 속도 제한 알고리즘별로 재생하여 결과를 비교합니다."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "project.springratelimiter.ratelimiter.simulation.TraceReplayCli"
+    // 선택 인자는 application.yml 기본값 사용 (-Pbuckets, -PlogLimitThreshold, -PslidingWindowBuckets)
+    val required = listOfNotNull(findProperty("trace"), findProperty("limit"), findProperty("period"))
+    val optional = listOf(findProperty("buckets") ?: 10, findProperty("logLimitThreshold") ?: 1000,
+        findProperty("slidingWindowBuckets") ?: 60)
+    args((if (required.size == 3) required + optional else required).map { it.toString() })
+}
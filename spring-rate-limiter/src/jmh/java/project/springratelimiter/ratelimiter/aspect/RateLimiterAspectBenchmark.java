@@ -0,0 +1,141 @@
+package project.springratelimiter.ratelimiter.aspect;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.support.StaticApplicationContext;
+import project.springratelimiter.ratelimiter.adaptive.AdaptiveLimitRegistry;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
+import project.springratelimiter.ratelimiter.factory.RateLimiterFactory;
+import project.springratelimiter.ratelimiter.metrics.RateLimiterMetrics;
+import project.springratelimiter.ratelimiter.override.RateLimitOverrideRegistry;
+import project.springratelimiter.ratelimiter.plan.RateLimitPlanCache;
+import project.springratelimiter.ratelimiter.resilience.RateLimiterResilience;
+import project.springratelimiter.ratelimiter.service.HotKeySharding;
+import project.springratelimiter.ratelimiter.service.PipelinedRateLimiter;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+import project.springratelimiter.ratelimiter.service.RateLimiterService;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimiterAspect가 속도 제한 서비스 호출 전후로 추가하는 비용을 측정하는 벤치마크.
+ * Redis 대신 고정된 판단 결과를 반환하는 서비스를 사용하므로 점수는 aspect 자체의 오버헤드입니다.
+ * 요청 정보가 필요 없도록 KeyType.METHOD 규칙을 사용합니다.
+ *
+ * - reflective: 이전 경로 (요청마다 어노테이션 조회, 팩토리 조회, 메서드 키 문자열 생성)
+ * - planned: 현재 경로 (메서드별 판단 계획 조회 후 서비스 호출)
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=RateLimiterAspectBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimiterAspectBenchmark {
+
+    private RateLimiterFactory rateLimiterFactory;
+    private RateLimiterAspect aspect;
+    private Method single;
+    private Method stacked;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton("constantRateLimiterService", new ConstantRateLimiterService());
+        context.refresh();
+
+        // 니어 캐시 백엔드는 사용하지 않음
+        rateLimiterFactory = new RateLimiterFactory(context, null);
+        RateLimiterResilience resilience = new RateLimiterResilience(rateLimiterFactory, new SimpleMeterRegistry(),
+                100, 5, 5000, 1);
+        // 판단 메트릭은 SLO 버킷이 있는 Timer로 기록하므로 점수에 기록 비용이 포함됨
+        RateLimiterMetrics metrics = new RateLimiterMetrics(new SimpleMeterRegistry(),
+                List.of(Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10)), null);
+        RateLimitPlanCache planCache = new RateLimitPlanCache(rateLimiterFactory,
+                new AdaptiveLimitRegistry(new SimpleMeterRegistry(), 0.1, 0.2, 1.5, 600, 1000, 10, "node-1",
+                        AdaptiveLimitRegistry.DEFAULT_DROP_EXCEPTIONS.split(",")), metrics);
+        // 재정의 규칙은 읽지 않으므로 빈 스냅샷으로 조회 비용만 포함
+        RateLimitOverrideRegistry overrideRegistry = new RateLimitOverrideRegistry(null, new SimpleMeterRegistry(),
+                "rate_limiter:overrides");
+        aspect = new RateLimiterAspect(planCache,
+                new PipelinedRateLimiter(rateLimiterFactory, null, resilience), new HotKeySharding(), resilience, null,
+                overrideRegistry, null, metrics);
+
+        single = Endpoints.class.getMethod("single");
+        stacked = Endpoints.class.getMethod("stacked");
+    }
+
+    /**
+     * 이전 경로: 요청마다 리플렉션과 팩토리 조회로 단일 규칙을 판단합니다.
+     */
+    @Benchmark
+    public RateLimitDecision reflective() {
+        RateLimit[] rateLimits = single.getAnnotationsByType(RateLimit.class);
+        RateLimit rateLimit = rateLimits[0];
+        String key = single.getDeclaringClass().getName() + "." + single.getName();
+        RateLimiterService service = rateLimiterFactory.getRateLimiter(rateLimit.algorithm(), rateLimit.backend());
+        return service.acquire(key, rateLimit.limit(), rateLimit.period());
+    }
+
+    /**
+     * 현재 경로: 판단 계획으로 단일 규칙을 판단합니다.
+     */
+    @Benchmark
+    public RateLimitDecision planned() {
+        return aspect.check(single);
+    }
+
+    /**
+     * 현재 경로: 판단 계획으로 겹쳐 선언된 두 규칙을 판단합니다.
+     */
+    @Benchmark
+    public RateLimitDecision plannedStacked() {
+        return aspect.check(stacked);
+    }
+
+    /**
+     * 속도 제한이 선언된 측정 대상 메서드.
+     */
+    public static class Endpoints {
+
+        @RateLimit(keyType = RateLimit.KeyType.METHOD, algorithm = RateLimit.Algorithm.FIXED_WINDOW,
+                backend = RateLimit.Backend.IN_MEMORY, limit = 100, period = 60)
+        public void single() {
+        }
+
+        @RateLimit(keyType = RateLimit.KeyType.METHOD, algorithm = RateLimit.Algorithm.FIXED_WINDOW,
+                backend = RateLimit.Backend.IN_MEMORY, limit = 100, period = 60)
+        @RateLimit(keyType = RateLimit.KeyType.METHOD, algorithm = RateLimit.Algorithm.FIXED_WINDOW,
+                backend = RateLimit.Backend.IN_MEMORY, limit = 1000, period = 3600)
+        public void stacked() {
+        }
+    }
+
+    /**
+     * Redis 대신 항상 같은 판단 결과를 반환하는 속도 제한 서비스.
+     */
+    @RateLimiterType(value = RateLimit.Algorithm.FIXED_WINDOW, backend = RateLimit.Backend.IN_MEMORY)
+    public static class ConstantRateLimiterService implements RateLimiterService {
+
+        private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 100, 99, 0, 0);
+
+        @Override
+        public boolean tryAcquire(String key, long permits, long limit, long period) {
+            return true;
+        }
+
+        @Override
+        public RateLimitDecision acquire(String key, long permits, long limit, long period) {
+            return ALLOWED;
+        }
+    }
+}
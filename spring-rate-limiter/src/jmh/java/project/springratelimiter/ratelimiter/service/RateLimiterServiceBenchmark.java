@@ -0,0 +1,150 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import project.springratelimiter.ratelimiter.config.RateLimiterConfig;
+import project.springratelimiter.ratelimiter.service.memory.InMemoryFixedWindowRateLimiterService;
+import project.springratelimiter.ratelimiter.service.memory.InMemoryGcraRateLimiterService;
+import project.springratelimiter.ratelimiter.service.memory.InMemoryLeakyBucketRateLimiterService;
+import project.springratelimiter.ratelimiter.service.memory.InMemorySlidingWindowCounterRateLimiterService;
+import project.springratelimiter.ratelimiter.service.memory.InMemorySlidingWindowRateLimiterService;
+import project.springratelimiter.ratelimiter.service.memory.InMemoryTokenBucketRateLimiterService;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모든 RateLimiterService 구현의 처리량, 지연 시간 분포, 할당량을 같은 조건에서 비교하는 벤치마크.
+ *
+ * - limiter: 측정할 구현 ({백엔드}:{알고리즘}, 니어 캐시는 FIXED_WINDOW만 지원하므로 NEAR_CACHE)
+ * - workload: single은 모든 스레드가 키 하나를 사용(핫 키), zipfian은 10,000개 키를 Zipfian(s=0.99) 분포로 사용
+ *
+ * Throughput 모드는 ops/s를, SampleTime 모드는 p50/p99/p99.9 지연 시간을, gc 프로파일러는 gc.alloc.rate.norm(호출당 할당량)을 보고합니다.
+ * 제한(1,000 요청/60초)은 single 워크로드에서는 곧 소진되어 주로 거부 경로를, zipfian 워크로드에서는 허용/거부가 섞인 경로를 측정합니다.
+ * REDIS와 NEAR_CACHE는 REDIS_HOST, REDIS_PORT 환경 변수의 Redis(기본값: localhost:6379)를 사용합니다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=RateLimiterServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class RateLimiterServiceBenchmark {
+
+    private static final long LIMIT = 1_000;
+    private static final long PERIOD = 60;
+
+    private static final int KEY_COUNT = 10_000;
+    private static final int SEQUENCE_LENGTH = 1 << 20;
+
+    @Param({
+            "REDIS:SLIDING_WINDOW", "REDIS:SLIDING_WINDOW_COUNTER", "REDIS:FIXED_WINDOW",
+            "REDIS:TOKEN_BUCKET", "REDIS:LEAKY_BUCKET", "REDIS:GCRA",
+            "NEAR_CACHE",
+            "IN_MEMORY:SLIDING_WINDOW", "IN_MEMORY:SLIDING_WINDOW_COUNTER", "IN_MEMORY:FIXED_WINDOW",
+            "IN_MEMORY:TOKEN_BUCKET", "IN_MEMORY:LEAKY_BUCKET", "IN_MEMORY:GCRA"
+    })
+    public String limiter;
+
+    @Param({"single", "zipfian"})
+    public String workload;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private RateLimiterService service;
+    private ZipfianKeys keys;
+    private String singleKey;
+    private boolean hotKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimiterConfig config = new RateLimiterConfig();
+
+        if (!limiter.startsWith("IN_MEMORY:")) {
+            connectionFactory = new LettuceConnectionFactory(
+                    System.getenv().getOrDefault("REDIS_HOST", "localhost"),
+                    Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379")));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+
+            redisTemplate = new RedisTemplate<>();
+            redisTemplate.setConnectionFactory(connectionFactory);
+            redisTemplate.afterPropertiesSet();
+        }
+
+        Clock clock = Clock.systemUTC();
+        service = switch (limiter) {
+            case "REDIS:SLIDING_WINDOW" -> new RedisRateLimiterService(redisTemplate, config.rateLimiterScript(),
+                    config.slidingWindowBucketedScript(), meterRegistry, 1000, 60);
+            case "REDIS:SLIDING_WINDOW_COUNTER" -> new SlidingWindowCounterRateLimiterService(redisTemplate,
+                    config.slidingWindowCounterScript(), meterRegistry, 10);
+            case "REDIS:FIXED_WINDOW" -> new FixedWindowRateLimiterService(redisTemplate, config.fixedWindowScript(), meterRegistry);
+            case "REDIS:TOKEN_BUCKET" -> new TokenBucketRateLimiterService(redisTemplate, config.tokenBucketScript(), meterRegistry);
+            case "REDIS:LEAKY_BUCKET" -> new LeakyBucketRateLimiterService(redisTemplate, config.leakyBucketScript(), meterRegistry);
+            case "REDIS:GCRA" -> new GcraRateLimiterService(redisTemplate, config.gcraScript(), meterRegistry);
+            case "NEAR_CACHE" -> new NearCacheRateLimiterService(redisTemplate, config.quotaLeaseScript(), meterRegistry, 0.1, 0.5);
+            case "IN_MEMORY:SLIDING_WINDOW" -> new InMemorySlidingWindowRateLimiterService(clock, meterRegistry);
+            case "IN_MEMORY:SLIDING_WINDOW_COUNTER" -> new InMemorySlidingWindowCounterRateLimiterService(clock, meterRegistry, 10);
+            case "IN_MEMORY:FIXED_WINDOW" -> new InMemoryFixedWindowRateLimiterService(clock, meterRegistry);
+            case "IN_MEMORY:TOKEN_BUCKET" -> new InMemoryTokenBucketRateLimiterService(clock, meterRegistry);
+            case "IN_MEMORY:LEAKY_BUCKET" -> new InMemoryLeakyBucketRateLimiterService(clock, meterRegistry);
+            case "IN_MEMORY:GCRA" -> new InMemoryGcraRateLimiterService(clock, meterRegistry);
+            default -> throw new IllegalArgumentException("알 수 없는 속도 제한 구현입니다: " + limiter);
+        };
+
+        // 이전 실행이나 다른 조합이 남긴 Redis 상태와 섞이지 않도록 실행마다 다른 키 접두사 사용
+        String runId = Long.toHexString(System.nanoTime());
+        singleKey = "bench:" + runId;
+        hotKey = "single".equals(workload);
+        keys = new ZipfianKeys(singleKey + ":", KEY_COUNT, 0.99, SEQUENCE_LENGTH, 42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (service instanceof NearCacheRateLimiterService nearCache) {
+            nearCache.shutdown();
+        }
+        if (connectionFactory != null) {
+            // 벤치마크가 만든 키는 모두 기간 내에 만료되므로 연결만 닫음
+            connectionFactory.destroy();
+        }
+    }
+
+    /**
+     * 스레드별 키 위치 (스레드마다 시퀀스의 다른 위치에서 시작)
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int position;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            position = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    /**
+     * 판단 한 번
+     */
+    @Benchmark
+    public RateLimitDecision acquire(Cursor cursor) {
+        String key = hotKey ? singleKey : keys.get(cursor.position++);
+        return service.acquire(key, LIMIT, PERIOD);
+    }
+}
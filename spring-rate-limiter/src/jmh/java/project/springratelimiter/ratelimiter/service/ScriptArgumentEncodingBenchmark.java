@@ -0,0 +1,87 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import project.springratelimiter.ratelimiter.config.RateLimiterConfig;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 속도 제한 스크립트 호출 한 번에 필요한 KEYS/ARGV 인코딩 비용을 비교하는 벤치마크.
+ * 이전 경로(RedisTemplate.execute가 키는 StringRedisSerializer, 인자는 GenericJackson2JsonRedisSerializer로 직렬화)와
+ * 현재 경로(RedisScriptCodec으로 바이트를 직접 인코딩)를 토큰 버킷 호출 기준으로 측정합니다.
+ * Redis 왕복 시간은 포함하지 않으며, gc 프로파일러의 gc.alloc.rate.norm으로 호출당 할당량을 비교할 수 있습니다.
+ * 스크립트 실행까지 포함한 비교는 ScriptExecutionBenchmark에서 측정합니다.
+ *
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScriptArgumentEncodingBenchmark {
+
+    private static final long LIMIT = 100;
+    private static final long PERIOD = 60;
+
+    private final RedisScript<List<Long>> script = new RateLimiterConfig().tokenBucketScript();
+
+    private StringRedisSerializer keySerializer;
+    private GenericJackson2JsonRedisSerializer argsSerializer;
+    private TokenBucketRateLimiterService service;
+
+    private String key;
+
+    @Setup
+    public void setUp() {
+        keySerializer = new StringRedisSerializer();
+        argsSerializer = new GenericJackson2JsonRedisSerializer();
+        // prepare()만 호출하므로 Redis 템플릿은 필요하지 않음
+        service = new TokenBucketRateLimiterService(null, script, new SimpleMeterRegistry());
+        key = "192.168.0.1";
+    }
+
+    /**
+     * 이전 경로: 인자를 박싱하여 Object[]로 전달하고 템플릿의 직렬화 도구로 인코딩합니다.
+     */
+    @Benchmark
+    public byte[][] jacksonTemplate() {
+        long now = Instant.now().toEpochMilli();
+        String redisKey = "token_bucket:" + key;
+        double refillRate = (double) LIMIT / (PERIOD * 1000);
+
+        List<String> keys = Collections.singletonList(redisKey);
+        Object[] args = { now, LIMIT, refillRate };
+
+        // DefaultScriptExecutor와 같은 방식으로 SHA1 조회 후 KEYS와 ARGV 직렬화
+        script.getSha1();
+        byte[][] keysAndArgs = new byte[keys.size() + args.length][];
+        int i = 0;
+        for (String k : keys) {
+            keysAndArgs[i++] = keySerializer.serialize(k);
+        }
+        for (Object arg : args) {
+            keysAndArgs[i++] = argsSerializer.serialize(arg);
+        }
+        return keysAndArgs;
+    }
+
+    /**
+     * 현재 경로: 서비스가 바이트를 직접 인코딩하여 호출 정보를 준비합니다.
+     */
+    @Benchmark
+    public Object binaryCodec() {
+        return service.prepare(key, LIMIT, PERIOD);
+    }
+}
@@ -0,0 +1,83 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import project.springratelimiter.ratelimiter.config.RateLimiterConfig;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스크립트의 현재 시간을 앱 노드 시계 대신 Redis 서버 시간(TIME)으로 읽을 때의 추가 비용을 측정하는 벤치마크.
+ * 같은 알고리즘을 앱 노드 시간(app)과 Redis 서버 시간(redis)으로 판단하여 한 번의 판단 시간을 비교합니다.
+ * 두 방식의 차이가 스크립트 안에서 TIME 명령을 한 번 더 실행하는 비용입니다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=ScriptClockBenchmark (Redis 주소: REDIS_HOST, REDIS_PORT 환경 변수)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScriptClockBenchmark {
+
+    private static final long LIMIT = 1_000_000;
+    private static final long PERIOD = 60;
+
+    @Param({"TOKEN_BUCKET", "GCRA", "SLIDING_WINDOW_COUNTER"})
+    public String algorithm;
+
+    @Param({"app", "redis"})
+    public String clock;
+
+    private LettuceConnectionFactory connectionFactory;
+    private AbstractRedisRateLimiterService service;
+    private String key;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                System.getenv().getOrDefault("REDIS_HOST", "localhost"),
+                Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379")));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        RateLimiterConfig config = new RateLimiterConfig();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = switch (algorithm) {
+            case "TOKEN_BUCKET" -> new TokenBucketRateLimiterService(redisTemplate, config.tokenBucketScript(),
+                    meterRegistry);
+            case "GCRA" -> new GcraRateLimiterService(redisTemplate, config.gcraScript(), meterRegistry);
+            default -> new SlidingWindowCounterRateLimiterService(redisTemplate, config.slidingWindowCounterScript(),
+                    meterRegistry, 10);
+        };
+        service.setTimeSource(Clock.systemUTC(), "redis".equals(clock));
+        key = "clock-benchmark:" + algorithm + ":" + clock;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    /**
+     * 제한에 걸리지 않는 키에 대한 판단 한 번
+     */
+    @Benchmark
+    public RateLimitDecision acquire() {
+        return service.acquire(key, LIMIT, PERIOD);
+    }
+}
@@ -0,0 +1,87 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import project.springratelimiter.ratelimiter.config.RateLimiterConfig;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 속도 제한 스크립트 호출 한 번을 Redis 왕복까지 포함해 비교하는 벤치마크.
+ * 이전 경로(RedisTemplate.execute가 박싱된 인자를 JSON으로 직렬화해 실행)와
+ * 현재 경로(RedisScriptCodec으로 인코딩한 바이트를 EVALSHA로 실행)를 토큰 버킷 판단 기준으로 측정합니다.
+ * 인코딩 비용만 따로 보려면 ScriptArgumentEncodingBenchmark를 사용합니다.
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=ScriptExecutionBenchmark (Redis 주소: REDIS_HOST, REDIS_PORT 환경 변수)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScriptExecutionBenchmark {
+
+    // 측정 중에 거부 경로로 바뀌지 않도록 충분히 큰 제한
+    private static final long LIMIT = 1_000_000_000;
+    private static final long PERIOD = 60;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> jacksonTemplate;
+    private RedisScript<List<Long>> script;
+    private TokenBucketRateLimiterService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                System.getenv().getOrDefault("REDIS_HOST", "localhost"),
+                Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379")));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        // 이전 경로의 템플릿 설정 (키는 문자열, 인자는 JSON 직렬화)
+        jacksonTemplate = new RedisTemplate<>();
+        jacksonTemplate.setConnectionFactory(connectionFactory);
+        jacksonTemplate.setKeySerializer(new StringRedisSerializer());
+        jacksonTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        jacksonTemplate.afterPropertiesSet();
+
+        script = new RateLimiterConfig().tokenBucketScript();
+        service = new TokenBucketRateLimiterService(jacksonTemplate, script, new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    /**
+     * 이전 경로: 인자를 박싱하여 템플릿의 직렬화 도구로 인코딩하고 스크립트를 실행합니다.
+     */
+    @Benchmark
+    public List<Long> jacksonTemplate() {
+        double refillRate = (double) LIMIT / (PERIOD * 1000);
+        return jacksonTemplate.execute(script, Collections.singletonList("script-execution-benchmark:{jackson}"),
+                System.currentTimeMillis(), LIMIT, refillRate, 1L);
+    }
+
+    /**
+     * 현재 경로: 서비스가 바이트를 직접 인코딩하여 EVALSHA로 실행하고 판단 결과로 변환합니다.
+     */
+    @Benchmark
+    public RateLimitDecision binaryCodec() {
+        return service.acquire("script-execution-benchmark:binary", LIMIT, PERIOD);
+    }
+}
@@ -0,0 +1,108 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.config.RateLimiterConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 슬라이딩 윈도우 키 하나가 제한까지 채워졌을 때의 Redis 메모리 사용량과 판단 지연 시간을 측정하는 벤치마크.
+ * 요청 로그(Sorted Set)와 버킷 표현(Hash)을 제한 10, 1k, 100k에서 비교하여 Redis 용량 산정에 사용합니다.
+ * 메모리 사용량(MEMORY USAGE ... SAMPLES 0)은 각 조합에서 키를 채운 직후 표준 출력에 기록되고,
+ * 벤치마크 점수는 제한까지 채워진 키에 대한 판단 한 번에 걸리는 시간입니다.
+ * (측정이 기간보다 길어지면 만료된 요청 자리만큼 다시 허용되어 제한 근처의 정상 상태를 측정하게 됩니다.)
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=SlidingWindowMemoryBenchmark (Redis 주소: REDIS_HOST, REDIS_PORT 환경 변수)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SlidingWindowMemoryBenchmark {
+
+    private static final long PERIOD = 60;
+    private static final int FILL_BATCH = 1000;
+
+    @Param({"10", "1000", "100000"})
+    public long limit;
+
+    @Param({"log", "bucketed"})
+    public String representation;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisRateLimiterService service;
+    private String key;
+    private byte[] rawKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                System.getenv().getOrDefault("REDIS_HOST", "localhost"),
+                Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379")));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        // 임계값으로 표현을 고정 (log: 항상 요청 로그, bucketed: 항상 버킷 표현)
+        RateLimiterConfig config = new RateLimiterConfig();
+        long threshold = "log".equals(representation) ? Long.MAX_VALUE : 0;
+        service = new RedisRateLimiterService(redisTemplate, config.rateLimiterScript(),
+                config.slidingWindowBucketedScript(), new SimpleMeterRegistry(), threshold, 60);
+        key = "memory-benchmark:" + representation + ":" + limit;
+
+        // 키를 제한까지 채움 (파이프라인으로 묶어 채우는 시간을 줄임)
+        long filled = 0;
+        while (filled < limit) {
+            int batch = (int) Math.min(FILL_BATCH, limit - filled);
+            List<LimitSpec> specs = new ArrayList<>(batch);
+            for (int i = 0; i < batch; i++) {
+                specs.add(new LimitSpec(key, limit, PERIOD,
+                        RateLimit.Algorithm.SLIDING_WINDOW, RateLimit.Backend.REDIS));
+            }
+            service.acquireAll(specs);
+            filled += batch;
+        }
+
+        // MEMORY USAGE: 키와 값이 차지하는 바이트 수를 반환하는 Redis 명령어 (SAMPLES 0은 모든 요소를 계산)
+        rawKey = RedisKeys.of("rate_limit:", key)
+                .getBytes(StandardCharsets.UTF_8);
+        Object bytes = redisTemplate.execute((RedisCallback<Object>) connection -> connection.execute("MEMORY",
+                "USAGE".getBytes(StandardCharsets.US_ASCII), rawKey,
+                "SAMPLES".getBytes(StandardCharsets.US_ASCII), "0".getBytes(StandardCharsets.US_ASCII)));
+        System.out.printf("%n[memory] representation=%s limit=%d bytes=%s%n", representation, limit, bytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.keyCommands().del(rawKey));
+        connectionFactory.destroy();
+    }
+
+    /**
+     * 제한까지 채워진 키에 대한 판단 한 번
+     */
+    @Benchmark
+    public RateLimitDecision acquireFullKey() {
+        return service.acquire(key, limit, PERIOD);
+    }
+}
@@ -0,0 +1,60 @@
+package project.springratelimiter.ratelimiter.service;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 벤치마크용 Zipfian 분포 키 시퀀스.
+ * 순위 k인 키가 1/k^s에 비례하는 확률로 나오도록 미리 뽑아 둔 키 배열을 순환하므로,
+ * 측정 중에는 난수 생성이나 문자열 생성 없이 배열 조회만 수행합니다.
+ */
+final class ZipfianKeys {
+
+    private final String[] sequence;
+
+    /**
+     * 키 시퀀스를 생성합니다.
+     *
+     * @param prefix 키 접두사
+     * @param keyCount 서로 다른 키 수
+     * @param exponent 분포 지수 s (YCSB 기본값 0.99, 클수록 소수의 키에 집중)
+     * @param length 미리 뽑아 둘 시퀀스 길이 (2의 거듭제곱)
+     * @param seed 난수 시드 (실행마다 같은 시퀀스를 사용하도록 고정)
+     */
+    ZipfianKeys(String prefix, int keyCount, double exponent, int length, long seed) {
+        if (Integer.bitCount(length) != 1) {
+            throw new IllegalArgumentException("시퀀스 길이는 2의 거듭제곱이어야 합니다: " + length);
+        }
+
+        // 순위별 누적 확률 계산
+        double[] cumulative = new double[keyCount];
+        double sum = 0;
+        for (int rank = 1; rank <= keyCount; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+
+        String[] keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = prefix + i;
+        }
+
+        // 누적 확률의 역함수로 키 순위를 뽑음
+        Random random = new Random(seed);
+        sequence = new String[length];
+        for (int i = 0; i < length; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            sequence[i] = keys[Math.min(keyCount - 1, index >= 0 ? index : -index - 1)];
+        }
+    }
+
+    /**
+     * 시퀀스의 위치에 해당하는 키를 반환합니다.
+     *
+     * @param position 위치 (시퀀스 길이로 나눈 나머지를 사용)
+     * @return 키
+     */
+    String get(int position) {
+        return sequence[position & (sequence.length - 1)];
+    }
+}
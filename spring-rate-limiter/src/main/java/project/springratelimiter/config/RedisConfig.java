@@ -1,18 +1,32 @@
 package project.springratelimiter.config;
 
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Set;
 
 /**
  * 애플리케이션을 위한 Redis 설정 클래스.
  * 이 클래스는 Redis 연결 팩토리와 Redis 템플릿 빈을 구성합니다.
+ * spring.data.redis.cluster.nodes가 지정되면 단일 서버 대신 Redis Cluster에 연결하며,
+ * 속도 제한 키는 해시 태그로 슬롯이 정해지므로 여러 primary로 처리량을 수평 확장할 수 있습니다.
  */
 @Configuration
 public class RedisConfig {
@@ -23,15 +37,109 @@ public class RedisConfig {
     @Value("${spring.data.redis.port}")
     private int redisPort;
 
+    @Value("${rate-limiter.resilience.command-timeout-ms:100}")
+    private long commandTimeoutMillis;
+
+    // Redis Cluster 토폴로지 (비어 있으면 단일 서버)
+    @Value("${spring.data.redis.cluster.nodes:}")
+    private String clusterNodes;
+
+    @Value("${spring.data.redis.cluster.max-redirects:3}")
+    private int clusterMaxRedirects;
+
+    @Value("${spring.data.redis.lettuce.cluster.refresh.period:30s}")
+    private Duration clusterRefreshPeriod;
+
+    @Value("${spring.data.redis.lettuce.read-from:upstream}")
+    private String readFrom;
+
+    // 전용 연결 풀 (파이프라인, 트랜잭션 등 공유 연결을 쓸 수 없는 명령에 사용)
+    @Value("${spring.data.redis.lettuce.pool.enabled:true}")
+    private boolean poolEnabled;
+
+    @Value("${spring.data.redis.lettuce.pool.max-active:16}")
+    private int poolMaxActive;
+
+    @Value("${spring.data.redis.lettuce.pool.max-idle:16}")
+    private int poolMaxIdle;
+
+    @Value("${spring.data.redis.lettuce.pool.min-idle:4}")
+    private int poolMinIdle;
+
     /**
      * Lettuce 드라이버를 사용하여 Redis 연결 팩토리를 생성합니다.
+     * LettuceConnectionFactory는 리액티브 연결 팩토리도 구현하므로 ReactiveRateLimiterService가 같은 연결을 사용합니다.
+     * 명령 제한 시간은 속도 제한 판단 한 번이 기다릴 수 있는 최대 시간이며, 초과하면 RateLimiterResilience가 저하 모드로 판단합니다.
+     * (Lettuce 기본값 60초로는 Redis 장애 시 요청 스레드가 모두 묶임)
+     *
+     * 단건 판단은 모든 스레드가 하나의 공유 연결을 다중화하여 사용하고,
+     * 겹친 규칙의 파이프라인처럼 전용 연결이 필요한 명령만 연결 풀에서 연결을 빌립니다.
+     * 속도 제한 스크립트는 모두 쓰기이므로 Cluster의 read-from 설정과 관계없이 항상 primary에서 실행됩니다.
      * 
-     * @return application.yml에 구성된 호스트와 포트로 설정된 RedisConnectionFactory
+     * @return application.yml에 구성된 단일 서버 또는 Redis Cluster로 설정된 LettuceConnectionFactory
      */
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
-        RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration(redisHost, redisPort);
-        return new LettuceConnectionFactory(redisConfig);
+    public LettuceConnectionFactory redisConnectionFactory() {
+        RedisConfiguration redisConfig = redisConfiguration();
+        return new LettuceConnectionFactory(redisConfig, clientConfiguration(redisConfig));
+    }
+
+    /**
+     * 연결할 Redis 토폴로지를 생성합니다.
+     *
+     * @return Cluster 노드가 지정되면 RedisClusterConfiguration, 아니면 RedisStandaloneConfiguration
+     */
+    private RedisConfiguration redisConfiguration() {
+        Set<String> nodes = StringUtils.commaDelimitedListToSet(StringUtils.trimAllWhitespace(clusterNodes));
+        nodes.remove("");
+        if (nodes.isEmpty()) {
+            return new RedisStandaloneConfiguration(redisHost, redisPort);
+        }
+
+        RedisClusterConfiguration clusterConfig = new RedisClusterConfiguration(nodes);
+        clusterConfig.setMaxRedirects(clusterMaxRedirects);
+        return clusterConfig;
+    }
+
+    /**
+     * Lettuce 클라이언트 설정을 생성합니다.
+     * Cluster에서는 주기적 토폴로지 갱신과 MOVED/ASK 리다이렉트 등에 따른 즉시 갱신을 사용하여
+     * 슬롯 이동이나 장애 조치 뒤에도 요청이 올바른 노드로 전달되도록 합니다.
+     *
+     * @param redisConfig 연결할 Redis 토폴로지
+     * @return 명령 제한 시간, 연결 풀, 토폴로지 갱신이 설정된 클라이언트 설정
+     */
+    private LettuceClientConfiguration clientConfiguration(RedisConfiguration redisConfig) {
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = poolEnabled
+                ? LettucePoolingClientConfiguration.builder().poolConfig(poolConfig())
+                : LettuceClientConfiguration.builder();
+        builder.commandTimeout(Duration.ofMillis(commandTimeoutMillis));
+
+        if (redisConfig instanceof RedisClusterConfiguration) {
+            builder.clientOptions(ClusterClientOptions.builder()
+                            .topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                                    .enablePeriodicRefresh(clusterRefreshPeriod)
+                                    .enableAllAdaptiveRefreshTriggers()
+                                    .build())
+                            .build())
+                    .readFrom(ReadFrom.valueOf(readFrom));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 전용 연결 풀 설정을 생성합니다.
+     * 요청 처리 중 연결을 새로 맺지 않도록 최소 유휴 연결을 유지하고, 풀이 고갈되면 명령 제한 시간까지만 기다립니다.
+     *
+     * @return 연결 풀 설정
+     */
+    private GenericObjectPoolConfig<?> poolConfig() {
+        GenericObjectPoolConfig<?> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(poolMaxActive);
+        poolConfig.setMaxIdle(poolMaxIdle);
+        poolConfig.setMinIdle(poolMinIdle);
+        poolConfig.setMaxWait(Duration.ofMillis(commandTimeoutMillis));
+        return poolConfig;
     }
 
     /**
@@ -3,7 +3,9 @@ package project.springratelimiter.controller;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import project.springratelimiter.ratelimiter.annotation.ConcurrencyLimit;
 import project.springratelimiter.ratelimiter.annotation.RateLimit;
 
 import java.time.LocalDateTime;
@@ -92,6 +94,18 @@ public class DemoController {
     public ResponseEntity<Map<String, Object>> leakyBucketRateLimit() {
         return createResponse("누수 버킷 속도 제한 (5 요청/30초)");
     }
+
+    /**
+     * GCRA(Generic Cell Rate Algorithm)를 사용한 속도 제한이 적용된 엔드포인트.
+     * 이 알고리즘은 키마다 다음 요청의 이론적 도착 시간 하나만 저장하며 토큰 버킷과 같은 결과를 냅니다.
+     *
+     * @return 현재 시간이 포함된 응답
+     */
+    @GetMapping("/gcra")
+    @RateLimit(algorithm = RateLimit.Algorithm.GCRA, limit = 5, period = 30)
+    public ResponseEntity<Map<String, Object>> gcraRateLimit() {
+        return createResponse("GCRA 속도 제한 (5 요청/30초)");
+    }
     
     /**
      * 슬라이딩 윈도우 카운터 알고리즘을 사용한 속도 제한이 적용된 엔드포인트.
@@ -107,6 +121,97 @@ public class DemoController {
         return createResponse("슬라이딩 윈도우 카운터 속도 제한 (5 요청/30초)");
     }
 
+    /**
+     * 니어 캐시 백엔드를 사용한 속도 제한이 적용된 엔드포인트.
+     * 노드 로컬 허용량을 먼저 소비하고 Redis에서는 허용량을 묶음 단위로 임대하므로
+     * 대부분의 요청이 Redis 왕복 없이 판단됩니다. 임대 단위가 고정 윈도우 예산이므로 FIXED_WINDOW 알고리즘을 선언합니다.
+     *
+     * @return 현재 시간이 포함된 응답
+     */
+    @GetMapping("/near-cache")
+    @RateLimit(algorithm = RateLimit.Algorithm.FIXED_WINDOW, backend = RateLimit.Backend.NEAR_CACHE, limit = 100, period = 60)
+    public ResponseEntity<Map<String, Object>> nearCacheRateLimit() {
+        return createResponse("니어 캐시 속도 제한 (100 요청/60초, 로컬 허용량 + Redis 임대)");
+    }
+
+    /**
+     * 인메모리 백엔드를 사용한 속도 제한이 적용된 엔드포인트.
+     * Redis 없이 애플리케이션 메모리에서 토큰 버킷 알고리즘으로 판단하므로 노드마다 독립적으로 제한이 적용됩니다.
+     *
+     * @return 현재 시간이 포함된 응답
+     */
+    @GetMapping("/in-memory")
+    @RateLimit(backend = RateLimit.Backend.IN_MEMORY, algorithm = RateLimit.Algorithm.TOKEN_BUCKET, limit = 5, period = 30)
+    public ResponseEntity<Map<String, Object>> inMemoryRateLimit() {
+        return createResponse("인메모리 토큰 버킷 속도 제한 (5 요청/30초, 노드별 적용)");
+    }
+
+    /**
+     * 여러 속도 제한 규칙이 겹쳐 적용된 엔드포인트.
+     * IP 주소별 토큰 버킷 규칙과 모든 사용자 공통의 고정 윈도우 규칙을 함께 적용하며,
+     * 두 규칙은 한 번의 Redis 왕복으로 평가됩니다.
+     *
+     * @return 현재 시간이 포함된 응답
+     */
+    @GetMapping("/layered")
+    @RateLimit(algorithm = RateLimit.Algorithm.TOKEN_BUCKET, limit = 5, period = 30)
+    @RateLimit(keyType = RateLimit.KeyType.METHOD, algorithm = RateLimit.Algorithm.FIXED_WINDOW, limit = 50, period = 60)
+    public ResponseEntity<Map<String, Object>> layeredRateLimit() {
+        return createResponse("겹친 속도 제한 (IP별 5 요청/30초 + 전체 50 요청/60초)");
+    }
+
+    /**
+     * 동시 요청 수 제한이 적용된 엔드포인트.
+     * 모든 사용자 공통으로 최대 2개의 요청만 동시에 처리하며, 처리 중인 요청이 끝나야 새 요청이 허용됩니다.
+     *
+     * @return 현재 시간이 포함된 응답
+     * @throws InterruptedException 처리 지연 중 인터럽트된 경우
+     */
+    @GetMapping("/concurrency")
+    @ConcurrencyLimit(limit = 2, leaseSeconds = 10)
+    public ResponseEntity<Map<String, Object>> concurrencyLimit() throws InterruptedException {
+        // 느린 요청을 흉내 내기 위한 처리 지연
+        Thread.sleep(1000);
+        return createResponse("동시 요청 제한 (최대 2개 동시 처리, 요청당 1초)");
+    }
+
+    /**
+     * 적응형 속도 제한이 적용된 엔드포인트.
+     * 모든 사용자 공통으로 최대 100 요청/60초를 허용하며, 처리 시간이 평소보다 길어지면 유효 제한이 줄어듭니다.
+     *
+     * @return 현재 시간이 포함된 응답
+     */
+    @GetMapping("/adaptive")
+    @RateLimit(keyType = RateLimit.KeyType.METHOD, limit = 100, period = 60, adaptive = true)
+    public ResponseEntity<Map<String, Object>> adaptiveRateLimit() {
+        return createResponse("적응형 속도 제한 (최대 100 요청/60초, 처리 시간에 따라 조정)");
+    }
+
+    /**
+     * 요청별 비용을 적용한 엔드포인트.
+     * IP 주소당 60초에 합계 100건을 허용하며, 요청마다 조회할 건수(size)만큼 허용량을 소비합니다.
+     *
+     * @param size 조회할 건수
+     * @return 현재 시간이 포함된 응답
+     */
+    @GetMapping("/bulk")
+    @RateLimit(limit = 100, period = 60, costExpression = "#size")
+    public ResponseEntity<Map<String, Object>> bulk(@RequestParam(defaultValue = "1") int size) {
+        return createResponse("요청별 비용 속도 제한 (60초에 합계 100건, 이번 요청 " + size + "건)");
+    }
+
+    /**
+     * 트래픽 셰이핑을 적용한 엔드포인트.
+     * IP 주소당 10초에 5건(2초에 1건)의 속도로 처리하며, 초과한 요청은 거부하지 않고 최대 5초까지 기다렸다가 처리합니다.
+     *
+     * @return 현재 시간이 포함된 응답
+     */
+    @GetMapping("/shaped")
+    @RateLimit(algorithm = RateLimit.Algorithm.LEAKY_BUCKET, limit = 5, period = 10, maxDelayMillis = 5000)
+    public ResponseEntity<Map<String, Object>> shaped() {
+        return createResponse("트래픽 셰이핑 (2초에 1건씩 처리, 최대 5초 대기)");
+    }
+
     /**
      * 속도 제한이 적용되지 않은 엔드포인트.
      *
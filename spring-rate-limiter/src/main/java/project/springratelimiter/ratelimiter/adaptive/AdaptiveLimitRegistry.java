@@ -0,0 +1,159 @@
+package project.springratelimiter.ratelimiter.adaptive;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.ErrorResponse;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 적응형 규칙(adaptive = true)의 그래디언트 제한을 생성하는 컴포넌트.
+ * 규칙마다 하나의 GradientLimit을 만들어 판단 계획에 보관하고, 현재 유효 제한을 adaptive_limiter.limit 게이지로 기록합니다.
+ * 선언된 제한은 최대 제한이 되고, 최소 제한은 선언된 제한에 rate-limiter.adaptive.min-ratio를 곱한 값입니다.
+ *
+ * 유효 제한은 이 노드의 처리 시간으로만 조정되는 노드 로컬 값이므로, 적응형 규칙의 카운터 키에는 노드 ID를 붙여(nodeKey)
+ * 노드마다 따로 셉니다. 따라서 적응형 규칙의 선언된 제한은 노드 하나의 최대 제한입니다.
+ *
+ * 예외로 끝난 실행 중 과부하를 뜻하는 예외(isOverload)만 실패(drop)로 반영합니다.
+ * 잘못된 요청이나 찾을 수 없는 자원처럼 클라이언트가 원인인 예외까지 반영하면, 같은 규칙을 쓰는 모든 클라이언트의 제한이
+ * 한 클라이언트 때문에 줄어들기 때문입니다.
+ */
+@Component
+public class AdaptiveLimitRegistry {
+
+    /**
+     * 과부하를 뜻하는 기본 예외 (시간 초과, 작업 거부, 일시적인 데이터 접근 실패)
+     */
+    public static final String DEFAULT_DROP_EXCEPTIONS = "java.util.concurrent.TimeoutException,"
+            + "java.net.SocketTimeoutException,"
+            + "java.util.concurrent.RejectedExecutionException,"
+            + "org.springframework.dao.TransientDataAccessException,"
+            + "org.springframework.dao.DataAccessResourceFailureException";
+
+    // isOverload가 확인할 최대 원인 수
+    private static final int MAX_CAUSE_DEPTH = 16;
+
+    private final MeterRegistry meterRegistry;
+    private final double minRatio;
+    private final double smoothing;
+    private final double tolerance;
+    private final int longWindow;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final String nodeSuffix;
+    private final List<Class<?>> dropExceptions;
+
+    /**
+     * 메트릭 레지스트리와 그래디언트 설정으로 AdaptiveLimitRegistry를 생성합니다.
+     *
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     * @param minRatio 선언된 제한 대비 최소 제한 비율
+     * @param smoothing 새 제한을 반영하는 비율
+     * @param tolerance 제한을 줄이기 시작하는 지연 시간 배수
+     * @param longWindow 장기 지연 시간의 지수 이동 평균 창 크기 (관측 창 수)
+     * @param windowMillis 관측 창의 최소 길이 (밀리초)
+     * @param minWindowSamples 관측 창을 닫기 위한 최소 관측 수
+     * @param nodeId 이 노드의 ID (비어 있으면 프로세스 ID@호스트 이름)
+     * @param dropExceptions 실패(drop)로 반영할 예외 클래스 이름 (하위 클래스 포함)
+     * @throws IllegalArgumentException dropExceptions에 찾을 수 없거나 예외가 아닌 클래스가 있는 경우
+     */
+    public AdaptiveLimitRegistry(MeterRegistry meterRegistry,
+                                 @Value("${rate-limiter.adaptive.min-ratio:0.1}") double minRatio,
+                                 @Value("${rate-limiter.adaptive.smoothing:0.2}") double smoothing,
+                                 @Value("${rate-limiter.adaptive.tolerance:1.5}") double tolerance,
+                                 @Value("${rate-limiter.adaptive.long-window:600}") int longWindow,
+                                 @Value("${rate-limiter.adaptive.window-ms:1000}") long windowMillis,
+                                 @Value("${rate-limiter.adaptive.min-window-samples:10}") int minWindowSamples,
+                                 @Value("${rate-limiter.adaptive.node-id:${rate-limiter.heavy-hitters.node-id:}}") String nodeId,
+                                 @Value("${rate-limiter.adaptive.drop-exceptions:" + DEFAULT_DROP_EXCEPTIONS + "}") String[] dropExceptions) {
+        this.meterRegistry = meterRegistry;
+        this.minRatio = minRatio;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.longWindow = longWindow;
+        this.windowNanos = windowMillis * 1_000_000;
+        this.minWindowSamples = minWindowSamples;
+        this.nodeSuffix = "@" + (nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId);
+        this.dropExceptions = resolveExceptions(dropExceptions);
+    }
+
+    /**
+     * 예외 클래스 이름을 클래스로 변환합니다. (빈 이름은 건너뜀)
+     */
+    private static List<Class<?>> resolveExceptions(String[] names) {
+        List<Class<?>> types = new ArrayList<>(names.length);
+        for (String name : names) {
+            if (name.isBlank()) {
+                continue;
+            }
+            Class<?> type;
+            try {
+                type = ClassUtils.forName(name.trim(), AdaptiveLimitRegistry.class.getClassLoader());
+            } catch (ClassNotFoundException | LinkageError e) {
+                throw new IllegalArgumentException("drop-exceptions의 클래스를 찾을 수 없습니다: " + name, e);
+            }
+            if (!Throwable.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException("drop-exceptions에는 예외 클래스만 지정할 수 있습니다: " + name);
+            }
+            types.add(type);
+        }
+        return List.copyOf(types);
+    }
+
+    /**
+     * 예외로 끝난 실행을 적응형 규칙에 실패(drop)로 반영해야 하는지 확인합니다.
+     * 예외나 그 원인 중 하나가 drop-exceptions에 해당하거나 5xx 응답 상태를 가지면 과부하로 봅니다.
+     *
+     * @param error 메서드 실행을 끝낸 예외
+     * @return 과부하를 뜻하는 예외면 true
+     */
+    public boolean isOverload(Throwable error) {
+        // 원인이 서로를 가리키는 예외에서 멈추도록 확인할 원인 수를 제한
+        Throwable current = error;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++, current = current.getCause()) {
+            if (current instanceof ErrorResponse response && response.getStatusCode().is5xxServerError()) {
+                return true;
+            }
+            for (Class<?> type : dropExceptions) {
+                if (type.isInstance(current)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 규칙 하나의 그래디언트 제한을 생성하고 게이지를 등록합니다.
+     *
+     * @param rule 규칙 이름 (예: 클래스.메서드#0)
+     * @param kind 제한 종류 (rate, concurrency)
+     * @param declaredLimit 선언된 제한 (노드 하나의 최대 제한)
+     * @return 그래디언트 제한
+     */
+    public GradientLimit create(String rule, String kind, long declaredLimit) {
+        GradientLimit limit = new GradientLimit((long) Math.ceil(declaredLimit * minRatio), declaredLimit,
+                smoothing, tolerance, longWindow, windowNanos, minWindowSamples, System::nanoTime);
+        Gauge.builder("adaptive_limiter.limit", limit, GradientLimit::getLimit)
+                .description("적응형 규칙의 현재 유효 제한 (노드 로컬)")
+                .tag("rule", rule)
+                .tag("kind", kind)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    /**
+     * 적응형 규칙의 카운터 키에 이 노드의 ID를 붙입니다.
+     *
+     * @param key 규칙의 키 또는 키 접미사
+     * @return 노드 ID를 붙인 키 (예: 클래스.메서드@12345@host)
+     */
+    public String nodeKey(String key) {
+        return key + nodeSuffix;
+    }
+}
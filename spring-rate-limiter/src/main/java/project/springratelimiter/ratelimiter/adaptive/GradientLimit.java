@@ -0,0 +1,176 @@
+package project.springratelimiter.ratelimiter.adaptive;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * 관측된 지연 시간으로 유효 제한을 조정하는 그래디언트 제한.
+ * Netflix concurrency-limits의 Gradient2 방식을 따라, 장기 평균 지연 시간과 관측 창의 평균 지연 시간의 비율(그래디언트)로
+ * 제한을 줄이거나 늘립니다.
+ *
+ * <pre>
+ * gradient = clamp(tolerance × 장기 지연 시간 / 창 평균 지연 시간, 0.5, 1.0)
+ * 새 제한   = 추정 제한 × gradient + √추정 제한
+ * 추정 제한 = 추정 제한 × (1 - smoothing) + 새 제한 × smoothing  (최소 제한 ~ 최대 제한)
+ * </pre>
+ *
+ * 지연 시간이 장기 평균의 tolerance배 이내이면 그래디언트가 1이 되어 제한이 최대 제한(선언된 제한)까지 회복되고,
+ * 그보다 느려지면 비율만큼 줄어듭니다. 장기 지연 시간도 창 평균을 천천히 따라가므로 느린 상태가 계속되면 새 기준이 됩니다.
+ *
+ * 관측값은 하나씩 제한을 움직이지 않고 관측 창에 모읍니다. 창은 windowNanos가 지나고 minWindowSamples개 이상 모였을 때
+ * 닫히며, 창을 닫은 스레드가 창 전체로 제한을 한 번 갱신합니다. 창에 실패(drop)가 하나라도 있으면 지연 시간 대신
+ * 제한을 BACKOFF_RATIO배로 줄입니다. (실패한 요청의 처리 시간은 장기 지연 시간에 반영하지 않음)
+ * 관측 창은 불변 객체를 CAS로 교체하므로 동시에 들어온 관측값도 버려지지 않습니다.
+ *
+ * 제한은 이 노드에서 관측한 처리 시간만으로 조정되는 노드 로컬 값입니다.
+ * 적응형 규칙의 카운터도 노드별 키를 사용하므로(AdaptiveLimitRegistry.nodeKey) 노드마다 다른 제한이 같은 카운터에 섞이지 않습니다.
+ */
+public final class GradientLimit {
+
+    /**
+     * 실패가 있는 관측 창에서 추정 제한에 곱하는 비율.
+     */
+    static final double BACKOFF_RATIO = 0.9;
+
+    private final long minLimit;
+    private final long maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double longWindowFactor;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final LongSupplier nanoClock;
+
+    // 현재 관측 창 (관측값마다 새 창으로 CAS 교체)
+    private final AtomicReference<SampleWindow> window;
+
+    // 창을 닫은 스레드만 읽고 쓰는 상태 (synchronized)
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    // 판단 경로에서 잠금 없이 읽는 현재 제한
+    private volatile long limit;
+
+    /**
+     * 그래디언트 제한을 생성합니다. 처음에는 최대 제한에서 시작합니다.
+     *
+     * @param minLimit 최소 제한 (최소 1)
+     * @param maxLimit 최대 제한 (선언된 제한)
+     * @param smoothing 새 제한을 반영하는 비율 (0~1, 클수록 빠르게 반응)
+     * @param tolerance 제한을 줄이기 시작하는 지연 시간 배수 (장기 평균 대비)
+     * @param longWindow 장기 지연 시간의 지수 이동 평균 창 크기 (관측 창 수)
+     * @param windowNanos 관측 창의 최소 길이 (나노초)
+     * @param minWindowSamples 관측 창을 닫기 위한 최소 관측 수 (최소 1)
+     * @param nanoClock 관측 창의 시간을 재는 나노초 시계 (보통 System::nanoTime)
+     */
+    public GradientLimit(long minLimit, long maxLimit, double smoothing, double tolerance, int longWindow,
+                         long windowNanos, int minWindowSamples, LongSupplier nanoClock) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.minLimit = Math.min(this.maxLimit, Math.max(1, minLimit));
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.longWindowFactor = 1.0 / Math.max(1, longWindow);
+        this.windowNanos = Math.max(0, windowNanos);
+        this.minWindowSamples = Math.max(1, minWindowSamples);
+        this.nanoClock = nanoClock;
+        this.window = new AtomicReference<>(SampleWindow.empty(nanoClock.getAsLong()));
+        this.estimatedLimit = this.maxLimit;
+        this.limit = this.maxLimit;
+    }
+
+    /**
+     * 현재 유효 제한을 반환합니다.
+     *
+     * @return 유효 제한 (최소 제한 ~ 최대 제한)
+     */
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * 정상적으로 끝난 요청 하나의 처리 시간을 관측 창에 반영합니다.
+     *
+     * @param rttNanos 요청 처리 시간 (나노초)
+     */
+    public void onSample(long rttNanos) {
+        if (rttNanos > 0) {
+            record(rttNanos, false);
+        }
+    }
+
+    /**
+     * 실패로 끝난 요청 하나를 관측 창에 반영합니다.
+     */
+    public void onDrop() {
+        record(0, true);
+    }
+
+    private void record(long rttNanos, boolean dropped) {
+        SampleWindow current = window.updateAndGet(w -> w.add(rttNanos, dropped));
+        long now = nanoClock.getAsLong();
+        if (current.isReady(now, windowNanos, minWindowSamples)) {
+            closeWindow(now);
+        }
+    }
+
+    private synchronized void closeWindow(long now) {
+        // 다른 스레드가 먼저 닫았으면 새 창이 아직 준비되지 않았으므로 그대로 둠
+        SampleWindow closed = window.get();
+        if (!closed.isReady(now, windowNanos, minWindowSamples) || !window.compareAndSet(closed, SampleWindow.empty(now))) {
+            return;
+        }
+
+        if (closed.drops() > 0) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+        } else {
+            update(closed.averageRttNanos());
+        }
+        limit = (long) estimatedLimit;
+    }
+
+    private void update(double rttNanos) {
+        // 장기 지연 시간 갱신 (지수 이동 평균)
+        longRttNanos = longRttNanos == 0
+                ? rttNanos
+                : longRttNanos + (rttNanos - longRttNanos) * longWindowFactor;
+
+        // 지연 시간이 회복되는 중이면 장기 지연 시간이 새 기준을 빨리 따라가도록 낮춤
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit,
+                Math.min(maxLimit, estimatedLimit * (1 - smoothing) + newLimit * smoothing));
+    }
+
+    /**
+     * 관측 창 하나의 집계. 관측값마다 새 객체를 만들어 CAS로 교체합니다.
+     *
+     * @param startNanos 창이 시작된 시각 (나노초)
+     * @param rttSumNanos 정상 관측값의 처리 시간 합 (나노초)
+     * @param samples 정상 관측 수
+     * @param drops 실패 관측 수
+     */
+    private record SampleWindow(long startNanos, long rttSumNanos, long samples, long drops) {
+
+        static SampleWindow empty(long startNanos) {
+            return new SampleWindow(startNanos, 0, 0, 0);
+        }
+
+        SampleWindow add(long rttNanos, boolean dropped) {
+            return dropped
+                    ? new SampleWindow(startNanos, rttSumNanos, samples, drops + 1)
+                    : new SampleWindow(startNanos, rttSumNanos + rttNanos, samples + 1, drops);
+        }
+
+        boolean isReady(long now, long windowNanos, int minSamples) {
+            return now - startNanos >= windowNanos && samples + drops >= minSamples;
+        }
+
+        double averageRttNanos() {
+            return (double) rttSumNanos / samples;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package project.springratelimiter.ratelimiter.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메서드에 동시 요청 수(in-flight) 제한을 적용하기 위한 어노테이션.
+ * 시간당 요청 수를 제한하는 {@link RateLimit}과 달리, 처리 중인 요청 수가 제한에 도달하면 새 요청을 거부하여
+ * 느린 요청이 몰려 스레드와 연결이 고갈되는 것을 막습니다.
+ * 허가(permit)는 Redis의 분산 세마포어에서 임대 기간(lease)과 함께 얻고, 메서드 실행이 끝나면 반납합니다.
+ * 노드가 비정상 종료되어 반납되지 않은 허가는 임대 기간이 지나면 자동으로 회수됩니다.
+ * {@code @RateLimit}과 함께 선언하면 속도 제한을 통과한 요청만 허가를 얻습니다.
+ * 서블릿 애플리케이션에서만 적용되며, WebFlux 애플리케이션의 핸들러 메서드에 선언하면 시작할 때 실패합니다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimit {
+
+    /**
+     * 동시에 처리할 수 있는 최대 요청 수
+     *
+     * @return 최대 동시 요청 수
+     */
+    long limit() default 10;
+
+    /**
+     * 동시 요청 수를 셀 키 유형 (키는 메서드마다 따로 적용)
+     *
+     * @return 키 유형
+     */
+    RateLimit.KeyType keyType() default RateLimit.KeyType.METHOD;
+
+    /**
+     * 허가의 임대 기간(초). 반납되지 않은 허가는 이 기간이 지나면 회수되므로 메서드의 최대 실행 시간보다 길게 지정합니다.
+     *
+     * @return 임대 기간(초)
+     */
+    long leaseSeconds() default 30;
+
+    /**
+     * 메서드 처리 시간에 따라 최대 동시 요청 수를 조정할지 여부 (기본값: false)
+     * true이면 limit은 최대 제한이 되고, 처리 시간이 평소보다 길어지면 유효 제한이 줄어듭니다.
+     *
+     * @return 적응형 제한 사용 여부
+     */
+    boolean adaptive() default false;
+}
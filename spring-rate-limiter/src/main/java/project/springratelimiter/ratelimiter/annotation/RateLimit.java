@@ -1,6 +1,7 @@
 package project.springratelimiter.ratelimiter.annotation;
 
 import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
@@ -8,9 +9,11 @@ import java.lang.annotation.Target;
 /**
  * 메서드에 속도 제한을 적용하기 위한 어노테이션.
  * 이 어노테이션은 컨트롤러 메서드에 적용하여 요청 속도를 제한할 수 있습니다.
+ * 한 메서드에 여러 번 선언하면 모든 규칙을 함께 평가하며, 하나라도 초과하면 요청이 거부됩니다.
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
+@Repeatable(RateLimits.class)
 public @interface RateLimit {
     
     /**
@@ -40,6 +43,64 @@ public @interface RateLimit {
      * @return 알고리즘 유형
      */
     Algorithm algorithm() default Algorithm.SLIDING_WINDOW;
+
+    /**
+     * 속도 제한 판단을 수행할 백엔드
+     *
+     * @return 백엔드 유형
+     */
+    Backend backend() default Backend.REDIS;
+
+    /**
+     * 제한을 나눌 하위 키 수 (기본값: 1, 나누지 않음)
+     * 모든 노드가 같은 키를 사용하는 전역 규칙(KeyType.METHOD)에서 키 하나에 요청이 몰리지 않도록
+     * 제한을 N개의 하위 키로 나누어 Redis Cluster의 여러 슬롯으로 분산합니다.
+     *
+     * @return 하위 키 수
+     */
+    int shards() default 1;
+
+    /**
+     * Redis 장애(시간 초과, 연결 실패, 회로 열림)로 판단할 수 없을 때 적용할 정책 (기본값: FALLBACK)
+     *
+     * @return 실패 정책
+     */
+    FailurePolicy onFailure() default FailurePolicy.FALLBACK;
+
+    /**
+     * 메서드 처리 시간에 따라 유효 제한을 조정할지 여부 (기본값: false)
+     * true이면 limit은 최대 제한이 되고, 처리 시간이 평소보다 길어지면 유효 제한이 줄어듭니다.
+     *
+     * @return 적응형 제한 사용 여부
+     */
+    boolean adaptive() default false;
+
+    /**
+     * 요청 하나가 소비할 허용량 (기본값: 1)
+     * 대량 조회처럼 처리 비용이 큰 요청에 1보다 큰 값을 지정하면 limit을 그만큼 빨리 소진합니다.
+     *
+     * @return 요청 하나가 소비할 허용량
+     */
+    long cost() default 1;
+
+    /**
+     * 요청마다 소비할 허용량을 메서드 인자로 계산하는 SpEL 표현식 (기본값: "", cost 사용)
+     * 메서드 인자는 이름(#size) 또는 위치(#p0, #a0)로 참조하며, 결과는 1 이상의 정수여야 합니다.
+     * 메서드 인자를 알 수 없는 WebFlux 애플리케이션의 핸들러 메서드에 선언하면 시작할 때 실패합니다.
+     *
+     * @return 허용량 SpEL 표현식
+     */
+    String costExpression() default "";
+
+    /**
+     * 제한을 초과한 요청을 거부하는 대신 기다리게 할 최대 시간(밀리초) (기본값: 0, 대기하지 않고 거부)
+     * 0보다 크면 요청은 누수 버킷 대기열에서 자기 차례가 될 때까지 기다린 뒤 실행되어 하위 시스템에 일정한 속도로 전달됩니다.
+     * 기다려야 하는 시간이 이 값을 넘는 요청만 거부합니다.
+     * LEAKY_BUCKET 알고리즘의 REDIS 백엔드 단일 규칙(shards = 1)에서만 사용할 수 있습니다.
+     *
+     * @return 최대 대기 시간 (밀리초)
+     */
+    long maxDelayMillis() default 0;
     
     /**
      * 속도 제한 키를 생성하는 데 사용할 수 있는 키 유형
@@ -95,6 +156,59 @@ public @interface RateLimit {
          * 누수 버킷 알고리즘 - 일정한 속도로 요청을 처리하고 초과 요청은 대기열에 넣거나 거부합니다.
          * 일정한 처리 속도를 보장하지만 버스트 트래픽을 처리하는 데 제한이 있습니다.
          */
-        LEAKY_BUCKET
+        LEAKY_BUCKET,
+
+        /**
+         * GCRA(Generic Cell Rate Algorithm) - 키마다 다음 요청의 이론적 도착 시간(TAT) 하나만 저장합니다.
+         * 토큰 버킷과 같은 결과(버킷 크기 limit, 리필 속도 limit/period)를 내지만 판단마다 읽기 한 번과 허용 시 쓰기 한 번만 수행합니다.
+         */
+        GCRA
+    }
+
+    /**
+     * 속도 제한 판단을 수행하는 백엔드 유형
+     */
+    enum Backend {
+        /**
+         * 모든 요청을 Redis의 Lua 스크립트로 판단합니다.
+         * 여러 노드에서 정확한 제한을 보장하지만 요청마다 Redis 왕복이 발생합니다.
+         */
+        REDIS,
+
+        /**
+         * 노드 로컬 허용량(near-cache)을 앞에 두고 Redis에서는 허용량을 묶음 단위로 임대합니다.
+         * 제한보다 충분히 적거나 이미 초과한 호출자는 Redis 왕복 없이 로컬에서 판단되며,
+         * 노드에 임대된 뒤 사용되지 않은 허용량만큼 정확도가 떨어질 수 있습니다.
+         * 임대 단위가 고정 윈도우 예산이므로 FIXED_WINDOW 알고리즘만 지원합니다.
+         */
+        NEAR_CACHE,
+
+        /**
+         * Redis 없이 애플리케이션 메모리에서만 판단합니다.
+         * 단일 노드나 사이드카 배포에서 네트워크 왕복 없이 같은 알고리즘을 적용할 때 사용하며,
+         * 여러 노드가 있으면 노드마다 독립적으로 제한이 적용됩니다.
+         */
+        IN_MEMORY
+    }
+
+    /**
+     * Redis를 사용할 수 없을 때 속도 제한 판단 방법
+     */
+    enum FailurePolicy {
+        /**
+         * 같은 알고리즘의 인메모리 속도 제한기로 노드별 근사 판단을 합니다.
+         * 제한은 rate-limiter.resilience.fallback-nodes로 나누어 노드 수만큼의 합이 전체 제한을 넘지 않도록 합니다.
+         */
+        FALLBACK,
+
+        /**
+         * 모든 요청을 허용합니다. 속도 제한보다 가용성이 중요한 규칙에 사용합니다.
+         */
+        FAIL_OPEN,
+
+        /**
+         * 모든 요청을 거부합니다. 제한을 넘는 요청이 절대 통과해서는 안 되는 규칙에 사용합니다.
+         */
+        FAIL_CLOSED
     }
-}
\ No newline at end of file
+}
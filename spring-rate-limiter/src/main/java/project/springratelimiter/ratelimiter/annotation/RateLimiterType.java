@@ -22,4 +22,11 @@ public @interface RateLimiterType {
      * @return 지원하는 알고리즘 유형
      */
     RateLimit.Algorithm value();
-}
\ No newline at end of file
+
+    /**
+     * 이 서비스 구현체가 속도 제한 판단을 수행하는 백엔드
+     *
+     * @return 백엔드 유형
+     */
+    RateLimit.Backend backend() default RateLimit.Backend.REDIS;
+}
@@ -0,0 +1,22 @@
+package project.springratelimiter.ratelimiter.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 한 메서드에 여러 {@link RateLimit} 규칙을 겹쳐 적용하기 위한 컨테이너 어노테이션.
+ * 직접 사용하지 않고 메서드에 {@code @RateLimit}을 여러 번 선언하면 자동으로 적용됩니다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimits {
+
+    /**
+     * 함께 적용할 속도 제한 규칙 목록
+     *
+     * @return 속도 제한 규칙 목록
+     */
+    RateLimit[] value();
+}
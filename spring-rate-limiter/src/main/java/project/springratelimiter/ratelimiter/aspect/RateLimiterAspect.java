@@ -1,139 +1,421 @@
 package project.springratelimiter.ratelimiter.aspect;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import project.springratelimiter.ratelimiter.annotation.ConcurrencyLimit;
 import project.springratelimiter.ratelimiter.annotation.RateLimit;
 import project.springratelimiter.ratelimiter.exception.RateLimitExceededException;
-import project.springratelimiter.ratelimiter.factory.RateLimiterFactory;
+import project.springratelimiter.ratelimiter.header.RateLimitHeaders;
+import project.springratelimiter.ratelimiter.heavyhitter.HeavyHitterTracker;
+import project.springratelimiter.ratelimiter.metrics.DecisionMeters;
+import project.springratelimiter.ratelimiter.metrics.RateLimiterMetrics;
+import project.springratelimiter.ratelimiter.metrics.TraceparentSpanContext;
+import project.springratelimiter.ratelimiter.override.RateLimitOverride;
+import project.springratelimiter.ratelimiter.override.RateLimitOverrideRegistry;
+import project.springratelimiter.ratelimiter.plan.RateLimitPlan;
+import project.springratelimiter.ratelimiter.plan.RateLimitPlanCache;
+import project.springratelimiter.ratelimiter.plan.RateLimitRule;
+import project.springratelimiter.ratelimiter.plan.RequestKeys;
+import project.springratelimiter.ratelimiter.resilience.RateLimiterResilience;
+import project.springratelimiter.ratelimiter.service.ConcurrencyLimiterService;
+import project.springratelimiter.ratelimiter.service.ConcurrencyPermit;
+import project.springratelimiter.ratelimiter.service.HotKeySharding;
+import project.springratelimiter.ratelimiter.service.LimitSpec;
+import project.springratelimiter.ratelimiter.service.PipelinedRateLimiter;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
 import project.springratelimiter.ratelimiter.service.RateLimiterService;
+import project.springratelimiter.ratelimiter.service.ShapingDecision;
+import project.springratelimiter.ratelimiter.service.ShapingRateLimiterService;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
- * @RateLimit 어노테이션이 적용된 메서드에 대한 요청을 가로채는 Aspect.
+ * @RateLimit, @ConcurrencyLimit 어노테이션이 적용된 메서드에 대한 요청을 가로채는 Aspect.
  * 이 Aspect는 요청이 속도 제한을 초과하는지 확인하고, 초과할 경우 예외를 발생시킵니다.
+ * 동시 요청 제한은 속도 제한을 통과한 요청에만 허가를 얻고, 메서드 실행이 끝나면(예외 포함) 허가를 반납합니다.
+ * 적응형 규칙(adaptive = true)이 있는 메서드는 처리 시간을 측정하여 규칙의 유효 제한을 조정합니다.
+ * Redis에 의존하는 판단은 RateLimiterResilience로 감싸 Redis 장애 시 규칙의 실패 정책(onFailure)에 따라 판단합니다.
+ * 셰이핑 규칙(maxDelayMillis > 0)은 제한을 초과한 요청을 바로 거부하지 않고 대기열에서 자기 차례가 될 때까지 기다리게 합니다.
+ * 요청마다 달라지는 키(IP, USER)를 사용하는 메서드는 거부 여부와 관계없이 요청 키를 HeavyHitterTracker에 기록합니다.
+ * 규칙마다 판단 결과와 판단 시간(셰이핑 대기 시간 제외)을 RateLimiterMetrics에 기록합니다.
+ * 서블릿 요청 정보를 사용하므로 서블릿 웹 애플리케이션에서만 등록되며, WebFlux에서는 RateLimitWebFilter가 같은 역할을 합니다.
  */
 @Aspect
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RateLimiterAspect {
 
-    private final RateLimiterFactory rateLimiterFactory;
+    private final RateLimitPlanCache planCache;
+    private final PipelinedRateLimiter pipelinedRateLimiter;
+    private final HotKeySharding hotKeySharding;
+    private final RateLimiterResilience resilience;
+    private final ConcurrencyLimiterService concurrencyLimiterService;
+    private final RateLimitOverrideRegistry overrideRegistry;
+    private final HeavyHitterTracker heavyHitterTracker;
+    private final RateLimiterMetrics metrics;
 
     /**
-     * RateLimiterFactory를 사용하여 RateLimiterAspect를 생성합니다.
+     * RateLimitPlanCache, PipelinedRateLimiter, HotKeySharding, RateLimiterResilience, ConcurrencyLimiterService,
+     * RateLimitOverrideRegistry, HeavyHitterTracker, RateLimiterMetrics를 사용하여 RateLimiterAspect를 생성합니다.
      *
-     * @param rateLimiterFactory 속도 제한 알고리즘에 따라 적절한 서비스를 제공하는 팩토리
+     * @param planCache 메서드별로 어노테이션과 속도 제한 서비스를 미리 해석해 둔 판단 계획 캐시
+     * @param pipelinedRateLimiter 겹쳐 선언된 여러 규칙을 한 번에 평가하는 컴포넌트
+     * @param hotKeySharding 하위 키로 나눈 규칙(shards > 1)을 판단하는 컴포넌트
+     * @param resilience Redis 장애 시 실패 정책에 따라 판단하는 컴포넌트
+     * @param concurrencyLimiterService 동시 요청 허가를 관리하는 서비스
+     * @param overrideRegistry 런타임에 선언된 제한과 기간을 재정의하는 레지스트리
+     * @param heavyHitterTracker 요청이 많은 키를 추적하는 컴포넌트
+     * @param metrics 판단 결과와 판단 시간을 기록하는 컴포넌트
      */
-    public RateLimiterAspect(RateLimiterFactory rateLimiterFactory) {
-        this.rateLimiterFactory = rateLimiterFactory;
+    public RateLimiterAspect(RateLimitPlanCache planCache, PipelinedRateLimiter pipelinedRateLimiter,
+                             HotKeySharding hotKeySharding, RateLimiterResilience resilience,
+                             ConcurrencyLimiterService concurrencyLimiterService,
+                             RateLimitOverrideRegistry overrideRegistry,
+                             HeavyHitterTracker heavyHitterTracker,
+                             RateLimiterMetrics metrics) {
+        this.planCache = planCache;
+        this.pipelinedRateLimiter = pipelinedRateLimiter;
+        this.hotKeySharding = hotKeySharding;
+        this.resilience = resilience;
+        this.concurrencyLimiterService = concurrencyLimiterService;
+        this.overrideRegistry = overrideRegistry;
+        this.heavyHitterTracker = heavyHitterTracker;
+        this.metrics = metrics;
     }
 
     /**
-     * @RateLimit 어노테이션이 적용된 메서드를 가로채고 속도 제한을 적용합니다.
+     * @RateLimit, @ConcurrencyLimit 어노테이션이 적용된 메서드를 가로채고 속도 제한과 동시 요청 제한을 적용합니다.
+     * @RateLimit이 여러 번 선언된 메서드는 모든 규칙을 한 번에 평가합니다.
+     * 두 제한을 하나의 어드바이스에서 처리하여 속도 제한 확인이 항상 허가 획득보다 먼저 수행되도록 합니다.
      *
      * @param joinPoint 가로챈 메서드의 조인 포인트
      * @return 원래 메서드의 결과
      * @throws Throwable 원래 메서드에서 발생한 예외 또는 속도 제한 초과 예외
      */
-    @Around("@annotation(project.springratelimiter.ratelimiter.annotation.RateLimit)")
+    @Around("@annotation(project.springratelimiter.ratelimiter.annotation.RateLimit) || "
+            + "@annotation(project.springratelimiter.ratelimiter.annotation.RateLimits) || "
+            + "@annotation(project.springratelimiter.ratelimiter.annotation.ConcurrencyLimit)")
     public Object rateLimit(ProceedingJoinPoint joinPoint) throws Throwable {
         // 메서드 시그니처 가져오기
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
+        RateLimitPlan plan = planCache.planFor(signature.getMethod());
 
-        // @RateLimit 어노테이션 가져오기
-        RateLimit rateLimit = method.getAnnotation(RateLimit.class);
+        if (plan.isLimited()) {
+            recordHeavyHitter(plan);
+            RateLimitDecision decision = check(plan, signature.getMethod(), joinPoint.getArgs());
 
-        // 속도 제한 파라미터 추출
-        long limit = rateLimit.limit();
-        long period = rateLimit.period();
-        RateLimit.KeyType keyType = rateLimit.keyType();
-        RateLimit.Algorithm algorithm = rateLimit.algorithm();
-
-        // 키 생성
-        String key = generateKey(method, keyType);
+            // 허용된 요청에도 남은 허용량을 헤더로 알려 클라이언트가 미리 속도를 조절할 수 있도록 함
+            HttpServletResponse response = getResponse();
+            if (response != null) {
+                RateLimitHeaders.write(decision, response::setHeader);
+            }
+        }
 
-        // 알고리즘에 맞는 RateLimiterService 가져오기
-        RateLimiterService rateLimiterService = rateLimiterFactory.getRateLimiter(algorithm);
+        // 동시 요청 허가를 얻은 뒤 원래 메서드 실행, 실행이 끝나면 결과와 관계없이 허가 반납
+        ConcurrencyPermit permit = plan.isConcurrencyLimited() ? acquirePermit(plan) : null;
+        try {
+            return plan.isAdaptive() ? proceedAndRecord(joinPoint, plan) : joinPoint.proceed();
+        } finally {
+            if (permit != null) {
+                permit.release();
+            }
+        }
+    }
 
-        // 속도 제한 확인
-        boolean allowed = rateLimiterService.tryAcquire(key, limit, period);
+    /**
+     * 원래 메서드를 실행하고 처리 시간을 적응형 규칙에 반영합니다.
+     * 예외로 끝난 실행은 처리 시간 대신, 과부하를 뜻하는 예외인 경우에만 실패(drop)로 반영합니다.
+     *
+     * @param joinPoint 가로챈 메서드의 조인 포인트
+     * @param plan 적응형 규칙이 있는 메서드의 판단 계획
+     * @return 원래 메서드의 결과
+     * @throws Throwable 원래 메서드에서 발생한 예외
+     */
+    private Object proceedAndRecord(ProceedingJoinPoint joinPoint, RateLimitPlan plan) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            plan.recordFailure(e);
+            throw e;
+        }
+        plan.recordLatency(System.nanoTime() - start);
+        return result;
+    }
 
-        // 속도 제한 초과 시 예외 발생
-        if (!allowed) {
-            throw new RateLimitExceededException(
-                    String.format("속도 제한 초과: %d 요청/%d초 (알고리즘: %s)", limit, period, algorithm));
+    /**
+     * 요청마다 달라지는 키를 사용하는 첫 번째 규칙의 요청 키를 HeavyHitterTracker에 기록합니다.
+     * 규칙별 접미사는 붙이지 않으므로 같은 클라이언트의 요청은 메서드와 관계없이 하나의 키로 합산됩니다.
+     *
+     * @param plan 속도 제한 규칙이 있는 메서드의 판단 계획
+     */
+    private void recordHeavyHitter(RateLimitPlan plan) {
+        for (RateLimitRule rule : plan.rules()) {
+            if (rule.fixedKey() == null) {
+                RateLimit.KeyType keyType = rule.rateLimit().keyType();
+                heavyHitterTracker.record(keyType, requestKey(keyType));
+                return;
+            }
         }
+    }
+
+    /**
+     * 메서드에 선언된 속도 제한 규칙을 모두 확인합니다.
+     * 어노테이션 조회와 서비스 선택은 메서드별 판단 계획에서 한 번만 수행됩니다.
+     *
+     * @param method 가로챈 메서드
+     * @param args 메서드 인자 (허용량 표현식 계산에 사용)
+     * @return 허용된 판단 결과
+     * @throws RateLimitExceededException 속도 제한을 초과한 경우
+     */
+    RateLimitDecision check(Method method, Object... args) {
+        return check(planCache.planFor(method), method, args);
+    }
 
-        // 원래 메서드 실행
-        return joinPoint.proceed();
+    private RateLimitDecision check(RateLimitPlan plan, Method method, Object[] args) {
+        return plan.isSingle()
+                ? checkRateLimit(plan.rules().get(0), method, args)
+                : checkRateLimits(plan.rules(), method, args);
     }
 
     /**
-     * 속도 제한에 사용할 키를 생성합니다.
+     * 단일 속도 제한 규칙을 확인합니다.
      *
+     * @param rule 미리 해석된 속도 제한 규칙
      * @param method 가로챈 메서드
-     * @param keyType 키 유형
-     * @return 생성된 키
-     */
-    private String generateKey(Method method, RateLimit.KeyType keyType) {
-        switch (keyType) {
-            case IP:
-                return getClientIp();
-            case USER:
-                return getUserId();
-            case METHOD:
-                return method.getDeclaringClass().getName() + "." + method.getName();
-            default:
-                return getClientIp();
+     * @param args 메서드 인자
+     * @return 허용된 판단 결과
+     */
+    private RateLimitDecision checkRateLimit(RateLimitRule rule, Method method, Object[] args) {
+        // 키 생성
+        RateLimit rateLimit = rule.rateLimit();
+        String requestKey = requestKey(rule);
+        String key = RequestKeys.ruleKey(rule, requestKey);
+
+        // 속도 제한 파라미터 추출 (재정의 규칙이 있으면 선언된 값 대신 사용)
+        RateLimitOverride override = overrideRegistry.resolve(rule, requestKey);
+        long limit = override.limit(rule);
+        long period = override.period(rule);
+
+        LimitSpec spec = new LimitSpec(key, limit, period, rateLimit.algorithm(), rateLimit.backend(),
+                rule.cost(method, args));
+        if (rateLimit.maxDelayMillis() > 0) {
+            return shape(rule, spec);
+        }
+
+        // 속도 제한 확인 (하위 키로 나눈 규칙은 하위 키 하나에서 판단, Redis 장애 시 실패 정책으로 판단)
+        long start = System.nanoTime();
+        RateLimitDecision decision = resilience.dependsOnRedis(spec)
+                ? resilience.execute(() -> acquire(rule, spec), () -> resilience.degrade(rateLimit, spec))
+                : acquire(rule, spec);
+        recordDecision(rule, decision, start);
+
+        // 속도 제한 초과 시 예외 발생
+        if (!decision.allowed()) {
+            throw RateLimitExceededException.of(rateLimit, decision);
         }
+        return decision;
     }
 
     /**
-     * 클라이언트 IP 주소를 가져옵니다.
+     * 셰이핑 규칙(maxDelayMillis > 0)의 요청에 대기열 자리를 배정하고, 자기 차례가 될 때까지 현재 스레드를 멈춥니다.
+     * 요청은 가상 스레드(spring.threads.virtual.enabled)에서 실행되므로 기다리는 동안 캐리어 스레드를 점유하지 않습니다.
+     * 기다리는 중 인터럽트되면 인터럽트 상태를 복원하고, 실행하지 않은 채 남은 대기 시간을 재시도 시간으로 거부합니다.
      *
-     * @return 클라이언트 IP 주소
+     * @param rule 셰이핑 규칙
+     * @param spec 요청 키가 채워진 속도 제한 규칙
+     * @return 허용된 판단 결과
+     * @throws RateLimitExceededException 대기열이 가득 찼거나 최대 대기 시간보다 오래 기다려야 하는 경우, 기다리는 중 인터럽트된 경우
      */
-    private String getClientIp() {
-        HttpServletRequest request = getRequest();
-        String ip = request.getHeader("X-Forwarded-For");
-        
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
+    private RateLimitDecision shape(RateLimitRule rule, LimitSpec spec) {
+        RateLimit rateLimit = rule.rateLimit();
+        ShapingRateLimiterService shaper = (ShapingRateLimiterService) rule.service();
+        long start = System.nanoTime();
+        ShapingDecision shaped = resilience.execute(
+                () -> shaper.shape(spec.key(), spec.permits(), spec.limit(), spec.period(), rateLimit.maxDelayMillis()),
+                () -> ShapingDecision.immediate(resilience.degrade(rateLimit, spec)));
+
+        RateLimitDecision decision = shaped.decision();
+        recordDecision(rule, decision, start);
+        if (!decision.allowed()) {
+            throw RateLimitExceededException.of(rateLimit, decision);
+        }
+        if (shaped.delayMillis() > 0) {
+            long deadline = System.currentTimeMillis() + shaped.delayMillis();
+            try {
+                Thread.sleep(shaped.delayMillis());
+            } catch (InterruptedException e) {
+                // 남은 대기 시간을 재시도 시간으로 알려주고 거부 (배정된 대기열 자리는 시간이 지나면 저절로 비워짐)
+                Thread.currentThread().interrupt();
+                long retryAfter = Math.max(0, deadline - System.currentTimeMillis());
+                throw RateLimitExceededException.of(rateLimit,
+                        new RateLimitDecision(false, decision.limit(), 0, decision.resetAtMillis(), retryAfter));
+            }
         }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("WL-Proxy-Client-IP");
+        return decision;
+    }
+
+    /**
+     * 단일 속도 제한 규칙으로 판단합니다.
+     *
+     * @param rule 미리 해석된 속도 제한 규칙
+     * @param spec 요청 키가 채워진 속도 제한 규칙
+     * @return 판단 결과
+     */
+    private RateLimitDecision acquire(RateLimitRule rule, LimitSpec spec) {
+        int shards = rule.rateLimit().shards();
+        return shards > 1
+                ? hotKeySharding.acquire(rule.service(), spec, shards)
+                : rule.service().acquire(spec.key(), spec.permits(), spec.limit(), spec.period());
+    }
+
+    /**
+     * 겹쳐 선언된 여러 속도 제한 규칙을 한 번에 확인합니다.
+     * Redis 백엔드 규칙은 알고리즘과 관계없이 한 번의 Redis 왕복으로 평가됩니다.
+     *
+     * @param rules 미리 해석된 속도 제한 규칙 목록
+     * @param method 가로챈 메서드
+     * @param args 메서드 인자
+     * @return 남은 허용량이 가장 적은 규칙의 판단 결과
+     */
+    private RateLimitDecision checkRateLimits(List<RateLimitRule> rules, Method method, Object[] args) {
+        List<LimitSpec> specs = new ArrayList<>(rules.size());
+        List<RateLimiterService> services = new ArrayList<>(rules.size());
+        for (RateLimitRule rule : rules) {
+            RateLimit rateLimit = rule.rateLimit();
+            String requestKey = requestKey(rule);
+            String key = RequestKeys.ruleKey(rule, requestKey);
+            RateLimitOverride override = overrideRegistry.resolve(rule, requestKey);
+            LimitSpec spec = new LimitSpec(key, override.limit(rule), override.period(rule),
+                    rateLimit.algorithm(), rateLimit.backend(), rule.cost(method, args));
+
+            // 하위 키로 나눈 규칙은 이 노드가 고른 하위 키 하나로 평가
+            specs.add(rateLimit.shards() > 1 ? hotKeySharding.route(spec, rateLimit.shards()) : spec);
+            services.add(rule.service());
         }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_CLIENT_IP");
+
+        // Redis 장애 시 파이프라인에 포함된 규칙은 각 규칙의 실패 정책으로 판단
+        long start = System.nanoTime();
+        List<RateLimitDecision> decisions = pipelinedRateLimiter.acquireAll(specs, services,
+                index -> resilience.degrade(rules.get(index).rateLimit(), specs.get(index)));
+
+        // 한 번에 평가한 규칙들은 같은 판단 시간을 각자의 결과로 기록
+        long end = System.nanoTime();
+        for (int i = 0; i < rules.size(); i++) {
+            recordDecision(rules.get(i), decisions.get(i), start, end);
         }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_X_FORWARDED_FOR");
+
+        // 거부된 규칙이 있으면 재시도까지 가장 오래 기다려야 하는 규칙 기준으로 예외 발생
+        int selected = RateLimitDecision.mostRestrictive(decisions);
+        RateLimitDecision decision = decisions.get(selected);
+        if (!decision.allowed()) {
+            throw RateLimitExceededException.of(rules.get(selected).rateLimit(), decision);
         }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
+        return decision;
+    }
+
+    /**
+     * 규칙의 판단 결과와 판단 시작부터 지금까지의 시간을 기록합니다.
+     *
+     * @param rule 판단한 규칙
+     * @param decision 판단 결과
+     * @param start 판단을 시작한 System.nanoTime() 값
+     */
+    private void recordDecision(RateLimitRule rule, RateLimitDecision decision, long start) {
+        recordDecision(rule, decision, start, System.nanoTime());
+    }
+
+    private void recordDecision(RateLimitRule rule, RateLimitDecision decision, long start, long end) {
+        recordDecision(rule.meters(), decision.allowed(), start, end);
+    }
+
+    private void recordDecision(DecisionMeters meters, boolean allowed, long start, long end) {
+        // exemplar가 꺼져 있으면 요청 헤더를 읽지 않음
+        String traceparent = metrics.isExemplarEnabled() ? currentTraceparent() : null;
+        metrics.record(meters, allowed, end - start, traceparent);
+    }
+
+    /**
+     * 현재 요청의 traceparent 헤더를 읽습니다.
+     * 요청 스레드 밖(비동기 실행, 스케줄러 등)에서 호출된 메서드는 요청 정보가 없으므로 exemplar 없이 기록합니다.
+     *
+     * @return traceparent 헤더 값 (요청 스레드가 아니거나 헤더가 없으면 null)
+     */
+    private String currentTraceparent() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getHeader(TraceparentSpanContext.HEADER)
+                : null;
+    }
+
+    /**
+     * 메서드에 선언된 동시 요청 제한의 허가를 얻습니다.
+     *
+     * @param plan 동시 요청 제한이 선언된 메서드의 판단 계획
+     * @return 얻은 허가
+     * @throws RateLimitExceededException 처리 중인 요청 수가 제한에 도달한 경우
+     */
+    private ConcurrencyPermit acquirePermit(RateLimitPlan plan) {
+        ConcurrencyLimit concurrencyLimit = plan.concurrencyLimit();
+
+        // 메서드 키에 요청 키를 붙여 메서드마다 따로 셈 (게이지는 메서드 단위로 합산)
+        String key = switch (concurrencyLimit.keyType()) {
+            case METHOD -> plan.concurrencyKey();
+            case USER -> plan.concurrencyKey() + ":" + RequestKeys.userId();
+            case IP -> plan.concurrencyKey() + ":" + requestKey(RateLimit.KeyType.IP);
+        };
+
+        long start = System.nanoTime();
+        ConcurrencyPermit permit = concurrencyLimiterService.tryAcquire(plan.methodKey(), key,
+                plan.concurrencyLimitValue(), concurrencyLimit.leaseSeconds());
+        recordDecision(plan.concurrencyMeters(), permit.acquired(), start, System.nanoTime());
+        if (!permit.acquired()) {
+            throw RateLimitExceededException.of(concurrencyLimit, permit.decision());
         }
-        
-        return ip;
+        return permit;
+    }
+
+    /**
+     * 규칙의 요청 키를 현재 요청에서 만듭니다.
+     * 메서드 키처럼 요청과 관계없는 키를 사용하는 규칙은 요청을 조회하지 않습니다.
+     *
+     * @param rule 미리 해석된 속도 제한 규칙
+     * @return 규칙 접미사가 붙지 않은 요청 키 (요청과 관계없는 키를 사용하는 규칙은 null)
+     */
+    private String requestKey(RateLimitRule rule) {
+        return RequestKeys.requestKey(rule, header -> getRequest().getHeader(header), () -> getRequest().getRemoteAddr());
+    }
+
+    /**
+     * 요청마다 달라지는 키 유형의 키를 현재 요청에서 만듭니다.
+     *
+     * @param keyType 키 유형 (USER가 아니면 클라이언트 IP 주소를 사용)
+     * @return 사용자 ID 또는 클라이언트 IP 주소
+     */
+    private String requestKey(RateLimit.KeyType keyType) {
+        return RequestKeys.requestKey(keyType, header -> getRequest().getHeader(header),
+                () -> getRequest().getRemoteAddr());
     }
 
     /**
-     * 현재 사용자 ID를 가져옵니다.
-     * 이 메서드는 실제 인증 구현에 맞게 수정해야 합니다.
+     * 현재 HTTP 응답을 가져옵니다.
      *
-     * @return 사용자 ID 또는 기본값
+     * @return HTTP 응답 (없으면 null)
      */
-    private String getUserId() {
-        // 실제 구현에서는 Spring Security의 Authentication에서 사용자 ID를 가져와야 합니다.
-        // 이 예제에서는 간단히 "anonymous"를 반환합니다.
-        return "anonymous";
+    private HttpServletResponse getResponse() {
+        return ((ServletRequestAttributes) Objects.requireNonNull(
+                RequestContextHolder.getRequestAttributes())).getResponse();
     }
 
     /**
@@ -4,13 +4,110 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.core.script.RedisScript;
 
+import java.time.Clock;
+import java.util.List;
+
 /**
  * 속도 제한 기능을 위한 설정 클래스.
  * 이 클래스는 Redis Lua 스크립트를 정의하고 빈으로 등록합니다.
+ *
+ * 속도 제한 스크립트는 모두 {허용 여부(1/0), 남은 요청 수, 초기화까지 남은 시간(밀리초), 재시도까지 남은 시간(밀리초)}
+ * 형식의 정수 배열을 반환합니다. 재시도 시간은 거부된 경우에만 의미가 있으며 허용된 경우 0입니다.
  */
 @Configuration
 public class RateLimiterConfig {
 
+    /**
+     * 현재 시간 인자를 마이크로초로 변환하는 Lua 함수. 현재 시간을 사용하는 스크립트 앞에 붙여 사용합니다.
+     * 인자가 음수(AbstractRedisRateLimiterService.SERVER_TIME)이면 앱 노드 시간 대신 Redis 서버의 TIME을 사용하므로
+     * 여러 노드가 같은 키를 갱신해도 노드 간 시계 차이가 판단에 영향을 주지 않습니다.
+     * (TIME 뒤에 쓰기를 하려면 스크립트 효과 복제가 필요하며, Redis 5 이상에서는 기본값)
+     */
+    private static final String NOW_MICROS_FUNCTION = """
+        -- 현재 시간 (마이크로초): 앱 노드가 전달한 밀리초 시간 또는 Redis 서버 시간(TIME: 초, 마이크로초)
+        local function now_micros(arg)
+          local millis = tonumber(arg)
+          if millis >= 0 then
+            return millis * 1000
+          end
+          local time = redis.call('TIME')
+          return tonumber(time[1]) * 1000000 + tonumber(time[2])
+        end
+        """;
+
+    /**
+     * 버킷 표현(Hash)으로 저장된 슬라이딩 윈도우 키를 요청 로그(Sorted Set)로 옮기는 Lua 코드.
+     * 제한이 임계값 이하로 바뀐 키에 사용하며, ARGV[5]의 버킷 수로 버킷 크기를 계산합니다.
+     * 최근 버킷부터 최대 limit개의 요청을 버킷이 끝나는 시점의 요청으로 기록하므로, 옮긴 요청은 실제보다 늦게 만료될 수는 있어도 먼저 만료되지 않습니다.
+     */
+    private static final String BUCKETS_TO_LOG_MIGRATION = """
+        local migrated = 0
+        if redis.call('TYPE', KEYS[1]).ok == 'hash' then
+          local limit = tonumber(ARGV[2])
+          local period = tonumber(ARGV[3])
+          local bucket_size = math.max(1, math.floor(period / tonumber(ARGV[5])))
+          local fields = redis.call('HGETALL', KEYS[1])
+          redis.call('DEL', KEYS[1])
+          
+          -- 최근 버킷부터 정렬
+          local counts = {}
+          for i = 1, #fields, 2 do
+            table.insert(counts, {tonumber(fields[i]), tonumber(fields[i + 1])})
+          end
+          table.sort(counts, function(a, b) return a[1] > b[1] end)
+          
+          local added = 0
+          for _, entry in ipairs(counts) do
+            local score = (entry[1] + 1) * bucket_size
+            for i = 1, math.min(entry[2], limit - added) do
+              redis.call('ZADD', KEYS[1], score, score .. '-migrated-' .. i)
+            end
+            added = added + math.min(entry[2], limit - added)
+          end
+          if added > 0 then
+            redis.call('EXPIRE', KEYS[1], math.ceil((period + bucket_size) / 1000))
+          end
+          migrated = 1
+        end
+        """;
+
+    /**
+     * 요청 로그(Sorted Set)로 저장된 슬라이딩 윈도우 키를 버킷 표현(Hash)으로 옮기는 Lua 코드.
+     * 제한이 임계값보다 크게 바뀐 키에 사용하며, 요청마다 요청 시각이 속한 버킷의 요청 수를 1씩 늘립니다.
+     * 만료된 요청이 남아 있어도 그 버킷은 이어서 실행하는 슬라이딩 윈도우 카운터 스크립트가 지웁니다.
+     */
+    private static final String LOG_TO_BUCKETS_MIGRATION = """
+        local migrated = 0
+        if redis.call('TYPE', KEYS[1]).ok == 'zset' then
+          local period = tonumber(ARGV[3])
+          local bucket_size = math.max(1, math.floor(period / tonumber(ARGV[4])))
+          local entries = redis.call('ZRANGE', KEYS[1], 0, -1, 'WITHSCORES')
+          redis.call('DEL', KEYS[1])
+          
+          local counts = {}
+          for i = 2, #entries, 2 do
+            local bucket = math.floor(tonumber(entries[i]) / bucket_size)
+            counts[bucket] = (counts[bucket] or 0) + 1
+          end
+          for bucket, count in pairs(counts) do
+            redis.call('HSET', KEYS[1], bucket, count)
+          end
+          redis.call('PEXPIRE', KEYS[1], period + bucket_size)
+          migrated = 1
+        end
+        """;
+
+    /**
+     * 인메모리 속도 제한기가 현재 시간을 읽는 데 사용할 시계를 빈으로 등록합니다.
+     * 테스트나 시뮬레이션에서는 이 빈을 교체하여 가상 시간을 사용할 수 있습니다.
+     *
+     * @return UTC 기준 시스템 시계
+     */
+    @Bean
+    public Clock rateLimiterClock() {
+        return Clock.systemUTC();
+    }
+
     /**
      * 슬라이딩 윈도우 알고리즘을 구현한 Lua 스크립트를 RedisScript 빈으로 등록합니다.
      * 
@@ -18,17 +115,22 @@ public class RateLimiterConfig {
      * Redis의 Sorted Set을 사용하여 타임스탬프가 있는 요청을 저장하고, 만료된 요청을 제거합니다.
      * 이 방식은 고정 윈도우와 달리 시간 경계에서 트래픽 급증을 방지하는 장점이 있습니다.
      * 
+     * 제한이 큰 키는 같은 키를 버킷 표현(Hash)으로 저장하므로(slidingWindowBucketedScript),
+     * 키가 버킷 표현으로 저장되어 있으면 먼저 요청 로그로 옮기고 다섯 번째 반환값으로 1을 반환합니다.
+     * 
      * @return 슬라이딩 윈도우 속도 제한 로직을 수행하는 RedisScript
      */
     @Bean
-    public RedisScript<Boolean> rateLimiterScript() {
+    public RedisScript<List<Long>> rateLimiterScript() {
         // 인라인 Lua 스크립트 정의 - 텍스트 블록 사용
         String script = """
             -- 입력 파라미터 추출
             local key = KEYS[1]                -- Redis 키 (사용자 ID, IP 등)
-            local now = tonumber(ARGV[1])      -- 현재 시간 (밀리초)
+            local now = now_micros(ARGV[1]) / 1000 -- 현재 시간 (밀리초, 서버 시간이면 소수점 이하 마이크로초 포함)
             local limit = tonumber(ARGV[2])    -- 허용된 최대 요청 수
             local period = tonumber(ARGV[3])   -- 시간 기간 (밀리초)
+            local permits = tonumber(ARGV[4])  -- 이 요청이 소비할 허용량
+            -- ARGV[5]: 버킷 표현으로 저장된 키를 옮길 때 사용할 버킷 수 (BUCKETS_TO_LOG_MIGRATION)
             
             -- 만료 시간 계산 (현재 시간 - 기간)
             -- 이 시간보다 이전의 요청은 모두 만료된 것으로 간주
@@ -42,25 +144,93 @@ public class RateLimiterConfig {
             -- ZCARD: Sorted Set의 요소 수를 반환하는 Redis 명령어
             local count = redis.call('ZCARD', key)
             
-            -- 요청 수가 제한보다 작으면 요청 추가
-            if count < limit then
-              -- 현재 요청을 Sorted Set에 추가 (점수는 현재 시간, 값은 고유한 식별자)
+            -- 허용량을 소비해도 제한을 넘지 않으면 요청 추가
+            if count + permits <= limit then
+              -- 소비한 허용량만큼 Sorted Set에 추가 (점수는 현재 시간, 값은 고유한 식별자)
               -- ZADD: Sorted Set에 요소를 추가하는 Redis 명령어
-              redis.call('ZADD', key, now, now .. '-' .. math.random())
+              for i = 1, permits do
+                redis.call('ZADD', key, now, now .. '-' .. math.random() .. '-' .. i)
+              end
               
               -- 키 만료 시간 설정 (초 단위로 변환)
               -- EXPIRE: 키의 만료 시간을 설정하는 Redis 명령어
               redis.call('EXPIRE', key, math.ceil(period/1000))
               
-              -- 요청 허용
-              return true
+              -- 요청 허용 (방금 추가한 요청이 만료되면 윈도우가 완전히 비워짐)
+              return {1, limit - count - permits, period, 0}
             end
             
-            -- 요청 수가 제한 이상이면 요청 거부
-            return false
+            -- 허용량이 부족하면 요청 거부
+            -- 오래된 요청부터 (count + permits - limit)개가 만료되면 이 요청이 허용되고, 가장 최근 요청이 만료되면 윈도우가 완전히 비워짐
+            local retryAfter = period
+            local resetAfter = 0
+            if count > 0 then
+              -- ZRANGE WITHSCORES: 지정된 순위 범위의 요소와 점수를 반환하는 Redis 명령어
+              local needed = count + permits - limit
+              local oldest = redis.call('ZRANGE', key, needed - 1, needed - 1, 'WITHSCORES')
+              local newest = redis.call('ZRANGE', key, -1, -1, 'WITHSCORES')
+              if oldest[2] then
+                retryAfter = math.max(0, math.ceil(tonumber(oldest[2]) + period - now))
+              end
+              resetAfter = math.max(0, math.ceil(tonumber(newest[2]) + period - now))
+            end
+            return {0, 0, resetAfter, retryAfter}
             """;
         
-        return RedisScript.of(script, Boolean.class);
+        return decisionScript(migrating(NOW_MICROS_FUNCTION + script, BUCKETS_TO_LOG_MIGRATION));
+    }
+    
+    /**
+     * 고정 윈도우 카운터 알고리즘을 구현한 Lua 스크립트를 RedisScript 빈으로 등록합니다.
+     * 
+     * 고정 윈도우 알고리즘은 시간을 고정된 윈도우로 나누고 각 윈도우 내의 요청 수를 제한합니다.
+     * 카운터 증가와 만료 시간 설정을 하나의 스크립트로 실행하므로 두 명령 사이에 키가 만료 시간 없이 남지 않고,
+     * 다른 알고리즘과 같은 방식으로 파이프라인에 넣어 실행할 수 있습니다.
+     * 
+     * @return 고정 윈도우 속도 제한 로직을 수행하는 RedisScript
+     */
+    @Bean
+    public RedisScript<List<Long>> fixedWindowScript() {
+        // 인라인 Lua 스크립트 정의 - 텍스트 블록 사용
+        String script = """
+            -- 입력 파라미터 추출
+            local key = KEYS[1]                -- Redis 키 (윈도우 시작 시간이 포함된 키)
+            local limit = tonumber(ARGV[1])    -- 허용된 최대 요청 수
+            local ttl = tonumber(ARGV[2])      -- 윈도우 종료까지 남은 시간 (초)
+            local permits = tonumber(ARGV[3])  -- 이 요청이 소비할 허용량
+            
+            -- 현재 윈도우의 요청 수 가져오기 (키가 없으면 0)
+            local count = tonumber(redis.call('GET', key)) or 0
+            local allowed = count + permits <= limit
+            
+            -- 허용량을 소비해도 제한을 넘지 않을 때만 요청 수 증가 (거부된 요청은 허용량을 소비하지 않음)
+            -- INCRBY: 키의 값을 지정한 수만큼 증가시키는 Redis 명령어 (키가 없으면 0에서 시작)
+            if allowed then
+              count = redis.call('INCRBY', key, permits)
+              
+              -- 키가 없었다면 만료 시간 설정 (다음 윈도우 시작 시간까지)
+              if count == permits then
+                redis.call('EXPIRE', key, ttl)
+              end
+            end
+            
+            -- 윈도우 종료까지 남은 시간 (밀리초)
+            -- PTTL: 키의 남은 만료 시간을 밀리초 단위로 반환하는 Redis 명령어
+            local resetAfter = redis.call('PTTL', key)
+            if resetAfter < 0 then
+              resetAfter = ttl * 1000
+            end
+            
+            -- 허용량을 소비했으면 허용
+            if allowed then
+              return {1, limit - count, resetAfter, 0}
+            end
+            
+            -- 허용량이 부족하면 다음 윈도우가 시작될 때까지 거부
+            return {0, 0, resetAfter, resetAfter}
+            """;
+        
+        return decisionScript(script);
     }
     
     /**
@@ -74,14 +244,20 @@ public class RateLimiterConfig {
      * @return 토큰 버킷 속도 제한 로직을 수행하는 RedisScript
      */
     @Bean
-    public RedisScript<Boolean> tokenBucketScript() {
+    public RedisScript<List<Long>> tokenBucketScript() {
         // 인라인 Lua 스크립트 정의 - 텍스트 블록 사용
         String script = """
             -- 입력 파라미터 추출
             local key = KEYS[1]                -- Redis 키 (사용자 ID, IP 등)
-            local now = tonumber(ARGV[1])      -- 현재 시간 (밀리초)
+            local now = now_micros(ARGV[1]) / 1000 -- 현재 시간 (밀리초, 서버 시간이면 소수점 이하 마이크로초 포함)
             local capacity = tonumber(ARGV[2]) -- 버킷의 최대 용량 (최대 토큰 수)
             local refillRate = tonumber(ARGV[3]) -- 토큰 리필 속도 (토큰/밀리초)
+            local permits = tonumber(ARGV[4])  -- 이 요청이 소비할 토큰 수
+            
+            -- 토큰이 생성되지 않는 버킷(용량 0)은 항상 거부
+            if refillRate <= 0 then
+              return {0, 0, 0, 0}
+            end
             
             -- 버킷 정보 가져오기 (토큰 수, 마지막 리필 시간)
             -- HMGET: Hash에서 여러 필드의 값을 가져오는 Redis 명령어
@@ -105,10 +281,10 @@ public class RateLimiterConfig {
               lastRefill = now
             end
             
-            -- 토큰이 있으면 하나 소비하고 요청 허용
-            if tokens >= 1 then
-              -- 토큰 하나 소비
-              tokens = tokens - 1
+            -- 토큰이 충분하면 소비하고 요청 허용
+            if tokens >= permits then
+              -- 토큰 소비
+              tokens = tokens - permits
               
               -- 버킷 정보 업데이트 (토큰 수, 마지막 리필 시간)
               -- HMSET: Hash에 여러 필드-값 쌍을 설정하는 Redis 명령어
@@ -118,19 +294,19 @@ public class RateLimiterConfig {
               -- EXPIRE: 키의 만료 시간을 설정하는 Redis 명령어
               redis.call('EXPIRE', key, 3600)
               
-              -- 요청 허용
-              return true
+              -- 요청 허용 (버킷이 다시 가득 찰 때까지 남은 시간과 함께 반환)
+              return {1, math.floor(tokens), math.ceil((capacity - tokens) / refillRate), 0}
             end
             
             -- 토큰이 없어도 버킷 정보는 업데이트 (다음 요청을 위해)
             redis.call('HMSET', key, 'tokens', tokens, 'lastRefill', lastRefill)
             redis.call('EXPIRE', key, 3600)
             
-            -- 토큰이 없으면 요청 거부
-            return false
+            -- 토큰이 부족하면 요청 거부 (필요한 토큰이 채워질 때까지 남은 시간과 함께 반환)
+            return {0, 0, math.ceil((capacity - tokens) / refillRate), math.ceil((permits - tokens) / refillRate)}
             """;
         
-        return RedisScript.of(script, Boolean.class);
+        return decisionScript(NOW_MICROS_FUNCTION + script);
     }
     
     /**
@@ -142,17 +318,28 @@ public class RateLimiterConfig {
      * 이 알고리즘은 일정한 처리 속도를 보장하여 백엔드 시스템을 안정적으로 보호합니다.
      * Redis의 Hash 자료구조를 사용하여 마지막 처리 시간과 대기열 크기를 저장합니다.
      * 
+     * ARGV[5](최대 대기 시간, 밀리초)를 전달하면 트래픽 셰이핑으로 판단합니다.
+     * 요청은 앞선 대기열이 모두 처리될 때까지(처리 중인 요청에 이미 흐른 시간 제외) 기다린 뒤 실행되므로, 그 대기 시간이 최대 대기 시간 이하일 때만 대기열에 넣고
+     * 다섯 번째 반환값으로 대기 시간을 반환합니다. (전달하지 않으면 대기 시간은 항상 0)
+     * 
      * @return 누수 버킷 속도 제한 로직을 수행하는 RedisScript
      */
     @Bean
-    public RedisScript<Boolean> leakyBucketScript() {
+    public RedisScript<List<Long>> leakyBucketScript() {
         // 인라인 Lua 스크립트 정의 - 텍스트 블록 사용
         String script = """
             -- 입력 파라미터 추출
             local key = KEYS[1]                -- Redis 키 (사용자 ID, IP 등)
-            local now = tonumber(ARGV[1])      -- 현재 시간 (밀리초)
+            local now = now_micros(ARGV[1]) / 1000 -- 현재 시간 (밀리초, 서버 시간이면 소수점 이하 마이크로초 포함)
             local capacity = tonumber(ARGV[2]) -- 버킷의 최대 용량 (최대 대기열 크기)
             local rate = tonumber(ARGV[3])     -- 처리 속도 (요청/초)
+            local permits = tonumber(ARGV[4])  -- 이 요청이 차지할 대기열 자리 수
+            local maxDelay = tonumber(ARGV[5]) -- 셰이핑 시 최대 대기 시간 (밀리초, 없으면 대기하지 않고 판단)
+            
+            -- 요청이 처리되지 않는 버킷(용량 0)은 항상 거부
+            if rate <= 0 then
+              return {0, 0, 0, 0, 0}
+            end
             
             -- 버킷 정보 가져오기 (마지막 처리 시간, 대기열 크기)
             -- HMGET: Hash에서 여러 필드의 값을 가져오는 Redis 명령어
@@ -177,15 +364,27 @@ public class RateLimiterConfig {
               -- math.max: 두 값 중 큰 값을 반환하여 대기열이 음수가 되지 않도록 함
               queue = math.max(0, queue - processed)
               
-              -- 마지막 처리 시간 업데이트 (현재 대기열 기준)
-              -- 대기열의 요청이 모두 처리되는 데 필요한 시간을 고려
-              lastProcess = now - ((queue / rate) * 1000)
+              -- 마지막 처리 시간 업데이트
+              -- 대기열이 비었으면 지금부터 다시 처리하고, 남아 있으면 처리된 요청 수만큼만 앞으로 옮겨
+              -- 처리 중인 요청의 경과 시간을 다음 판단에서도 이어서 셈
+              if queue == 0 then
+                lastProcess = now
+              else
+                lastProcess = lastProcess + processed / rate * 1000
+              end
             end
             
-            -- 대기열에 여유가 있으면 요청 추가
-            if queue < capacity then
+            -- 처리 중인 요청에 이미 흐른 시간 (밀리초, 처리 간격보다 짧음)
+            -- 대기열이 비워지는 시간과 재시도 시간은 모두 이만큼 앞당겨짐
+            local progress = now - lastProcess
+            
+            -- 앞선 대기열이 모두 처리될 때까지 기다려야 하는 시간 (셰이핑 시 이 요청의 실행 시점)
+            local delay = math.max(0, queue / rate * 1000 - progress)
+            
+            -- 대기열에 여유가 있고 대기 시간이 최대 대기 시간 이하이면 요청 추가
+            if queue + permits <= capacity and (maxDelay == nil or delay <= maxDelay) then
               -- 대기열에 요청 추가
-              queue = queue + 1
+              queue = queue + permits
               
               -- 버킷 정보 업데이트 (마지막 처리 시간, 대기열 크기)
               -- HMSET: Hash에 여러 필드-값 쌍을 설정하는 Redis 명령어
@@ -195,89 +394,385 @@ public class RateLimiterConfig {
               -- EXPIRE: 키의 만료 시간을 설정하는 Redis 명령어
               redis.call('EXPIRE', key, 3600)
               
-              -- 요청 허용
-              return true
+              -- 요청 허용 (대기열이 모두 처리될 때까지 남은 시간, 셰이핑 대기 시간과 함께 반환)
+              return {1, math.floor(capacity - queue), math.ceil(queue / rate * 1000 - progress), 0,
+                maxDelay == nil and 0 or math.ceil(delay)}
             end
             
             -- 대기열이 가득 찼어도 버킷 정보는 업데이트 (다음 요청을 위해)
             redis.call('HMSET', key, 'lastProcess', lastProcess, 'queue', queue)
             redis.call('EXPIRE', key, 3600)
             
-            -- 대기열이 가득 찼으면 요청 거부
-            return false
+            -- 대기열에 자리가 부족하면 요청 거부 (필요한 자리가 생길 때까지 남은 시간과 함께 반환)
+            -- 셰이핑 시에는 대기 시간이 최대 대기 시간 이하로 줄어들 때까지도 기다려야 함
+            local retryAfter = (queue - capacity + permits) / rate * 1000 - progress
+            if maxDelay ~= nil then
+              retryAfter = math.max(retryAfter, delay - maxDelay)
+            end
+            return {0, 0, math.ceil(math.max(0, queue / rate * 1000 - progress)), math.ceil(retryAfter), 0}
             """;
         
-        return RedisScript.of(script, Boolean.class);
+        return decisionScript(NOW_MICROS_FUNCTION + script);
     }
     
     /**
      * 슬라이딩 윈도우 카운터 알고리즘을 구현한 Lua 스크립트를 RedisScript 빈으로 등록합니다.
      * 
-     * 슬라이딩 윈도우 카운터 알고리즘은 시간을 작은 버킷으로 나누고 각 버킷의 요청 수를 저장합니다.
-     * 현재 윈도우와 이전 윈도우의 가중 합계를 사용하여 속도 제한을 계산합니다.
-     * 이 방식은 슬라이딩 윈도우 로그보다 메모리 효율적이며 여전히 윈도우 경계에서 트래픽 급증을 방지합니다.
+     * 기간을 N개의 버킷으로 나누고 버킷별 요청 수를 키 하나의 Redis Hash에 저장합니다.
+     * 윈도우에 완전히 포함된 버킷은 그대로 더하고, 윈도우 시작 시점에 걸친 가장 오래된 버킷은 포함된 비율만큼만 더합니다.
+     * N이 1이면 현재/이전 윈도우의 가중 합계를 사용하는 고전적인 방식과 같고, N이 클수록 슬라이딩 윈도우 로그에 가까워집니다.
+     * 메모리는 키마다 최대 N + 1개의 필드만 사용합니다.
      * 
      * @return 슬라이딩 윈도우 카운터 속도 제한 로직을 수행하는 RedisScript
      */
     @Bean
-    public RedisScript<Boolean> slidingWindowCounterScript() {
+    public RedisScript<List<Long>> slidingWindowCounterScript() {
         // 인라인 Lua 스크립트 정의 - 텍스트 블록 사용
         String script = """
             -- 입력 파라미터 추출
-            local key = KEYS[1]                -- Redis 키 (사용자 ID, IP 등)
-            local now = tonumber(ARGV[1])      -- 현재 시간 (밀리초)
+            local key = KEYS[1]                -- Redis 키 (사용자 ID, IP 등, 버킷별 요청 수를 담는 Hash)
+            local now = now_micros(ARGV[1]) / 1000 -- 현재 시간 (밀리초, 서버 시간이면 소수점 이하 마이크로초 포함)
             local limit = tonumber(ARGV[2])    -- 허용된 최대 요청 수
             local period = tonumber(ARGV[3])   -- 시간 기간 (밀리초)
+            local buckets = tonumber(ARGV[4])  -- 기간을 나눌 버킷 수
+            local permits = tonumber(ARGV[5])  -- 이 요청이 소비할 허용량
             
-            -- 윈도우 크기 계산 (1분 = 60,000 밀리초)
-            local window_size = 60000
+            -- 가중 합계가 이 값보다 작아야 허용량을 소비해도 제한을 넘지 않음 (permits가 1이면 제한과 같음)
+            local budget = limit - permits + 1
             
-            -- 현재 윈도우의 시작 시간 계산 (현재 시간을 윈도우 크기로 나눈 몫 * 윈도우 크기)
-            local current_window = math.floor(now / window_size) * window_size
+            -- 버킷 크기 계산 (밀리초, 최소 1)
+            local bucket_size = math.max(1, math.floor(period / buckets))
+            local window_size = bucket_size * buckets
             
-            -- 이전 윈도우의 시작 시간 계산 (현재 윈도우 - 윈도우 크기)
-            local previous_window = current_window - window_size
+            -- 현재 버킷 번호와 현재 버킷에서 경과된 시간
+            local current = math.floor(now / bucket_size)
+            local elapsed = now - current * bucket_size
             
-            -- 현재 윈도우와 이전 윈도우의 키 생성
-            local current_key = key .. ":" .. current_window
-            local previous_key = key .. ":" .. previous_window
+            -- 버킷별 요청 수 가져오기
+            -- HGETALL: Hash의 모든 필드와 값을 반환하는 Redis 명령어
+            local counts = {}
+            local stale = {}
+            local fields = redis.call('HGETALL', key)
+            for i = 1, #fields, 2 do
+              local bucket = tonumber(fields[i])
+              if bucket < current - buckets then
+                -- 윈도우에서 완전히 벗어난 버킷은 삭제 대상
+                table.insert(stale, fields[i])
+              else
+                counts[bucket] = tonumber(fields[i + 1])
+              end
+            end
             
-            -- 현재 윈도우와 이전 윈도우의 카운터 가져오기
-            local current_count = tonumber(redis.call('GET', current_key)) or 0
-            local previous_count = tonumber(redis.call('GET', previous_key)) or 0
+            -- 윈도우에서 벗어난 버킷 삭제
+            -- HDEL: Hash에서 필드를 삭제하는 Redis 명령어
+            if #stale > 0 then
+              redis.call('HDEL', key, unpack(stale))
+            end
             
-            -- 현재 윈도우에서 경과된 시간의 비율 계산 (0.0 ~ 1.0)
-            local current_window_elapsed = (now - current_window) / window_size
+            -- 특정 시점에 버킷 번호 at이 현재 버킷일 때의 가중 합계 계산
+            -- 윈도우에 완전히 포함된 버킷(at - buckets + 1 ~ at)은 그대로 더하고,
+            -- 윈도우 시작에 걸친 버킷(at - buckets)은 포함된 비율(1 - 경과 시간 / 버킷 크기)만큼 더함
+            local function weighted_count(at, at_elapsed)
+              local total = 0
+              for bucket = at - buckets + 1, at do
+                total = total + (counts[bucket] or 0)
+              end
+              return total + (counts[at - buckets] or 0) * (1 - at_elapsed / bucket_size)
+            end
             
-            -- 이전 윈도우에서 남아있는 시간의 비율 계산 (0.0 ~ 1.0)
-            local previous_window_remaining = 1 - current_window_elapsed
+            local weighted = weighted_count(current, elapsed)
             
-            -- 슬라이딩 윈도우 내의 요청 수 계산 (가중 합계)
-            -- 이전 윈도우의 카운트에 남은 시간 비율을 곱하고, 현재 윈도우의 카운트를 더함
-            local weighted_count = previous_count * previous_window_remaining + current_count
+            -- 허용량을 소비해도 제한을 넘지 않으면 요청 추가
+            if weighted < budget then
+              -- 현재 버킷의 카운터 증가
+              -- HINCRBY: Hash 필드의 값을 증가시키는 Redis 명령어
+              redis.call('HINCRBY', key, current, permits)
+              
+              -- 키 만료 시간 설정 (현재 버킷이 윈도우에서 완전히 벗어나는 시점까지)
+              -- PEXPIRE: 키의 만료 시간을 밀리초 단위로 설정하는 Redis 명령어
+              redis.call('PEXPIRE', key, window_size + bucket_size)
+              
+              -- 요청 허용 (현재 버킷의 요청이 윈도우에서 완전히 벗어나면 허용량이 모두 회복됨)
+              local remaining = math.max(0, math.floor(limit - weighted - permits))
+              return {1, remaining, (current + buckets + 1) * bucket_size - now, 0}
+            end
             
-            -- 요청 수가 제한보다 작으면 요청 추가
-            if weighted_count < limit then
-              -- 현재 윈도우의 카운터 증가
-              redis.call('INCR', current_key)
+            -- 허용량이 부족하면 요청 거부
+            -- 이후 버킷 경계마다 가중 합계를 계산하여 budget 아래로 내려가는 가장 이른 시점을 재시도 시간으로 반환
+            local retry_at = (current + buckets + 1) * bucket_size
+            for step = 0, buckets do
+              local at = current + step
+              local at_elapsed = 0
+              if step == 0 then
+                at_elapsed = elapsed
+              end
               
-              -- 키 만료 시간 설정 (현재 윈도우 + 다음 윈도우 = 2 * 윈도우 크기)
-              -- 이전 윈도우는 현재 윈도우가 끝난 후에도 필요하므로 2배의 윈도우 크기로 설정
-              redis.call('EXPIRE', current_key, 2 * window_size / 1000)
+              -- 미래 버킷에는 요청이 없으므로 완전히 포함된 버킷 합계는 현재 버킷까지만 계산
+              local full = 0
+              for bucket = at - buckets + 1, current do
+                full = full + (counts[bucket] or 0)
+              end
               
-              -- 이전 윈도우의 키도 만료 시간 설정 (필요한 경우)
-              if previous_count > 0 then
-                redis.call('EXPIRE', previous_key, window_size / 1000)
+              if full < budget then
+                local partial = counts[at - buckets] or 0
+                if partial * (1 - at_elapsed / bucket_size) < budget - full then
+                  retry_at = at * bucket_size + at_elapsed
+                else
+                  -- 걸친 버킷의 가중치가 충분히 줄어드는 시점
+                  retry_at = at * bucket_size + bucket_size * (1 - (budget - full) / partial)
+                end
+                break
+              end
+            end
+            
+            -- 허용량이 모두 회복되는 시점 (요청이 있는 가장 최근 버킷이 윈도우에서 완전히 벗어나는 시점)
+            local latest = current - buckets
+            for bucket, count in pairs(counts) do
+              if count > 0 and bucket > latest then
+                latest = bucket
               end
+            end
+            local reset_after = math.max(0, (latest + buckets + 1) * bucket_size - now)
+            
+            return {0, 0, reset_after, math.max(1, math.ceil(retry_at - now))}
+            """;
+        
+        return decisionScript(NOW_MICROS_FUNCTION + script);
+    }
+
+    /**
+     * 제한이 큰 슬라이딩 윈도우 키를 버킷 표현으로 판단하는 Lua 스크립트를 RedisScript 빈으로 등록합니다.
+     * 
+     * 슬라이딩 윈도우 카운터 스크립트와 같은 계산을 하지만, 요청 로그와 같은 키를 사용하므로
+     * 키가 요청 로그(Sorted Set)로 저장되어 있으면 먼저 버킷 표현으로 옮기고 다섯 번째 반환값으로 1을 반환합니다.
+     * 제한이 임계값을 넘도록 바뀌어도 그때까지 허용한 요청을 잃지 않습니다.
+     * 
+     * @return 버킷 표현으로 슬라이딩 윈도우 속도 제한 로직을 수행하는 RedisScript
+     */
+    @Bean
+    public RedisScript<List<Long>> slidingWindowBucketedScript() {
+        return decisionScript(migrating(slidingWindowCounterScript().getScriptAsString(), LOG_TO_BUCKETS_MIGRATION));
+    }
+
+    /**
+     * GCRA(Generic Cell Rate Algorithm)를 구현한 Lua 스크립트를 RedisScript 빈으로 등록합니다.
+     * 
+     * GCRA는 요청 하나가 차지하는 시간(interval = period / limit)만큼 이론적 도착 시간(TAT)을 앞으로 밀고,
+     * TAT가 현재 시간보다 기간(period) 이상 앞서게 되는 요청을 거부합니다. 결과는 토큰 버킷과 같습니다.
+     * 토큰 버킷/누수 버킷처럼 두 필드의 Hash를 HMGET/HMSET하고 매번 EXPIRE하는 대신
+     * 정수 하나를 GET하고 허용된 경우에만 SET ... PX로 저장하므로, 거부된 요청은 쓰기를 하지 않습니다.
+     * 
+     * @return GCRA 속도 제한 로직을 수행하는 RedisScript
+     */
+    @Bean
+    public RedisScript<List<Long>> gcraScript() {
+        // 인라인 Lua 스크립트 정의 - 텍스트 블록 사용
+        String script = """
+            -- 입력 파라미터 추출
+            local key = KEYS[1]                -- Redis 키 (사용자 ID, IP 등)
+            local now = now_micros(ARGV[1])   -- 현재 시간 (마이크로초)
+            local interval = tonumber(ARGV[2]) -- 요청 하나가 차지하는 시간 (마이크로초)
+            local period = tonumber(ARGV[3])   -- 시간 기간 (마이크로초)
+            local permits = tonumber(ARGV[4])  -- 이 요청이 소비할 허용량
+            
+            -- 요청이 허용되지 않는 설정(제한 0)은 항상 거부
+            if interval <= 0 then
+              return {0, 0, 0, 0}
+            end
+            
+            -- 이론적 도착 시간 가져오기 (키가 없거나 지난 시간이면 현재 시간부터 시작)
+            local tat = tonumber(redis.call('GET', key))
+            if tat == nil or tat < now then
+              tat = now
+            end
+            
+            -- 이 요청을 허용했을 때의 이론적 도착 시간과 허용 가능한 가장 이른 시간
+            local new_tat = tat + interval * permits
+            local allow_at = new_tat - period
+            
+            -- 아직 허용할 수 없으면 쓰기 없이 거부
+            -- (TAT가 현재 시간으로 돌아오면 허용량이 모두 회복되고, allow_at이 되면 다음 요청이 허용됨)
+            if now < allow_at then
+              return {0, 0, math.ceil((tat - now) / 1000), math.ceil((allow_at - now) / 1000)}
+            end
+            
+            -- 새 이론적 도착 시간 저장 (TAT가 지나면 키가 없는 것과 같으므로 그 시점에 만료)
+            -- SET ... PX: 값과 밀리초 단위 만료 시간을 함께 설정하는 Redis 명령어
+            -- 마이크로초 타임스탬프는 Lua 숫자의 기본 문자열 변환(%.14g)으로는 정밀도를 잃으므로 정수로 포맷
+            local ahead = new_tat - now
+            redis.call('SET', key, string.format('%d', new_tat), 'PX', math.ceil(ahead / 1000))
+            
+            -- 요청 허용 (남은 요청 수는 기간 중 아직 차지되지 않은 시간에 들어갈 수 있는 요청 수)
+            return {1, math.floor((period - ahead) / interval), math.ceil(ahead / 1000), 0}
+            """;
+        
+        return decisionScript(NOW_MICROS_FUNCTION + script);
+    }
+
+    /**
+     * 니어 캐시(near-cache) 계층이 Redis에서 허용량을 묶음 단위로 임대하는 Lua 스크립트를 RedisScript 빈으로 등록합니다.
+     * 
+     * 각 노드는 고정 윈도우마다 키별 허용량 예산에서 최대 chunk 개의 허용량을 한 번에 가져가 로컬에서 소비합니다.
+     * 윈도우 키는 호출 측에서 윈도우 시작 시간을 붙여 전달하므로 스크립트는 단일 키만 다룹니다.
+     * 예산이 모두 소진되면 0을 반환하며, 호출 측은 윈도우가 끝날 때까지 Redis에 묻지 않고 거부할 수 있습니다.
+     * 
+     * @return 임대된 허용량 수를 반환하는 RedisScript
+     */
+    @Bean
+    public RedisScript<Long> quotaLeaseScript() {
+        // 인라인 Lua 스크립트 정의 - 텍스트 블록 사용
+        String script = """
+            -- 입력 파라미터 추출
+            local key = KEYS[1]                -- Redis 키 (윈도우 시작 시간이 포함된 예산 키)
+            local limit = tonumber(ARGV[1])    -- 윈도우 내 허용된 최대 요청 수
+            local chunk = tonumber(ARGV[2])    -- 한 번에 임대할 최대 허용량
+            local ttl = tonumber(ARGV[3])      -- 윈도우 종료까지 남은 시간 (밀리초)
+            
+            -- 이미 임대된 허용량 조회
+            local used = tonumber(redis.call('GET', key)) or 0
+            
+            -- 남은 예산과 chunk 중 작은 값만큼 임대
+            local granted = math.min(chunk, limit - used)
+            if granted <= 0 then
+              -- 예산이 모두 소진되었으면 임대 거부
+              return 0
+            end
+            
+            -- 임대한 만큼 예산 차감 후 윈도우 종료 시점에 만료되도록 설정
+            -- PEXPIRE: 키의 만료 시간을 밀리초 단위로 설정하는 Redis 명령어
+            redis.call('INCRBY', key, granted)
+            redis.call('PEXPIRE', key, ttl)
+            
+            return granted
+            """;
+        
+        return RedisScript.of(script, Long.class);
+    }
+
+    /**
+     * 동시 요청 수 제한을 위한 분산 세마포어 Lua 스크립트를 RedisScript 빈으로 등록합니다.
+     * 
+     * 허가마다 고유 ID를 Sorted Set 멤버로, 임대 만료 시간을 점수로 저장합니다.
+     * 만료된 허가(반납되지 않고 노드가 종료된 경우 등)를 먼저 제거한 뒤 남은 허가 수가 제한보다 작으면 새 허가를 추가합니다.
+     * 반납은 호출 측에서 ZREM으로 허가 ID를 제거합니다.
+     * 
+     * @return 동시 요청 제한 로직을 수행하는 RedisScript
+     */
+    @Bean
+    public RedisScript<List<Long>> concurrencyScript() {
+        // 인라인 Lua 스크립트 정의 - 텍스트 블록 사용
+        String script = """
+            -- 입력 파라미터 추출
+            local key = KEYS[1]                -- Redis 키 (허가 ID와 임대 만료 시간을 담는 Sorted Set)
+            local now = now_micros(ARGV[1]) / 1000 -- 현재 시간 (밀리초)
+            local limit = tonumber(ARGV[2])    -- 최대 동시 요청 수
+            local lease = tonumber(ARGV[3])    -- 임대 기간 (밀리초)
+            local permit = ARGV[4]             -- 허가 ID
+            
+            -- 임대 기간이 지난 허가 회수
+            redis.call('ZREMRANGEBYSCORE', key, '-inf', now)
+            
+            -- 처리 중인 요청 수가 제한보다 작으면 허가 추가
+            local count = redis.call('ZCARD', key)
+            if count < limit then
+              redis.call('ZADD', key, now + lease, permit)
               
-              -- 요청 허용
-              return true
+              -- 키 만료 시간 설정 (방금 추가한 허가가 가장 늦게 만료됨)
+              redis.call('PEXPIRE', key, lease)
+              
+              return {1, limit - count - 1, lease, 0}
+            end
+            
+            -- 허가가 없으면 거부 (가장 먼저 만료되는 허가의 만료 시간이 재시도 시간의 상한)
+            local retryAfter = lease
+            local earliest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+            if #earliest > 0 then
+              retryAfter = math.max(1, math.ceil(tonumber(earliest[2]) - now))
+            end
+            return {0, 0, retryAfter, retryAfter}
+            """;
+        
+        return decisionScript(NOW_MICROS_FUNCTION + script);
+    }
+
+    /**
+     * 요청이 많은 키의 노드별 구간 결과를 게시하는 Lua 스크립트를 RedisScript 빈으로 등록합니다.
+     * 
+     * 이전 구간 결과 삭제, 새 구간 결과 저장, 노드 목록 갱신을 하나의 스크립트로 실행하므로
+     * 조회하는 노드가 이전 결과와 새 결과가 섞인 Hash나 노드 목록과 맞지 않는 결과를 읽지 않습니다.
+     * 구간에 요청이 없었으면 이전 결과만 삭제하고 노드 목록은 갱신하므로, 그 노드는 요청이 없는 노드로 합산됩니다.
+     * 보관 시간 동안 게시하지 않은 노드는 게시하는 노드가 노드 목록에서 삭제하고, 모든 노드가 게시를 멈추면 노드 목록도 만료됩니다.
+     * 두 키는 같은 해시 태그(키 유형)를 사용하므로 Redis Cluster에서도 한 슬롯에서 실행됩니다.
+     * 
+     * @return 저장한 키 수를 반환하는 RedisScript
+     */
+    @Bean
+    public RedisScript<Long> heavyHitterPublishScript() {
+        // 인라인 Lua 스크립트 정의 - 텍스트 블록 사용
+        String script = """
+            -- 입력 파라미터 추출
+            local data = KEYS[1]               -- 이 노드의 구간 결과 Hash (필드: 키, 값: count:error)
+            local nodes = KEYS[2]              -- 노드 목록 Hash (필드: 노드 ID, 값: 상한:게시 시각)
+            local node = ARGV[1]               -- 이 노드의 ID
+            local node_value = ARGV[2]         -- 추적하지 않은 키의 상한과 게시 시각 (밀리초)
+            local ttl = tonumber(ARGV[3])      -- 구간 결과 보관 시간 (밀리초)
+            -- ARGV[4]부터: 키, count:error 쌍
+            
+            -- 이전 구간 결과 삭제
+            redis.call('DEL', data)
+            
+            -- 새 구간 결과 저장 (인자가 많아도 Lua 스택을 넘지 않도록 500쌍씩 나누어 저장)
+            for i = 4, #ARGV, 1000 do
+              redis.call('HSET', data, unpack(ARGV, i, math.min(i + 999, #ARGV)))
+            end
+            if #ARGV > 3 then
+              redis.call('PEXPIRE', data, ttl)
+            end
+            
+            -- 보관 시간 동안 게시하지 않은 노드를 노드 목록에서 삭제 (다시 게시하면 다시 등록됨)
+            local published_at = tonumber(string.match(node_value, ':(%d+)$'))
+            local registered = redis.call('HGETALL', nodes)
+            for i = 1, #registered, 2 do
+              local last = tonumber(string.match(registered[i + 1], ':(%d+)$')) or 0
+              if last < published_at - ttl then
+                redis.call('HDEL', nodes, registered[i])
+              end
             end
             
-            -- 요청 수가 제한 이상이면 요청 거부
-            return false
+            -- 노드 목록 갱신 (모든 노드가 게시를 멈추면 노드 목록도 만료)
+            redis.call('HSET', nodes, node, node_value)
+            redis.call('PEXPIRE', nodes, ttl)
+            
+            return (#ARGV - 3) / 2
             """;
         
-        return RedisScript.of(script, Boolean.class);
+        return RedisScript.of(script, Long.class);
+    }
+
+    /**
+     * 키의 표현을 옮기는 Lua 코드를 실행한 뒤 속도 제한 스크립트를 실행하고,
+     * 판단 결과 뒤에 표현을 옮겼는지 여부(1/0)를 붙여 반환하는 스크립트를 만듭니다.
+     *
+     * @param script 속도 제한 스크립트
+     * @param migration 키를 옮기고 지역 변수 migrated에 옮겼는지 여부를 저장하는 Lua 코드
+     * @return 조합된 스크립트
+     */
+    private static String migrating(String script, String migration) {
+        return "local function decide()\n" + script + "end\n" + migration + """
+            local result = decide()
+            table.insert(result, migrated)
+            return result
+            """;
+    }
+
+    /**
+     * 판단 결과 배열을 반환하는 속도 제한 스크립트를 생성합니다.
+     *
+     * @param script Lua 스크립트 본문
+     * @return 정수 배열을 반환하는 RedisScript
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RedisScript<List<Long>> decisionScript(String script) {
+        return (RedisScript<List<Long>>) (RedisScript) RedisScript.of(script, List.class);
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,11 @@
 package project.springratelimiter.ratelimiter.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import project.springratelimiter.ratelimiter.header.RateLimitHeaders;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -18,6 +20,7 @@ public class GlobalExceptionHandler {
 
     /**
      * RateLimitExceededException을 처리하고 적절한 오류 응답을 반환합니다.
+     * 판단 결과가 있으면 RateLimit-* / Retry-After 헤더를 함께 반환하여 클라이언트가 정확히 물러설 수 있도록 합니다.
      *
      * @param ex 처리할 예외
      * @return 오류 정보가 포함된 ResponseEntity
@@ -29,7 +32,12 @@ public class GlobalExceptionHandler {
         errorResponse.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
         errorResponse.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
         errorResponse.put("message", ex.getMessage());
+
+        HttpHeaders headers = new HttpHeaders();
+        if (ex.getDecision() != null) {
+            RateLimitHeaders.write(ex.getDecision(), headers::set);
+        }
         
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).headers(headers).body(errorResponse);
     }
 }
\ No newline at end of file
@@ -2,19 +2,27 @@ package project.springratelimiter.ratelimiter.exception;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import project.springratelimiter.ratelimiter.annotation.ConcurrencyLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
 
 /**
  * 요청이 속도 제한을 초과할 때 발생하는 예외.
  * 이 예외는 HTTP 상태 코드 429 (Too Many Requests)를 반환합니다.
+ * 판단 결과가 있으면 GlobalExceptionHandler가 RateLimit-* / Retry-After 헤더로 응답에 기록합니다.
  */
 @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
 public class RateLimitExceededException extends RuntimeException {
 
+    // 거부된 판단 결과 (없으면 null)
+    private final transient RateLimitDecision decision;
+
     /**
      * 기본 메시지로 예외를 생성합니다.
      */
     public RateLimitExceededException() {
         super("요청 속도 제한을 초과했습니다. 잠시 후 다시 시도해주세요.");
+        this.decision = null;
     }
 
     /**
@@ -24,6 +32,18 @@ public class RateLimitExceededException extends RuntimeException {
      */
     public RateLimitExceededException(String message) {
         super(message);
+        this.decision = null;
+    }
+
+    /**
+     * 지정된 메시지와 거부된 판단 결과로 예외를 생성합니다.
+     *
+     * @param message 예외 메시지
+     * @param decision 거부된 판단 결과
+     */
+    public RateLimitExceededException(String message, RateLimitDecision decision) {
+        super(message);
+        this.decision = decision;
     }
 
     /**
@@ -34,5 +54,43 @@ public class RateLimitExceededException extends RuntimeException {
      */
     public RateLimitExceededException(String message, Throwable cause) {
         super(message, cause);
+        this.decision = null;
+    }
+
+    /**
+     * 거부된 판단 결과를 반환합니다.
+     *
+     * @return 판단 결과 (없으면 null)
+     */
+    public RateLimitDecision getDecision() {
+        return decision;
+    }
+
+    /**
+     * 초과한 속도 제한 규칙을 설명하는 메시지와 판단 결과로 예외를 생성합니다.
+     *
+     * @param rateLimit 초과한 속도 제한 규칙
+     * @param decision 거부된 판단 결과
+     * @return 속도 제한 초과 예외
+     */
+    public static RateLimitExceededException of(RateLimit rateLimit, RateLimitDecision decision) {
+        return new RateLimitExceededException(
+                String.format("속도 제한 초과: %d 요청/%d초 (알고리즘: %s)",
+                        rateLimit.limit(), rateLimit.period(), rateLimit.algorithm()),
+                decision);
+    }
+
+    /**
+     * 초과한 동시 요청 제한을 설명하는 메시지와 판단 결과로 예외를 생성합니다.
+     *
+     * @param concurrencyLimit 초과한 동시 요청 제한 규칙
+     * @param decision 거부된 판단 결과
+     * @return 속도 제한 초과 예외
+     */
+    public static RateLimitExceededException of(ConcurrencyLimit concurrencyLimit, RateLimitDecision decision) {
+        return new RateLimitExceededException(
+                String.format("동시 요청 제한 초과: 최대 %d개 (키 유형: %s)",
+                        concurrencyLimit.limit(), concurrencyLimit.keyType()),
+                decision);
     }
-}
\ No newline at end of file
+}
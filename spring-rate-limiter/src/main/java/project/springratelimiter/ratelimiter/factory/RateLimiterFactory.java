@@ -5,52 +5,82 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 import project.springratelimiter.ratelimiter.annotation.RateLimit;
 import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
+import project.springratelimiter.ratelimiter.service.NearCacheRateLimiterService;
 import project.springratelimiter.ratelimiter.service.RateLimiterService;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
- * 속도 제한 알고리즘에 따라 적절한 RateLimiterService 구현체를 제공하는 팩토리 클래스.
- * 이 클래스는 알고리즘 유형에 따라 적절한 서비스 인스턴스를 반환합니다.
+ * 속도 제한 알고리즘과 백엔드에 따라 적절한 RateLimiterService 구현체를 제공하는 팩토리 클래스.
+ * 이 클래스는 알고리즘 유형과 백엔드 유형에 따라 적절한 서비스 인스턴스를 반환합니다.
  */
 @Component
 public class RateLimiterFactory {
 
-    private final Map<RateLimit.Algorithm, RateLimiterService> rateLimiters = new HashMap<>();
+    private final Map<RateLimit.Backend, Map<RateLimit.Algorithm, RateLimiterService>> rateLimiters =
+            new EnumMap<>(RateLimit.Backend.class);
+
+    private final NearCacheRateLimiterService nearCacheRateLimiter;
 
     /**
      * Spring ApplicationContext를 사용하여 모든 RateLimiterService 구현체를 찾아 맵에 저장합니다.
      * 
      * @param applicationContext Spring ApplicationContext
+     * @param nearCacheRateLimiter 니어 캐시 백엔드에서 사용할 하이브리드 속도 제한 서비스
      */
     @Autowired
-    public RateLimiterFactory(ApplicationContext applicationContext) {
+    public RateLimiterFactory(ApplicationContext applicationContext,
+                              NearCacheRateLimiterService nearCacheRateLimiter) {
+        this.nearCacheRateLimiter = nearCacheRateLimiter;
+
         // @RateLimiterType 어노테이션이 있는 모든 RateLimiterService 빈을 찾아 맵에 저장
         Map<String, Object> beans = applicationContext.getBeansWithAnnotation(RateLimiterType.class);
         
         for (Object bean : beans.values()) {
             if (bean instanceof RateLimiterService) {
                 RateLimiterType annotation = bean.getClass().getAnnotation(RateLimiterType.class);
-                rateLimiters.put(annotation.value(), (RateLimiterService) bean);
+                rateLimiters.computeIfAbsent(annotation.backend(), backend -> new EnumMap<>(RateLimit.Algorithm.class))
+                        .put(annotation.value(), (RateLimiterService) bean);
             }
         }
     }
 
     /**
-     * 지정된 알고리즘 유형에 맞는 RateLimiterService 구현체를 반환합니다.
+     * 지정된 알고리즘 유형에 맞는 Redis 기반 RateLimiterService 구현체를 반환합니다.
      * 
      * @param algorithm 사용할 속도 제한 알고리즘
      * @return 해당 알고리즘을 구현한 RateLimiterService
      * @throws IllegalArgumentException 지원되지 않는 알고리즘이 지정된 경우
      */
     public RateLimiterService getRateLimiter(RateLimit.Algorithm algorithm) {
-        RateLimiterService rateLimiter = rateLimiters.get(algorithm);
+        return getRateLimiter(algorithm, RateLimit.Backend.REDIS);
+    }
+
+    /**
+     * 지정된 알고리즘과 백엔드에 맞는 RateLimiterService 구현체를 반환합니다.
+     * 니어 캐시 백엔드는 Redis에서 임대한 고정 윈도우 예산을 로컬에서 소비하므로 FIXED_WINDOW 알고리즘만 지원합니다.
+     * 다른 알고리즘을 선언한 규칙은 다른 의미로 조용히 판단되지 않도록 계획을 만들 때 거부됩니다.
+     *
+     * @param algorithm 사용할 속도 제한 알고리즘
+     * @param backend 속도 제한 판단을 수행할 백엔드
+     * @return 해당 알고리즘과 백엔드를 구현한 RateLimiterService
+     * @throws IllegalArgumentException 지원되지 않는 알고리즘과 백엔드 조합이 지정된 경우
+     */
+    public RateLimiterService getRateLimiter(RateLimit.Algorithm algorithm, RateLimit.Backend backend) {
+        if (backend == RateLimit.Backend.NEAR_CACHE) {
+            if (algorithm != RateLimit.Algorithm.FIXED_WINDOW) {
+                throw new IllegalArgumentException("니어 캐시 백엔드는 FIXED_WINDOW 알고리즘만 지원합니다: " + algorithm);
+            }
+            return nearCacheRateLimiter;
+        }
+
+        RateLimiterService rateLimiter = rateLimiters.getOrDefault(backend, Map.of()).get(algorithm);
         
         if (rateLimiter == null) {
-            throw new IllegalArgumentException("지원되지 않는 속도 제한 알고리즘입니다: " + algorithm);
+            throw new IllegalArgumentException("지원되지 않는 속도 제한 알고리즘입니다: " + algorithm + " (백엔드: " + backend + ")");
         }
         
         return rateLimiter;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,346 @@
+package project.springratelimiter.ratelimiter.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.exception.RateLimitExceededException;
+import project.springratelimiter.ratelimiter.header.RateLimitHeaders;
+import project.springratelimiter.ratelimiter.heavyhitter.HeavyHitterTracker;
+import project.springratelimiter.ratelimiter.metrics.RateLimiterMetrics;
+import project.springratelimiter.ratelimiter.metrics.TraceparentSpanContext;
+import project.springratelimiter.ratelimiter.override.RateLimitOverride;
+import project.springratelimiter.ratelimiter.override.RateLimitOverrideRegistry;
+import project.springratelimiter.ratelimiter.plan.RateLimitPlan;
+import project.springratelimiter.ratelimiter.plan.RateLimitPlanCache;
+import project.springratelimiter.ratelimiter.plan.RateLimitRule;
+import project.springratelimiter.ratelimiter.plan.RequestKeys;
+import project.springratelimiter.ratelimiter.resilience.RateLimiterResilience;
+import project.springratelimiter.ratelimiter.service.HotKeySharding;
+import project.springratelimiter.ratelimiter.service.LimitSpec;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+import project.springratelimiter.ratelimiter.service.ReactiveRateLimiterService;
+import project.springratelimiter.ratelimiter.service.ShapingDecision;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * WebFlux 애플리케이션에서 @RateLimit 어노테이션이 적용된 핸들러 메서드에 속도 제한을 적용하는 WebFilter.
+ * RateLimiterAspect와 같은 규칙으로 키를 만들고 판단하지만, 판단은 ReactiveRateLimiterService로 수행하므로
+ * Redis 응답을 기다리는 동안 이벤트 루프 스레드를 차단하지 않습니다.
+ * 판단은 RateLimiterResilience의 제한 시간과 회로 차단기로 감싸며, Redis 장애 시 규칙의 실패 정책(onFailure)에 따라 판단합니다.
+ * 판단 결과는 RateLimit-* 헤더로 기록하며, 속도 제한을 초과하면 Retry-After 헤더와 함께
+ * GlobalExceptionHandler와 같은 형식의 429 응답을 반환합니다.
+ * 셰이핑 규칙(maxDelayMillis > 0)으로 허용된 요청은 Mono.delay로 자기 차례까지 지연시킨 뒤 다음 필터로 넘깁니다.
+ * 규칙마다 판단 결과와 판단 시간(셰이핑 대기 시간 제외)을 RateLimiterMetrics에 기록합니다.
+ * 동시 요청 제한(@ConcurrencyLimit)과 허용량 표현식(costExpression)은 적용하지 않으며, 선언된 핸들러 메서드가 있으면 애플리케이션 시작 시 실패합니다.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class RateLimitWebFilter implements WebFilter {
+
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final RateLimitPlanCache planCache;
+    private final ReactiveRateLimiterService rateLimiterService;
+    private final HotKeySharding hotKeySharding;
+    private final RateLimiterResilience resilience;
+    private final RateLimitOverrideRegistry overrideRegistry;
+    private final HeavyHitterTracker heavyHitterTracker;
+    private final RateLimiterMetrics metrics;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 핸들러 매핑, 판단 계획 캐시, 리액티브 속도 제한 서비스, HotKeySharding, RateLimiterResilience,
+     * RateLimitOverrideRegistry, HeavyHitterTracker, RateLimiterMetrics, ObjectMapper를 사용하여 RateLimitWebFilter를 생성합니다.
+     *
+     * @param handlerMapping 요청을 처리할 핸들러 메서드를 찾기 위한 매핑
+     * @param planCache 메서드별로 어노테이션을 미리 해석해 둔 판단 계획 캐시
+     * @param rateLimiterService 차단 없이 속도 제한을 판단하는 서비스
+     * @param hotKeySharding 하위 키로 나눈 규칙(shards > 1)을 판단하는 컴포넌트
+     * @param resilience Redis 장애 시 실패 정책에 따라 판단하는 컴포넌트
+     * @param overrideRegistry 런타임에 선언된 제한과 기간을 재정의하는 레지스트리
+     * @param heavyHitterTracker 요청이 많은 키를 추적하는 컴포넌트
+     * @param metrics 판단 결과와 판단 시간을 기록하는 컴포넌트
+     * @param objectMapper 오류 응답 직렬화를 위한 ObjectMapper
+     * @throws IllegalArgumentException 필터에서 적용할 수 없는 규칙이 선언된 핸들러 메서드가 있는 경우
+     */
+    public RateLimitWebFilter(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                              RateLimitPlanCache planCache,
+                              ReactiveRateLimiterService rateLimiterService,
+                              HotKeySharding hotKeySharding,
+                              RateLimiterResilience resilience,
+                              RateLimitOverrideRegistry overrideRegistry,
+                              HeavyHitterTracker heavyHitterTracker,
+                              RateLimiterMetrics metrics,
+                              ObjectMapper objectMapper) {
+        this.handlerMapping = handlerMapping;
+        this.planCache = planCache;
+        this.rateLimiterService = rateLimiterService;
+        this.hotKeySharding = hotKeySharding;
+        this.resilience = resilience;
+        this.overrideRegistry = overrideRegistry;
+        this.heavyHitterTracker = heavyHitterTracker;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+
+        // 필터에서 적용할 수 없는 선언이 요청을 받을 때 조용히 무시되지 않도록 시작할 때 모든 핸들러 메서드를 확인
+        handlerMapping.getHandlerMethods().values()
+                .forEach(handlerMethod -> planCache.reactivePlanFor(handlerMethod.getMethod()));
+    }
+
+    /**
+     * 요청을 처리할 핸들러 메서드에 @RateLimit이 있으면 속도 제한을 확인합니다.
+     *
+     * @param exchange 현재 요청과 응답
+     * @param chain 다음 필터 체인
+     * @return 요청 처리 완료 신호
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return evaluate(exchange)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(result -> {
+                    if (result.isEmpty()) {
+                        return chain.filter(exchange);
+                    }
+
+                    RuleDecision ruleDecision = result.get();
+                    RateLimitHeaders.write(ruleDecision.decision(), exchange.getResponse().getHeaders()::set);
+                    if (!ruleDecision.decision().allowed()) {
+                        return reject(exchange, ruleDecision.rateLimit(), ruleDecision.decision());
+                    }
+                    RateLimitPlan plan = ruleDecision.plan();
+                    return plan.isAdaptive() ? filterAndRecord(exchange, chain, plan) : chain.filter(exchange);
+                });
+    }
+
+    /**
+     * 다음 필터 체인을 실행하고 요청 처리 시간을 적응형 규칙에 반영합니다.
+     * 오류로 끝난 요청은 처리 시간 대신, 과부하를 뜻하는 오류인 경우에만 실패(drop)로 반영합니다.
+     *
+     * @param exchange 현재 요청과 응답
+     * @param chain 다음 필터 체인
+     * @param plan 적응형 규칙이 있는 메서드의 판단 계획
+     * @return 요청 처리 완료 신호
+     */
+    private Mono<Void> filterAndRecord(ServerWebExchange exchange, WebFilterChain chain, RateLimitPlan plan) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return chain.filter(exchange)
+                    .doOnSuccess(ignored -> plan.recordLatency(System.nanoTime() - start))
+                    .doOnError(plan::recordFailure);
+        });
+    }
+
+    /**
+     * 판단 결과와 그 결과를 만든 규칙, 그 규칙이 속한 판단 계획.
+     */
+    private record RuleDecision(RateLimit rateLimit, RateLimitDecision decision, RateLimitPlan plan) {
+    }
+
+    /**
+     * 핸들러 메서드의 모든 속도 제한 규칙을 평가하고, 클라이언트에게 알려줄 규칙의 판단 결과를 반환합니다.
+     *
+     * @param exchange 현재 요청과 응답
+     * @return 가장 제한적인 규칙의 판단 결과 (규칙이 없으면 비어 있음)
+     */
+    private Mono<RuleDecision> evaluate(ServerWebExchange exchange) {
+        return handlerMapping.getHandler(exchange)
+                .ofType(HandlerMethod.class)
+                .flatMap(handlerMethod -> {
+                    RateLimitPlan plan = planCache.reactivePlanFor(handlerMethod.getMethod());
+                    if (!plan.isLimited()) {
+                        return Mono.empty();
+                    }
+                    recordHeavyHitter(exchange.getRequest(), plan);
+
+                    List<RateLimitRule> rules = plan.rules();
+                    List<LimitSpec> specs = new ArrayList<>(rules.size());
+                    for (RateLimitRule rule : rules) {
+                        RateLimit rateLimit = rule.rateLimit();
+                        String requestKey = requestKey(exchange.getRequest(), rule);
+                        String key = RequestKeys.ruleKey(rule, requestKey);
+                        RateLimitOverride override = overrideRegistry.resolve(rule, requestKey);
+
+                        // 허용량 표현식은 계획을 만들 때 거부되었으므로 선언된 cost 사용
+                        specs.add(new LimitSpec(key, override.limit(rule), override.period(rule),
+                                rateLimit.algorithm(), rateLimit.backend(), rateLimit.cost()));
+                    }
+
+                    // 판단 계획을 구독할 때 실행되므로 여기서부터 판단 결과를 받을 때까지를 판단 시간으로 기록
+                    long start = System.nanoTime();
+
+                    // 셰이핑 규칙은 허용된 요청을 자기 차례가 될 때까지 지연시킨 뒤 진행 (이벤트 루프는 차단하지 않음)
+                    if (plan.isSingle() && rules.get(0).rateLimit().maxDelayMillis() > 0) {
+                        RateLimit rateLimit = rules.get(0).rateLimit();
+                        return resilience.executeReactive(
+                                        () -> rateLimiterService.shape(specs.get(0), rateLimit.maxDelayMillis()),
+                                        () -> ShapingDecision.immediate(resilience.degrade(rateLimit, specs.get(0))))
+                                .flatMap(shaped -> {
+                                    recordDecision(exchange, rules.get(0), shaped.decision(), start, System.nanoTime());
+                                    RuleDecision ruleDecision = new RuleDecision(rateLimit, shaped.decision(), plan);
+                                    return shaped.decision().allowed() && shaped.delayMillis() > 0
+                                            ? Mono.delay(Duration.ofMillis(shaped.delayMillis())).thenReturn(ruleDecision)
+                                            : Mono.just(ruleDecision);
+                                });
+                    }
+
+                    // 하위 키로 나눈 단일 규칙은 거부되면 다음 하위 키로 다시 판단
+                    if (plan.isSingle() && rules.get(0).rateLimit().shards() > 1) {
+                        RateLimit rateLimit = rules.get(0).rateLimit();
+                        return resilience.executeReactive(
+                                        () -> hotKeySharding.acquire(rateLimiterService, specs.get(0), rateLimit.shards()),
+                                        () -> resilience.degrade(rateLimit, specs.get(0)))
+                                .map(decision -> {
+                                    recordDecision(exchange, rules.get(0), decision, start, System.nanoTime());
+                                    return new RuleDecision(rateLimit, decision, plan);
+                                });
+                    }
+
+                    // 겹친 규칙 중 하위 키로 나눈 규칙은 이 노드가 고른 하위 키 하나로 평가
+                    for (int i = 0; i < rules.size(); i++) {
+                        int shards = rules.get(i).rateLimit().shards();
+                        if (shards > 1) {
+                            specs.set(i, hotKeySharding.route(specs.get(i), shards));
+                        }
+                    }
+
+                    // Redis 장애 시 모든 규칙을 각 규칙의 실패 정책으로 판단 (인메모리 규칙은 그대로 판단)
+                    return resilience.executeReactive(() -> rateLimiterService.acquireAll(specs),
+                                    () -> degradeAll(rules, specs))
+                            .map(decisions -> {
+                                long end = System.nanoTime();
+                                for (int i = 0; i < rules.size(); i++) {
+                                    recordDecision(exchange, rules.get(i), decisions.get(i), start, end);
+                                }
+                                int selected = RateLimitDecision.mostRestrictive(decisions);
+                                return new RuleDecision(rules.get(selected).rateLimit(), decisions.get(selected), plan);
+                            });
+                });
+    }
+
+    /**
+     * 규칙의 판단 결과와 판단 시간을 기록합니다.
+     *
+     * @param exchange 현재 요청과 응답
+     * @param rule 판단한 규칙
+     * @param decision 판단 결과
+     * @param start 판단을 시작한 System.nanoTime() 값
+     * @param end 판단 결과를 받은 System.nanoTime() 값
+     */
+    private void recordDecision(ServerWebExchange exchange, RateLimitRule rule, RateLimitDecision decision,
+                                long start, long end) {
+        // exemplar가 꺼져 있으면 요청 헤더를 읽지 않음
+        String traceparent = metrics.isExemplarEnabled()
+                ? exchange.getRequest().getHeaders().getFirst(TraceparentSpanContext.HEADER)
+                : null;
+        metrics.record(rule.meters(), decision.allowed(), end - start, traceparent);
+    }
+
+    /**
+     * Redis를 사용할 수 없을 때 모든 규칙을 각 규칙의 실패 정책으로 판단합니다.
+     *
+     * @param rules 미리 해석된 속도 제한 규칙 목록
+     * @param specs 규칙 순서와 같은 순서의 속도 제한 규칙 목록
+     * @return 규칙 순서와 같은 순서의 판단 결과 목록
+     */
+    private List<RateLimitDecision> degradeAll(List<RateLimitRule> rules, List<LimitSpec> specs) {
+        List<RateLimitDecision> decisions = new ArrayList<>(specs.size());
+        for (int i = 0; i < specs.size(); i++) {
+            decisions.add(resilience.degrade(rules.get(i).rateLimit(), specs.get(i)));
+        }
+        return decisions;
+    }
+
+    /**
+     * 속도 제한 초과 응답(429)을 작성합니다.
+     *
+     * @param exchange 현재 요청과 응답
+     * @param rateLimit 초과한 속도 제한 규칙
+     * @param decision 거부된 판단 결과
+     * @return 응답 작성 완료 신호
+     */
+    private Mono<Void> reject(ServerWebExchange exchange, RateLimit rateLimit, RateLimitDecision decision) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+        errorResponse.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        errorResponse.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        errorResponse.put("message", RateLimitExceededException.of(rateLimit, decision).getMessage());
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(errorResponse);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * 요청마다 달라지는 키를 사용하는 첫 번째 규칙의 요청 키를 HeavyHitterTracker에 기록합니다.
+     * 기록은 잠금을 기다리지 않으므로 이벤트 루프 스레드를 차단하지 않습니다.
+     *
+     * @param request 현재 요청
+     * @param plan 속도 제한 규칙이 있는 메서드의 판단 계획
+     */
+    private void recordHeavyHitter(ServerHttpRequest request, RateLimitPlan plan) {
+        for (RateLimitRule rule : plan.rules()) {
+            if (rule.fixedKey() == null) {
+                RateLimit.KeyType keyType = rule.rateLimit().keyType();
+                heavyHitterTracker.record(keyType,
+                        RequestKeys.requestKey(keyType, request.getHeaders()::getFirst, () -> remoteAddress(request)));
+                return;
+            }
+        }
+    }
+
+    /**
+     * 규칙의 요청 키를 요청에서 만듭니다.
+     * 메서드 키처럼 요청과 관계없는 키를 사용하는 규칙은 요청을 조회하지 않습니다.
+     *
+     * @param request 현재 요청
+     * @param rule 미리 해석된 속도 제한 규칙
+     * @return 규칙 접미사가 붙지 않은 요청 키 (요청과 관계없는 키를 사용하는 규칙은 null)
+     */
+    private String requestKey(ServerHttpRequest request, RateLimitRule rule) {
+        return RequestKeys.requestKey(rule, request.getHeaders()::getFirst, () -> remoteAddress(request));
+    }
+
+    /**
+     * 요청의 원격 주소를 가져옵니다.
+     *
+     * @param request 현재 요청
+     * @return 원격 IP 주소 (알 수 없으면 "unknown")
+     */
+    private static String remoteAddress(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress().getHostAddress();
+    }
+}
@@ -0,0 +1,50 @@
+package project.springratelimiter.ratelimiter.header;
+
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+
+import java.util.function.BiConsumer;
+
+/**
+ * 속도 제한 판단 결과를 표준 응답 헤더로 기록하는 유틸리티.
+ * RateLimit-Limit / RateLimit-Remaining / RateLimit-Reset은 IETF RateLimit 헤더 초안을 따르며
+ * RateLimit-Reset은 초기화까지 남은 초, Retry-After는 거부된 경우 다음 요청까지 기다릴 초입니다.
+ * 백엔드가 제공하지 않는 값의 헤더는 기록하지 않습니다.
+ */
+public final class RateLimitHeaders {
+
+    public static final String LIMIT = "RateLimit-Limit";
+    public static final String REMAINING = "RateLimit-Remaining";
+    public static final String RESET = "RateLimit-Reset";
+    public static final String RETRY_AFTER = "Retry-After";
+
+    private RateLimitHeaders() {
+    }
+
+    /**
+     * 판단 결과를 응답 헤더로 기록합니다.
+     *
+     * @param decision 속도 제한 판단 결과
+     * @param header 헤더 이름과 값을 받아 응답에 설정하는 함수 (예: response::setHeader)
+     */
+    public static void write(RateLimitDecision decision, BiConsumer<String, String> header) {
+        header.accept(LIMIT, Long.toString(decision.limit()));
+
+        if (decision.remaining() != RateLimitDecision.UNKNOWN) {
+            header.accept(REMAINING, Long.toString(decision.remaining()));
+        }
+        if (decision.resetAtMillis() != RateLimitDecision.UNKNOWN) {
+            long resetAfter = Math.max(0, decision.resetAtMillis() - System.currentTimeMillis());
+            header.accept(RESET, Long.toString(toSeconds(resetAfter)));
+        }
+        if (!decision.allowed() && decision.retryAfterMillis() != RateLimitDecision.UNKNOWN) {
+            header.accept(RETRY_AFTER, Long.toString(toSeconds(decision.retryAfterMillis())));
+        }
+    }
+
+    /**
+     * 밀리초를 초 단위로 올림합니다. (헤더 값은 정수 초)
+     */
+    private static long toSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+}
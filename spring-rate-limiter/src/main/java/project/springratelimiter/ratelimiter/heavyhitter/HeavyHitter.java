@@ -0,0 +1,21 @@
+package project.springratelimiter.ratelimiter.heavyhitter;
+
+/**
+ * 요청이 많은 키 하나의 추정치.
+ * Space-Saving 스케치의 count는 실제 요청 수의 상한이고, count - error는 하한입니다.
+ *
+ * @param key 속도 제한 키 (IP 주소, 사용자 ID 등)
+ * @param count 추정 요청 수 (실제 값 이상)
+ * @param error 추정 요청 수의 최대 과대 추정량
+ */
+public record HeavyHitter(String key, long count, long error) {
+
+    /**
+     * 실제 요청 수의 하한을 반환합니다.
+     *
+     * @return 보장된 최소 요청 수
+     */
+    public long guaranteed() {
+        return count - error;
+    }
+}
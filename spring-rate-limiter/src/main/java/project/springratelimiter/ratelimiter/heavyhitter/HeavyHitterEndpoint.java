@@ -0,0 +1,58 @@
+package project.springratelimiter.ratelimiter.heavyhitter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.dao.DataAccessException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 요청이 많은 속도 제한 키를 보여주는 Actuator 엔드포인트. (GET /actuator/heavyhitters?top=20)
+ * Redis에 게시된 모든 노드의 결과를 합산하여 보여주며, Redis를 읽지 못하면 이 노드의 직전 구간 결과를 보여줍니다.
+ */
+@Component
+@Endpoint(id = "heavyhitters")
+public class HeavyHitterEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(HeavyHitterEndpoint.class);
+
+    private static final int DEFAULT_TOP = 20;
+
+    private final HeavyHitterTracker tracker;
+
+    /**
+     * HeavyHitterTracker를 사용하여 HeavyHitterEndpoint를 생성합니다.
+     *
+     * @param tracker 요청이 많은 키를 추적하는 컴포넌트
+     */
+    public HeavyHitterEndpoint(HeavyHitterTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    /**
+     * 키 유형별로 요청이 많은 키를 반환합니다.
+     *
+     * @param top 키 유형별로 반환할 최대 키 수 (기본 20)
+     * @return 키 유형별 조회 결과
+     */
+    @ReadOperation
+    public Map<RateLimit.KeyType, HeavyHitterReport> heavyHitters(@Nullable Integer top) {
+        int limit = top != null && top > 0 ? top : DEFAULT_TOP;
+        Map<RateLimit.KeyType, HeavyHitterReport> reports = new LinkedHashMap<>();
+        for (RateLimit.KeyType keyType : tracker.trackedKeyTypes()) {
+            try {
+                reports.put(keyType, tracker.clusterTop(keyType, limit));
+            } catch (DataAccessException e) {
+                log.warn("노드별 결과를 읽지 못해 이 노드의 결과만 반환합니다. keyType={}", keyType, e);
+                reports.put(keyType, tracker.localTop(keyType, limit));
+            }
+        }
+        return reports;
+    }
+}
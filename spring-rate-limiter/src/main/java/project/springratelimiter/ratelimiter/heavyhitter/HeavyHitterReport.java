@@ -0,0 +1,13 @@
+package project.springratelimiter.ratelimiter.heavyhitter;
+
+import java.util.List;
+
+/**
+ * 키 유형 하나에 대해 요청이 많은 키를 조회한 결과.
+ *
+ * @param source 결과의 출처 ("cluster": Redis에 게시된 모든 노드의 합산, "local": 이 노드의 직전 구간)
+ * @param nodes 합산한 노드 수
+ * @param top 추정 요청 수가 많은 순서의 키 목록
+ */
+public record HeavyHitterReport(String source, int nodes, List<HeavyHitter> top) {
+}
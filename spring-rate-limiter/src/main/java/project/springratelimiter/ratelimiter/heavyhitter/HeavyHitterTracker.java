@@ -0,0 +1,285 @@
+package project.springratelimiter.ratelimiter.heavyhitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 속도 제한 키 유형(IP, USER)별로 요청이 많은 키를 추적하는 컴포넌트.
+ * 노드마다 키 유형별 Space-Saving 스케치 하나를 유지하므로 메모리는 rate-limiter.heavy-hitters.capacity에 비례합니다.
+ *
+ * 스케치는 publish-interval-ms마다 Redis에 게시한 뒤 비워지므로, 게시된 값은 노드별 직전 구간의 요청 수입니다.
+ * 각 노드는 "{prefix}{키 유형}:{노드 ID}" Hash(예: heavy_hitters:{IP}:node-1, 필드: 키, 값: count:error)에 구간 결과를 쓰고,
+ * "{prefix}{키 유형}:nodes" Hash에 노드 ID와 추적하지 않은 키의 상한(가장 작은 카운터), 게시 시각을 기록합니다.
+ * 게시를 멈춘 노드는 다른 노드가 게시할 때 노드 목록에서 삭제되며, 조회는 Redis를 읽기만 합니다.
+ * 두 쓰기는 하나의 Lua 스크립트(heavyHitterPublishScript)로 실행되며, 두 키는 키 유형을 해시 태그로 사용하므로 같은 슬롯에 있습니다.
+ * 조회할 때는 모든 노드의 결과를 합산하며, 어떤 노드에 없는 키는 그 노드의 상한만큼 과대 추정될 수 있습니다.
+ *
+ * 기록은 요청 경로에서 수행되므로 잠금을 기다리지 않고, 다른 스레드가 기록 중이면 이번 요청은 건너뜁니다.
+ * (건너뛴 요청 수는 heavy_hitter.dropped 카운터로 확인)
+ */
+@Component
+public class HeavyHitterTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(HeavyHitterTracker.class);
+
+    // 요청마다 달라지는 키를 사용하는 키 유형만 추적 (METHOD는 모든 요청이 같은 키)
+    private static final RateLimit.KeyType[] TRACKED = {RateLimit.KeyType.IP, RateLimit.KeyType.USER};
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final byte[] publishScript;
+    private final String keyPrefix;
+    private final String nodeId;
+    private final long publishIntervalMillis;
+
+    private final Map<RateLimit.KeyType, TrackedSketch> sketches = new EnumMap<>(RateLimit.KeyType.class);
+
+    private final Counter droppedCounter;
+
+    /**
+     * Redis 템플릿, 메트릭 레지스트리와 스케치 설정으로 HeavyHitterTracker를 생성합니다.
+     *
+     * @param redisTemplate Redis 작업을 위한 템플릿
+     * @param heavyHitterPublishScript 구간 결과를 게시하는 Lua 스크립트
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     * @param capacity 키 유형별로 추적할 최대 키 수
+     * @param publishIntervalMillis 구간 결과를 Redis에 게시하는 주기 (밀리초)
+     * @param keyPrefix 구간 결과를 저장할 Redis 키 접두사
+     * @param nodeId 이 노드의 ID (비어 있으면 프로세스 ID@호스트 이름)
+     */
+    public HeavyHitterTracker(RedisTemplate<String, Object> redisTemplate,
+                              RedisScript<Long> heavyHitterPublishScript,
+                              MeterRegistry meterRegistry,
+                              @Value("${rate-limiter.heavy-hitters.capacity:1000}") int capacity,
+                              @Value("${rate-limiter.heavy-hitters.publish-interval-ms:60000}") long publishIntervalMillis,
+                              @Value("${rate-limiter.heavy-hitters.key-prefix:heavy_hitters:}") String keyPrefix,
+                              @Value("${rate-limiter.heavy-hitters.node-id:}") String nodeId) {
+        this.redisTemplate = redisTemplate;
+        this.publishScript = raw(heavyHitterPublishScript.getScriptAsString());
+        this.keyPrefix = keyPrefix;
+        this.nodeId = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        this.publishIntervalMillis = publishIntervalMillis;
+        for (RateLimit.KeyType keyType : TRACKED) {
+            sketches.put(keyType, new TrackedSketch(new SpaceSavingSketch(capacity)));
+        }
+
+        this.droppedCounter = Counter.builder("heavy_hitter.dropped")
+                .description("다른 스레드가 기록 중이어서 스케치에 반영하지 않은 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 키의 요청을 이 노드의 스케치에 기록합니다.
+     *
+     * @param keyType 속도 제한 키 유형
+     * @param key 속도 제한 키 (IP 주소, 사용자 ID 등)
+     */
+    public void record(RateLimit.KeyType keyType, String key) {
+        TrackedSketch tracked = sketches.get(keyType);
+        if (tracked == null) {
+            return;
+        }
+        if (!tracked.lock.tryLock()) {
+            droppedCounter.increment();
+            return;
+        }
+        try {
+            tracked.sketch.record(key, 1);
+        } finally {
+            tracked.lock.unlock();
+        }
+    }
+
+    /**
+     * 추적하는 키 유형을 반환합니다.
+     *
+     * @return 추적하는 키 유형 목록
+     */
+    public List<RateLimit.KeyType> trackedKeyTypes() {
+        return List.of(TRACKED);
+    }
+
+    /**
+     * 이 노드의 직전 구간에서 요청이 많은 키를 반환합니다.
+     *
+     * @param keyType 속도 제한 키 유형
+     * @param limit 반환할 최대 키 수
+     * @return 요청이 많은 키 목록
+     */
+    public HeavyHitterReport localTop(RateLimit.KeyType keyType, int limit) {
+        TrackedSketch tracked = sketches.get(keyType);
+        List<HeavyHitter> entries = tracked != null ? tracked.lastWindow : List.of();
+        return new HeavyHitterReport("local", 1, sortAndLimit(new ArrayList<>(entries), limit));
+    }
+
+    /**
+     * Redis에 게시된 모든 노드의 직전 구간 결과를 합산하여 요청이 많은 키를 반환합니다.
+     * 직전 구간에 요청이 없던 노드는 결과 없이 노드 수에만 포함하고,
+     * 게시 주기의 두 배 이상 게시하지 않은 노드는 합산에서 제외합니다.
+     * 조회는 Redis를 읽기만 하며, 그런 노드는 다른 노드가 게시할 때 노드 목록에서 삭제됩니다.
+     *
+     * @param keyType 속도 제한 키 유형
+     * @param limit 반환할 최대 키 수
+     * @return 요청이 많은 키 목록
+     * @throws DataAccessException Redis를 읽지 못한 경우
+     */
+    public HeavyHitterReport clusterTop(RateLimit.KeyType keyType, int limit) {
+        byte[] nodesKey = raw(nodesKey(keyType));
+        Map<String, String> nodes = decode(redisTemplate.execute(
+                (RedisCallback<Map<byte[], byte[]>>) connection -> connection.hashCommands().hGetAll(nodesKey)));
+
+        // 키별 [count, error, 결과에 포함된 노드들의 상한 합계]
+        Map<String, long[]> merged = new HashMap<>();
+        long totalMin = 0;
+        int live = 0;
+        long staleBefore = System.currentTimeMillis() - publishIntervalMillis * 2;
+        for (Map.Entry<String, String> node : nodes.entrySet()) {
+            // 노드 값은 "상한:게시 시각"
+            String nodeValue = node.getValue();
+            int separator = nodeValue.indexOf(':');
+            long min = Long.parseLong(separator < 0 ? nodeValue : nodeValue.substring(0, separator));
+            long publishedAt = separator < 0 ? 0 : Long.parseLong(nodeValue.substring(separator + 1));
+            if (publishedAt < staleBefore) {
+                // 게시를 멈춘 노드 (목록에서는 게시 스크립트가 삭제)
+                continue;
+            }
+
+            byte[] dataKey = raw(dataKey(keyType, node.getKey()));
+            Map<String, String> entries = decode(redisTemplate.execute(
+                    (RedisCallback<Map<byte[], byte[]>>) connection -> connection.hashCommands().hGetAll(dataKey)));
+            live++;
+            if (entries.isEmpty()) {
+                // 직전 구간에 요청이 없던 노드
+                continue;
+            }
+
+            totalMin += min;
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                String value = entry.getValue();
+                int colon = value.indexOf(':');
+                long[] sum = merged.computeIfAbsent(entry.getKey(), k -> new long[3]);
+                sum[0] += Long.parseLong(value.substring(0, colon));
+                sum[1] += Long.parseLong(value.substring(colon + 1));
+                sum[2] += min;
+            }
+        }
+
+        // 어떤 노드의 결과에 없는 키는 그 노드에서 상한(가장 작은 카운터)만큼 요청했을 수 있음
+        List<HeavyHitter> result = new ArrayList<>(merged.size());
+        for (Map.Entry<String, long[]> entry : merged.entrySet()) {
+            long[] sum = entry.getValue();
+            long missing = totalMin - sum[2];
+            result.add(new HeavyHitter(entry.getKey(), sum[0] + missing, sum[1] + missing));
+        }
+        return new HeavyHitterReport("cluster", live, sortAndLimit(result, limit));
+    }
+
+    /**
+     * 이 노드의 구간 결과를 Redis에 게시하고 다음 구간을 위해 스케치를 비웁니다.
+     */
+    @Scheduled(fixedDelayString = "${rate-limiter.heavy-hitters.publish-interval-ms:60000}")
+    public void publish() {
+        for (RateLimit.KeyType keyType : TRACKED) {
+            TrackedSketch tracked = sketches.get(keyType);
+            List<HeavyHitter> entries;
+            long min;
+            tracked.lock.lock();
+            try {
+                entries = tracked.sketch.entries();
+                min = tracked.sketch.minCount();
+                tracked.sketch.clear();
+            } finally {
+                tracked.lock.unlock();
+            }
+            tracked.lastWindow = entries;
+
+            try {
+                write(keyType, entries, min);
+            } catch (DataAccessException e) {
+                log.warn("요청이 많은 키 구간 결과를 게시하지 못했습니다. keyType={}", keyType, e);
+            }
+        }
+    }
+
+    private void write(RateLimit.KeyType keyType, List<HeavyHitter> entries, long min) {
+        // KEYS: 구간 결과, 노드 목록 / ARGV: 노드 ID, 상한:게시 시각, 보관 시간, 키와 count:error 쌍
+        byte[][] keysAndArgs = new byte[5 + entries.size() * 2][];
+        keysAndArgs[0] = raw(dataKey(keyType, nodeId));
+        keysAndArgs[1] = raw(nodesKey(keyType));
+        keysAndArgs[2] = raw(nodeId);
+        keysAndArgs[3] = raw(min + ":" + System.currentTimeMillis());
+        // 다음 게시가 늦어져도 결과가 남도록 게시 주기의 두 배 동안 보관
+        keysAndArgs[4] = raw(Long.toString(publishIntervalMillis * 2));
+        int i = 5;
+        for (HeavyHitter entry : entries) {
+            keysAndArgs[i++] = raw(entry.key());
+            keysAndArgs[i++] = raw(entry.count() + ":" + entry.error());
+        }
+
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.scriptingCommands()
+                .eval(publishScript, ReturnType.INTEGER, 2, keysAndArgs));
+    }
+
+    private String dataKey(RateLimit.KeyType keyType, String node) {
+        return keyPrefix + "{" + keyType.name() + "}:" + node;
+    }
+
+    private String nodesKey(RateLimit.KeyType keyType) {
+        return keyPrefix + "{" + keyType.name() + "}:nodes";
+    }
+
+    private static List<HeavyHitter> sortAndLimit(List<HeavyHitter> entries, int limit) {
+        entries.sort(Comparator.comparingLong(HeavyHitter::count).reversed());
+        return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : List.copyOf(entries);
+    }
+
+    private static Map<String, String> decode(Map<byte[], byte[]> raw) {
+        if (raw == null || raw.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> decoded = new HashMap<>(raw.size() * 2);
+        raw.forEach((field, value) -> decoded.put(new String(field, StandardCharsets.UTF_8),
+                new String(value, StandardCharsets.UTF_8)));
+        return decoded;
+    }
+
+    private static byte[] raw(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 키 유형 하나의 스케치와 그 잠금, 직전 구간 결과.
+     */
+    private static final class TrackedSketch {
+
+        private final SpaceSavingSketch sketch;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // 마지막으로 게시한 구간 결과
+        private volatile List<HeavyHitter> lastWindow = List.of();
+
+        TrackedSketch(SpaceSavingSketch sketch) {
+            this.sketch = sketch;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package project.springratelimiter.ratelimiter.heavyhitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 고정된 수의 카운터로 요청이 많은 키를 추적하는 Space-Saving 스케치.
+ * 카운터가 가득 찬 상태에서 새 키가 들어오면 가장 작은 카운터를 물려받으므로(count = 최솟값 + 가중치, error = 최솟값)
+ * 메모리는 capacity에 비례하고, 전체 요청 수의 1/capacity보다 많이 요청한 키는 반드시 남습니다.
+ *
+ * 카운터는 count 기준 최소 힙(배열)으로 보관하여 기록 한 번이 O(log capacity)입니다.
+ * 이 클래스는 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 합니다.
+ */
+public final class SpaceSavingSketch {
+
+    private final int capacity;
+
+    // 키별 카운터
+    private final Map<String, Counter> counters;
+
+    // count 기준 최소 힙 (heap[0]이 가장 작은 카운터)
+    private final Counter[] heap;
+
+    private int size;
+
+    /**
+     * 추적할 최대 키 수로 스케치를 생성합니다.
+     *
+     * @param capacity 추적할 최대 키 수 (최소 1)
+     */
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.counters = new HashMap<>(this.capacity * 2);
+        this.heap = new Counter[this.capacity];
+    }
+
+    /**
+     * 키의 요청을 기록합니다.
+     *
+     * @param key 속도 제한 키
+     * @param weight 요청 수 (1 이상)
+     */
+    public void record(String key, long weight) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += weight;
+            siftDown(counter.index);
+            return;
+        }
+
+        if (size < capacity) {
+            counter = new Counter(key, weight, 0, size);
+            heap[size++] = counter;
+            counters.put(key, counter);
+            siftUp(counter.index);
+            return;
+        }
+
+        // 가장 작은 카운터를 새 키가 물려받음 (물려받은 값만큼 과대 추정될 수 있음)
+        Counter min = heap[0];
+        counters.remove(min.key);
+        min.key = key;
+        min.error = min.count;
+        min.count += weight;
+        counters.put(key, min);
+        siftDown(0);
+    }
+
+    /**
+     * 추정 요청 수가 많은 순서로 키를 반환합니다.
+     *
+     * @param limit 반환할 최대 키 수
+     * @return 요청이 많은 키 목록
+     */
+    public List<HeavyHitter> top(int limit) {
+        Counter[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, Comparator.comparingLong((Counter counter) -> counter.count).reversed());
+        List<HeavyHitter> result = new ArrayList<>(Math.min(limit, size));
+        for (int i = 0; i < sorted.length && i < limit; i++) {
+            result.add(new HeavyHitter(sorted[i].key, sorted[i].count, sorted[i].error));
+        }
+        return result;
+    }
+
+    /**
+     * 추적 중인 모든 키를 반환합니다. (순서 없음)
+     *
+     * @return 추적 중인 키 목록
+     */
+    public List<HeavyHitter> entries() {
+        List<HeavyHitter> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new HeavyHitter(heap[i].key, heap[i].count, heap[i].error));
+        }
+        return result;
+    }
+
+    /**
+     * 추적하지 않는 키의 요청 수 상한을 반환합니다.
+     *
+     * @return 카운터가 가득 찼으면 가장 작은 카운터의 값, 아니면 0
+     */
+    public long minCount() {
+        return size == capacity ? heap[0].count : 0;
+    }
+
+    /**
+     * 추적할 최대 키 수를 반환합니다.
+     *
+     * @return 최대 키 수
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 모든 카운터를 비웁니다.
+     */
+    public void clear() {
+        counters.clear();
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].count < heap[child].count) {
+                child = right;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    /**
+     * 키 하나의 카운터. 힙에서의 위치를 함께 보관하여 증가한 카운터를 바로 재배치합니다.
+     */
+    private static final class Counter {
+
+        private String key;
+        private long count;
+        private long error;
+        private int index;
+
+        Counter(String key, long count, long error, int index) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package project.springratelimiter.ratelimiter.metrics;
+
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 속도 제한 규칙 하나의 판단 결과(outcome)별 Timer를 미리 찾아 둔 핸들.
+ * 판단 계획을 만들 때 한 번 생성되므로 요청마다 태그 목록을 만들거나 레지스트리를 조회하지 않습니다.
+ */
+public final class DecisionMeters {
+
+    private final Timer allowed;
+    private final Timer rejected;
+
+    DecisionMeters(Timer allowed, Timer rejected) {
+        this.allowed = allowed;
+        this.rejected = rejected;
+    }
+
+    /**
+     * 판단 결과와 판단에 걸린 시간을 기록합니다.
+     *
+     * @param allowed 요청이 허용되었는지 여부
+     * @param elapsedNanos 판단에 걸린 시간 (나노초)
+     */
+    public void record(boolean allowed, long elapsedNanos) {
+        (allowed ? this.allowed : rejected).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,119 @@
+package project.springratelimiter.ratelimiter.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 모든 속도 제한 알고리즘이 공유하는 판단 메트릭 컴포넌트.
+ * 판단 결과와 판단 시간을 rate_limiter.decision Timer 하나에 algorithm, endpoint, outcome 태그로 기록합니다.
+ * 동시 요청 제한(@ConcurrencyLimit)의 허가 판단도 algorithm=concurrency로 같은 Timer에 기록합니다.
+ *
+ * 태그 값은 모두 애플리케이션 코드로 정해지므로(알고리즘, 규칙이 선언된 메서드, allowed/rejected) 시계열 수가 요청 키에 따라 늘지 않습니다.
+ * Timer는 rate-limiter.metrics.slo에 지정한 SLO 경계로만 버킷을 만들어, 백분위 히스토그램 전체보다 적은 시계열로
+ * "판단의 몇 %가 N ms 안에 끝났는가"를 노드 간에 합산할 수 있습니다.
+ * rate-limiter.metrics.exemplars.enabled = true이면 요청의 traceparent 헤더를 버킷의 exemplar로 남깁니다.
+ */
+@Component
+public class RateLimiterMetrics {
+
+    private static final String NAME = "rate_limiter.decision";
+
+    // 동시 요청 제한의 algorithm 태그 값
+    private static final String CONCURRENCY = "concurrency";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration[] serviceLevelObjectives;
+    private final TraceparentSpanContext spanContext;
+
+    /**
+     * 메트릭 레지스트리와 SLO 경계로 RateLimiterMetrics를 생성합니다.
+     *
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     * @param serviceLevelObjectives 판단 시간 히스토그램의 버킷 경계
+     * @param spanContext exemplar에 사용할 트레이스 정보 (rate-limiter.metrics.exemplars.enabled = true가 아니면 null)
+     */
+    public RateLimiterMetrics(MeterRegistry meterRegistry,
+                              @Value("${rate-limiter.metrics.slo:100us,500us,1ms,2ms,5ms,10ms,25ms,50ms,100ms}")
+                              List<Duration> serviceLevelObjectives,
+                              @Nullable TraceparentSpanContext spanContext) {
+        this.meterRegistry = meterRegistry;
+        this.serviceLevelObjectives = serviceLevelObjectives.toArray(Duration[]::new);
+        this.spanContext = spanContext;
+    }
+
+    /**
+     * 메서드에 선언된 속도 제한 규칙 하나의 Timer 핸들을 생성합니다.
+     * 같은 메서드에 같은 알고리즘으로 겹쳐 선언된 규칙은 같은 Timer를 공유합니다.
+     *
+     * @param method 규칙이 선언된 메서드
+     * @param rateLimit 속도 제한 규칙
+     * @return 판단 결과별 Timer 핸들
+     */
+    public DecisionMeters forRule(Method method, RateLimit rateLimit) {
+        return meters(rateLimit.algorithm().name().toLowerCase(Locale.ROOT), method);
+    }
+
+    /**
+     * 메서드에 선언된 동시 요청 제한의 Timer 핸들을 생성합니다.
+     *
+     * @param method 동시 요청 제한이 선언된 메서드
+     * @return 허가 판단 결과별 Timer 핸들 (algorithm=concurrency)
+     */
+    public DecisionMeters forConcurrencyLimit(Method method) {
+        return meters(CONCURRENCY, method);
+    }
+
+    /**
+     * 요청의 traceparent 헤더를 읽어야 하는지 확인합니다.
+     *
+     * @return exemplar가 활성화되어 있으면 true
+     */
+    public boolean isExemplarEnabled() {
+        return spanContext != null;
+    }
+
+    /**
+     * 판단 결과와 판단에 걸린 시간을 기록합니다.
+     *
+     * @param meters 규칙의 Timer 핸들
+     * @param allowed 요청이 허용되었는지 여부
+     * @param elapsedNanos 판단에 걸린 시간 (나노초)
+     * @param traceparent 요청의 traceparent 헤더 값 (exemplar를 남기지 않으면 null)
+     */
+    public void record(DecisionMeters meters, boolean allowed, long elapsedNanos, String traceparent) {
+        if (spanContext == null || traceparent == null) {
+            meters.record(allowed, elapsedNanos);
+            return;
+        }
+        spanContext.set(traceparent);
+        try {
+            meters.record(allowed, elapsedNanos);
+        } finally {
+            spanContext.clear();
+        }
+    }
+
+    private DecisionMeters meters(String algorithm, Method method) {
+        String endpoint = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        return new DecisionMeters(timer(algorithm, endpoint, "allowed"), timer(algorithm, endpoint, "rejected"));
+    }
+
+    private Timer timer(String algorithm, String endpoint, String outcome) {
+        return Timer.builder(NAME)
+                .description("속도 제한 판단 시간과 결과")
+                .tag("algorithm", algorithm)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .register(meterRegistry);
+    }
+}
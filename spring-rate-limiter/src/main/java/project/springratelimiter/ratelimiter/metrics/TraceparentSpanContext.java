@@ -0,0 +1,77 @@
+package project.springratelimiter.ratelimiter.metrics;
+
+import io.prometheus.metrics.tracer.common.SpanContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청의 W3C traceparent 헤더를 Prometheus 히스토그램 exemplar의 트레이스 정보로 제공하는 SpanContext.
+ * 애플리케이션에 트레이싱 라이브러리가 없어도 앞단(게이트웨이, 다른 서비스)이 전달한 트레이스 ID로
+ * 느린 속도 제한 판단을 트레이스와 연결할 수 있습니다.
+ *
+ * RateLimiterMetrics가 판단 결과를 기록하는 동안에만 현재 스레드에 헤더 값을 설정하므로 다른 메트릭에는 exemplar가 붙지 않습니다.
+ * 헤더의 sampled 플래그가 켜진 트레이스만 사용하며, 헤더는 exemplar를 실제로 남길 때만 해석합니다.
+ * exemplar는 OpenMetrics 형식(Accept: application/openmetrics-text)으로 조회할 때만 노출됩니다.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limiter.metrics.exemplars.enabled", havingValue = "true")
+public class TraceparentSpanContext implements SpanContext {
+
+    /**
+     * W3C Trace Context 헤더 이름.
+     */
+    public static final String HEADER = "traceparent";
+
+    // 00-{trace-id 32자}-{parent-id 16자}-{flags 2자}
+    private static final int LENGTH = 55;
+
+    private final ThreadLocal<String> current = new ThreadLocal<>();
+
+    /**
+     * 현재 스레드의 traceparent 헤더 값을 설정합니다.
+     *
+     * @param traceparent traceparent 헤더 값
+     */
+    void set(String traceparent) {
+        current.set(traceparent);
+    }
+
+    /**
+     * 현재 스레드의 traceparent 헤더 값을 지웁니다.
+     */
+    void clear() {
+        current.remove();
+    }
+
+    @Override
+    public String getCurrentTraceId() {
+        String traceparent = valid();
+        return traceparent != null ? traceparent.substring(3, 35) : null;
+    }
+
+    @Override
+    public String getCurrentSpanId() {
+        String traceparent = valid();
+        return traceparent != null ? traceparent.substring(36, 52) : null;
+    }
+
+    @Override
+    public boolean isCurrentSpanSampled() {
+        String traceparent = valid();
+        return traceparent != null && (Character.digit(traceparent.charAt(54), 16) & 1) == 1;
+    }
+
+    @Override
+    public void markCurrentSpanAsExemplar() {
+        // 이 애플리케이션이 만든 스팬이 아니므로 표시할 대상이 없음
+    }
+
+    private String valid() {
+        String traceparent = current.get();
+        if (traceparent == null || traceparent.length() < LENGTH || traceparent.charAt(2) != '-'
+                || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        return traceparent;
+    }
+}
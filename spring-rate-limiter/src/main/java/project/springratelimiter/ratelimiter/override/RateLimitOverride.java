@@ -0,0 +1,65 @@
+package project.springratelimiter.ratelimiter.override;
+
+import project.springratelimiter.ratelimiter.plan.RateLimitRule;
+
+/**
+ * 어노테이션에 선언된 제한과 기간을 런타임에 대신하는 재정의 값.
+ * 재정의하지 않은 값은 UNSET이며, 이 경우 선언된 값을 그대로 사용합니다.
+ *
+ * @param limit 허용된 요청 수 (재정의하지 않으면 UNSET)
+ * @param period 시간 기간(초) (재정의하지 않으면 UNSET)
+ */
+public record RateLimitOverride(long limit, long period) {
+
+    /**
+     * 재정의하지 않은 값.
+     */
+    public static final long UNSET = -1;
+
+    /**
+     * 재정의가 없는 규칙에 사용하는 값. (선언된 제한과 기간을 그대로 사용)
+     */
+    public static final RateLimitOverride NONE = new RateLimitOverride(UNSET, UNSET);
+
+    /**
+     * 판단에 사용할 제한을 반환합니다.
+     * 적응형 규칙은 재정의된 제한을 넘지 않는 범위에서 현재 유효 제한을 사용합니다.
+     *
+     * @param rule 미리 해석된 속도 제한 규칙
+     * @return 재정의된 제한, 재정의가 없으면 규칙의 제한
+     */
+    public long limit(RateLimitRule rule) {
+        if (limit == UNSET) {
+            return rule.limit();
+        }
+        return rule.adaptiveLimit() != null ? Math.min(rule.limit(), limit) : limit;
+    }
+
+    /**
+     * 판단에 사용할 기간을 반환합니다.
+     *
+     * @param rule 미리 해석된 속도 제한 규칙
+     * @return 재정의된 기간(초), 재정의가 없으면 선언된 기간
+     */
+    public long period(RateLimitRule rule) {
+        return period == UNSET ? rule.rateLimit().period() : period;
+    }
+
+    /**
+     * "제한" 또는 "제한/기간" 형식의 문자열을 재정의 값으로 변환합니다. (예: "50", "50/30")
+     *
+     * @param value 재정의 문자열
+     * @return 재정의 값
+     * @throws IllegalArgumentException 형식이 잘못되었거나 제한이 음수, 기간이 1보다 작은 경우
+     */
+    public static RateLimitOverride parse(String value) {
+        String trimmed = value.trim();
+        int slash = trimmed.indexOf('/');
+        long limit = Long.parseLong(slash < 0 ? trimmed : trimmed.substring(0, slash).trim());
+        long period = slash < 0 ? UNSET : Long.parseLong(trimmed.substring(slash + 1).trim());
+        if (limit < 0 || (period != UNSET && period < 1)) {
+            throw new IllegalArgumentException("잘못된 재정의 값입니다: " + value);
+        }
+        return new RateLimitOverride(limit, period);
+    }
+}
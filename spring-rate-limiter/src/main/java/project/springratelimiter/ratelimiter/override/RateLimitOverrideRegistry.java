@@ -0,0 +1,120 @@
+package project.springratelimiter.ratelimiter.override;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.springratelimiter.ratelimiter.plan.RateLimitRule;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Redis Hash에 저장된 재정의 규칙을 주기적으로 읽어 어노테이션의 제한과 기간을 재배포 없이 바꾸는 컴포넌트.
+ * Hash의 필드는 재정의 항목 이름, 값은 "제한" 또는 "제한/기간"입니다. (항목 이름은 RateLimitOverrideSnapshot 참고)
+ *
+ * 모든 노드가 같은 Hash를 읽으므로 HSET 한 번으로 전체 노드의 제한이 poll-interval-ms 안에 바뀝니다.
+ * 내용이 바뀐 경우에만 새 스냅샷을 만들어 교체하며, Redis를 읽지 못하면 마지막 스냅샷을 계속 사용합니다.
+ *
+ * 예: HSET rate_limiter:overrides project.springratelimiter.controller.DemoController.customRateLimit 2/30
+ */
+@Component
+public class RateLimitOverrideRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitOverrideRegistry.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String key;
+    private final byte[] rawKey;
+
+    // 판단 경로에서 읽는 현재 스냅샷
+    private volatile RateLimitOverrideSnapshot snapshot = RateLimitOverrideSnapshot.EMPTY;
+
+    // 마지막으로 읽은 Hash 내용 (바뀌지 않았으면 스냅샷을 다시 만들지 않음)
+    private Map<String, String> lastEntries = Map.of();
+
+    /**
+     * Redis 템플릿과 메트릭 레지스트리를 사용하여 RateLimitOverrideRegistry를 생성합니다.
+     *
+     * @param redisTemplate Redis 작업을 위한 템플릿
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     * @param key 재정의 규칙을 담은 Redis Hash 키
+     */
+    public RateLimitOverrideRegistry(RedisTemplate<String, Object> redisTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${rate-limiter.overrides.key:rate_limiter:overrides}") String key) {
+        this.redisTemplate = redisTemplate;
+        this.key = key;
+        this.rawKey = key.getBytes(StandardCharsets.UTF_8);
+
+        Gauge.builder("rate_limiter.overrides.active", this, registry -> registry.snapshot.size())
+                .description("현재 적용 중인 재정의 항목 수")
+                .register(meterRegistry);
+        Gauge.builder("rate_limiter.overrides.version", this, registry -> registry.snapshot.version())
+                .description("현재 적용 중인 재정의 스냅샷 버전")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 규칙과 요청 키에 적용할 재정의를 찾습니다.
+     *
+     * @param rule 미리 해석된 속도 제한 규칙
+     * @param key 규칙 접미사가 붙지 않은 요청 키 (요청과 관계없는 키를 사용하는 규칙은 null)
+     * @return 가장 구체적인 재정의, 없으면 RateLimitOverride.NONE
+     */
+    public RateLimitOverride resolve(RateLimitRule rule, String key) {
+        return snapshot.resolve(rule, key);
+    }
+
+    /**
+     * 현재 스냅샷을 반환합니다.
+     *
+     * @return 현재 적용 중인 재정의 스냅샷
+     */
+    public RateLimitOverrideSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Redis Hash를 다시 읽고, 내용이 바뀌었으면 새 스냅샷으로 교체합니다.
+     */
+    @Scheduled(fixedDelayString = "${rate-limiter.overrides.poll-interval-ms:5000}")
+    public synchronized void refresh() {
+        Map<String, String> entries;
+        try {
+            entries = read();
+        } catch (DataAccessException e) {
+            log.warn("속도 제한 재정의 규칙을 읽지 못해 이전 규칙을 유지합니다. key={}", key, e);
+            return;
+        }
+        if (entries.equals(lastEntries)) {
+            return;
+        }
+
+        RateLimitOverrideSnapshot next = RateLimitOverrideSnapshot.parse(snapshot.version() + 1, entries,
+                name -> log.warn("잘못된 속도 제한 재정의 항목을 건너뜁니다. key={} field={} value={}",
+                        key, name, entries.get(name)));
+        snapshot = next;
+        lastEntries = entries;
+        log.info("속도 제한 재정의 규칙을 갱신했습니다. version={} entries={}", next.version(), next.size());
+    }
+
+    private Map<String, String> read() {
+        Map<byte[], byte[]> raw = redisTemplate.execute(
+                (RedisCallback<Map<byte[], byte[]>>) connection -> connection.hashCommands().hGetAll(rawKey));
+        if (raw == null || raw.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> entries = new HashMap<>(raw.size() * 2);
+        raw.forEach((field, value) -> entries.put(new String(field, StandardCharsets.UTF_8),
+                new String(value, StandardCharsets.UTF_8)));
+        return entries;
+    }
+}
@@ -0,0 +1,134 @@
+package project.springratelimiter.ratelimiter.override;
+
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.plan.RateLimitRule;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 특정 시점의 재정의 규칙을 담은 불변 스냅샷.
+ * 규칙이 바뀌면 새 스냅샷을 만들어 통째로 교체하므로, 판단 경로의 조회는 잠금과 객체 할당 없이 Map 조회만 수행합니다.
+ *
+ * 재정의 항목의 이름은 다음 중 하나이며, 위쪽이 더 구체적이므로 먼저 적용됩니다.
+ * - "{규칙}@{요청 키}": 규칙 하나의 특정 요청 키(IP 주소, 사용자 ID 등 테넌트)
+ * - "{규칙}": 규칙 하나 (규칙은 클래스.메서드, 겹쳐 선언된 규칙은 클래스.메서드#선언 순서)
+ * - "type:{키 유형}": 키 유형(IP, USER, METHOD)이 같은 모든 규칙
+ */
+public final class RateLimitOverrideSnapshot {
+
+    /**
+     * 재정의 규칙이 없는 스냅샷.
+     */
+    public static final RateLimitOverrideSnapshot EMPTY = new RateLimitOverrideSnapshot(0, Map.of(), Map.of(), Map.of());
+
+    private static final String KEY_TYPE_PREFIX = "type:";
+
+    private final long version;
+
+    // 규칙별 재정의
+    private final Map<String, RateLimitOverride> rules;
+
+    // 키 유형별 재정의
+    private final Map<RateLimit.KeyType, RateLimitOverride> keyTypes;
+
+    // 규칙별 요청 키(테넌트) 재정의
+    private final Map<String, Map<String, RateLimitOverride>> tenants;
+
+    private RateLimitOverrideSnapshot(long version, Map<String, RateLimitOverride> rules,
+                                      Map<RateLimit.KeyType, RateLimitOverride> keyTypes,
+                                      Map<String, Map<String, RateLimitOverride>> tenants) {
+        this.version = version;
+        this.rules = rules;
+        this.keyTypes = keyTypes;
+        this.tenants = tenants;
+    }
+
+    /**
+     * 규칙과 요청 키에 적용할 재정의를 찾습니다.
+     *
+     * 테넌트는 규칙 ID로 규칙을 구분하므로 카운터 키의 규칙 접미사(선언 순서, 노드 ID)가 없는 요청 키로 찾습니다.
+     *
+     * @param rule 미리 해석된 속도 제한 규칙
+     * @param key 규칙 접미사가 붙지 않은 요청 키 (요청과 관계없는 키를 사용하는 규칙은 null)
+     * @return 가장 구체적인 재정의, 없으면 RateLimitOverride.NONE
+     */
+    public RateLimitOverride resolve(RateLimitRule rule, String key) {
+        if (key != null && !tenants.isEmpty()) {
+            Map<String, RateLimitOverride> byKey = tenants.get(rule.ruleId());
+            RateLimitOverride override = byKey != null ? byKey.get(key) : null;
+            if (override != null) {
+                return override;
+            }
+        }
+        RateLimitOverride override = rules.get(rule.ruleId());
+        if (override != null) {
+            return override;
+        }
+        override = keyTypes.get(rule.rateLimit().keyType());
+        return override != null ? override : RateLimitOverride.NONE;
+    }
+
+    /**
+     * 스냅샷 버전을 반환합니다. (규칙이 바뀔 때마다 1씩 증가)
+     *
+     * @return 스냅샷 버전
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * 스냅샷에 담긴 재정의 항목 수를 반환합니다.
+     *
+     * @return 재정의 항목 수
+     */
+    public int size() {
+        int size = rules.size() + keyTypes.size();
+        for (Map<String, RateLimitOverride> byKey : tenants.values()) {
+            size += byKey.size();
+        }
+        return size;
+    }
+
+    /**
+     * 재정의 항목 이름과 값으로 스냅샷을 만듭니다.
+     *
+     * @param version 스냅샷 버전
+     * @param entries 재정의 항목 이름과 값 (예: "DemoController.customRateLimit" → "50/30")
+     * @param onInvalid 이름이나 값이 잘못되어 건너뛴 항목 이름을 받을 콜백
+     * @return 새 스냅샷
+     */
+    public static RateLimitOverrideSnapshot parse(long version, Map<String, String> entries, Consumer<String> onInvalid) {
+        Map<String, RateLimitOverride> rules = new HashMap<>();
+        Map<RateLimit.KeyType, RateLimitOverride> keyTypes = new EnumMap<>(RateLimit.KeyType.class);
+        Map<String, Map<String, RateLimitOverride>> tenants = new HashMap<>();
+
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            String name = entry.getKey();
+            try {
+                RateLimitOverride override = RateLimitOverride.parse(entry.getValue());
+                int at = name.indexOf('@');
+                if (name.startsWith(KEY_TYPE_PREFIX)) {
+                    keyTypes.put(RateLimit.KeyType.valueOf(name.substring(KEY_TYPE_PREFIX.length())), override);
+                } else if (at > 0 && at < name.length() - 1) {
+                    tenants.computeIfAbsent(name.substring(0, at), k -> new HashMap<>())
+                            .put(name.substring(at + 1), override);
+                } else if (at < 0 && !name.isBlank()) {
+                    rules.put(name, override);
+                } else {
+                    onInvalid.accept(name);
+                }
+            } catch (IllegalArgumentException e) {
+                onInvalid.accept(name);
+            }
+        }
+
+        Map<String, Map<String, RateLimitOverride>> immutableTenants = new HashMap<>();
+        tenants.forEach((ruleId, byKey) -> immutableTenants.put(ruleId, Map.copyOf(byKey)));
+        return new RateLimitOverrideSnapshot(version, Map.copyOf(rules), Map.copyOf(keyTypes),
+                Map.copyOf(immutableTenants));
+    }
+}
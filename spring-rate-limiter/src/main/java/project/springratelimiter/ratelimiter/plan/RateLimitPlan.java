@@ -0,0 +1,105 @@
+package project.springratelimiter.ratelimiter.plan;
+
+import project.springratelimiter.ratelimiter.adaptive.GradientLimit;
+import project.springratelimiter.ratelimiter.annotation.ConcurrencyLimit;
+import project.springratelimiter.ratelimiter.metrics.DecisionMeters;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 메서드 하나에 대한 속도 제한 판단 계획.
+ * 어노테이션 조회, 서비스 선택, 요청과 관계없는 키 생성을 메서드마다 한 번만 수행한 결과를 담습니다.
+ *
+ * @param rules 선언 순서대로 해석된 규칙 목록 (속도 제한이 없는 메서드는 비어 있음)
+ * @param concurrencyLimit 메서드의 동시 요청 제한 (없으면 null)
+ * @param methodKey 메서드 키 (클래스.메서드, 동시 요청 제한의 게이지 태그에 사용)
+ * @param concurrencyKey 동시 요청 제한의 키 (메서드 키, 적응형 동시 요청 제한은 노드 ID를 붙인 메서드 키)
+ * @param concurrencyAdaptiveLimit 적응형 동시 요청 제한의 그래디언트 제한 (없으면 null)
+ * @param concurrencyMeters 동시 요청 제한의 허가 판단을 기록할 Timer 핸들 (없으면 null)
+ * @param adaptiveLimits 메서드 처리 시간을 반영할 모든 그래디언트 제한 (적응형 규칙이 없으면 비어 있음)
+ * @param overload 예외로 끝난 실행을 적응형 규칙에 실패(drop)로 반영할지 판단하는 조건
+ */
+public record RateLimitPlan(List<RateLimitRule> rules, ConcurrencyLimit concurrencyLimit, String methodKey,
+                            String concurrencyKey, GradientLimit concurrencyAdaptiveLimit,
+                            DecisionMeters concurrencyMeters, List<GradientLimit> adaptiveLimits,
+                            Predicate<Throwable> overload) {
+
+    /**
+     * 속도 제한이 선언되지 않은 메서드의 계획.
+     */
+    public static final RateLimitPlan NONE = new RateLimitPlan(List.of(), null, null, null, null, null, List.of(),
+            error -> false);
+
+    /**
+     * 속도 제한 규칙이 선언되어 있는지 확인합니다.
+     *
+     * @return 규칙이 하나 이상이면 true
+     */
+    public boolean isLimited() {
+        return !rules.isEmpty();
+    }
+
+    /**
+     * 규칙이 하나만 선언되어 있는지 확인합니다.
+     *
+     * @return 규칙이 하나면 true
+     */
+    public boolean isSingle() {
+        return rules.size() == 1;
+    }
+
+    /**
+     * 동시 요청 제한이 선언되어 있는지 확인합니다.
+     *
+     * @return @ConcurrencyLimit이 선언되어 있으면 true
+     */
+    public boolean isConcurrencyLimited() {
+        return concurrencyLimit != null;
+    }
+
+    /**
+     * 판단에 사용할 최대 동시 요청 수를 반환합니다.
+     *
+     * @return 적응형 동시 요청 제한은 현재 유효 제한, 그 밖에는 선언된 제한
+     */
+    public long concurrencyLimitValue() {
+        return concurrencyAdaptiveLimit != null ? concurrencyAdaptiveLimit.getLimit() : concurrencyLimit.limit();
+    }
+
+    /**
+     * 메서드 처리 시간을 반영할 적응형 규칙이 있는지 확인합니다.
+     *
+     * @return 적응형 규칙이 하나 이상이면 true
+     */
+    public boolean isAdaptive() {
+        return !adaptiveLimits.isEmpty();
+    }
+
+    /**
+     * 정상적으로 끝난 메서드의 처리 시간을 모든 적응형 규칙에 반영합니다.
+     *
+     * @param elapsedNanos 메서드 처리 시간 (나노초)
+     */
+    public void recordLatency(long elapsedNanos) {
+        for (GradientLimit limit : adaptiveLimits) {
+            limit.onSample(elapsedNanos);
+        }
+    }
+
+    /**
+     * 예외로 끝난 메서드 실행을 모든 적응형 규칙에 반영합니다.
+     * 과부하를 뜻하는 예외(시간 초과, 작업 거부 등)만 실패(drop)로 반영하고,
+     * 잘못된 요청처럼 클라이언트가 원인인 예외는 처리 시간도 반영하지 않고 무시합니다.
+     *
+     * @param error 메서드 실행을 끝낸 예외
+     */
+    public void recordFailure(Throwable error) {
+        if (!overload.test(error)) {
+            return;
+        }
+        for (GradientLimit limit : adaptiveLimits) {
+            limit.onDrop();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package project.springratelimiter.ratelimiter.plan;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import project.springratelimiter.ratelimiter.adaptive.AdaptiveLimitRegistry;
+import project.springratelimiter.ratelimiter.adaptive.GradientLimit;
+import project.springratelimiter.ratelimiter.annotation.ConcurrencyLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.factory.RateLimiterFactory;
+import project.springratelimiter.ratelimiter.metrics.DecisionMeters;
+import project.springratelimiter.ratelimiter.metrics.RateLimiterMetrics;
+import project.springratelimiter.ratelimiter.service.RateLimiterService;
+import project.springratelimiter.ratelimiter.service.ShapingRateLimiterService;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메서드별 속도 제한 판단 계획을 보관하는 캐시.
+ * 요청마다 반복되던 어노테이션 리플렉션, RateLimiterFactory 조회, 메서드 키 문자열 생성을 메서드당 한 번으로 줄여
+ * 판단 경로에는 ConcurrentHashMap 조회 한 번과 속도 제한 서비스 호출만 남깁니다.
+ * 판단 메트릭의 Timer도 규칙을 만들 때 찾아 두어 판단 경로에서 태그를 만들거나 레지스트리를 조회하지 않습니다.
+ * 메서드 수는 애플리케이션 코드로 정해지므로 캐시는 따로 정리하지 않습니다.
+ */
+@Component
+public class RateLimitPlanCache {
+
+    private final ConcurrentHashMap<Method, RateLimitPlan> plans = new ConcurrentHashMap<>();
+
+    // 허용량 표현식은 계획을 만들 때 한 번만 파싱
+    private final ExpressionParser expressionParser = new SpelExpressionParser();
+
+    private final RateLimiterFactory rateLimiterFactory;
+    private final AdaptiveLimitRegistry adaptiveLimitRegistry;
+    private final RateLimiterMetrics metrics;
+
+    /**
+     * RateLimiterFactory, AdaptiveLimitRegistry와 RateLimiterMetrics를 사용하여 RateLimitPlanCache를 생성합니다.
+     *
+     * @param rateLimiterFactory 속도 제한 알고리즘에 따라 적절한 서비스를 제공하는 팩토리
+     * @param adaptiveLimitRegistry 적응형 규칙의 그래디언트 제한을 생성하는 컴포넌트
+     * @param metrics 규칙별 판단 메트릭 핸들을 생성하는 컴포넌트
+     */
+    public RateLimitPlanCache(RateLimiterFactory rateLimiterFactory, AdaptiveLimitRegistry adaptiveLimitRegistry,
+                              RateLimiterMetrics metrics) {
+        this.rateLimiterFactory = rateLimiterFactory;
+        this.adaptiveLimitRegistry = adaptiveLimitRegistry;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 메서드의 판단 계획을 반환합니다. 처음 호출된 메서드는 계획을 만들어 보관합니다.
+     *
+     * @param method 요청을 처리할 메서드
+     * @return 판단 계획 (속도 제한과 동시 요청 제한이 모두 없으면 RateLimitPlan.NONE)
+     * @throws IllegalArgumentException 지원되지 않는 알고리즘과 백엔드 조합, 1보다 작은 cost,
+     *                                  셰이핑을 지원하지 않는 규칙의 maxDelayMillis가 선언된 경우
+     */
+    public RateLimitPlan planFor(Method method) {
+        // 대부분의 호출은 이미 만들어진 계획을 읽으므로 잠금 없는 get을 먼저 시도
+        RateLimitPlan plan = plans.get(method);
+        if (plan != null) {
+            return plan;
+        }
+        return plans.computeIfAbsent(method, this::createPlan);
+    }
+
+    /**
+     * WebFlux 필터가 판단할 메서드의 계획을 반환합니다. 필터에서 적용할 수 없는 선언은 조용히 무시하지 않고 거부합니다.
+     * 동시 요청 허가는 Redis 응답을 기다리는 동안 스레드를 차단하므로 이벤트 루프에서 얻지 않고,
+     * 허용량 표현식은 필터가 메서드 인자를 알 수 없으므로 계산하지 않습니다.
+     *
+     * @param method 요청을 처리할 핸들러 메서드
+     * @return 판단 계획
+     * @throws IllegalArgumentException planFor의 거부 조건에 해당하거나 @ConcurrencyLimit 또는 costExpression이 선언된 경우
+     */
+    public RateLimitPlan reactivePlanFor(Method method) {
+        RateLimitPlan plan = planFor(method);
+        if (plan.isConcurrencyLimited()) {
+            throw new IllegalArgumentException("@ConcurrencyLimit은 WebFlux 애플리케이션에서 사용할 수 없습니다: "
+                    + plan.methodKey());
+        }
+        for (RateLimitRule rule : plan.rules()) {
+            if (rule.costExpression() != null) {
+                throw new IllegalArgumentException("costExpression은 WebFlux 애플리케이션에서 사용할 수 없습니다. cost를 사용하세요: "
+                        + plan.methodKey() + " costExpression=" + rule.rateLimit().costExpression());
+            }
+        }
+        return plan;
+    }
+
+    private RateLimitPlan createPlan(Method method) {
+        RateLimit[] rateLimits = method.getAnnotationsByType(RateLimit.class);
+        ConcurrencyLimit concurrencyLimit = method.getAnnotation(ConcurrencyLimit.class);
+        if (rateLimits.length == 0 && concurrencyLimit == null) {
+            return RateLimitPlan.NONE;
+        }
+
+        String methodKey = method.getDeclaringClass().getName() + "." + method.getName();
+        List<RateLimitRule> rules = new ArrayList<>(rateLimits.length);
+        List<GradientLimit> adaptiveLimits = new ArrayList<>();
+        for (int i = 0; i < rateLimits.length; i++) {
+            RateLimit rateLimit = rateLimits[i];
+            if (rateLimit.cost() < 1) {
+                throw new IllegalArgumentException("cost는 1 이상이어야 합니다: " + methodKey + " cost=" + rateLimit.cost());
+            }
+
+            // 같은 키 유형의 규칙끼리 카운터가 섞이지 않도록 겹쳐 선언된 규칙은 선언 순서를 키에 추가 (예: 127.0.0.1#0)
+            String ruleSuffix = rateLimits.length > 1 ? "#" + i : "";
+
+            // 적응형 규칙은 규칙마다 그래디언트 제한을 하나씩 가지며, 유효 제한이 노드마다 다르므로 카운터도 노드별 키를 사용
+            GradientLimit adaptiveLimit = rateLimit.adaptive()
+                    ? adaptiveLimitRegistry.create(methodKey + ruleSuffix, "rate", rateLimit.limit())
+                    : null;
+            String keySuffix = ruleSuffix;
+            if (adaptiveLimit != null) {
+                adaptiveLimits.add(adaptiveLimit);
+                keySuffix = adaptiveLimitRegistry.nodeKey(ruleSuffix);
+            }
+            String fixedKey = rateLimit.keyType() == RateLimit.KeyType.METHOD ? methodKey + keySuffix : null;
+
+            Expression costExpression = rateLimit.costExpression().isEmpty()
+                    ? null
+                    : expressionParser.parseExpression(rateLimit.costExpression());
+
+            RateLimiterService service = rateLimiterFactory.getRateLimiter(rateLimit.algorithm(), rateLimit.backend());
+            if (rateLimit.maxDelayMillis() != 0) {
+                validateShaping(methodKey, rateLimit, service, rateLimits.length);
+            }
+
+            rules.add(new RateLimitRule(rateLimit, service,
+                    fixedKey, keySuffix, adaptiveLimit, costExpression, methodKey + ruleSuffix,
+                    metrics.forRule(method, rateLimit)));
+        }
+
+        GradientLimit concurrencyAdaptiveLimit = concurrencyLimit != null && concurrencyLimit.adaptive()
+                ? adaptiveLimitRegistry.create(methodKey, "concurrency", concurrencyLimit.limit())
+                : null;
+        String concurrencyKey = methodKey;
+        if (concurrencyAdaptiveLimit != null) {
+            adaptiveLimits.add(concurrencyAdaptiveLimit);
+            concurrencyKey = adaptiveLimitRegistry.nodeKey(methodKey);
+        }
+        DecisionMeters concurrencyMeters = concurrencyLimit != null ? metrics.forConcurrencyLimit(method) : null;
+        return new RateLimitPlan(List.copyOf(rules), concurrencyLimit, methodKey, concurrencyKey,
+                concurrencyAdaptiveLimit, concurrencyMeters, List.copyOf(adaptiveLimits),
+                adaptiveLimitRegistry::isOverload);
+    }
+
+    /**
+     * 셰이핑(maxDelayMillis > 0) 규칙이 대기 시간을 계산할 수 있는 서비스와 단일 규칙으로 선언되었는지 확인합니다.
+     * 겹쳐 선언된 규칙이나 하위 키로 나눈 규칙은 한 규칙의 대기열 자리를 차지한 뒤 다른 규칙에서 거부될 수 있으므로 허용하지 않습니다.
+     *
+     * @param methodKey 규칙이 선언된 메서드 키
+     * @param rateLimit 규칙의 어노테이션
+     * @param service 규칙을 판단할 속도 제한 서비스
+     * @param rules 메서드에 선언된 규칙 수
+     */
+    private static void validateShaping(String methodKey, RateLimit rateLimit, RateLimiterService service, int rules) {
+        if (rateLimit.maxDelayMillis() < 0) {
+            throw new IllegalArgumentException("maxDelayMillis는 0 이상이어야 합니다: " + methodKey
+                    + " maxDelayMillis=" + rateLimit.maxDelayMillis());
+        }
+        if (!(service instanceof ShapingRateLimiterService) || rules > 1 || rateLimit.shards() > 1) {
+            throw new IllegalArgumentException("maxDelayMillis는 LEAKY_BUCKET 알고리즘의 REDIS 백엔드 단일 규칙에서만 사용할 수 있습니다: "
+                    + methodKey + " algorithm=" + rateLimit.algorithm() + " backend=" + rateLimit.backend());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package project.springratelimiter.ratelimiter.plan;
+
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import project.springratelimiter.ratelimiter.adaptive.GradientLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.metrics.DecisionMeters;
+import project.springratelimiter.ratelimiter.service.RateLimiterService;
+
+import java.lang.reflect.Method;
+
+/**
+ * 메서드에 선언된 속도 제한 규칙 하나를 판단에 필요한 형태로 미리 해석한 결과.
+ *
+ * @param rateLimit 선언된 속도 제한 규칙
+ * @param service 규칙의 알고리즘과 백엔드에 맞는 속도 제한 서비스
+ * @param fixedKey 요청과 관계없이 정해지는 키 (KeyType.METHOD인 경우, 그 밖에는 null)
+ * @param keySuffix 요청마다 만든 키 뒤에 붙일 접미사 (겹쳐 선언된 규칙의 선언 순서와 적응형 규칙의 노드 ID, 없으면 빈 문자열)
+ * @param adaptiveLimit 적응형 규칙의 그래디언트 제한 (adaptive = false이면 null)
+ * @param costExpression 미리 파싱한 허용량 SpEL 표현식 (costExpression이 비어 있으면 null)
+ * @param ruleId 재정의 규칙에서 이 규칙을 가리키는 이름 (클래스.메서드, 겹쳐 선언된 규칙은 클래스.메서드#선언 순서)
+ * @param meters 판단 결과와 판단 시간을 기록할 Timer 핸들
+ */
+public record RateLimitRule(RateLimit rateLimit, RateLimiterService service, String fixedKey, String keySuffix,
+                            GradientLimit adaptiveLimit, Expression costExpression, String ruleId,
+                            DecisionMeters meters) {
+
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    /**
+     * 판단에 사용할 제한을 반환합니다.
+     *
+     * @return 적응형 규칙은 현재 유효 제한, 그 밖에는 선언된 제한
+     */
+    public long limit() {
+        return adaptiveLimit != null ? adaptiveLimit.getLimit() : rateLimit.limit();
+    }
+
+    /**
+     * 이 요청이 소비할 허용량을 계산합니다.
+     *
+     * @param method 요청을 처리할 메서드
+     * @param args 메서드 인자
+     * @return 허용량 표현식이 있으면 메서드 인자로 계산한 값, 그 밖에는 선언된 cost
+     * @throws IllegalArgumentException 표현식의 결과가 1 이상의 정수가 아닌 경우
+     */
+    public long cost(Method method, Object[] args) {
+        if (costExpression == null) {
+            return rateLimit.cost();
+        }
+        Long cost = costExpression.getValue(
+                new MethodBasedEvaluationContext(null, method, args, PARAMETER_NAMES), Long.class);
+        if (cost == null || cost < 1) {
+            throw new IllegalArgumentException("허용량은 1 이상이어야 합니다: " + rateLimit.costExpression() + " = " + cost);
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,95 @@
+package project.springratelimiter.ratelimiter.plan;
+
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 요청에서 속도 제한 키(클라이언트 IP 주소, 사용자 ID)를 만드는 유틸리티.
+ * 서블릿 요청을 다루는 RateLimiterAspect와 리액티브 요청을 다루는 RateLimitWebFilter가
+ * 같은 요청에 같은 키를 만들도록 헤더 조회와 원격 주소 조회만 호출자에게서 받습니다.
+ */
+public final class RequestKeys {
+
+    /**
+     * 클라이언트 IP 주소를 찾을 헤더 (앞에 있는 헤더가 우선)
+     */
+    private static final String[] CLIENT_IP_HEADERS = {
+            "X-Forwarded-For", "Proxy-Client-IP", "WL-Proxy-Client-IP", "HTTP_CLIENT_IP", "HTTP_X_FORWARDED_FOR" };
+
+    private RequestKeys() {
+    }
+
+    /**
+     * 규칙의 요청 키(IP 주소, 사용자 ID 등 테넌트)를 만듭니다.
+     * 메서드 키처럼 요청과 관계없는 키를 사용하는 규칙은 요청을 조회하지 않고 null을 반환합니다.
+     *
+     * @param rule 미리 해석된 속도 제한 규칙
+     * @param header 요청 헤더 값을 반환하는 함수 (헤더가 없으면 null)
+     * @param remoteAddress 요청의 원격 주소를 반환하는 함수
+     * @return 규칙 접미사가 붙지 않은 요청 키 (요청과 관계없는 키를 사용하는 규칙은 null)
+     */
+    public static String requestKey(RateLimitRule rule, Function<String, String> header,
+                                    Supplier<String> remoteAddress) {
+        return rule.fixedKey() != null ? null : requestKey(rule.rateLimit().keyType(), header, remoteAddress);
+    }
+
+    /**
+     * 요청 키에 규칙 접미사(겹쳐 선언된 규칙의 선언 순서, 적응형 규칙의 노드 ID)를 붙여 카운터 키를 만듭니다.
+     * 메서드 키처럼 요청과 관계없는 키는 판단 계획에서 미리 만들어진 값을 사용합니다.
+     *
+     * @param rule 미리 해석된 속도 제한 규칙
+     * @param requestKey requestKey(RateLimitRule, ...)로 만든 요청 키
+     * @return 생성된 키
+     */
+    public static String ruleKey(RateLimitRule rule, String requestKey) {
+        if (rule.fixedKey() != null) {
+            return rule.fixedKey();
+        }
+        return rule.keySuffix().isEmpty() ? requestKey : requestKey + rule.keySuffix();
+    }
+
+    /**
+     * 요청마다 달라지는 키 유형의 키를 만듭니다.
+     *
+     * @param keyType 키 유형 (USER가 아니면 클라이언트 IP 주소를 사용)
+     * @param header 요청 헤더 값을 반환하는 함수 (헤더가 없으면 null)
+     * @param remoteAddress 요청의 원격 주소를 반환하는 함수
+     * @return 사용자 ID 또는 클라이언트 IP 주소
+     */
+    public static String requestKey(RateLimit.KeyType keyType, Function<String, String> header,
+                                    Supplier<String> remoteAddress) {
+        return keyType == RateLimit.KeyType.USER ? userId() : clientIp(header, remoteAddress);
+    }
+
+    /**
+     * 클라이언트 IP 주소를 가져옵니다.
+     * 프록시 헤더 중 처음으로 값이 있는 헤더를 사용하고, 없으면 요청의 원격 주소를 사용합니다.
+     *
+     * @param header 요청 헤더 값을 반환하는 함수 (헤더가 없으면 null)
+     * @param remoteAddress 요청의 원격 주소를 반환하는 함수
+     * @return 클라이언트 IP 주소
+     */
+    public static String clientIp(Function<String, String> header, Supplier<String> remoteAddress) {
+        for (String name : CLIENT_IP_HEADERS) {
+            String ip = header.apply(name);
+            if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
+                return ip;
+            }
+        }
+        return remoteAddress.get();
+    }
+
+    /**
+     * 현재 사용자 ID를 가져옵니다.
+     * 이 메서드는 실제 인증 구현에 맞게 수정해야 합니다.
+     *
+     * @return 사용자 ID 또는 기본값
+     */
+    public static String userId() {
+        // 실제 구현에서는 Spring Security의 Authentication(리액티브 요청은 ReactiveSecurityContextHolder)에서 가져와야 합니다.
+        // 이 예제에서는 간단히 "anonymous"를 반환합니다.
+        return "anonymous";
+    }
+}
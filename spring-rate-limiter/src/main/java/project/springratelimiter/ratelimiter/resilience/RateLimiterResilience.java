@@ -0,0 +1,232 @@
+package project.springratelimiter.ratelimiter.resilience;
+
+import io.lettuce.core.RedisException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.factory.RateLimiterFactory;
+import project.springratelimiter.ratelimiter.service.LimitSpec;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Redis 장애가 속도 제한기를 넘어 전체 장애로 번지지 않도록 Redis 호출을 감싸는 컴포넌트.
+ *
+ * - 호출 시간 제한: 차단 호출은 Lettuce 명령 제한 시간(rate-limiter.resilience.command-timeout-ms, RedisConfig)이,
+ *   리액티브 호출은 같은 값의 Mono.timeout이 적용됩니다.
+ * - 회로 차단기: 연속 실패가 failure-threshold에 도달하면 open-duration-ms 동안 Redis를 호출하지 않습니다.
+ * - 저하 모드: 호출이 실패하거나 회로가 열려 있으면 규칙의 실패 정책(RateLimit.FailurePolicy)에 따라 판단합니다.
+ *   FALLBACK은 같은 알고리즘의 인메모리 속도 제한기로 노드별 근사 판단을 하며, 제한은 fallback-nodes로 나눕니다.
+ *
+ * 시험 호출이 성공도 실패도 기록하지 못하고 끝나면(빈 결과, 취소, Redis와 관계없는 예외) 시험 호출을 반납하므로
+ * 회로가 시험 중 상태에 머물러 Redis가 회복되어도 저하 모드가 계속되는 일이 없습니다.
+ *
+ * 저하 모드 진입/해제는 rate_limiter.degraded 게이지와 rate_limiter.degraded.transitions 카운터로,
+ * 저하 모드에서 내린 판단은 rate_limiter.degraded.decisions 카운터로 기록됩니다.
+ */
+@Component
+public class RateLimiterResilience {
+
+    private final RateLimiterFactory rateLimiterFactory;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final Duration timeout;
+    private final long fallbackNodes;
+
+    // 메트릭 정의
+    private final Map<RateLimit.FailurePolicy, Counter> degradedDecisionCounters =
+            new EnumMap<>(RateLimit.FailurePolicy.class);
+    private final Map<RedisCircuitBreaker.State, Counter> transitionCounters =
+            new EnumMap<>(RedisCircuitBreaker.State.class);
+
+    /**
+     * 설정값과 메트릭 레지스트리를 사용하여 RateLimiterResilience를 생성합니다.
+     *
+     * @param rateLimiterFactory 저하 모드에서 사용할 인메모리 속도 제한기를 제공하는 팩토리
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     * @param commandTimeoutMillis Redis 호출 한 번의 제한 시간 (밀리초)
+     * @param failureThreshold 회로가 열리는 연속 실패 횟수
+     * @param openDurationMillis 회로가 열린 상태를 유지하는 시간 (밀리초)
+     * @param fallbackNodes 인메모리 대체 판단 시 제한을 나눌 노드 수 (최소 1)
+     */
+    public RateLimiterResilience(RateLimiterFactory rateLimiterFactory,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${rate-limiter.resilience.command-timeout-ms:100}") long commandTimeoutMillis,
+                                 @Value("${rate-limiter.resilience.failure-threshold:5}") int failureThreshold,
+                                 @Value("${rate-limiter.resilience.open-duration-ms:5000}") long openDurationMillis,
+                                 @Value("${rate-limiter.resilience.fallback-nodes:1}") long fallbackNodes) {
+        this.rateLimiterFactory = rateLimiterFactory;
+        this.timeout = Duration.ofMillis(commandTimeoutMillis);
+        this.fallbackNodes = Math.max(1, fallbackNodes);
+
+        // 메트릭 초기화
+        for (RateLimit.FailurePolicy policy : RateLimit.FailurePolicy.values()) {
+            degradedDecisionCounters.put(policy, Counter.builder("rate_limiter.degraded.decisions")
+                    .description("Redis 장애로 실패 정책에 따라 내린 속도 제한 판단 횟수")
+                    .tag("policy", policy.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        for (RedisCircuitBreaker.State state : RedisCircuitBreaker.State.values()) {
+            transitionCounters.put(state, Counter.builder("rate_limiter.degraded.transitions")
+                    .description("속도 제한기 회로 차단기 상태 변경 횟수")
+                    .tag("to", state.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+
+        this.circuitBreaker = new RedisCircuitBreaker(failureThreshold, openDurationMillis,
+                System::currentTimeMillis, (from, to) -> transitionCounters.get(to).increment());
+
+        Gauge.builder("rate_limiter.degraded", circuitBreaker,
+                        breaker -> breaker.getState() == RedisCircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("속도 제한기가 저하 모드(회로 열림 또는 시험 중)이면 1")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Redis에 의존하는 판단을 회로 차단기와 실패 정책으로 감싸 실행합니다.
+     *
+     * @param call Redis를 호출하는 판단
+     * @param degraded 호출이 실패하거나 회로가 열려 있을 때의 판단
+     * @param <T> 판단 결과 유형
+     * @return 판단 결과
+     */
+    public <T> T execute(Supplier<T> call, Supplier<T> degraded) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return degraded.get();
+        }
+        boolean probe = isProbe();
+        boolean recorded = false;
+        try {
+            T result = call.get();
+            recorded = true;
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            if (!isRedisFailure(e)) {
+                throw e;
+            }
+            recorded = true;
+            circuitBreaker.onFailure();
+            return degraded.get();
+        } finally {
+            if (probe && !recorded) {
+                circuitBreaker.releasePermission();
+            }
+        }
+    }
+
+    /**
+     * Redis에 의존하는 리액티브 판단을 제한 시간, 회로 차단기, 실패 정책으로 감싸 실행합니다.
+     *
+     * @param call Redis를 호출하는 판단
+     * @param degraded 호출이 실패하거나 회로가 열려 있을 때의 판단
+     * @param <T> 판단 결과 유형
+     * @return 판단 결과
+     */
+    public <T> Mono<T> executeReactive(Supplier<Mono<T>> call, Supplier<T> degraded) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.fromSupplier(degraded);
+            }
+            boolean probe = isProbe();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return call.get()
+                    .timeout(timeout)
+                    .doOnNext(result -> {
+                        recorded.set(true);
+                        circuitBreaker.onSuccess();
+                    })
+                    .onErrorResume(this::isRedisFailure, e -> {
+                        recorded.set(true);
+                        circuitBreaker.onFailure();
+                        return Mono.fromSupplier(degraded);
+                    })
+                    .doFinally(signal -> {
+                        if (probe && !recorded.get()) {
+                            circuitBreaker.releasePermission();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * 규칙이 Redis에 의존하는지 확인합니다. (인메모리 백엔드 규칙은 감쌀 필요가 없음)
+     *
+     * @param spec 속도 제한 규칙
+     * @return Redis에 의존하면 true
+     */
+    public boolean dependsOnRedis(LimitSpec spec) {
+        return spec.backend() != RateLimit.Backend.IN_MEMORY;
+    }
+
+    /**
+     * Redis를 사용할 수 없을 때 규칙의 실패 정책에 따라 판단합니다.
+     * 인메모리 백엔드 규칙은 Redis와 관계없으므로 정책을 적용하지 않고 그대로 판단합니다.
+     *
+     * @param rateLimit 규칙의 어노테이션
+     * @param spec 속도 제한 규칙
+     * @return 저하 모드의 판단 결과
+     */
+    public RateLimitDecision degrade(RateLimit rateLimit, LimitSpec spec) {
+        if (!dependsOnRedis(spec)) {
+            return rateLimiterFactory.getRateLimiter(spec.algorithm(), RateLimit.Backend.IN_MEMORY)
+                    .acquire(spec.key(), spec.permits(), spec.limit(), spec.period());
+        }
+        return degrade(rateLimit.onFailure(), spec);
+    }
+
+    /**
+     * Redis를 사용할 수 없을 때 실패 정책에 따라 판단합니다.
+     *
+     * @param policy 규칙의 실패 정책
+     * @param spec 속도 제한 규칙
+     * @return 저하 모드의 판단 결과
+     */
+    public RateLimitDecision degrade(RateLimit.FailurePolicy policy, LimitSpec spec) {
+        degradedDecisionCounters.get(policy).increment();
+        return switch (policy) {
+            case FAIL_OPEN -> RateLimitDecision.of(true, spec.limit());
+            case FAIL_CLOSED -> new RateLimitDecision(false, spec.limit(), 0, RateLimitDecision.UNKNOWN,
+                    Math.max(1, circuitBreaker.remainingOpenMillis()));
+            case FALLBACK -> {
+                // 각 노드가 독립적으로 판단하므로 전체 제한을 노드 수로 나눠 근사 (최소 1)
+                long limit = Math.max(1, spec.limit() / fallbackNodes);
+                RateLimitDecision decision = rateLimiterFactory
+                        .getRateLimiter(spec.algorithm(), RateLimit.Backend.IN_MEMORY)
+                        .acquire(spec.key(), spec.permits(), limit, spec.period());
+                yield new RateLimitDecision(decision.allowed(), spec.limit(), decision.remaining(),
+                        decision.resetAtMillis(), decision.retryAfterMillis());
+            }
+        };
+    }
+
+    /**
+     * 회로 차단기의 현재 상태를 반환합니다.
+     *
+     * @return 회로 차단기 상태
+     */
+    public RedisCircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * 방금 받은 호출 허가가 시험 호출인지 확인합니다. (시험 중 상태는 허가를 받은 호출자 하나만 만들 수 있음)
+     */
+    private boolean isProbe() {
+        return circuitBreaker.getState() == RedisCircuitBreaker.State.HALF_OPEN;
+    }
+
+    private boolean isRedisFailure(Throwable e) {
+        return e instanceof DataAccessException || e instanceof RedisException || e instanceof TimeoutException;
+    }
+}
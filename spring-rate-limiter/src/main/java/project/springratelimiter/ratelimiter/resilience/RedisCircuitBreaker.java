@@ -0,0 +1,155 @@
+package project.springratelimiter.ratelimiter.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 속도 제한 판단에 사용하는 Redis 호출을 보호하는 회로 차단기.
+ * 연속 실패가 임계값에 도달하면 열림(OPEN) 상태가 되어 일정 시간 동안 Redis를 호출하지 않고,
+ * 그 시간이 지나면 한 번의 시험 호출(HALF_OPEN)을 허용하여 성공하면 닫힘(CLOSED), 실패하면 다시 열림 상태가 됩니다.
+ * 상태는 원자적 정수 필드로 관리하며 잠금을 사용하지 않습니다.
+ */
+public class RedisCircuitBreaker {
+
+    /**
+     * 회로 차단기 상태
+     */
+    public enum State {
+        /**
+         * Redis를 정상적으로 호출합니다.
+         */
+        CLOSED,
+
+        /**
+         * Redis를 호출하지 않고 실패 정책에 따라 판단합니다.
+         */
+        OPEN,
+
+        /**
+         * 한 번의 시험 호출로 Redis가 회복되었는지 확인합니다.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * 상태가 바뀔 때 호출되는 리스너.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * 상태 변경을 알립니다.
+         *
+         * @param from 이전 상태
+         * @param to 새 상태
+         */
+        void onTransition(State from, State to);
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final LongSupplier clock;
+    private final Listener listener;
+
+    private final AtomicInteger state = new AtomicInteger(State.CLOSED.ordinal());
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+
+    /**
+     * 회로 차단기를 생성합니다.
+     *
+     * @param failureThreshold 열림 상태로 바뀌는 연속 실패 횟수 (최소 1)
+     * @param openDurationMillis 열림 상태를 유지하는 시간 (밀리초)
+     * @param clock 현재 시간(밀리초)을 제공하는 함수
+     * @param listener 상태 변경 리스너
+     */
+    public RedisCircuitBreaker(int failureThreshold, long openDurationMillis, LongSupplier clock, Listener listener) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMillis = openDurationMillis;
+        this.clock = clock;
+        this.listener = listener;
+    }
+
+    /**
+     * Redis를 호출해도 되는지 확인합니다.
+     * 열림 상태에서 유지 시간이 지났으면 이 호출자 하나에게만 시험 호출을 허용합니다.
+     *
+     * @return 호출해도 되면 true
+     */
+    public boolean tryAcquirePermission() {
+        int current = state.get();
+        if (current == State.CLOSED.ordinal()) {
+            return true;
+        }
+        if (current == State.OPEN.ordinal() && clock.getAsLong() - openedAt.get() >= openDurationMillis) {
+            return transition(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    /**
+     * 호출 성공을 기록합니다.
+     */
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.get() == State.HALF_OPEN.ordinal()) {
+            transition(State.HALF_OPEN, State.CLOSED);
+        }
+    }
+
+    /**
+     * 호출 실패를 기록합니다.
+     */
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN.ordinal()) {
+            openedAt.set(clock.getAsLong());
+            transition(State.HALF_OPEN, State.OPEN);
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt.set(clock.getAsLong());
+            if (transition(State.CLOSED, State.OPEN)) {
+                consecutiveFailures.set(0);
+            }
+        }
+    }
+
+    /**
+     * 성공도 실패도 기록하지 못한 시험 호출(빈 결과, 취소, Redis와 관계없는 예외)을 반납합니다.
+     * 시험 중 상태를 열림 상태로 되돌리며, 열림 유지 시간은 이미 지났으므로 다음 호출자가 바로 다시 시험할 수 있습니다.
+     * Redis 상태가 바뀐 것은 아니므로 리스너에 알리지 않습니다.
+     */
+    public void releasePermission() {
+        state.compareAndSet(State.HALF_OPEN.ordinal(), State.OPEN.ordinal());
+    }
+
+    /**
+     * 현재 상태를 반환합니다.
+     *
+     * @return 현재 상태
+     */
+    public State getState() {
+        return State.values()[state.get()];
+    }
+
+    /**
+     * 열림 상태가 끝나 시험 호출이 허용되기까지 남은 시간을 반환합니다.
+     *
+     * @return 남은 시간 (밀리초, 닫힘 상태이면 0)
+     */
+    public long remainingOpenMillis() {
+        if (state.get() == State.CLOSED.ordinal()) {
+            return 0;
+        }
+        return Math.max(0, openedAt.get() + openDurationMillis - clock.getAsLong());
+    }
+
+    private boolean transition(State from, State to) {
+        if (state.compareAndSet(from.ordinal(), to.ordinal())) {
+            listener.onTransition(from, to);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,279 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis Lua 스크립트로 판단하는 속도 제한 서비스의 기반 클래스.
+ * 하위 클래스는 알고리즘에 맞는 Redis 키와 스크립트 인자만 준비하고,
+ * 스크립트 실행과 메트릭 기록은 단건 실행과 파이프라인 실행 모두 이 클래스가 담당합니다.
+ * 키와 인자는 RedisTemplate의 JSON 직렬화 도구 대신 바이트로 직접 인코딩하고, 스크립트는 캐시된 SHA1로 EVALSHA 호출합니다.
+ *
+ * 스크립트에 전달하는 현재 시간은 기본적으로 앱 노드의 시계(rateLimiterClock)를 사용합니다.
+ * rate-limiter.clock.redis-time이 true이면 현재 시간 대신 SERVER_TIME을 전달하여 스크립트가 Redis 서버의 TIME(마이크로초)을 사용하므로,
+ * 노드 간 시계 차이로 토큰 리필 등이 왜곡되지 않습니다. (고정 윈도우와 니어 캐시는 키 이름에 윈도우가 포함되므로 앱 노드 시계를 사용)
+ */
+public abstract class AbstractRedisRateLimiterService implements RateLimiterService {
+
+    /**
+     * 스크립트가 Redis 서버 시간을 사용하도록 현재 시간 인자 대신 전달하는 값
+     */
+    public static final long SERVER_TIME = -1;
+
+    protected final RedisTemplate<String, Object> redisTemplate;
+    private final CachedRedisScript script;
+    private final MeterRegistry meterRegistry;
+
+    // 메트릭 정의
+    private final Counter totalRequestsCounter;
+    private final Counter allowedRequestsCounter;
+    private final Counter rejectedRequestsCounter;
+    private final Timer rateLimitTimer;
+
+    // 현재 시간의 기준 (앱 노드 시계 또는 Redis 서버 시간)
+    private Clock clock = Clock.systemUTC();
+    private boolean redisTime;
+
+    /**
+     * Redis 템플릿, Lua 스크립트, 메트릭 레지스트리를 사용하여 속도 제한 서비스를 생성합니다.
+     *
+     * @param redisTemplate Redis 작업을 위한 템플릿
+     * @param script 속도 제한 로직을 구현한 Lua 스크립트
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     * @param metricPrefix 메트릭 이름 접두사 (예: token_bucket_rate_limiter)
+     * @param displayName 메트릭 설명에 사용할 알고리즘 이름
+     */
+    protected AbstractRedisRateLimiterService(RedisTemplate<String, Object> redisTemplate,
+                                              RedisScript<List<Long>> script,
+                                              MeterRegistry meterRegistry,
+                                              String metricPrefix,
+                                              String displayName) {
+        this.redisTemplate = redisTemplate;
+        this.script = CachedRedisScript.of(script);
+        this.meterRegistry = meterRegistry;
+
+        // 메트릭 초기화
+        this.totalRequestsCounter = Counter.builder(metricPrefix + ".requests.total")
+                .description(displayName + " 속도 제한 요청 총 횟수")
+                .register(meterRegistry);
+
+        this.allowedRequestsCounter = Counter.builder(metricPrefix + ".requests.allowed")
+                .description(displayName + " 속도 제한 내에서 허용된 요청 횟수")
+                .register(meterRegistry);
+
+        this.rejectedRequestsCounter = Counter.builder(metricPrefix + ".requests.rejected")
+                .description(displayName + " 속도 제한을 초과하여 거부된 요청 횟수")
+                .register(meterRegistry);
+
+        this.rateLimitTimer = Timer.builder(metricPrefix + ".execution.time")
+                .description(displayName + " 속도 제한 실행 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 스크립트에 전달할 현재 시간의 기준을 설정합니다.
+     *
+     * @param clock 앱 노드 시간을 읽을 시계
+     * @param redisTime true이면 스크립트가 Redis 서버 시간을 사용
+     */
+    @Autowired
+    public void setTimeSource(Clock clock, @Value("${rate-limiter.clock.redis-time:false}") boolean redisTime) {
+        this.clock = clock;
+        this.redisTime = redisTime;
+    }
+
+    /**
+     * 스크립트의 현재 시간 인자를 반환합니다.
+     *
+     * @return 앱 노드의 현재 시간(밀리초) 또는 Redis 서버 시간을 사용하라는 SERVER_TIME
+     */
+    protected long scriptNow() {
+        return redisTime ? SERVER_TIME : clock.millis();
+    }
+
+    /**
+     * 앱 노드 시간을 읽을 시계를 반환합니다. (키 이름에 윈도우가 포함되어 서버 시간을 사용할 수 없는 알고리즘용)
+     *
+     * @return 앱 노드 시계
+     */
+    protected Clock clock() {
+        return clock;
+    }
+
+    /**
+     * 주어진 키에 대해 허용량 permits개를 소비하는 요청이 속도 제한을 초과하는지 확인합니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
+     * @param limit 허용된 요청 수
+     * @param period 시간 기간(초)
+     * @return 요청이 속도 제한 내에 있으면 true, 그렇지 않으면 false
+     */
+    @Override
+    public boolean tryAcquire(String key, long permits, long limit, long period) {
+        return acquire(key, permits, limit, period).allowed();
+    }
+
+    /**
+     * 주어진 키에 대해 허용량 permits개를 소비하는 요청이 속도 제한을 초과하는지 확인하고,
+     * Lua 스크립트가 계산한 남은 허용량과 재시도 시간을 반환합니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
+     * @param limit 허용된 요청 수
+     * @param period 시간 기간(초)
+     * @return 판단 결과
+     */
+    @Override
+    public RateLimitDecision acquire(String key, long permits, long limit, long period) {
+        // 총 요청 카운터 증가
+        totalRequestsCounter.increment();
+
+        // 타이머로 실행 시간 측정 시작
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        try {
+            // Lua 스크립트 실행에 필요한 키와 인자 준비
+            RedisScriptInvocation invocation = prepare(key, permits, limit, period);
+
+            // Lua 스크립트 실행 및 결과 저장
+            RateLimitDecision decision = decode(RedisScriptExecutor.execute(redisTemplate, invocation), limit);
+
+            // 결과에 따라 적절한 카운터 증가
+            recordDecision(decision.allowed());
+
+            return decision;
+        } finally {
+            // 타이머로 실행 시간 측정 종료 및 기록
+            sample.stop(rateLimitTimer);
+        }
+    }
+
+    /**
+     * 여러 키에 대한 요청을 하나의 파이프라인으로 한 번의 Redis 왕복에서 확인합니다.
+     * 모든 규칙은 이 서비스의 알고리즘과 REDIS 백엔드를 선언해야 합니다.
+     *
+     * @param specs 함께 평가할 속도 제한 규칙 목록
+     * @return 규칙 순서와 같은 순서의 판단 결과 목록
+     * @throws IllegalArgumentException 다른 알고리즘이나 백엔드의 규칙이 포함된 경우
+     */
+    @Override
+    public List<RateLimitDecision> acquireAll(List<LimitSpec> specs) {
+        requireSupported(specs);
+        List<RedisScriptInvocation> invocations = new ArrayList<>(specs.size());
+        for (LimitSpec spec : specs) {
+            invocations.add(prepare(spec.key(), spec.permits(), spec.limit(), spec.period()));
+        }
+
+        long start = System.nanoTime();
+        List<Object> values = RedisScriptExecutor.executePipelined(redisTemplate, invocations);
+        long elapsed = System.nanoTime() - start;
+
+        List<RateLimitDecision> results = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            RateLimitDecision decision = decode(values.get(i), specs.get(i).limit());
+            recordExternal(decision.allowed(), elapsed);
+            results.add(decision);
+        }
+        return results;
+    }
+
+    /**
+     * Lua 스크립트 반환값을 판단 결과로 변환합니다.
+     *
+     * @param result 스크립트 반환값
+     * @param limit 허용된 요청 수
+     * @return 판단 결과
+     */
+    RateLimitDecision decode(Object result, long limit) {
+        return RateLimitDecision.fromScriptResult(result, limit, System.currentTimeMillis());
+    }
+
+    /**
+     * 알고리즘에 맞는 Redis 키와 스크립트 인자를 준비합니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
+     * @param limit 허용된 요청 수
+     * @param period 시간 기간(초)
+     * @return 실행할 스크립트 호출 정보
+     */
+    protected abstract RedisScriptInvocation prepare(String key, long permits, long limit, long period);
+
+    /**
+     * 이 서비스의 Lua 스크립트로 실행할 호출 정보를 생성합니다.
+     *
+     * @param key 스크립트의 KEYS[1]
+     * @param args arg()로 인코딩된 스크립트의 ARGV
+     * @return 스크립트 호출 정보
+     */
+    protected RedisScriptInvocation invocation(String key, byte[]... args) {
+        return invocation(script, key, args);
+    }
+
+    /**
+     * 주어진 Lua 스크립트로 실행할 호출 정보를 생성합니다.
+     * 키의 상태에 따라 다른 표현(스크립트)을 사용하는 서비스가 사용합니다.
+     *
+     * @param script 실행할 스크립트
+     * @param key 스크립트의 KEYS[1]
+     * @param args arg()로 인코딩된 스크립트의 ARGV
+     * @return 스크립트 호출 정보
+     */
+    protected static RedisScriptInvocation invocation(CachedRedisScript script, String key, byte[]... args) {
+        byte[][] keysAndArgs = new byte[args.length + 1][];
+        keysAndArgs[0] = RedisScriptCodec.key(key);
+        System.arraycopy(args, 0, keysAndArgs, 1, args.length);
+        return new RedisScriptInvocation(script, 1, keysAndArgs);
+    }
+
+    /**
+     * 정수 스크립트 인자를 인코딩합니다.
+     *
+     * @param value 인자 값
+     * @return 인코딩된 인자
+     */
+    protected static byte[] arg(long value) {
+        return RedisScriptCodec.number(value);
+    }
+
+    /**
+     * 실수 스크립트 인자를 인코딩합니다.
+     *
+     * @param value 인자 값
+     * @return 인코딩된 인자
+     */
+    protected static byte[] arg(double value) {
+        return RedisScriptCodec.number(value);
+    }
+
+    /**
+     * 이 서비스 밖에서 실행된 판단 결과(파이프라인, 리액티브 실행)를 메트릭에 기록합니다.
+     *
+     * @param allowed 허용 여부
+     * @param elapsedNanos 스크립트 실행 시간 (나노초)
+     */
+    void recordExternal(boolean allowed, long elapsedNanos) {
+        totalRequestsCounter.increment();
+        rateLimitTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        recordDecision(allowed);
+    }
+
+    private void recordDecision(boolean allowed) {
+        if (allowed) {
+            allowedRequestsCounter.increment();
+        } else {
+            rejectedRequestsCounter.increment();
+        }
+    }
+}
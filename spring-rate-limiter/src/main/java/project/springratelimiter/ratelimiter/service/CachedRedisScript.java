@@ -0,0 +1,30 @@
+package project.springratelimiter.ratelimiter.service;
+
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * EVALSHA 호출에 필요한 값을 미리 계산해 둔 Lua 스크립트.
+ * SHA1, 스크립트 본문 바이트, 반환 유형을 서비스 생성 시 한 번만 계산하여 판단 경로에서 다시 계산하지 않습니다.
+ *
+ * @param sha1 스크립트의 SHA1 (EVALSHA에 사용)
+ * @param body 스크립트 본문 (NOSCRIPT 오류 시 EVAL에 사용)
+ * @param returnType 스크립트 반환 유형
+ */
+record CachedRedisScript(String sha1, byte[] body, ReturnType returnType) {
+
+    /**
+     * RedisScript에서 EVALSHA 호출 정보를 계산합니다.
+     *
+     * @param script 원본 Lua 스크립트
+     * @return 미리 계산된 스크립트
+     */
+    static CachedRedisScript of(RedisScript<?> script) {
+        return new CachedRedisScript(
+                script.getSha1(),
+                script.getScriptAsString().getBytes(StandardCharsets.UTF_8),
+                ReturnType.fromJavaType(script.getResultType()));
+    }
+}
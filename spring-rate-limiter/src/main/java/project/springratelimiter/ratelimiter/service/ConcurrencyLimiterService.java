@@ -0,0 +1,233 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import project.springratelimiter.ratelimiter.resilience.RateLimiterResilience;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 동시 요청 수(in-flight)를 제한하는 서비스.
+ * 허가는 Redis Sorted Set 기반 분산 세마포어에서 임대 기간과 함께 얻고, 작업이 끝나면 ZREM으로 반납합니다.
+ * 반납되지 않은 허가(노드 비정상 종료 등)는 임대 기간이 지나면 다음 허가 요청에서 회수됩니다.
+ *
+ * 로컬 빠른 경로: 이 노드에서 처리 중인 요청만으로 이미 제한에 도달한 키는 Redis에 묻지 않고 거부합니다.
+ * Redis를 사용할 수 없으면 RateLimiterResilience의 회로 차단기에 따라 로컬 동시 요청 수만으로 판단합니다.
+ *
+ * 처리 중인 요청 수는 규칙(메서드)별로 concurrency_limiter.in_flight 게이지로 기록됩니다.
+ * (IP, 사용자 키별로 게이지를 만들면 메트릭 카디널리티가 제한 없이 늘어나므로 규칙 단위로 합산)
+ */
+@Service
+public class ConcurrencyLimiterService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimiterService.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CachedRedisScript concurrencyScript;
+    private final MeterRegistry meterRegistry;
+    private final RateLimiterResilience resilience;
+    private final Clock clock;
+    private final boolean redisTime;
+
+    // 허가 ID 생성 (노드 ID + 순번)
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // 키별 이 노드에서 처리 중인 요청 수 (0이 되면 제거)
+    private final ConcurrentHashMap<String, AtomicLong> localInFlight = new ConcurrentHashMap<>();
+
+    // 규칙별 처리 중인 요청 수 게이지
+    private final ConcurrentHashMap<String, AtomicLong> inFlightGauges = new ConcurrentHashMap<>();
+
+    // 메트릭 정의
+    private final Counter localRejectedCounter;
+    private final Counter remoteAllowedCounter;
+    private final Counter remoteRejectedCounter;
+    private final Counter degradedAllowedCounter;
+
+    /**
+     * Redis 템플릿, 세마포어 스크립트, 메트릭 레지스트리, RateLimiterResilience를 사용하여 ConcurrencyLimiterService를 생성합니다.
+     *
+     * @param redisTemplate Redis 작업을 위한 템플릿
+     * @param concurrencyScript 분산 세마포어 로직을 구현한 Lua 스크립트
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     * @param resilience Redis 장애 시 로컬 판단으로 전환하는 컴포넌트
+     * @param clock 임대 만료 시간을 계산할 앱 노드 시계
+     * @param redisTime true이면 임대 만료 시간을 Redis 서버 시간으로 계산
+     */
+    public ConcurrencyLimiterService(RedisTemplate<String, Object> redisTemplate,
+                                     RedisScript<List<Long>> concurrencyScript,
+                                     MeterRegistry meterRegistry,
+                                     RateLimiterResilience resilience,
+                                     Clock clock,
+                                     @Value("${rate-limiter.clock.redis-time:false}") boolean redisTime) {
+        this.redisTemplate = redisTemplate;
+        this.concurrencyScript = CachedRedisScript.of(concurrencyScript);
+        this.meterRegistry = meterRegistry;
+        this.resilience = resilience;
+        this.clock = clock;
+        this.redisTime = redisTime;
+
+        // 메트릭 초기화
+        this.localRejectedCounter = decisionCounter("local", "rejected", "이 노드의 동시 요청 수만으로 거부된 요청 횟수");
+        this.remoteAllowedCounter = decisionCounter("remote", "allowed", "Redis 세마포어에서 허가를 얻은 요청 횟수");
+        this.remoteRejectedCounter = decisionCounter("remote", "rejected", "Redis 세마포어에서 거부된 요청 횟수");
+        this.degradedAllowedCounter = decisionCounter("degraded", "allowed", "Redis 장애로 로컬 동시 요청 수만으로 허용된 요청 횟수");
+    }
+
+    /**
+     * 판단 위치(local/remote/degraded)와 결과(allowed/rejected) 태그가 붙은 판단 카운터를 생성합니다.
+     */
+    private Counter decisionCounter(String source, String outcome, String description) {
+        return Counter.builder("concurrency_limiter.decisions")
+                .description(description)
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 동시 요청 허가를 요청합니다.
+     *
+     * @param rule 게이지에 사용할 규칙 이름 (예: 클래스.메서드)
+     * @param key 동시 요청 수를 셀 고유 키
+     * @param limit 최대 동시 요청 수
+     * @param leaseSeconds 허가의 임대 기간(초)
+     * @return 허가 (acquired()가 false이면 거부된 허가)
+     */
+    public ConcurrencyPermit tryAcquire(String rule, String key, long limit, long leaseSeconds) {
+        // 로컬 빠른 경로: 이 노드에서만 이미 제한만큼 처리 중이면 Redis에 묻지 않고 거부
+        if (incrementLocal(key) > limit) {
+            decrementLocal(key);
+            localRejectedCounter.increment();
+            return ConcurrencyPermit.rejected(RateLimitDecision.of(false, limit));
+        }
+
+        String permitId = nodeId + ":" + sequence.incrementAndGet();
+        String redisKey = RedisKeys.of("concurrency:", key);
+        long leaseMillis = leaseSeconds * 1000;
+
+        // Redis를 사용할 수 없으면 로컬 동시 요청 수만으로 허용 (허가 ID는 Redis에 기록되지 않음)
+        RateLimitDecision decision;
+        try {
+            decision = resilience.execute(
+                    () -> acquireRemote(redisKey, limit, leaseMillis, permitId),
+                    () -> null);
+        } catch (RuntimeException e) {
+            // 장애로 분류되지 않은 예외는 그대로 전파하되 로컬 자리는 돌려줌
+            decrementLocal(key);
+            throw e;
+        }
+
+        if (decision == null) {
+            degradedAllowedCounter.increment();
+            return allowed(rule, key, RateLimitDecision.of(true, limit), null, null);
+        }
+        if (!decision.allowed()) {
+            decrementLocal(key);
+            remoteRejectedCounter.increment();
+            return ConcurrencyPermit.rejected(decision);
+        }
+
+        remoteAllowedCounter.increment();
+        return allowed(rule, key, decision, redisKey, permitId);
+    }
+
+    private RateLimitDecision acquireRemote(String redisKey, long limit, long leaseMillis, String permitId) {
+        byte[][] keysAndArgs = {
+                RedisScriptCodec.key(redisKey),
+                RedisScriptCodec.number(redisTime ? AbstractRedisRateLimiterService.SERVER_TIME : clock.millis()),
+                RedisScriptCodec.number(limit),
+                RedisScriptCodec.number(leaseMillis),
+                RedisScriptCodec.key(permitId)
+        };
+        Object result = RedisScriptExecutor.execute(redisTemplate,
+                new RedisScriptInvocation(concurrencyScript, 1, keysAndArgs));
+        return RateLimitDecision.fromScriptResult(result, limit, clock.millis());
+    }
+
+    /**
+     * 허용된 허가를 생성하고 규칙별 게이지를 증가시킵니다.
+     */
+    private ConcurrencyPermit allowed(String rule, String key, RateLimitDecision decision,
+                                      String redisKey, String permitId) {
+        AtomicLong gauge = inFlightGauges.computeIfAbsent(rule, this::registerGauge);
+        gauge.incrementAndGet();
+
+        return new ConcurrencyPermit(decision, () -> {
+            gauge.decrementAndGet();
+            decrementLocal(key);
+            if (redisKey != null) {
+                releaseRemote(redisKey, permitId);
+            }
+        });
+    }
+
+    /**
+     * Redis 세마포어에서 허가를 제거합니다.
+     * 반납 실패는 요청 처리 결과에 영향을 주지 않도록 기록만 하며, 남은 허가는 임대 기간이 지나면 회수됩니다.
+     */
+    private void releaseRemote(String redisKey, String permitId) {
+        byte[] rawKey = RedisScriptCodec.key(redisKey);
+        byte[] rawPermit = permitId.getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.zSetCommands().zRem(rawKey, rawPermit));
+        } catch (DataAccessException e) {
+            log.debug("동시 요청 허가 반납 실패 (임대 기간 후 회수됨): {}", redisKey, e);
+        }
+    }
+
+    private AtomicLong registerGauge(String rule) {
+        AtomicLong inFlight = new AtomicLong();
+        Gauge.builder("concurrency_limiter.in_flight", inFlight, AtomicLong::get)
+                .description("이 노드에서 처리 중인 요청 수")
+                .tag("rule", rule)
+                .register(meterRegistry);
+        return inFlight;
+    }
+
+    /**
+     * 키의 로컬 동시 요청 수를 증가시킵니다. (증가와 제거가 엇갈리지 않도록 맵의 원자적 연산 안에서 수행)
+     *
+     * @return 증가한 뒤의 값
+     */
+    private long incrementLocal(String key) {
+        return localInFlight.compute(key, (k, count) -> {
+            AtomicLong value = count == null ? new AtomicLong() : count;
+            value.incrementAndGet();
+            return value;
+        }).get();
+    }
+
+    /**
+     * 키의 로컬 동시 요청 수를 감소시키고, 0이 되면 키를 제거합니다.
+     */
+    private void decrementLocal(String key) {
+        localInFlight.computeIfPresent(key, (k, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    /**
+     * 이 노드에서 처리 중인 키의 요청 수를 반환합니다.
+     *
+     * @param key 동시 요청 수를 셀 고유 키
+     * @return 처리 중인 요청 수
+     */
+    public long localInFlight(String key) {
+        AtomicLong count = localInFlight.get(key);
+        return count == null ? 0 : count.get();
+    }
+}
@@ -0,0 +1,62 @@
+package project.springratelimiter.ratelimiter.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 동시 요청 제한에서 얻은 허가.
+ * 허가를 얻은 호출자는 작업이 끝나면 반드시 release()(또는 try-with-resources의 close())로 반납해야 합니다.
+ * 반납은 한 번만 수행되며, 거부된 허가의 반납은 아무 일도 하지 않습니다.
+ */
+public final class ConcurrencyPermit implements AutoCloseable {
+
+    private final RateLimitDecision decision;
+    private final Runnable releaser;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ConcurrencyPermit(RateLimitDecision decision, Runnable releaser) {
+        this.decision = decision;
+        this.releaser = releaser;
+    }
+
+    /**
+     * 거부된 허가를 생성합니다.
+     *
+     * @param decision 거부된 판단 결과
+     * @return 반납할 것이 없는 허가
+     */
+    static ConcurrencyPermit rejected(RateLimitDecision decision) {
+        return new ConcurrencyPermit(decision, null);
+    }
+
+    /**
+     * 허가를 얻었는지 확인합니다.
+     *
+     * @return 허가를 얻었으면 true
+     */
+    public boolean acquired() {
+        return decision.allowed();
+    }
+
+    /**
+     * 허가 판단 결과를 반환합니다. (남은 요청 수는 남은 동시 처리 자리 수)
+     *
+     * @return 판단 결과
+     */
+    public RateLimitDecision decision() {
+        return decision;
+    }
+
+    /**
+     * 허가를 반납합니다.
+     */
+    public void release() {
+        if (releaser != null && released.compareAndSet(false, true)) {
+            releaser.run();
+        }
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+}
@@ -0,0 +1,59 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
+
+import java.util.List;
+
+/**
+ * Redis를 사용한 GCRA(Generic Cell Rate Algorithm) 기반 속도 제한 서비스 구현.
+ * 키마다 다음 요청의 이론적 도착 시간(TAT) 하나만 문자열 값으로 저장합니다.
+ * 토큰 버킷과 같은 결과(버킷 크기 limit, 리필 속도 limit/period)를 내면서
+ * 판단마다 GET 한 번과 허용된 경우의 SET ... PX 한 번만 수행합니다.
+ */
+@Service
+@RateLimiterType(RateLimit.Algorithm.GCRA)
+public class GcraRateLimiterService extends AbstractRedisRateLimiterService {
+
+    /**
+     * Redis 템플릿, Lua 스크립트, 메트릭 레지스트리를 사용하여 GcraRateLimiterService를 생성합니다.
+     *
+     * @param redisTemplate Redis 작업을 위한 템플릿
+     * @param gcraScript GCRA 로직을 구현한 Lua 스크립트
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     */
+    public GcraRateLimiterService(RedisTemplate<String, Object> redisTemplate,
+                                  RedisScript<List<Long>> gcraScript,
+                                  MeterRegistry meterRegistry) {
+        super(redisTemplate, gcraScript, meterRegistry, "gcra_rate_limiter", "GCRA");
+    }
+
+    /**
+     * 이론적 도착 시간을 갱신하는 GCRA 스크립트 호출을 준비합니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
+     * @param limit 기간 내 허용된 요청 수 (최대 버스트 크기)
+     * @param period 시간 기간(초)
+     * @return 실행할 스크립트 호출 정보
+     */
+    @Override
+    protected RedisScriptInvocation prepare(String key, long permits, long limit, long period) {
+        // 현재 시간을 밀리초 단위로 가져옵니다 (Redis 서버 시간을 사용하면 SERVER_TIME)
+        long now = scriptNow();
+
+        // 키 이름 생성 (예: gcra:{user_123})
+        String redisKey = RedisKeys.of("gcra:", key);
+
+        // 요청 하나가 차지하는 시간 계산 (마이크로초, 제한이 0이면 항상 거부)
+        long periodMicros = period * 1_000_000;
+        long intervalMicros = limit > 0 ? Math.max(1, periodMicros / limit) : 0;
+
+        // Lua 스크립트 실행에 필요한 키와 인자 준비
+        return invocation(redisKey, arg(now), arg(intervalMicros), arg(periodMicros), arg(permits));
+    }
+}
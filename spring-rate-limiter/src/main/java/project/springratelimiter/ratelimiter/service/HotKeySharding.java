@@ -0,0 +1,170 @@
+package project.springratelimiter.ratelimiter.service;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 전역 규칙(KeyType.METHOD)의 키 하나에 모든 노드의 요청이 몰리지 않도록 제한을 N개의 하위 키로 나누는 컴포넌트.
+ * 하위 키 i는 "{키}:shard:{i}"이며 제한을 N등분한 허용량(나머지는 앞쪽 하위 키에 하나씩)을 가집니다.
+ * 하위 키마다 Redis 키의 해시 태그({키:shard:i})가 다르므로 Redis Cluster에서는 여러 슬롯으로 분산됩니다.
+ *
+ * 각 노드는 임의의 위치에서 시작하는 라운드 로빈으로 하위 키를 고르므로 노드 간 조정 없이도 하위 키마다 고르게 요청이 분산됩니다.
+ * 고른 하위 키의 허용량이 소진되어 거부되면 다음 하위 키를 최대 MAX_SPILL_OVER개까지 차례로 시도하여(spill-over)
+ * 다른 하위 키에 남은 허용량을 사용합니다. 라운드 로빈 시작 위치가 요청마다 바뀌므로 남은 허용량은 다음 요청들이 사용합니다.
+ * 재시도한 하위 키도 모두 거부하면 가장 먼저 재시도할 수 있는 하위 키의 결과를 반환합니다.
+ * 제한에 도달한 규칙은 거부되는 요청마다 재시도만큼 Redis를 더 호출하므로, 재시도 수를 하위 키 수와 관계없이 제한하여
+ * 하위 키 하나가 받는 부하와 거부 응답의 지연 시간이 하위 키 수에 비례해 늘어나지 않게 합니다.
+ * 이 재시도는 단일 규칙에서만 수행하고 겹친 규칙에서는 고른 하위 키로만 판단합니다.
+ *
+ * 허용량(permits)이 하위 키 하나의 몫(제한 / 하위 키 수)보다 큰 요청은 어느 하위 키에서도 허용될 수 없으므로
+ * 나누지 않은 원래 키로 판단합니다. 이 요청은 하위 키와 따로 세므로, 큰 요청이 잦은 규칙은 shards를 줄여야 합니다.
+ */
+@Component
+public class HotKeySharding {
+
+    /**
+     * 고른 하위 키가 거부한 뒤 추가로 판단할 최대 하위 키 수.
+     */
+    static final int MAX_SPILL_OVER = 2;
+
+    // 노드별 라운드 로빈 위치 (노드마다 다른 하위 키부터 시작하도록 임의의 값으로 초기화)
+    private final AtomicInteger sequence = new AtomicInteger(ThreadLocalRandom.current().nextInt());
+
+    /**
+     * 규칙을 하위 키 하나로 나누어 판단하고, 거부되면 허용될 때까지 다음 하위 키를 최대 MAX_SPILL_OVER개까지 판단합니다.
+     *
+     * @param service 판단에 사용할 속도 제한 서비스
+     * @param spec 나누기 전의 규칙
+     * @param shards 하위 키 수
+     * @return 전체 제한 기준으로 변환된 판단 결과
+     */
+    public RateLimitDecision acquire(RateLimiterService service, LimitSpec spec, int shards) {
+        int count = effectiveShards(spec, shards);
+        int shard = next(count);
+
+        RateLimitDecision decision = acquire(service, spec, count, shard);
+        for (int i = 1; i < probes(count) && !decision.allowed(); i++) {
+            decision = earliestRetry(decision, acquire(service, spec, count, (shard + i) % count));
+        }
+        return decision;
+    }
+
+    /**
+     * 규칙을 하위 키 하나로 나누어 차단 없이 판단하고, 거부되면 허용될 때까지 다음 하위 키를 최대 MAX_SPILL_OVER개까지 판단합니다.
+     *
+     * @param service 판단에 사용할 리액티브 속도 제한 서비스
+     * @param spec 나누기 전의 규칙
+     * @param shards 하위 키 수
+     * @return 전체 제한 기준으로 변환된 판단 결과
+     */
+    public Mono<RateLimitDecision> acquire(ReactiveRateLimiterService service, LimitSpec spec, int shards) {
+        int count = effectiveShards(spec, shards);
+        int shard = next(count);
+
+        Mono<RateLimitDecision> result = acquire(service, spec, count, shard);
+        for (int i = 1; i < probes(count); i++) {
+            int next = (shard + i) % count;
+            // 앞선 하위 키가 허용하면 다음 하위 키는 판단하지 않음
+            result = result.flatMap(decision -> decision.allowed()
+                    ? Mono.just(decision)
+                    : acquire(service, spec, count, next).map(other -> earliestRetry(decision, other)));
+        }
+        return result;
+    }
+
+    /**
+     * 이 노드가 다음에 사용할 하위 키로 규칙을 나눕니다. (재시도 없이 겹친 규칙과 함께 평가할 때 사용)
+     *
+     * @param spec 나누기 전의 규칙
+     * @param shards 하위 키 수
+     * @return 하위 키 하나에 대한 규칙
+     */
+    public LimitSpec route(LimitSpec spec, int shards) {
+        int count = effectiveShards(spec, shards);
+        return shard(spec, count, next(count));
+    }
+
+    private RateLimitDecision acquire(RateLimiterService service, LimitSpec spec, int count, int shard) {
+        LimitSpec sharded = shard(spec, count, shard);
+        return merge(service.acquire(sharded.key(), sharded.permits(), sharded.limit(), sharded.period()),
+                spec.limit(), count);
+    }
+
+    private Mono<RateLimitDecision> acquire(ReactiveRateLimiterService service, LimitSpec spec, int count, int shard) {
+        return service.acquire(shard(spec, count, shard))
+                .map(decision -> merge(decision, spec.limit(), count));
+    }
+
+    /**
+     * 요청 하나가 판단할 최대 하위 키 수를 반환합니다. (고른 하위 키와 재시도할 하위 키)
+     */
+    private static int probes(int count) {
+        return Math.min(count, 1 + MAX_SPILL_OVER);
+    }
+
+    private int next(int count) {
+        return Math.floorMod(sequence.getAndIncrement(), count);
+    }
+
+    /**
+     * 하위 키 수를 제한 이하로 맞추고, 요청의 허용량이 하위 키 하나의 몫보다 크면 나누지 않습니다.
+     * (허용량이 0인 하위 키나 어느 하위 키에서도 허용될 수 없는 요청이 생기지 않도록)
+     *
+     * @param spec 나누기 전의 규칙
+     * @param shards 설정된 하위 키 수
+     * @return 실제로 사용할 하위 키 수 (최소 1, 나누지 않으면 1)
+     */
+    static int effectiveShards(LimitSpec spec, int shards) {
+        int count = (int) Math.max(1, Math.min(shards, spec.limit()));
+        return spec.permits() > spec.limit() / count ? 1 : count;
+    }
+
+    /**
+     * 하위 키 하나에 대한 규칙을 생성합니다.
+     *
+     * @param spec 나누기 전의 규칙
+     * @param count 하위 키 수
+     * @param shard 하위 키 번호
+     * @return 하위 키와 그 허용량을 담은 규칙
+     */
+    static LimitSpec shard(LimitSpec spec, int count, int shard) {
+        if (count <= 1) {
+            return spec;
+        }
+        long share = spec.limit() / count + (shard < spec.limit() % count ? 1 : 0);
+        return new LimitSpec(spec.key() + ":shard:" + shard, share, spec.period(), spec.algorithm(), spec.backend(),
+                spec.permits());
+    }
+
+    /**
+     * 앞선 하위 키가 거부한 뒤 다른 하위 키로 판단한 결과를 합칩니다.
+     * 허용되었으면 그 결과를, 모두 거부되었으면 재시도까지 남은 시간이 더 짧은 결과를 반환합니다.
+     */
+    private static RateLimitDecision earliestRetry(RateLimitDecision rejected, RateLimitDecision other) {
+        if (other.allowed() || rejected.retryAfterMillis() == RateLimitDecision.UNKNOWN) {
+            return other;
+        }
+        if (other.retryAfterMillis() == RateLimitDecision.UNKNOWN) {
+            return rejected;
+        }
+        return other.retryAfterMillis() < rejected.retryAfterMillis() ? other : rejected;
+    }
+
+    /**
+     * 하위 키의 판단 결과를 전체 제한 기준으로 변환합니다.
+     * 남은 요청 수는 하위 키들이 고르게 소비된다고 가정한 추정치(하위 키의 남은 요청 수 × 하위 키 수)입니다.
+     */
+    private static RateLimitDecision merge(RateLimitDecision decision, long limit, int count) {
+        if (count <= 1) {
+            return decision;
+        }
+        long remaining = decision.remaining() == RateLimitDecision.UNKNOWN
+                ? RateLimitDecision.UNKNOWN
+                : Math.min(limit, decision.remaining() * count);
+        return new RateLimitDecision(decision.allowed(), limit, remaining,
+                decision.resetAtMillis(), decision.retryAfterMillis());
+    }
+}
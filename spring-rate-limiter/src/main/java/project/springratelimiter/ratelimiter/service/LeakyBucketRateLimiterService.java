@@ -1,6 +1,5 @@
 package project.springratelimiter.ratelimiter.service;
 
-import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -9,8 +8,6 @@ import org.springframework.stereotype.Service;
 import project.springratelimiter.ratelimiter.annotation.RateLimit;
 import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
 
-import java.time.Instant;
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -18,20 +15,15 @@ import java.util.concurrent.TimeUnit;
  * Redis를 사용한 누수 버킷 알고리즘 기반 속도 제한 서비스 구현.
  * 이 알고리즘은 일정한 속도로 요청을 처리하고 초과 요청은 대기열에 넣거나 거부합니다.
  * 일정한 처리 속도를 보장하지만 버스트 트래픽을 처리하는 데 제한이 있습니다.
+ * 셰이핑(shape)으로 판단하면 대기열에 들어간 요청이 자기 차례까지 기다려야 할 시간을 함께 반환하므로,
+ * 호출하는 쪽이 그만큼 기다린 뒤 실행하면 버스트가 거부되지 않고 처리 속도에 맞춰 흘러갑니다.
  */
 @Service
 @RateLimiterType(RateLimit.Algorithm.LEAKY_BUCKET)
-public class LeakyBucketRateLimiterService implements RateLimiterService {
+public class LeakyBucketRateLimiterService extends AbstractRedisRateLimiterService implements ShapingRateLimiterService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final RedisScript<Boolean> leakyBucketScript;
-    private final MeterRegistry meterRegistry;
-    
-    // 메트릭 정의
-    private final Counter totalRequestsCounter;
-    private final Counter allowedRequestsCounter;
-    private final Counter rejectedRequestsCounter;
-    private final Timer rateLimitTimer;
+    // 셰이핑으로 허용된 요청이 기다린 시간
+    private final Timer shapingDelayTimer;
 
     /**
      * Redis 템플릿, Lua 스크립트, 메트릭 레지스트리를 사용하여 LeakyBucketRateLimiterService를 생성합니다.
@@ -41,75 +33,97 @@ public class LeakyBucketRateLimiterService implements RateLimiterService {
      * @param meterRegistry 메트릭 수집을 위한 레지스트리
      */
     public LeakyBucketRateLimiterService(RedisTemplate<String, Object> redisTemplate, 
-                                        RedisScript<Boolean> leakyBucketScript,
+                                        RedisScript<List<Long>> leakyBucketScript,
                                         MeterRegistry meterRegistry) {
-        this.redisTemplate = redisTemplate;
-        this.leakyBucketScript = leakyBucketScript;
-        this.meterRegistry = meterRegistry;
-        
-        // 메트릭 초기화
-        this.totalRequestsCounter = Counter.builder("leaky_bucket_rate_limiter.requests.total")
-                .description("누수 버킷 속도 제한 요청 총 횟수")
-                .register(meterRegistry);
-                
-        this.allowedRequestsCounter = Counter.builder("leaky_bucket_rate_limiter.requests.allowed")
-                .description("누수 버킷 속도 제한 내에서 허용된 요청 횟수")
-                .register(meterRegistry);
-                
-        this.rejectedRequestsCounter = Counter.builder("leaky_bucket_rate_limiter.requests.rejected")
-                .description("누수 버킷 속도 제한을 초과하여 거부된 요청 횟수")
-                .register(meterRegistry);
-                
-        this.rateLimitTimer = Timer.builder("leaky_bucket_rate_limiter.execution.time")
-                .description("누수 버킷 속도 제한 실행 시간")
+        super(redisTemplate, leakyBucketScript, meterRegistry, "leaky_bucket_rate_limiter", "누수 버킷");
+
+        this.shapingDelayTimer = Timer.builder("leaky_bucket_rate_limiter.shaping.delay")
+                .description("누수 버킷 셰이핑으로 허용된 요청이 실행 전에 기다린 시간")
                 .register(meterRegistry);
     }
 
     /**
-     * 주어진 키에 대한 요청이 속도 제한을 초과하는지 확인합니다.
-     * Redis의 Lua 스크립트를 사용하여 누수 버킷 알고리즘을 구현합니다.
+     * 요청에 대기열 자리를 배정하고, 자기 차례까지 기다려야 할 시간을 반환합니다.
+     * 대기열에 자리가 없거나 기다려야 할 시간이 maxDelayMillis를 넘으면 대기열에 넣지 않고 거부합니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 차지할 대기열 자리 수 (1 이상)
+     * @param limit 버킷의 최대 용량 (대기열 크기)
+     * @param period 처리 속도를 계산하는 데 사용되는 시간 기간(초)
+     * @param maxDelayMillis 요청이 기다릴 수 있는 최대 시간 (밀리초)
+     * @return 셰이핑 판단 결과
+     */
+    @Override
+    public ShapingDecision shape(String key, long permits, long limit, long period, long maxDelayMillis) {
+        RedisScriptInvocation invocation = prepareShaping(key, permits, limit, period, maxDelayMillis);
+        long start = System.nanoTime();
+        Object result = RedisScriptExecutor.execute(redisTemplate, invocation);
+        ShapingDecision decision = decodeShaping(result, limit);
+        recordShaping(decision, System.nanoTime() - start);
+        return decision;
+    }
+
+    /**
+     * 셰이핑 판단을 위한 스크립트 호출을 준비합니다. (리액티브 실행에서도 사용)
+     *
+     * @param key 속도 제한을 적용할 고유 키
+     * @param permits 이 요청이 차지할 대기열 자리 수
+     * @param limit 버킷의 최대 용량 (대기열 크기)
+     * @param period 처리 속도를 계산하는 데 사용되는 시간 기간(초)
+     * @param maxDelayMillis 요청이 기다릴 수 있는 최대 시간 (밀리초)
+     * @return 실행할 스크립트 호출 정보
+     */
+    RedisScriptInvocation prepareShaping(String key, long permits, long limit, long period, long maxDelayMillis) {
+        String redisKey = RedisKeys.of("leaky_bucket:", key);
+        double rate = (double) limit / period;
+        return invocation(redisKey, arg(scriptNow()), arg(limit), arg(rate), arg(permits), arg(maxDelayMillis));
+    }
+
+    /**
+     * 셰이핑 스크립트 반환값을 판단 결과로 변환합니다.
+     *
+     * @param result 스크립트 반환값
+     * @param limit 허용된 요청 수
+     * @return 셰이핑 판단 결과
+     */
+    ShapingDecision decodeShaping(Object result, long limit) {
+        return ShapingDecision.fromScriptResult(result, limit, System.currentTimeMillis());
+    }
+
+    /**
+     * 셰이핑 판단 결과를 메트릭에 기록합니다.
+     *
+     * @param decision 셰이핑 판단 결과
+     * @param elapsedNanos 스크립트 실행 시간 (나노초)
+     */
+    void recordShaping(ShapingDecision decision, long elapsedNanos) {
+        recordExternal(decision.decision().allowed(), elapsedNanos);
+        if (decision.decision().allowed()) {
+            shapingDelayTimer.record(decision.delayMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Redis의 Lua 스크립트로 누수 버킷 알고리즘을 실행하는 스크립트 호출을 준비합니다.
      *
      * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
      * @param limit 버킷의 최대 용량 (대기열 크기)
      * @param period 처리 속도를 계산하는 데 사용되는 시간 기간(초)
-     * @return 요청이 속도 제한 내에 있으면 true, 그렇지 않으면 false
+     * @return 실행할 스크립트 호출 정보
      */
     @Override
-    public boolean tryAcquire(String key, long limit, long period) {
-        // 총 요청 카운터 증가
-        totalRequestsCounter.increment();
+    protected RedisScriptInvocation prepare(String key, long permits, long limit, long period) {
+        // 현재 시간을 밀리초 단위로 가져옵니다 (Redis 서버 시간을 사용하면 SERVER_TIME)
+        long now = scriptNow();
         
-        // 타이머로 실행 시간 측정 시작
-        Timer.Sample sample = Timer.start(meterRegistry);
+        // 키 이름 생성 (예: leaky_bucket:{user_123})
+        String redisKey = RedisKeys.of("leaky_bucket:", key);
         
-        try {
-            // 현재 시간을 밀리초 단위로 가져옵니다
-            long now = Instant.now().toEpochMilli();
-            
-            // 키 이름 생성 (예: leaky_bucket:user_123)
-            String redisKey = "leaky_bucket:" + key;
-            
-            // 처리 속도 계산 (요청/초)
-            double rate = (double) limit / period;
-            
-            // Lua 스크립트 실행에 필요한 키와 인자 준비
-            List<String> keys = Collections.singletonList(redisKey);
-            Object[] args = { now, limit, rate };
-            
-            // Lua 스크립트 실행 및 결과 저장
-            boolean allowed = Boolean.TRUE.equals(redisTemplate.execute(leakyBucketScript, keys, args));
-            
-            // 결과에 따라 적절한 카운터 증가
-            if (allowed) {
-                allowedRequestsCounter.increment();
-            } else {
-                rejectedRequestsCounter.increment();
-            }
-            
-            return allowed;
-        } finally {
-            // 타이머로 실행 시간 측정 종료 및 기록
-            sample.stop(rateLimitTimer);
-        }
+        // 처리 속도 계산 (요청/초)
+        double rate = (double) limit / period;
+        
+        // Lua 스크립트 실행에 필요한 키와 인자 준비
+        return invocation(redisKey, arg(now), arg(limit), arg(rate), arg(permits));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package project.springratelimiter.ratelimiter.service;
+
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.stereotype.Service;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.factory.RateLimiterFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Lettuce 리액티브 명령을 사용한 ReactiveRateLimiterService 구현.
+ * Redis 백엔드 규칙은 차단 서비스와 같은 Lua 스크립트와 인자를 사용하되 리액티브 연결로 실행하고,
+ * 결과는 해당 차단 서비스의 메트릭에 함께 기록합니다.
+ * 인메모리 백엔드는 I/O가 없으므로 호출 스레드에서 바로 판단하고,
+ * 니어 캐시 백엔드는 동기 임대가 스레드를 차단할 수 있으므로 boundedElastic 스케줄러에서 판단합니다.
+ * 셰이핑 판단은 누수 버킷 서비스의 셰이핑 스크립트 호출을 리액티브 연결로 실행합니다.
+ */
+@Service
+public class LettuceReactiveRateLimiterService implements ReactiveRateLimiterService {
+
+    private final RateLimiterFactory rateLimiterFactory;
+    private final ReactiveRedisConnectionFactory connectionFactory;
+
+    /**
+     * RateLimiterFactory와 리액티브 Redis 연결 팩토리를 사용하여 서비스를 생성합니다.
+     *
+     * @param rateLimiterFactory 속도 제한 알고리즘에 따라 적절한 서비스를 제공하는 팩토리
+     * @param connectionFactory 리액티브 Redis 연결 팩토리
+     */
+    public LettuceReactiveRateLimiterService(RateLimiterFactory rateLimiterFactory,
+                                             ReactiveRedisConnectionFactory connectionFactory) {
+        this.rateLimiterFactory = rateLimiterFactory;
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * 주어진 규칙에 대한 요청이 속도 제한을 초과하는지 확인합니다.
+     *
+     * @param spec 평가할 속도 제한 규칙
+     * @return 판단 결과
+     */
+    @Override
+    public Mono<RateLimitDecision> acquire(LimitSpec spec) {
+        RateLimiterService service = rateLimiterFactory.getRateLimiter(spec.algorithm(), spec.backend());
+
+        if (service instanceof AbstractRedisRateLimiterService redisService) {
+            return Mono.defer(() -> {
+                // Lua 스크립트 실행에 필요한 키와 인자 준비
+                RedisScriptInvocation invocation = redisService.prepare(
+                        spec.key(), spec.permits(), spec.limit(), spec.period());
+                long start = System.nanoTime();
+
+                return RedisScriptExecutor.executeReactive(connectionFactory, invocation)
+                        .map(result -> redisService.decode(result, spec.limit()))
+                        .defaultIfEmpty(RateLimitDecision.of(false, spec.limit()))
+                        .doOnNext(decision -> redisService.recordExternal(decision.allowed(), System.nanoTime() - start));
+            });
+        }
+
+        Mono<RateLimitDecision> decision = Mono.fromSupplier(() ->
+                service.acquire(spec.key(), spec.permits(), spec.limit(), spec.period()));
+
+        if (spec.backend() == RateLimit.Backend.NEAR_CACHE) {
+            return decision.subscribeOn(Schedulers.boundedElastic());
+        }
+        return decision;
+    }
+
+    /**
+     * 셰이핑 규칙의 요청에 대기열 자리를 배정하고, 자기 차례까지 기다려야 할 시간을 함께 반환합니다.
+     *
+     * @param spec 평가할 속도 제한 규칙
+     * @param maxDelayMillis 요청이 기다릴 수 있는 최대 시간 (밀리초)
+     * @return 셰이핑 판단 결과
+     * @throws IllegalArgumentException 규칙의 알고리즘과 백엔드가 셰이핑을 지원하지 않는 경우
+     */
+    @Override
+    public Mono<ShapingDecision> shape(LimitSpec spec, long maxDelayMillis) {
+        RateLimiterService service = rateLimiterFactory.getRateLimiter(spec.algorithm(), spec.backend());
+        if (!(service instanceof LeakyBucketRateLimiterService leakyBucketService)) {
+            return Mono.error(new IllegalArgumentException("셰이핑을 지원하지 않는 알고리즘과 백엔드입니다: "
+                    + spec.algorithm() + "/" + spec.backend()));
+        }
+
+        return Mono.defer(() -> {
+            RedisScriptInvocation invocation = leakyBucketService.prepareShaping(
+                    spec.key(), spec.permits(), spec.limit(), spec.period(), maxDelayMillis);
+            long start = System.nanoTime();
+
+            return RedisScriptExecutor.executeReactive(connectionFactory, invocation)
+                    .map(result -> leakyBucketService.decodeShaping(result, spec.limit()))
+                    .defaultIfEmpty(ShapingDecision.immediate(RateLimitDecision.of(false, spec.limit())))
+                    .doOnNext(decision -> leakyBucketService.recordShaping(decision, System.nanoTime() - start));
+        });
+    }
+}
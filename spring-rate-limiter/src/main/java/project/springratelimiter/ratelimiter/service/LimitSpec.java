@@ -0,0 +1,31 @@
+package project.springratelimiter.ratelimiter.service;
+
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+
+/**
+ * 한 번의 판단에서 함께 평가할 속도 제한 규칙 하나.
+ * 같은 엔드포인트에 IP별, 사용자별, 메서드별 제한을 겹쳐 적용할 때 규칙마다 하나씩 생성합니다.
+ *
+ * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+ * @param limit 허용된 요청 수
+ * @param period 시간 기간(초)
+ * @param algorithm 사용할 속도 제한 알고리즘
+ * @param backend 속도 제한 판단을 수행할 백엔드
+ * @param permits 이 요청이 소비할 허용량 (1 이상)
+ */
+public record LimitSpec(String key, long limit, long period, RateLimit.Algorithm algorithm, RateLimit.Backend backend,
+                        long permits) {
+
+    /**
+     * 허용량 1개를 소비하는 규칙을 생성합니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param limit 허용된 요청 수
+     * @param period 시간 기간(초)
+     * @param algorithm 사용할 속도 제한 알고리즘
+     * @param backend 속도 제한 판단을 수행할 백엔드
+     */
+    public LimitSpec(String key, long limit, long period, RateLimit.Algorithm algorithm, RateLimit.Backend backend) {
+        this(key, limit, period, algorithm, backend, 1);
+    }
+}
@@ -0,0 +1,388 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis 속도 제한기 앞에 노드 로컬 허용량 계층(near-cache)을 두는 하이브리드 속도 제한 서비스 구현.
+ * 각 노드는 키별 허용량을 Redis에서 묶음(chunk) 단위로 임대해 로컬에서 소비하고,
+ * 남은 허용량이 적어지면 비동기로 다음 묶음을 미리 임대합니다.
+ * 제한보다 충분히 적게 호출하는 키는 로컬 허용량으로, 예산을 모두 소진한 키는 윈도우 종료까지 로컬에서 거부하므로
+ * 대부분의 요청이 Redis 왕복 없이 판단됩니다.
+ */
+@Service
+public class NearCacheRateLimiterService implements RateLimiterService {
+
+    private static final Logger log = LoggerFactory.getLogger(NearCacheRateLimiterService.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CachedRedisScript quotaLeaseScript;
+    private final MeterRegistry meterRegistry;
+
+    // 키별 로컬 허용량
+    private final ConcurrentHashMap<String, LocalAllowance> allowances = new ConcurrentHashMap<>();
+
+    // 비동기 임대를 수행하는 실행기
+    private final ExecutorService leaseExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 제한 대비 한 번에 임대할 허용량 비율
+    private final double leaseRatio;
+
+    // 임대량 대비 남은 허용량이 이 비율 이하가 되면 다음 묶음을 미리 임대
+    private final double prefetchRatio;
+
+    // 메트릭 정의
+    private final Counter totalRequestsCounter;
+    private final Counter localAllowedCounter;
+    private final Counter localRejectedCounter;
+    private final Counter remoteAllowedCounter;
+    private final Counter remoteRejectedCounter;
+    private final Counter syncLeaseCounter;
+    private final Counter asyncLeaseCounter;
+    private final Counter leaseFailureCounter;
+    private final Counter grantedTokensCounter;
+    private final Counter expiredTokensCounter;
+    private final Timer leaseTimer;
+
+    /**
+     * Redis 템플릿, 임대 스크립트, 메트릭 레지스트리를 사용하여 NearCacheRateLimiterService를 생성합니다.
+     *
+     * @param redisTemplate Redis 작업을 위한 템플릿
+     * @param quotaLeaseScript 허용량 임대 로직을 구현한 Lua 스크립트
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     * @param leaseRatio 제한 대비 한 번에 임대할 허용량 비율
+     * @param prefetchRatio 다음 묶음을 미리 임대하기 시작하는 남은 허용량 비율
+     */
+    public NearCacheRateLimiterService(RedisTemplate<String, Object> redisTemplate,
+                                       RedisScript<Long> quotaLeaseScript,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${rate-limiter.near-cache.lease-ratio:0.1}") double leaseRatio,
+                                       @Value("${rate-limiter.near-cache.prefetch-ratio:0.5}") double prefetchRatio) {
+        this.redisTemplate = redisTemplate;
+        this.quotaLeaseScript = CachedRedisScript.of(quotaLeaseScript);
+        this.meterRegistry = meterRegistry;
+        this.leaseRatio = leaseRatio;
+        this.prefetchRatio = prefetchRatio;
+
+        // 메트릭 초기화
+        this.totalRequestsCounter = Counter.builder("near_cache_rate_limiter.requests.total")
+                .description("니어 캐시 속도 제한 요청 총 횟수")
+                .register(meterRegistry);
+
+        this.localAllowedCounter = decisionCounter("local", "allowed", "로컬 허용량으로 허용된 요청 횟수");
+        this.localRejectedCounter = decisionCounter("local", "rejected", "예산 소진 상태로 로컬에서 거부된 요청 횟수");
+        this.remoteAllowedCounter = decisionCounter("remote", "allowed", "Redis 임대 후 허용된 요청 횟수");
+        this.remoteRejectedCounter = decisionCounter("remote", "rejected", "Redis 임대 실패로 거부된 요청 횟수");
+
+        this.syncLeaseCounter = Counter.builder("near_cache_rate_limiter.lease.requests")
+                .description("Redis 허용량 임대 요청 횟수")
+                .tag("mode", "sync")
+                .register(meterRegistry);
+
+        this.asyncLeaseCounter = Counter.builder("near_cache_rate_limiter.lease.requests")
+                .description("Redis 허용량 임대 요청 횟수")
+                .tag("mode", "async")
+                .register(meterRegistry);
+
+        this.leaseFailureCounter = Counter.builder("near_cache_rate_limiter.lease.failures")
+                .description("Redis 오류로 실패한 비동기 임대 횟수")
+                .register(meterRegistry);
+
+        this.grantedTokensCounter = Counter.builder("near_cache_rate_limiter.lease.tokens.granted")
+                .description("Redis에서 임대한 허용량 합계")
+                .register(meterRegistry);
+
+        // 윈도우가 끝날 때까지 사용되지 않고 버려진 허용량 (노드 간 허용량 편중으로 인한 정확도 손실)
+        this.expiredTokensCounter = Counter.builder("near_cache_rate_limiter.lease.tokens.expired")
+                .description("사용되지 않고 만료된 임대 허용량 합계")
+                .register(meterRegistry);
+
+        this.leaseTimer = Timer.builder("near_cache_rate_limiter.lease.time")
+                .description("Redis 허용량 임대 실행 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 판단 위치(local/remote)와 결과(allowed/rejected) 태그가 붙은 판단 카운터를 생성합니다.
+     */
+    private Counter decisionCounter(String source, String outcome, String description) {
+        return Counter.builder("near_cache_rate_limiter.decisions")
+                .description(description)
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 니어 캐시 백엔드의 FIXED_WINDOW 규칙만 평가합니다.
+     *
+     * @param spec 확인할 속도 제한 규칙
+     * @return 규칙이 니어 캐시 백엔드의 FIXED_WINDOW 규칙이면 true
+     */
+    @Override
+    public boolean supports(LimitSpec spec) {
+        return spec.backend() == RateLimit.Backend.NEAR_CACHE && spec.algorithm() == RateLimit.Algorithm.FIXED_WINDOW;
+    }
+
+    /**
+     * 주어진 키에 대해 허용량 permits개를 소비하는 요청이 속도 제한을 초과하는지 확인합니다.
+     * 로컬 허용량이 충분하면 Redis에 묻지 않고 허용하고, 이번 윈도우의 예산이 소진되었으면 Redis에 묻지 않고 거부합니다.
+     * 두 경우가 모두 아닐 때만 Redis에서 새 묶음(최소 permits개)을 동기로 임대합니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
+     * @param limit 허용된 요청 수
+     * @param period 시간 기간(초)
+     * @return 요청이 속도 제한 내에 있으면 true, 그렇지 않으면 false
+     */
+    @Override
+    public boolean tryAcquire(String key, long permits, long limit, long period) {
+        return tryAcquire(key, permits, limit, period, System.currentTimeMillis());
+    }
+
+    /**
+     * 주어진 키에 대해 허용량 permits개를 소비하는 요청이 속도 제한을 초과하는지 확인하고,
+     * 윈도우 종료 시각을 초기화 시각과 재시도 시각으로 함께 반환합니다.
+     * 예산은 고정 윈도우 단위로 임대되므로 거부된 요청은 윈도우가 끝나야 다시 허용됩니다.
+     * 다른 노드가 임대한 허용량은 알 수 없으므로 남은 요청 수는 UNKNOWN입니다. (응답 헤더에서 생략)
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
+     * @param limit 허용된 요청 수
+     * @param period 시간 기간(초)
+     * @return 판단 결과
+     */
+    @Override
+    public RateLimitDecision acquire(String key, long permits, long limit, long period) {
+        long now = System.currentTimeMillis();
+        boolean allowed = tryAcquire(key, permits, limit, period, now);
+        long windowEnd = (now / (period * 1000) + 1) * (period * 1000);
+        return new RateLimitDecision(allowed, limit, RateLimitDecision.UNKNOWN, windowEnd, allowed ? 0 : windowEnd - now);
+    }
+
+    private boolean tryAcquire(String key, long permits, long limit, long period, long now) {
+        // 총 요청 카운터 증가
+        totalRequestsCounter.increment();
+
+        long periodMillis = period * 1000;
+        long windowIndex = now / periodMillis;
+        long windowStart = windowIndex * periodMillis;
+
+        LocalAllowance allowance = allowances.computeIfAbsent(key, k -> new LocalAllowance());
+
+        // 로컬 허용량이 충분하면 소비 (지난 윈도우에서 임대한 허용량은 폐기)
+        long remaining = allowance.tryConsume(windowIndex, permits);
+        if (remaining >= 0) {
+            localAllowedCounter.increment();
+            if (remaining <= (long) (chunkSize(limit) * prefetchRatio) && now >= allowance.blockedUntil) {
+                prefetch(key, allowance, limit, windowStart, periodMillis);
+            }
+            return true;
+        }
+
+        // 이미 예산을 소진한 윈도우라면 로컬에서 거부
+        if (now < allowance.blockedUntil) {
+            localRejectedCounter.increment();
+            return false;
+        }
+
+        // 로컬 허용량이 없으면 Redis에서 동기로 임대
+        syncLeaseCounter.increment();
+        long granted = lease(key, allowance, Math.max(chunkSize(limit), permits), limit, windowStart, periodMillis);
+        if (granted > 0 && allowance.tryConsume(windowIndex, permits) >= 0) {
+            remoteAllowedCounter.increment();
+            return true;
+        }
+
+        remoteRejectedCounter.increment();
+        return false;
+    }
+
+    /**
+     * 남은 허용량이 적어졌을 때 다음 묶음을 비동기로 임대합니다.
+     * 키마다 동시에 하나의 비동기 임대만 수행합니다.
+     */
+    private void prefetch(String key, LocalAllowance allowance, long limit, long windowStart, long periodMillis) {
+        if (!allowance.prefetching.compareAndSet(false, true)) {
+            return;
+        }
+        asyncLeaseCounter.increment();
+        leaseExecutor.execute(() -> {
+            try {
+                lease(key, allowance, chunkSize(limit), limit, windowStart, periodMillis);
+            } catch (RuntimeException e) {
+                // 비동기 임대 실패는 다음 요청의 동기 임대로 복구되므로 기록만 남김
+                leaseFailureCounter.increment();
+                log.warn("니어 캐시 허용량 비동기 임대에 실패했습니다. key={}", key, e);
+            } finally {
+                allowance.prefetching.set(false);
+            }
+        });
+    }
+
+    /**
+     * Redis에서 현재 윈도우의 허용량을 최대 chunk개 임대하여 로컬 허용량에 더합니다.
+     *
+     * @return 임대된 허용량 수 (예산이 소진되었으면 0)
+     */
+    private long lease(String key, LocalAllowance allowance, long chunk, long limit,
+                       long windowStart, long periodMillis) {
+        long ttl = Math.max(1, windowStart + periodMillis - System.currentTimeMillis());
+
+        // 키 이름 생성 (예: near_cache:{user_123}:1627776000000)
+        byte[][] keysAndArgs = {
+                RedisScriptCodec.key(RedisKeys.of("near_cache:", key, windowStart)),
+                RedisScriptCodec.number(limit),
+                RedisScriptCodec.number(chunk),
+                RedisScriptCodec.number(ttl)
+        };
+        RedisScriptInvocation invocation = new RedisScriptInvocation(quotaLeaseScript, 1, keysAndArgs);
+
+        Object granted = leaseTimer.record(() -> RedisScriptExecutor.execute(redisTemplate, invocation));
+        long result = granted instanceof Long count ? count : 0;
+        if (result > 0) {
+            grantedTokensCounter.increment(result);
+            allowance.add(windowStart / periodMillis, windowStart + periodMillis, result);
+        } else {
+            // 이번 윈도우의 예산이 모두 소진되었으므로 윈도우 종료까지 로컬에서 거부
+            allowance.blockedUntil = windowStart + periodMillis;
+        }
+        return result;
+    }
+
+    /**
+     * 제한에 임대 비율을 곱해 한 번에 임대할 허용량을 계산합니다. (최소 1, 최대 limit)
+     */
+    private long chunkSize(long limit) {
+        return Math.max(1, Math.min(limit, (long) Math.ceil(limit * leaseRatio)));
+    }
+
+    /**
+     * 윈도우가 지나 더 이상 사용되지 않는 로컬 허용량을 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${rate-limiter.near-cache.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        allowances.entrySet().removeIf(entry -> entry.getValue().isIdle(now));
+    }
+
+    /**
+     * 비동기 임대 실행기를 종료합니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        leaseExecutor.shutdown();
+    }
+
+    /**
+     * 키별 로컬 허용량 상태.
+     * 윈도우 번호(상위 32비트)와 남은 허용량(하위 32비트)을 하나의 long에 담아 CAS로 함께 갱신하므로
+     * 윈도우가 바뀌는 순간에도 지난 윈도우의 허용량이 새 윈도우에서 소비되지 않습니다.
+     */
+    private final class LocalAllowance {
+
+        private static final long TOKEN_MASK = 0xFFFFFFFFL;
+
+        // 윈도우 번호와 남은 허용량
+        private final AtomicLong state = new AtomicLong();
+
+        // 비동기 임대 진행 여부
+        private final AtomicBoolean prefetching = new AtomicBoolean();
+
+        // 마지막으로 임대한 윈도우의 종료 시각 (밀리초)
+        private volatile long windowEnd;
+
+        // 예산이 소진되어 로컬에서 거부할 시각 (밀리초)
+        private volatile long blockedUntil;
+
+        /**
+         * 현재 윈도우의 허용량 permits개를 소비합니다. 허용량이 부족하면 소비하지 않습니다.
+         * 지난 윈도우의 허용량이 남아 있으면 폐기하고 만료 메트릭에 기록합니다.
+         *
+         * @param windowIndex 현재 윈도우 번호
+         * @param permits 소비할 허용량
+         * @return 소비 후 남은 허용량, 허용량이 부족하면 -1
+         */
+        long tryConsume(long windowIndex, long permits) {
+            while (true) {
+                long current = state.get();
+                long tokens = current & TOKEN_MASK;
+                if ((current >>> 32) != windowIndex) {
+                    if (state.compareAndSet(current, windowIndex << 32)) {
+                        expire(tokens);
+                        return -1;
+                    }
+                    continue;
+                }
+                if (tokens < permits) {
+                    return -1;
+                }
+                if (state.compareAndSet(current, current - permits)) {
+                    return tokens - permits;
+                }
+            }
+        }
+
+        /**
+         * 임대한 허용량을 더합니다. 그 사이 윈도우가 바뀌었다면 임대분은 바로 만료 처리합니다.
+         *
+         * @param windowIndex 임대한 윈도우 번호
+         * @param windowEnd 임대한 윈도우의 종료 시각 (밀리초)
+         * @param granted 임대된 허용량
+         */
+        void add(long windowIndex, long windowEnd, long granted) {
+            while (true) {
+                long current = state.get();
+                long currentIndex = current >>> 32;
+                if (currentIndex > windowIndex) {
+                    expire(granted);
+                    return;
+                }
+                long tokens = current & TOKEN_MASK;
+                long base = currentIndex == windowIndex ? tokens : 0;
+                long next = Math.min(TOKEN_MASK, base + granted);
+                if (state.compareAndSet(current, (windowIndex << 32) | next)) {
+                    if (currentIndex != windowIndex) {
+                        expire(tokens);
+                    }
+                    this.windowEnd = windowEnd;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 윈도우가 끝났고 거부 상태도 아니어서 정리해도 되는지 확인합니다.
+         * 정리 대상이면 남아 있던 허용량을 만료 처리합니다.
+         */
+        boolean isIdle(long now) {
+            if (now < windowEnd || now < blockedUntil || prefetching.get()) {
+                return false;
+            }
+            expire(state.get() & TOKEN_MASK);
+            return true;
+        }
+
+        private void expire(long tokens) {
+            if (tokens > 0) {
+                expiredTokensCounter.increment(tokens);
+            }
+        }
+    }
+}
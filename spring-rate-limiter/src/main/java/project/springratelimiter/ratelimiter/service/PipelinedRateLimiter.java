@@ -0,0 +1,141 @@
+package project.springratelimiter.ratelimiter.service;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import project.springratelimiter.ratelimiter.factory.RateLimiterFactory;
+import project.springratelimiter.ratelimiter.resilience.RateLimiterResilience;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * 알고리즘과 백엔드가 서로 다른 여러 속도 제한 규칙을 한 번에 평가하는 컴포넌트.
+ * Redis 백엔드 규칙은 알고리즘과 관계없이 모두 하나의 파이프라인으로 묶어 한 번의 Redis 왕복으로 평가하고,
+ * 그 밖의 백엔드 규칙은 해당 서비스에서 바로 평가합니다.
+ * 저하 모드 판단 함수를 받은 호출에서는 파이프라인 실행을 RateLimiterResilience로 감싸,
+ * Redis 장애 시 파이프라인에 포함된 규칙만 그 함수로 판단합니다. (나머지 규칙은 이미 평가되었으므로 다시 평가하지 않음)
+ */
+@Component
+public class PipelinedRateLimiter {
+
+    private final RateLimiterFactory rateLimiterFactory;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RateLimiterResilience resilience;
+
+    /**
+     * RateLimiterFactory, Redis 템플릿, RateLimiterResilience를 사용하여 PipelinedRateLimiter를 생성합니다.
+     *
+     * @param rateLimiterFactory 속도 제한 알고리즘에 따라 적절한 서비스를 제공하는 팩토리
+     * @param redisTemplate Redis 작업을 위한 템플릿
+     * @param resilience Redis 장애 시 파이프라인 실행을 저하 모드로 전환하는 컴포넌트
+     */
+    public PipelinedRateLimiter(RateLimiterFactory rateLimiterFactory, RedisTemplate<String, Object> redisTemplate,
+                                RateLimiterResilience resilience) {
+        this.rateLimiterFactory = rateLimiterFactory;
+        this.redisTemplate = redisTemplate;
+        this.resilience = resilience;
+    }
+
+    /**
+     * 여러 속도 제한 규칙을 한 번에 평가합니다.
+     * 일부 규칙이 거부되어도 나머지 규칙은 모두 평가되어 허용량을 소비합니다.
+     *
+     * @param specs 함께 평가할 속도 제한 규칙 목록
+     * @return 규칙 순서와 같은 순서의 판단 결과 목록
+     */
+    public List<RateLimitDecision> acquireAll(List<LimitSpec> specs) {
+        List<RateLimiterService> services = new ArrayList<>(specs.size());
+        for (LimitSpec spec : specs) {
+            services.add(rateLimiterFactory.getRateLimiter(spec.algorithm(), spec.backend()));
+        }
+        return acquireAll(specs, services);
+    }
+
+    /**
+     * 규칙마다 이미 선택된 속도 제한 서비스로 여러 규칙을 한 번에 평가합니다.
+     * 메서드별 판단 계획처럼 서비스를 미리 해석해 둔 호출자가 요청마다 팩토리를 조회하지 않도록 사용합니다.
+     *
+     * @param specs 함께 평가할 속도 제한 규칙 목록
+     * @param services 규칙 순서와 같은 순서의 속도 제한 서비스 목록
+     * @return 규칙 순서와 같은 순서의 판단 결과 목록
+     */
+    public List<RateLimitDecision> acquireAll(List<LimitSpec> specs, List<RateLimiterService> services) {
+        return acquireAll(specs, services, null);
+    }
+
+    /**
+     * 규칙마다 이미 선택된 속도 제한 서비스로 여러 규칙을 한 번에 평가하고,
+     * Redis를 사용할 수 없으면 파이프라인에 포함된 규칙을 저하 모드 판단 함수로 판단합니다.
+     *
+     * @param specs 함께 평가할 속도 제한 규칙 목록
+     * @param services 규칙 순서와 같은 순서의 속도 제한 서비스 목록
+     * @param degraded 규칙 번호를 받아 저하 모드 판단을 반환하는 함수 (null이면 Redis 오류를 그대로 전파)
+     * @return 규칙 순서와 같은 순서의 판단 결과 목록
+     */
+    public List<RateLimitDecision> acquireAll(List<LimitSpec> specs, List<RateLimiterService> services,
+                                              IntFunction<RateLimitDecision> degraded) {
+        RateLimitDecision[] results = new RateLimitDecision[specs.size()];
+
+        // Redis 스크립트로 평가할 규칙을 모아 하나의 파이프라인으로 실행
+        List<Integer> pipelinedIndexes = new ArrayList<>();
+        List<AbstractRedisRateLimiterService> pipelinedServices = new ArrayList<>();
+        List<RedisScriptInvocation> invocations = new ArrayList<>();
+
+        for (int i = 0; i < specs.size(); i++) {
+            LimitSpec spec = specs.get(i);
+            RateLimiterService service = services.get(i);
+
+            if (service instanceof AbstractRedisRateLimiterService redisService) {
+                pipelinedIndexes.add(i);
+                pipelinedServices.add(redisService);
+                invocations.add(redisService.prepare(spec.key(), spec.permits(), spec.limit(), spec.period()));
+            } else if (degraded != null && resilience.dependsOnRedis(spec)) {
+                // 니어 캐시처럼 파이프라인 밖에서 Redis를 호출하는 규칙도 같은 회로 차단기로 보호
+                int index = i;
+                results[i] = resilience.execute(
+                        () -> service.acquire(spec.key(), spec.permits(), spec.limit(), spec.period()),
+                        () -> degraded.apply(index));
+            } else {
+                results[i] = service.acquire(spec.key(), spec.permits(), spec.limit(), spec.period());
+            }
+        }
+
+        if (!invocations.isEmpty()) {
+            List<RateLimitDecision> decisions = degraded == null
+                    ? executePipelined(specs, pipelinedIndexes, pipelinedServices, invocations)
+                    : resilience.execute(
+                            () -> executePipelined(specs, pipelinedIndexes, pipelinedServices, invocations),
+                            () -> pipelinedIndexes.stream().map(degraded::apply).toList());
+
+            for (int j = 0; j < decisions.size(); j++) {
+                results[pipelinedIndexes.get(j)] = decisions.get(j);
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 모아 둔 스크립트 호출을 하나의 파이프라인으로 실행하고 판단 결과로 변환합니다.
+     *
+     * @return 파이프라인에 포함된 규칙 순서와 같은 순서의 판단 결과 목록
+     */
+    private List<RateLimitDecision> executePipelined(List<LimitSpec> specs, List<Integer> pipelinedIndexes,
+                                                     List<AbstractRedisRateLimiterService> pipelinedServices,
+                                                     List<RedisScriptInvocation> invocations) {
+        long start = System.nanoTime();
+        List<Object> values = RedisScriptExecutor.executePipelined(redisTemplate, invocations);
+        long elapsed = System.nanoTime() - start;
+
+        List<RateLimitDecision> decisions = new ArrayList<>(values.size());
+        for (int j = 0; j < values.size(); j++) {
+            AbstractRedisRateLimiterService redisService = pipelinedServices.get(j);
+            RateLimitDecision decision = redisService.decode(values.get(j), specs.get(pipelinedIndexes.get(j)).limit());
+            redisService.recordExternal(decision.allowed(), elapsed);
+            decisions.add(decision);
+        }
+        return decisions;
+    }
+}
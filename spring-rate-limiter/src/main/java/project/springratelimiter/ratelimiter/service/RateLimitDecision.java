@@ -0,0 +1,88 @@
+package project.springratelimiter.ratelimiter.service;
+
+import java.util.List;
+
+/**
+ * 속도 제한 판단 결과.
+ * 허용 여부와 함께 남은 요청 수, 초기화 시각, 재시도까지 남은 시간을 담아
+ * 클라이언트가 RateLimit-* / Retry-After 헤더를 보고 정확히 물러설 수 있도록 합니다.
+ * 백엔드가 제공하지 않는 값은 UNKNOWN(-1)입니다.
+ *
+ * @param allowed 요청이 속도 제한 내에 있으면 true
+ * @param limit 허용된 요청 수
+ * @param remaining 이번 판단 이후 남은 요청 수
+ * @param resetAtMillis 허용량이 모두 회복되는 시각 (epoch 밀리초)
+ * @param retryAfterMillis 거부된 경우 다음 요청이 허용될 때까지 남은 시간 (밀리초), 허용된 경우 0
+ */
+public record RateLimitDecision(boolean allowed, long limit, long remaining, long resetAtMillis, long retryAfterMillis) {
+
+    /**
+     * 백엔드가 제공하지 않는 값.
+     */
+    public static final long UNKNOWN = -1;
+
+    /**
+     * 허용 여부만 알려진 판단 결과를 생성합니다.
+     *
+     * @param allowed 허용 여부
+     * @param limit 허용된 요청 수
+     * @return 판단 결과
+     */
+    public static RateLimitDecision of(boolean allowed, long limit) {
+        return new RateLimitDecision(allowed, limit, UNKNOWN, UNKNOWN, allowed ? 0 : UNKNOWN);
+    }
+
+    /**
+     * 속도 제한 Lua 스크립트의 반환값으로 판단 결과를 생성합니다.
+     * 스크립트는 {허용 여부(1/0), 남은 요청 수, 초기화까지 남은 시간(밀리초), 재시도까지 남은 시간(밀리초)}를 반환합니다.
+     *
+     * @param result 스크립트 반환값
+     * @param limit 허용된 요청 수
+     * @param now 현재 시간 (epoch 밀리초)
+     * @return 판단 결과 (반환값이 없거나 형식이 다르면 거부)
+     */
+    static RateLimitDecision fromScriptResult(Object result, long limit, long now) {
+        if (!(result instanceof List<?> values) || values.size() < 4) {
+            return of(false, limit);
+        }
+
+        boolean allowed = toLong(values.get(0)) == 1;
+        long remaining = Math.max(0, toLong(values.get(1)));
+        long resetAfter = Math.max(0, toLong(values.get(2)));
+        long retryAfter = allowed ? 0 : Math.max(0, toLong(values.get(3)));
+        return new RateLimitDecision(allowed, limit, remaining, now + resetAfter, retryAfter);
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    /**
+     * 여러 규칙의 판단 결과 중 클라이언트에게 알려줄 결과 하나를 고릅니다.
+     * 거부된 규칙이 있으면 재시도까지 가장 오래 기다려야 하는 규칙을, 모두 허용되었으면 남은 요청 수가 가장 적은 규칙을 고릅니다.
+     *
+     * @param decisions 규칙 순서와 같은 순서의 판단 결과 목록
+     * @return 선택된 판단 결과의 인덱스
+     */
+    public static int mostRestrictive(List<RateLimitDecision> decisions) {
+        int selected = 0;
+        for (int i = 1; i < decisions.size(); i++) {
+            RateLimitDecision candidate = decisions.get(i);
+            RateLimitDecision current = decisions.get(selected);
+            if (current.allowed() != candidate.allowed()) {
+                if (!candidate.allowed()) {
+                    selected = i;
+                }
+            } else if (candidate.allowed()
+                    ? remainingOrMax(candidate) < remainingOrMax(current)
+                    : candidate.retryAfterMillis() > current.retryAfterMillis()) {
+                selected = i;
+            }
+        }
+        return selected;
+    }
+
+    private static long remainingOrMax(RateLimitDecision decision) {
+        return decision.remaining() == UNKNOWN ? Long.MAX_VALUE : decision.remaining();
+    }
+}
@@ -1,5 +1,11 @@
 package project.springratelimiter.ratelimiter.service;
 
+import org.springframework.core.annotation.AnnotationUtils;
+import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 요청 속도 제한을 위한 서비스 인터페이스.
  * 이 인터페이스는 API 요청의 속도를 제한하는 메서드를 정의합니다.
@@ -7,12 +13,102 @@ package project.springratelimiter.ratelimiter.service;
 public interface RateLimiterService {
 
     /**
-     * 주어진 키에 대한 요청이 속도 제한을 초과하는지 확인합니다.
+     * 주어진 키에 대한 요청이 속도 제한을 초과하는지 확인합니다. 요청은 허용량 1개를 소비합니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param limit 허용된 요청 수
+     * @param period 시간 기간(초)
+     * @return 요청이 속도 제한 내에 있으면 true, 그렇지 않으면 false
+     */
+    default boolean tryAcquire(String key, long limit, long period) {
+        return tryAcquire(key, 1, limit, period);
+    }
+
+    /**
+     * 주어진 키에 대해 허용량 permits개를 소비하는 요청이 속도 제한을 초과하는지 확인합니다.
+     * 허용량이 permits개 이상 남아 있을 때만 허용하며, 거부된 요청은 허용량을 소비하지 않습니다.
      *
      * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
      * @param limit 허용된 요청 수
      * @param period 시간 기간(초)
      * @return 요청이 속도 제한 내에 있으면 true, 그렇지 않으면 false
      */
-    boolean tryAcquire(String key, long limit, long period);
-}
\ No newline at end of file
+    boolean tryAcquire(String key, long permits, long limit, long period);
+
+    /**
+     * 주어진 키에 대한 요청이 속도 제한을 초과하는지 확인하고, 남은 허용량과 재시도 시간을 함께 반환합니다.
+     * 요청은 허용량 1개를 소비합니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param limit 허용된 요청 수
+     * @param period 시간 기간(초)
+     * @return 판단 결과
+     */
+    default RateLimitDecision acquire(String key, long limit, long period) {
+        return acquire(key, 1, limit, period);
+    }
+
+    /**
+     * 주어진 키에 대해 허용량 permits개를 소비하는 요청이 속도 제한을 초과하는지 확인하고,
+     * 남은 허용량과 재시도 시간을 함께 반환합니다.
+     * 기본 구현은 tryAcquire의 허용 여부만 담으며, Redis 기반 구현은 Lua 스크립트가 계산한 값을 모두 담습니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
+     * @param limit 허용된 요청 수
+     * @param period 시간 기간(초)
+     * @return 판단 결과
+     */
+    default RateLimitDecision acquire(String key, long permits, long limit, long period) {
+        return RateLimitDecision.of(tryAcquire(key, permits, limit, period), limit);
+    }
+
+    /**
+     * 여러 키에 대한 요청이 각각 속도 제한을 초과하는지 한 번에 확인합니다.
+     * 기본 구현은 규칙마다 acquire를 차례로 호출하며, Redis 기반 구현은 한 번의 왕복으로 평가합니다.
+     * 일부 규칙이 거부되어도 나머지 규칙은 모두 평가되어 허용량을 소비합니다.
+     * 모든 규칙은 이 서비스의 알고리즘과 백엔드를 선언해야 하며,
+     * 알고리즘이나 백엔드가 섞인 규칙은 PipelinedRateLimiter로 평가합니다.
+     *
+     * @param specs 함께 평가할 속도 제한 규칙 목록
+     * @return 규칙 순서와 같은 순서의 판단 결과 목록
+     * @throws IllegalArgumentException 이 서비스가 평가할 수 없는 알고리즘이나 백엔드의 규칙이 포함된 경우
+     */
+    default List<RateLimitDecision> acquireAll(List<LimitSpec> specs) {
+        requireSupported(specs);
+        List<RateLimitDecision> results = new ArrayList<>(specs.size());
+        for (LimitSpec spec : specs) {
+            results.add(acquire(spec.key(), spec.permits(), spec.limit(), spec.period()));
+        }
+        return results;
+    }
+
+    /**
+     * 규칙이 선언한 알고리즘과 백엔드를 이 서비스가 평가하는지 확인합니다.
+     * 기본 구현은 구현 클래스의 @RateLimiterType을 따르며, 어노테이션이 없으면 모든 규칙을 평가한다고 봅니다.
+     *
+     * @param spec 확인할 속도 제한 규칙
+     * @return 이 서비스가 규칙의 알고리즘과 백엔드를 평가하면 true
+     */
+    default boolean supports(LimitSpec spec) {
+        RateLimiterType type = AnnotationUtils.findAnnotation(getClass(), RateLimiterType.class);
+        return type == null || (type.value() == spec.algorithm() && type.backend() == spec.backend());
+    }
+
+    /**
+     * 모든 규칙을 이 서비스가 평가하는지 확인합니다.
+     * 다른 알고리즘의 규칙이 이 서비스의 스크립트로 조용히 평가되지 않도록 실행 전에 거부합니다.
+     *
+     * @param specs 확인할 속도 제한 규칙 목록
+     * @throws IllegalArgumentException 이 서비스가 평가할 수 없는 규칙이 포함된 경우
+     */
+    default void requireSupported(List<LimitSpec> specs) {
+        for (LimitSpec spec : specs) {
+            if (!supports(spec)) {
+                throw new IllegalArgumentException("이 서비스가 평가할 수 없는 규칙입니다: " + getClass().getSimpleName()
+                        + " " + spec + " (알고리즘이나 백엔드가 섞인 규칙은 PipelinedRateLimiter로 평가)");
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package project.springratelimiter.ratelimiter.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 호출 스레드를 차단하지 않는 속도 제한 서비스 인터페이스.
+ * RateLimiterService와 같은 판단을 수행하지만 결과를 Mono로 반환하므로
+ * WebFlux 이벤트 루프나 가상 스레드에서 Redis 응답을 기다리는 동안 스레드를 점유하지 않습니다.
+ */
+public interface ReactiveRateLimiterService {
+
+    /**
+     * 주어진 규칙에 대한 요청이 속도 제한을 초과하는지 확인합니다.
+     *
+     * @param spec 평가할 속도 제한 규칙
+     * @return 판단 결과
+     */
+    Mono<RateLimitDecision> acquire(LimitSpec spec);
+
+    /**
+     * 셰이핑 규칙의 요청에 대기열 자리를 배정하고, 자기 차례까지 기다려야 할 시간을 함께 반환합니다.
+     *
+     * @param spec 평가할 속도 제한 규칙 (알고리즘의 서비스가 ShapingRateLimiterService여야 함)
+     * @param maxDelayMillis 요청이 기다릴 수 있는 최대 시간 (밀리초)
+     * @return 셰이핑 판단 결과
+     */
+    Mono<ShapingDecision> shape(LimitSpec spec, long maxDelayMillis);
+
+    /**
+     * 여러 규칙을 동시에 평가합니다.
+     * 요청은 하나의 Redis 연결에서 응답을 기다리지 않고 연달아 전송되며,
+     * 일부 규칙이 거부되어도 나머지 규칙은 모두 평가되어 허용량을 소비합니다.
+     *
+     * @param specs 함께 평가할 속도 제한 규칙 목록
+     * @return 규칙 순서와 같은 순서의 판단 결과 목록
+     */
+    default Mono<List<RateLimitDecision>> acquireAll(List<LimitSpec> specs) {
+        return Flux.fromIterable(specs)
+                .flatMapSequential(this::acquire)
+                .collectList();
+    }
+}
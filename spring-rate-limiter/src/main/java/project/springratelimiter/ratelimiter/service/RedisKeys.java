@@ -0,0 +1,74 @@
+package project.springratelimiter.ratelimiter.service;
+
+/**
+ * 속도 제한 Redis 키를 만드는 유틸리티.
+ * 속도 제한 키(사용자 ID, IP 주소 등)를 해시 태그({...})로 감싸 Redis Cluster가 태그 안의 문자열로만 슬롯을 계산하도록 합니다.
+ * 같은 속도 제한 키에서 만든 Redis 키는 접두사나 윈도우 시작 시간이 달라도 항상 같은 슬롯에 위치하므로,
+ * 여러 키를 다루는 Lua 스크립트도 CROSSSLOT 오류 없이 한 노드에서 실행됩니다.
+ * 서로 다른 속도 제한 키(핫 키 분산의 하위 키 포함)는 서로 다른 태그를 가지므로 여러 슬롯으로 분산됩니다.
+ *
+ * Redis는 첫 '{'부터 그 뒤의 첫 '}'까지를 태그로 보므로, 속도 제한 키에 중괄호가 있으면 태그가 키 중간에서 끝나거나 비어
+ * 슬롯이 속도 제한 키 전체로 정해지지 않습니다. 그래서 태그 안에 넣기 전에 '%', '{', '}'를 %25, %7B, %7D로 바꿉니다.
+ * 세 문자가 없는 키는 그대로 사용합니다.
+ */
+final class RedisKeys {
+
+    private RedisKeys() {
+    }
+
+    /**
+     * 접두사와 해시 태그로 감싼 속도 제한 키로 Redis 키를 만듭니다.
+     *
+     * @param prefix 알고리즘별 키 접두사 (예: rate_limit:)
+     * @param key 속도 제한을 적용할 고유 키
+     * @return Redis 키 (예: rate_limit:{user_123})
+     */
+    static String of(String prefix, String key) {
+        return prefix + '{' + escape(key) + '}';
+    }
+
+    /**
+     * 접두사, 해시 태그로 감싼 속도 제한 키, 윈도우 시작 시간으로 Redis 키를 만듭니다.
+     *
+     * @param prefix 알고리즘별 키 접두사 (예: fixed_window:)
+     * @param key 속도 제한을 적용할 고유 키
+     * @param window 윈도우 시작 시간
+     * @return Redis 키 (예: fixed_window:{user_123}:1627776000)
+     */
+    static String of(String prefix, String key, long window) {
+        return prefix + '{' + escape(key) + "}:" + window;
+    }
+
+    /**
+     * 해시 태그 안에 넣을 수 있도록 속도 제한 키의 '%', '{', '}'를 바꿉니다.
+     * '%'도 함께 바꾸므로 서로 다른 키가 같은 태그가 되지 않습니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키
+     * @return 중괄호가 없는 키
+     */
+    static String escape(String key) {
+        int i = 0;
+        while (i < key.length() && !needsEscape(key.charAt(i))) {
+            i++;
+        }
+        if (i == key.length()) {
+            return key;
+        }
+
+        StringBuilder escaped = new StringBuilder(key.length() + 8).append(key, 0, i);
+        for (; i < key.length(); i++) {
+            char c = key.charAt(i);
+            switch (c) {
+                case '%' -> escaped.append("%25");
+                case '{' -> escaped.append("%7B");
+                case '}' -> escaped.append("%7D");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static boolean needsEscape(char c) {
+        return c == '%' || c == '{' || c == '}';
+    }
+}
@@ -2,110 +2,123 @@ package project.springratelimiter.ratelimiter.service;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import project.springratelimiter.ratelimiter.annotation.RateLimit;
 import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
 
-import java.time.Instant;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Redis를 사용한 속도 제한 서비스 구현.
  * 슬라이딩 윈도우 알고리즘을 사용하여 요청 속도를 제한합니다.
+ *
+ * 슬라이딩 윈도우 로그는 허용한 요청마다 Sorted Set 멤버를 하나씩 저장하므로 키당 메모리가 제한(limit)에 비례합니다.
+ * 제한이 rate-limiter.sliding-window.log-limit-threshold보다 큰 키는 요청 로그 대신
+ * 버킷별 요청 수를 담는 Hash(슬라이딩 윈도우 카운터 스크립트)로 판단하여 키당 메모리를 버킷 수로 제한합니다.
+ * 두 표현은 같은 키(rate_limit:{key})를 사용하고, 제한이 바뀌어 키가 다른 표현으로 저장되어 있으면
+ * 스크립트가 그때까지 허용한 요청을 새 표현으로 옮긴 뒤 판단하므로 상태를 잃지 않습니다.
+ * 표현을 옮긴 횟수는 rate_limiter.representation.migrations{representation} 카운터로 기록합니다.
  */
 @Service
 @RateLimiterType(RateLimit.Algorithm.SLIDING_WINDOW)
-public class RedisRateLimiterService implements RateLimiterService {
+public class RedisRateLimiterService extends AbstractRedisRateLimiterService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final RedisScript<Boolean> rateLimiterScript;
-    private final MeterRegistry meterRegistry;
-    
-    // 메트릭 정의
-    private final Counter totalRequestsCounter;
-    private final Counter allowedRequestsCounter;
-    private final Counter rejectedRequestsCounter;
-    private final Timer rateLimitTimer;
+    private static final Logger log = LoggerFactory.getLogger(RedisRateLimiterService.class);
+
+    // 제한이 큰 키에 사용할 버킷 표현 스크립트
+    private final CachedRedisScript bucketedScript;
+
+    // 요청 로그 대신 버킷 표현을 사용하기 시작하는 제한 (이 값보다 크면 버킷 표현)
+    private final long logLimitThreshold;
+
+    // 버킷 표현에서 기간을 나눌 버킷 수
+    private final long buckets;
+
+    // 다른 표현으로 저장된 키를 옮긴 횟수 (옮긴 뒤의 표현별)
+    private final Counter migratedToLog;
+    private final Counter migratedToBucketed;
 
     /**
      * Redis 템플릿, Lua 스크립트, 메트릭 레지스트리를 사용하여 RedisRateLimiterService를 생성합니다.
      *
      * @param redisTemplate Redis 작업을 위한 템플릿
      * @param rateLimiterScript 속도 제한 로직을 구현한 Lua 스크립트
+     * @param slidingWindowBucketedScript 제한이 큰 키에 사용할 버킷 표현 Lua 스크립트
      * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     * @param logLimitThreshold 요청 로그로 판단할 최대 제한
+     * @param buckets 버킷 표현에서 기간을 나눌 버킷 수 (최소 1)
      */
-    public RedisRateLimiterService(RedisTemplate<String, Object> redisTemplate, 
-                                  RedisScript<Boolean> rateLimiterScript,
-                                  MeterRegistry meterRegistry) {
-        this.redisTemplate = redisTemplate;
-        this.rateLimiterScript = rateLimiterScript;
-        this.meterRegistry = meterRegistry;
-        
-        // 메트릭 초기화
-        this.totalRequestsCounter = Counter.builder("rate_limiter.requests.total")
-                .description("속도 제한 요청 총 횟수")
-                .register(meterRegistry);
-                
-        this.allowedRequestsCounter = Counter.builder("rate_limiter.requests.allowed")
-                .description("속도 제한 내에서 허용된 요청 횟수")
-                .register(meterRegistry);
-                
-        this.rejectedRequestsCounter = Counter.builder("rate_limiter.requests.rejected")
-                .description("속도 제한을 초과하여 거부된 요청 횟수")
-                .register(meterRegistry);
-                
-        this.rateLimitTimer = Timer.builder("rate_limiter.execution.time")
-                .description("속도 제한 실행 시간")
-                .register(meterRegistry);
+    public RedisRateLimiterService(RedisTemplate<String, Object> redisTemplate,
+                                  RedisScript<List<Long>> rateLimiterScript,
+                                  RedisScript<List<Long>> slidingWindowBucketedScript,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${rate-limiter.sliding-window.log-limit-threshold:1000}") long logLimitThreshold,
+                                  @Value("${rate-limiter.sliding-window.buckets:60}") long buckets) {
+        super(redisTemplate, rateLimiterScript, meterRegistry, "rate_limiter", "슬라이딩 윈도우");
+        this.bucketedScript = CachedRedisScript.of(slidingWindowBucketedScript);
+        this.logLimitThreshold = logLimitThreshold;
+        this.buckets = Math.max(1, buckets);
+        this.migratedToLog = migrationCounter(meterRegistry, "log");
+        this.migratedToBucketed = migrationCounter(meterRegistry, "bucketed");
     }
 
     /**
-     * 주어진 키에 대한 요청이 속도 제한을 초과하는지 확인합니다.
-     * Redis의 Sorted Set을 사용하여 시간 범위 내의 요청을 추적합니다.
+     * Redis의 Sorted Set을 사용하여 시간 범위 내의 요청을 추적하는 스크립트 호출을 준비합니다.
+     * 제한이 임계값보다 크면 버킷별 요청 수를 Hash에 저장하는 스크립트 호출을 준비합니다.
      *
      * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
      * @param limit 허용된 요청 수
      * @param period 시간 기간(초)
-     * @return 요청이 속도 제한 내에 있으면 true, 그렇지 않으면 false
+     * @return 실행할 스크립트 호출 정보
+     */
+    @Override
+    protected RedisScriptInvocation prepare(String key, long permits, long limit, long period) {
+        // 현재 시간을 밀리초 단위로 가져옵니다 (Redis 서버 시간을 사용하면 SERVER_TIME)
+        long now = scriptNow();
+
+        // 키 이름 생성 (예: rate_limit:{user_123}, 두 표현이 같은 키를 사용)
+        String redisKey = RedisKeys.of("rate_limit:", key);
+
+        if (limit > logLimitThreshold) {
+            // 요청 로그 대신 버킷별 요청 수로 판단 (키당 최대 buckets + 1개 필드)
+            return invocation(bucketedScript, redisKey, arg(now), arg(limit), arg(period * 1000), arg(buckets),
+                    arg(permits));
+        }
+
+        // Lua 스크립트 실행에 필요한 키와 인자 준비 (버킷 수는 버킷 표현으로 저장된 키를 옮길 때 사용)
+        return invocation(redisKey, arg(now), arg(limit), arg(period * 1000), arg(permits), // period를 밀리초로 변환
+                arg(buckets));
+    }
+
+    /**
+     * 스크립트가 다른 표현으로 저장된 키를 옮겼으면(다섯 번째 반환값이 1) 이를 기록한 뒤 판단 결과로 변환합니다.
+     *
+     * @param result 스크립트 반환값
+     * @param limit 허용된 요청 수
+     * @return 판단 결과
      */
     @Override
-    public boolean tryAcquire(String key, long limit, long period) {
-        // 총 요청 카운터 증가
-        totalRequestsCounter.increment();
-        
-        // 타이머로 실행 시간 측정 시작
-        Timer.Sample sample = Timer.start(meterRegistry);
-        
-        try {
-            // 현재 시간을 밀리초 단위로 가져옵니다
-            long now = Instant.now().toEpochMilli();
-            
-            // 키 이름 생성 (예: rate_limit:user_123)
-            String redisKey = "rate_limit:" + key;
-            
-            // Lua 스크립트 실행에 필요한 키와 인자 준비
-            List<String> keys = Collections.singletonList(redisKey);
-            Object[] args = { now, limit, period * 1000 }; // period를 밀리초로 변환
-            
-            // Lua 스크립트 실행 및 결과 저장
-            boolean allowed = Boolean.TRUE.equals(redisTemplate.execute(rateLimiterScript, keys, args));
-            
-            // 결과에 따라 적절한 카운터 증가
-            if (allowed) {
-                allowedRequestsCounter.increment();
-            } else {
-                rejectedRequestsCounter.increment();
-            }
-            
-            return allowed;
-        } finally {
-            // 타이머로 실행 시간 측정 종료 및 기록
-            sample.stop(rateLimitTimer);
+    RateLimitDecision decode(Object result, long limit) {
+        if (result instanceof List<?> values && values.size() > 4
+                && values.get(4) instanceof Number migrated && migrated.longValue() == 1) {
+            boolean bucketed = limit > logLimitThreshold;
+            (bucketed ? migratedToBucketed : migratedToLog).increment();
+            log.info("Migrated sliding window key to {} representation (limit={}, threshold={})",
+                    bucketed ? "bucketed" : "log", limit, logLimitThreshold);
         }
+        return super.decode(result, limit);
+    }
+
+    private static Counter migrationCounter(MeterRegistry meterRegistry, String representation) {
+        return Counter.builder("rate_limiter.representation.migrations")
+                .description("다른 표현으로 저장된 슬라이딩 윈도우 키를 옮긴 횟수")
+                .tag("representation", representation)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package project.springratelimiter.ratelimiter.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 속도 제한 Lua 스크립트의 KEYS와 ARGV를 Redis 프로토콜 바이트로 직접 인코딩하는 유틸리티.
+ * RedisTemplate의 JSON 직렬화 도구를 거치지 않으므로 호출마다 Jackson 생성기와 중간 문자열이 할당되지 않습니다.
+ * 스크립트는 모든 인자를 tonumber로 읽으므로 숫자는 10진수 ASCII로 인코딩합니다.
+ */
+final class RedisScriptCodec {
+
+    private RedisScriptCodec() {
+    }
+
+    /**
+     * Redis 키를 UTF-8 바이트로 인코딩합니다.
+     *
+     * @param key Redis 키
+     * @return 인코딩된 키
+     */
+    static byte[] key(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 정수 인자를 10진수 ASCII 바이트로 인코딩합니다. 중간 문자열을 만들지 않습니다.
+     *
+     * @param value 인코딩할 값
+     * @return 인코딩된 인자 (예: 1627776000 -> "1627776000")
+     */
+    static byte[] number(long value) {
+        if (value == Long.MIN_VALUE) {
+            return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+        }
+
+        boolean negative = value < 0;
+        long remaining = negative ? -value : value;
+
+        // 자릿수 계산
+        int digits = 1;
+        for (long v = remaining; v >= 10; v /= 10) {
+            digits++;
+        }
+
+        byte[] encoded = new byte[negative ? digits + 1 : digits];
+        int index = encoded.length;
+        do {
+            encoded[--index] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+
+        if (negative) {
+            encoded[0] = '-';
+        }
+        return encoded;
+    }
+
+    /**
+     * 실수 인자를 ASCII 바이트로 인코딩합니다. (Lua의 tonumber가 지수 표기도 해석합니다)
+     *
+     * @param value 인코딩할 값
+     * @return 인코딩된 인자 (예: 1.6666666666666666E-4)
+     */
+    static byte[] number(double value) {
+        return Double.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,168 @@
+package project.springratelimiter.ratelimiter.service;
+
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 속도 제한 Lua 스크립트를 Redis 연결에서 직접 실행하는 유틸리티.
+ * 미리 인코딩된 키와 인자를 그대로 전달하고, 캐시된 SHA1로 EVALSHA를 호출합니다.
+ * 스크립트가 Redis에 아직 없으면(NOSCRIPT) EVAL로 한 번 실행하여 스크립트를 적재합니다.
+ * RedisTemplate은 연결을 얻는 데에만 사용하며 템플릿의 직렬화 도구는 사용하지 않습니다.
+ */
+final class RedisScriptExecutor {
+
+    private RedisScriptExecutor() {
+    }
+
+    /**
+     * 스크립트 호출 하나를 실행합니다.
+     *
+     * @param redisTemplate 연결을 얻기 위한 Redis 템플릿
+     * @param invocation 실행할 스크립트 호출 정보
+     * @return 스크립트 반환 유형에 맞는 실행 결과 (Boolean, Long 등)
+     */
+    static Object execute(RedisTemplate<String, Object> redisTemplate, RedisScriptInvocation invocation) {
+        return redisTemplate.execute((RedisCallback<Object>) connection -> {
+            try {
+                return evalSha(connection, invocation);
+            } catch (RuntimeException e) {
+                if (!isNoScript(e)) {
+                    throw e;
+                }
+                return eval(connection, invocation);
+            }
+        });
+    }
+
+    /**
+     * 여러 스크립트 호출을 하나의 파이프라인으로 한 번의 Redis 왕복에서 실행합니다.
+     * NOSCRIPT로 실패한 호출은 실행되지 않았으므로 그 호출만 EVAL 파이프라인으로 다시 실행합니다.
+     * 각 스크립트는 원자적으로 실행되지만 파이프라인 전체가 원자적이지는 않습니다.
+     *
+     * @param redisTemplate 연결을 얻기 위한 Redis 템플릿
+     * @param invocations 실행할 스크립트 호출 목록
+     * @return 호출 순서와 같은 순서의 스크립트 실행 결과 목록
+     */
+    static List<Object> executePipelined(RedisTemplate<String, Object> redisTemplate,
+                                      List<RedisScriptInvocation> invocations) {
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (RedisScriptInvocation invocation : invocations) {
+                    evalSha(connection, invocation);
+                }
+                return null;
+            }, (RedisSerializer<?>) null);
+        } catch (RedisPipelineException e) {
+            results = retryNoScript(redisTemplate, invocations, e);
+        }
+
+        return results;
+    }
+
+    /**
+     * 스크립트 호출 하나를 Lettuce 리액티브 명령으로 실행합니다.
+     * 호출 스레드를 차단하지 않으며, 결과는 Redis 응답을 받은 이벤트 루프 스레드에서 전달됩니다.
+     *
+     * @param connectionFactory 리액티브 Redis 연결 팩토리
+     * @param invocation 실행할 스크립트 호출 정보
+     * @return 스크립트 반환 유형에 맞는 실행 결과 (스크립트가 nil을 반환하면 비어 있음)
+     */
+    static Mono<Object> executeReactive(ReactiveRedisConnectionFactory connectionFactory,
+                                        RedisScriptInvocation invocation) {
+        CachedRedisScript script = invocation.script();
+        byte[][] keysAndArgs = invocation.keysAndArgs();
+        ByteBuffer[] buffers = new ByteBuffer[keysAndArgs.length];
+        for (int i = 0; i < keysAndArgs.length; i++) {
+            buffers[i] = ByteBuffer.wrap(keysAndArgs[i]);
+        }
+
+        return Mono.usingWhen(
+                Mono.fromSupplier(connectionFactory::getReactiveConnection),
+                connection -> connection.scriptingCommands()
+                        .evalSha(script.sha1(), script.returnType(), invocation.numKeys(), buffers)
+                        .next()
+                        .onErrorResume(RedisScriptExecutor::isNoScript, e -> connection.scriptingCommands()
+                                .eval(ByteBuffer.wrap(script.body()), script.returnType(), invocation.numKeys(),
+                                        rewind(buffers))
+                                .next()),
+                ReactiveRedisConnection::closeLater);
+    }
+
+    private static ByteBuffer[] rewind(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            buffer.rewind();
+        }
+        return buffers;
+    }
+
+    /**
+     * 파이프라인에서 NOSCRIPT로 실패한 호출만 EVAL로 다시 실행합니다.
+     * 다른 오류가 포함되어 있으면 원래 예외를 그대로 던집니다.
+     */
+    private static List<Object> retryNoScript(RedisTemplate<String, Object> redisTemplate,
+                                              List<RedisScriptInvocation> invocations,
+                                              RedisPipelineException failure) {
+        List<Object> results = new ArrayList<>(failure.getPipelineResult());
+        if (results.size() != invocations.size()) {
+            throw failure;
+        }
+
+        List<Integer> retryIndexes = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) instanceof Throwable error) {
+                if (!isNoScript(error)) {
+                    throw failure;
+                }
+                retryIndexes.add(i);
+            }
+        }
+
+        List<Object> retried = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int index : retryIndexes) {
+                eval(connection, invocations.get(index));
+            }
+            return null;
+        }, (RedisSerializer<?>) null);
+
+        for (int i = 0; i < retryIndexes.size(); i++) {
+            results.set(retryIndexes.get(i), retried.get(i));
+        }
+        return results;
+    }
+
+    private static Object evalSha(RedisConnection connection, RedisScriptInvocation invocation) {
+        CachedRedisScript script = invocation.script();
+        return connection.scriptingCommands().evalSha(
+                script.sha1(), script.returnType(), invocation.numKeys(), invocation.keysAndArgs());
+    }
+
+    private static Object eval(RedisConnection connection, RedisScriptInvocation invocation) {
+        CachedRedisScript script = invocation.script();
+        return connection.scriptingCommands().eval(
+                script.body(), script.returnType(), invocation.numKeys(), invocation.keysAndArgs());
+    }
+
+    /**
+     * 예외 원인 중에 NOSCRIPT 오류가 있는지 확인합니다.
+     */
+    private static boolean isNoScript(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
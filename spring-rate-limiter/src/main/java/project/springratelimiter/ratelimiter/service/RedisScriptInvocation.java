@@ -0,0 +1,12 @@
+package project.springratelimiter.ratelimiter.service;
+
+/**
+ * 속도 제한 Lua 스크립트 한 번의 호출에 필요한 스크립트와 인코딩된 키, 인자.
+ * 단건 실행과 파이프라인 실행이 같은 호출 정보를 사용하도록 분리했습니다.
+ *
+ * @param script 실행할 Lua 스크립트
+ * @param numKeys keysAndArgs 중 KEYS의 개수
+ * @param keysAndArgs 인코딩된 KEYS와 ARGV (KEYS가 먼저 위치)
+ */
+record RedisScriptInvocation(CachedRedisScript script, int numKeys, byte[][] keysAndArgs) {
+}
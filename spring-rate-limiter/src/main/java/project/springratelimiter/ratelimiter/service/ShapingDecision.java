@@ -0,0 +1,39 @@
+package project.springratelimiter.ratelimiter.service;
+
+import java.util.List;
+
+/**
+ * 트래픽 셰이핑 판단 결과.
+ * 허용된 요청은 바로 실행되지 않고 delayMillis만큼 기다린 뒤 실행되어야 대기열의 처리 속도가 지켜집니다.
+ *
+ * @param decision 속도 제한 판단 결과
+ * @param delayMillis 허용된 요청이 실행 전에 기다려야 할 시간 (밀리초), 거부된 경우 0
+ */
+public record ShapingDecision(RateLimitDecision decision, long delayMillis) {
+
+    /**
+     * 기다리지 않는 판단 결과를 생성합니다. (Redis 장애 시 실패 정책에 따른 판단 등)
+     *
+     * @param decision 속도 제한 판단 결과
+     * @return 대기 시간이 0인 셰이핑 판단 결과
+     */
+    public static ShapingDecision immediate(RateLimitDecision decision) {
+        return new ShapingDecision(decision, 0);
+    }
+
+    /**
+     * 셰이핑 Lua 스크립트의 반환값으로 판단 결과를 생성합니다.
+     * 스크립트는 RateLimitDecision의 네 값 뒤에 다섯 번째 값으로 대기 시간(밀리초)을 반환합니다.
+     *
+     * @param result 스크립트 반환값
+     * @param limit 허용된 요청 수
+     * @param now 현재 시간 (epoch 밀리초)
+     * @return 셰이핑 판단 결과 (대기 시간이 없으면 0)
+     */
+    static ShapingDecision fromScriptResult(Object result, long limit, long now) {
+        RateLimitDecision decision = RateLimitDecision.fromScriptResult(result, limit, now);
+        long delay = decision.allowed() && result instanceof List<?> values && values.size() > 4
+                && values.get(4) instanceof Number number ? Math.max(0, number.longValue()) : 0;
+        return new ShapingDecision(decision, delay);
+    }
+}
@@ -0,0 +1,20 @@
+package project.springratelimiter.ratelimiter.service;
+
+/**
+ * 제한을 초과한 요청을 거부하는 대신 실행 시점을 늦춰 일정한 속도로 내보내는(트래픽 셰이핑) 속도 제한 서비스 인터페이스.
+ * 판단은 요청에 대기열 자리를 배정하고 그 자리의 차례까지 남은 시간을 계산할 뿐이며, 실제로 기다리는 것은 호출하는 쪽의 책임입니다.
+ */
+public interface ShapingRateLimiterService {
+
+    /**
+     * 주어진 키에 대해 허용량 permits개를 소비하는 요청의 대기열 자리를 배정합니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
+     * @param limit 허용된 요청 수 (대기열 크기)
+     * @param period 시간 기간(초)
+     * @param maxDelayMillis 요청이 기다릴 수 있는 최대 시간 (밀리초), 이보다 오래 기다려야 하면 거부
+     * @return 셰이핑 판단 결과
+     */
+    ShapingDecision shape(String key, long permits, long limit, long period, long maxDelayMillis);
+}
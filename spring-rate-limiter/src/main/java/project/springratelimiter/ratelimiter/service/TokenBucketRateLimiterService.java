@@ -1,18 +1,13 @@
 package project.springratelimiter.ratelimiter.service;
 
-import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import project.springratelimiter.ratelimiter.annotation.RateLimit;
 import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
 
-import java.time.Instant;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Redis를 사용한 토큰 버킷 알고리즘 기반 속도 제한 서비스 구현.
@@ -21,17 +16,7 @@ import java.util.concurrent.TimeUnit;
  */
 @Service
 @RateLimiterType(RateLimit.Algorithm.TOKEN_BUCKET)
-public class TokenBucketRateLimiterService implements RateLimiterService {
-
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final RedisScript<Boolean> tokenBucketScript;
-    private final MeterRegistry meterRegistry;
-    
-    // 메트릭 정의
-    private final Counter totalRequestsCounter;
-    private final Counter allowedRequestsCounter;
-    private final Counter rejectedRequestsCounter;
-    private final Timer rateLimitTimer;
+public class TokenBucketRateLimiterService extends AbstractRedisRateLimiterService {
 
     /**
      * Redis 템플릿, Lua 스크립트, 메트릭 레지스트리를 사용하여 TokenBucketRateLimiterService를 생성합니다.
@@ -41,75 +26,32 @@ public class TokenBucketRateLimiterService implements RateLimiterService {
      * @param meterRegistry 메트릭 수집을 위한 레지스트리
      */
     public TokenBucketRateLimiterService(RedisTemplate<String, Object> redisTemplate, 
-                                        RedisScript<Boolean> tokenBucketScript,
+                                        RedisScript<List<Long>> tokenBucketScript,
                                         MeterRegistry meterRegistry) {
-        this.redisTemplate = redisTemplate;
-        this.tokenBucketScript = tokenBucketScript;
-        this.meterRegistry = meterRegistry;
-        
-        // 메트릭 초기화
-        this.totalRequestsCounter = Counter.builder("token_bucket_rate_limiter.requests.total")
-                .description("토큰 버킷 속도 제한 요청 총 횟수")
-                .register(meterRegistry);
-                
-        this.allowedRequestsCounter = Counter.builder("token_bucket_rate_limiter.requests.allowed")
-                .description("토큰 버킷 속도 제한 내에서 허용된 요청 횟수")
-                .register(meterRegistry);
-                
-        this.rejectedRequestsCounter = Counter.builder("token_bucket_rate_limiter.requests.rejected")
-                .description("토큰 버킷 속도 제한을 초과하여 거부된 요청 횟수")
-                .register(meterRegistry);
-                
-        this.rateLimitTimer = Timer.builder("token_bucket_rate_limiter.execution.time")
-                .description("토큰 버킷 속도 제한 실행 시간")
-                .register(meterRegistry);
+        super(redisTemplate, tokenBucketScript, meterRegistry, "token_bucket_rate_limiter", "토큰 버킷");
     }
 
     /**
-     * 주어진 키에 대한 요청이 속도 제한을 초과하는지 확인합니다.
-     * Redis의 Lua 스크립트를 사용하여 토큰 버킷 알고리즘을 구현합니다.
+     * Redis의 Lua 스크립트로 토큰 버킷 알고리즘을 실행하는 스크립트 호출을 준비합니다.
      *
      * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
      * @param limit 버킷의 최대 토큰 수 (버킷 크기)
      * @param period 토큰이 완전히 리필되는 시간(초)
-     * @return 요청이 속도 제한 내에 있으면 true, 그렇지 않으면 false
+     * @return 실행할 스크립트 호출 정보
      */
     @Override
-    public boolean tryAcquire(String key, long limit, long period) {
-        // 총 요청 카운터 증가
-        totalRequestsCounter.increment();
+    protected RedisScriptInvocation prepare(String key, long permits, long limit, long period) {
+        // 현재 시간을 밀리초 단위로 가져옵니다 (Redis 서버 시간을 사용하면 SERVER_TIME)
+        long now = scriptNow();
+        
+        // 키 이름 생성 (예: token_bucket:{user_123})
+        String redisKey = RedisKeys.of("token_bucket:", key);
         
-        // 타이머로 실행 시간 측정 시작
-        Timer.Sample sample = Timer.start(meterRegistry);
+        // 토큰 리필 속도 계산 (토큰/밀리초)
+        double refillRate = (double) limit / (period * 1000);
         
-        try {
-            // 현재 시간을 밀리초 단위로 가져옵니다
-            long now = Instant.now().toEpochMilli();
-            
-            // 키 이름 생성 (예: token_bucket:user_123)
-            String redisKey = "token_bucket:" + key;
-            
-            // 토큰 리필 속도 계산 (토큰/밀리초)
-            double refillRate = (double) limit / (period * 1000);
-            
-            // Lua 스크립트 실행에 필요한 키와 인자 준비
-            List<String> keys = Collections.singletonList(redisKey);
-            Object[] args = { now, limit, refillRate };
-            
-            // Lua 스크립트 실행 및 결과 저장
-            boolean allowed = Boolean.TRUE.equals(redisTemplate.execute(tokenBucketScript, keys, args));
-            
-            // 결과에 따라 적절한 카운터 증가
-            if (allowed) {
-                allowedRequestsCounter.increment();
-            } else {
-                rejectedRequestsCounter.increment();
-            }
-            
-            return allowed;
-        } finally {
-            // 타이머로 실행 시간 측정 종료 및 기록
-            sample.stop(rateLimitTimer);
-        }
+        // Lua 스크립트 실행에 필요한 키와 인자 준비
+        return invocation(redisKey, arg(now), arg(limit), arg(refillRate), arg(permits));
     }
-}
\ No newline at end of file
+}
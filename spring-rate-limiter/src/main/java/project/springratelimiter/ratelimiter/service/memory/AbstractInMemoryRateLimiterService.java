@@ -0,0 +1,160 @@
+package project.springratelimiter.ratelimiter.service.memory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+import project.springratelimiter.ratelimiter.service.RateLimiterService;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis 없이 애플리케이션 메모리에서 판단하는 속도 제한 서비스의 기반 클래스.
+ * 키별 상태를 ConcurrentHashMap에 보관하고, 상태 갱신은 하위 클래스가 primitive long에 대한 CAS로 수행합니다.
+ * 잠금을 사용하지 않으며 기존 키에 대한 tryAcquire 판단은 객체를 할당하지 않습니다.
+ * acquire는 판단 직후의 로컬 상태로 남은 허용량, 초기화 시각, 재시도까지 남은 시간을 계산합니다.
+ * 상태는 판단마다 받은 제한으로 판단하므로, 제한이 바뀌어도(적응형 규칙, 재정의, 저하 모드의 노드별 제한) 상태를 새로 만들지 않습니다.
+ *
+ * @param <S> 키별 상태 유형
+ */
+public abstract class AbstractInMemoryRateLimiterService<S extends InMemoryRateLimitState> implements RateLimiterService {
+
+    // 키별 상태
+    private final ConcurrentHashMap<String, S> states = new ConcurrentHashMap<>();
+
+    private final Clock clock;
+
+    // 메트릭 정의
+    private final Counter totalRequestsCounter;
+    private final Counter allowedRequestsCounter;
+    private final Counter rejectedRequestsCounter;
+
+    /**
+     * 시계와 메트릭 레지스트리를 사용하여 인메모리 속도 제한 서비스를 생성합니다.
+     *
+     * @param clock 현재 시간을 제공하는 시계
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     * @param metricPrefix 메트릭 이름 접두사 (예: in_memory_token_bucket_rate_limiter)
+     * @param displayName 메트릭 설명에 사용할 알고리즘 이름
+     */
+    protected AbstractInMemoryRateLimiterService(Clock clock, MeterRegistry meterRegistry,
+                                                 String metricPrefix, String displayName) {
+        this.clock = clock;
+
+        // 메트릭 초기화
+        this.totalRequestsCounter = Counter.builder(metricPrefix + ".requests.total")
+                .description("인메모리 " + displayName + " 속도 제한 요청 총 횟수")
+                .register(meterRegistry);
+
+        this.allowedRequestsCounter = Counter.builder(metricPrefix + ".requests.allowed")
+                .description("인메모리 " + displayName + " 속도 제한 내에서 허용된 요청 횟수")
+                .register(meterRegistry);
+
+        this.rejectedRequestsCounter = Counter.builder(metricPrefix + ".requests.rejected")
+                .description("인메모리 " + displayName + " 속도 제한을 초과하여 거부된 요청 횟수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주어진 키에 대해 허용량 permits개를 소비하는 요청이 속도 제한을 초과하는지 확인합니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
+     * @param limit 허용된 요청 수
+     * @param period 시간 기간(초)
+     * @return 요청이 속도 제한 내에 있으면 true, 그렇지 않으면 false
+     */
+    @Override
+    public boolean tryAcquire(String key, long permits, long limit, long period) {
+        long now = clock.millis();
+        return tryAcquire(stateFor(key, limit, period * 1000), now, permits, limit);
+    }
+
+    /**
+     * 주어진 키에 대해 허용량 permits개를 소비하는 요청이 속도 제한을 초과하는지 확인하고,
+     * 이 노드의 상태로 계산한 남은 허용량과 재시도 시간을 함께 반환합니다.
+     *
+     * @param key 속도 제한을 적용할 고유 키 (예: 사용자 ID, IP 주소 등)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
+     * @param limit 허용된 요청 수
+     * @param period 시간 기간(초)
+     * @return 판단 결과
+     */
+    @Override
+    public RateLimitDecision acquire(String key, long permits, long limit, long period) {
+        long now = clock.millis();
+        S state = stateFor(key, limit, period * 1000);
+        return state.decision(tryAcquire(state, now, permits, limit), now, permits, limit);
+    }
+
+    /**
+     * 상태에 요청을 반영하고 결과를 메트릭에 기록합니다.
+     */
+    private boolean tryAcquire(S state, long now, long permits, long limit) {
+        // 총 요청 카운터 증가
+        totalRequestsCounter.increment();
+
+        boolean allowed = state.tryAcquire(now, permits, limit);
+
+        // 결과에 따라 적절한 카운터 증가
+        if (allowed) {
+            allowedRequestsCounter.increment();
+        } else {
+            rejectedRequestsCounter.increment();
+        }
+
+        return allowed;
+    }
+
+    /**
+     * 키에 해당하는 상태를 반환합니다.
+     * 상태가 없거나 다른 기간으로 만들어졌으면 새 상태를 생성하고,
+     * 같은 기간의 상태가 제한을 담을 수 없으면 지금까지의 기록을 옮긴 새 상태로 교체합니다. (이 경우에만 객체를 할당)
+     */
+    private S stateFor(String key, long limit, long periodMillis) {
+        S state = states.get(key);
+        if (state != null && state.fits(limit, periodMillis)) {
+            return state;
+        }
+
+        S created = state != null && state.periodMillis == periodMillis
+                ? resizeState(state, limit)
+                : createState(limit, periodMillis);
+        if (state == null) {
+            S existing = states.putIfAbsent(key, created);
+            return existing != null ? existing : created;
+        }
+        return states.replace(key, state, created) ? created : states.getOrDefault(key, created);
+    }
+
+    /**
+     * 주어진 제한과 기간으로 새 상태를 생성합니다.
+     *
+     * @param limit 허용된 요청 수
+     * @param periodMillis 시간 기간(밀리초)
+     * @return 새 상태
+     */
+    protected abstract S createState(long limit, long periodMillis);
+
+    /**
+     * 같은 기간의 기존 상태가 주어진 제한을 담을 수 없을 때 교체할 상태를 생성합니다.
+     * 기본 구현은 새 상태를 생성하며, 제한에 따라 크기가 정해지는 상태는 기존 기록을 옮긴 상태를 반환해야 합니다.
+     *
+     * @param state 기존 상태
+     * @param limit 허용된 요청 수
+     * @return 새 상태
+     */
+    protected S resizeState(S state, long limit) {
+        return createState(limit, state.periodMillis);
+    }
+
+    /**
+     * 더 이상 판단에 영향을 주지 않는 상태를 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${rate-limiter.in-memory.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = clock.millis();
+        states.values().removeIf(state -> state.isIdle(now));
+    }
+}
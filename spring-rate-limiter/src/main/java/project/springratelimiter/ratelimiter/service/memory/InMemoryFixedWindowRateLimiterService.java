@@ -0,0 +1,101 @@
+package project.springratelimiter.ratelimiter.service.memory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 애플리케이션 메모리를 사용한 고정 윈도우 카운터 알고리즘 기반 속도 제한 서비스 구현.
+ * Redis 구현과 같이 시간을 고정된 윈도우로 나누고 각 윈도우 내의 요청 수를 제한합니다.
+ * 윈도우 번호와 요청 수를 하나의 long에 담아 CAS로 함께 갱신합니다.
+ */
+@Service
+@RateLimiterType(value = RateLimit.Algorithm.FIXED_WINDOW, backend = RateLimit.Backend.IN_MEMORY)
+public class InMemoryFixedWindowRateLimiterService
+        extends AbstractInMemoryRateLimiterService<InMemoryFixedWindowRateLimiterService.WindowState> {
+
+    /**
+     * 시계와 메트릭 레지스트리를 사용하여 InMemoryFixedWindowRateLimiterService를 생성합니다.
+     *
+     * @param clock 현재 시간을 제공하는 시계
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     */
+    public InMemoryFixedWindowRateLimiterService(Clock clock, MeterRegistry meterRegistry) {
+        super(clock, meterRegistry, "in_memory_fixed_window_rate_limiter", "고정 윈도우");
+    }
+
+    @Override
+    protected WindowState createState(long limit, long periodMillis) {
+        return new WindowState(periodMillis);
+    }
+
+    /**
+     * 키별 고정 윈도우 상태.
+     * 상위 32비트에 윈도우 번호, 하위 32비트에 윈도우 내 요청 수를 저장합니다.
+     */
+    static final class WindowState extends InMemoryRateLimitState {
+
+        private static final AtomicLongFieldUpdater<WindowState> PACKED =
+                AtomicLongFieldUpdater.newUpdater(WindowState.class, "packed");
+
+        private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+        // (윈도우 번호 << 32) | 윈도우 내 요청 수
+        private volatile long packed;
+
+        WindowState(long periodMillis) {
+            super(periodMillis);
+        }
+
+        @Override
+        boolean tryAcquire(long now, long permits, long limit) {
+            long window = now / periodMillis;
+            long effectiveLimit = Math.min(limit, COUNT_MASK);
+            while (true) {
+                long current = packed;
+                // 윈도우가 바뀌었으면 요청 수를 0부터 다시 계산
+                long count = (current >>> 32) == window ? current & COUNT_MASK : 0;
+                if (count + permits > effectiveLimit) {
+                    return false;
+                }
+                if (PACKED.compareAndSet(this, current, (window << 32) | (count + permits))) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        long remaining(long now, long limit) {
+            return Math.max(0, limit - count(now));
+        }
+
+        @Override
+        long resetAfter(long now) {
+            return count(now) == 0 ? 0 : windowEnd(now) - now;
+        }
+
+        @Override
+        long retryAfter(long now, long permits, long limit) {
+            return permits > limit ? RateLimitDecision.UNKNOWN : windowEnd(now) - now;
+        }
+
+        private long count(long now) {
+            long current = packed;
+            return (current >>> 32) == now / periodMillis ? current & COUNT_MASK : 0;
+        }
+
+        private long windowEnd(long now) {
+            return (now / periodMillis + 1) * periodMillis;
+        }
+
+        @Override
+        boolean isIdle(long now) {
+            return (packed >>> 32) < now / periodMillis;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package project.springratelimiter.ratelimiter.service.memory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
+
+import java.time.Clock;
+
+/**
+ * 애플리케이션 메모리를 사용한 GCRA(Generic Cell Rate Algorithm) 기반 속도 제한 서비스 구현.
+ * 인메모리 토큰 버킷이 이미 이론적 도착 시간(TAT) 하나로 판단하는 GCRA 형태이므로 같은 상태를 사용하고,
+ * 메트릭만 GCRA 이름으로 분리합니다.
+ */
+@Service
+@RateLimiterType(value = RateLimit.Algorithm.GCRA, backend = RateLimit.Backend.IN_MEMORY)
+public class InMemoryGcraRateLimiterService
+        extends AbstractInMemoryRateLimiterService<InMemoryTokenBucketRateLimiterService.BucketState> {
+
+    /**
+     * 시계와 메트릭 레지스트리를 사용하여 InMemoryGcraRateLimiterService를 생성합니다.
+     *
+     * @param clock 현재 시간을 제공하는 시계
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     */
+    public InMemoryGcraRateLimiterService(Clock clock, MeterRegistry meterRegistry) {
+        super(clock, meterRegistry, "in_memory_gcra_rate_limiter", "GCRA");
+    }
+
+    @Override
+    protected InMemoryTokenBucketRateLimiterService.BucketState createState(long limit, long periodMillis) {
+        return new InMemoryTokenBucketRateLimiterService.BucketState(periodMillis);
+    }
+}
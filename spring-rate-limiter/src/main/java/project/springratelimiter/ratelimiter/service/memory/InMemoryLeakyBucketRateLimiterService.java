@@ -0,0 +1,116 @@
+package project.springratelimiter.ratelimiter.service.memory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 애플리케이션 메모리를 사용한 누수 버킷 알고리즘 기반 속도 제한 서비스 구현.
+ * Redis 구현과 같이 대기열 크기는 limit, 처리 속도는 limit/period입니다.
+ * 대기열 크기와 마지막 처리 시간 대신 "대기열이 모두 비워지는 시각" 하나만 저장하고,
+ * 현재 대기열 크기는 (drainedAt - now) / interval 로 계산합니다.
+ */
+@Service
+@RateLimiterType(value = RateLimit.Algorithm.LEAKY_BUCKET, backend = RateLimit.Backend.IN_MEMORY)
+public class InMemoryLeakyBucketRateLimiterService
+        extends AbstractInMemoryRateLimiterService<InMemoryLeakyBucketRateLimiterService.QueueState> {
+
+    /**
+     * 시계와 메트릭 레지스트리를 사용하여 InMemoryLeakyBucketRateLimiterService를 생성합니다.
+     *
+     * @param clock 현재 시간을 제공하는 시계
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     */
+    public InMemoryLeakyBucketRateLimiterService(Clock clock, MeterRegistry meterRegistry) {
+        super(clock, meterRegistry, "in_memory_leaky_bucket_rate_limiter", "누수 버킷");
+    }
+
+    @Override
+    protected QueueState createState(long limit, long periodMillis) {
+        return new QueueState(periodMillis);
+    }
+
+    /**
+     * 키별 누수 버킷 상태.
+     * drainedAt - now는 대기열이 차 있는 비율(기간 대비)이므로 제한이 바뀌면 처리 간격(interval)만 다시 계산하고,
+     * 같은 비율을 새 제한의 대기열 크기로 읽습니다.
+     */
+    static final class QueueState extends InMemoryRateLimitState {
+
+        private static final AtomicLongFieldUpdater<QueueState> DRAINED_AT =
+                AtomicLongFieldUpdater.newUpdater(QueueState.class, "drainedAt");
+
+        // 대기열이 모두 비워지는 시각 (마이크로초)
+        private volatile long drainedAt;
+
+        QueueState(long periodMillis) {
+            super(periodMillis);
+        }
+
+        @Override
+        boolean tryAcquire(long now, long permits, long limit) {
+            if (limit <= 0) {
+                return false;
+            }
+            long intervalMicros = intervalMicros(limit);
+            long nowMicros = now * 1000;
+            while (true) {
+                long current = drainedAt;
+                long backlog = Math.max(0, current - nowMicros);
+
+                // 대기열에 남은 요청이 limit - permits개를 넘으면 자리가 부족하므로 거부
+                if (backlog > (limit - permits) * intervalMicros) {
+                    return false;
+                }
+
+                // 대기열에 요청 추가
+                if (DRAINED_AT.compareAndSet(this, current, nowMicros + backlog + permits * intervalMicros)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        long remaining(long now, long limit) {
+            if (limit <= 0) {
+                return 0;
+            }
+            // 대기열의 빈 자리 (처리 중인 요청은 자리를 차지한 것으로 셈)
+            long intervalMicros = intervalMicros(limit);
+            long backlog = Math.max(0, drainedAt - now * 1000);
+            return Math.max(0, limit - (backlog + intervalMicros - 1) / intervalMicros);
+        }
+
+        @Override
+        long resetAfter(long now) {
+            return ceilMillis(drainedAt - now * 1000);
+        }
+
+        @Override
+        long retryAfter(long now, long permits, long limit) {
+            if (limit <= 0 || permits > limit) {
+                return RateLimitDecision.UNKNOWN;
+            }
+            long backlog = Math.max(0, drainedAt - now * 1000);
+            return ceilMillis(backlog - (limit - permits) * intervalMicros(limit));
+        }
+
+        /**
+         * 요청 하나가 처리되는 데 걸리는 시간을 계산합니다. (마이크로초, 최소 1)
+         */
+        private long intervalMicros(long limit) {
+            return Math.max(1, periodMillis * 1000 / limit);
+        }
+
+        @Override
+        boolean isIdle(long now) {
+            // 대기열이 모두 비워졌으면 상태가 없는 것과 같음
+            return drainedAt <= now * 1000;
+        }
+    }
+}
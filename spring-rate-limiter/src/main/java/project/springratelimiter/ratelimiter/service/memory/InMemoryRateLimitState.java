@@ -0,0 +1,104 @@
+package project.springratelimiter.ratelimiter.service.memory;
+
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+
+/**
+ * 인메모리 속도 제한기가 키마다 유지하는 상태의 기반 클래스.
+ * 상태는 생성 시점의 기간을 기억하며, 같은 키에 다른 기간이 들어오면 새 상태로 교체됩니다.
+ * 제한은 판단마다 받은 값을 사용하므로, 적응형 규칙이나 재정의로 제한이 바뀌어도 지금까지 소비한 허용량이 유지됩니다.
+ * 판단에 필요한 값은 하위 클래스가 primitive long 필드에 담아 CAS로 갱신합니다.
+ */
+public abstract class InMemoryRateLimitState {
+
+    // 시간 기간 (밀리초)
+    protected final long periodMillis;
+
+    /**
+     * 기간으로 상태를 생성합니다.
+     *
+     * @param periodMillis 시간 기간(밀리초)
+     */
+    protected InMemoryRateLimitState(long periodMillis) {
+        this.periodMillis = periodMillis;
+    }
+
+    /**
+     * 이 상태로 주어진 제한과 기간을 판단할 수 있는지 확인합니다.
+     * 기본 구현은 기간만 비교하며, 제한에 따라 크기가 정해지는 상태는 제한이 담을 수 있는 크기를 넘는지도 확인합니다.
+     *
+     * @param limit 허용된 요청 수
+     * @param periodMillis 시간 기간(밀리초)
+     * @return 이 상태를 그대로 사용할 수 있으면 true
+     */
+    boolean fits(long limit, long periodMillis) {
+        return this.periodMillis == periodMillis;
+    }
+
+    /**
+     * 허용량 permits개를 소비하는 요청을 허용할 수 있으면 상태에 반영하고 true를 반환합니다.
+     * 거부된 요청은 상태를 바꾸지 않습니다.
+     *
+     * @param now 현재 시간 (밀리초)
+     * @param permits 이 요청이 소비할 허용량 (1 이상)
+     * @param limit 허용된 요청 수
+     * @return 요청이 속도 제한 내에 있으면 true, 그렇지 않으면 false
+     */
+    abstract boolean tryAcquire(long now, long permits, long limit);
+
+    /**
+     * 판단 직후의 상태로 클라이언트에게 알려줄 판단 결과를 만듭니다.
+     * 상태는 판단과 별도로 다시 읽으므로 같은 키에 동시 요청이 있으면 그 요청의 소비가 반영된 값일 수 있습니다.
+     *
+     * @param allowed 요청 허용 여부
+     * @param now 현재 시간 (밀리초)
+     * @param permits 이 요청이 소비하려 한 허용량
+     * @param limit 허용된 요청 수
+     * @return 남은 허용량, 초기화 시각, 재시도까지 남은 시간을 담은 판단 결과
+     */
+    RateLimitDecision decision(boolean allowed, long now, long permits, long limit) {
+        return new RateLimitDecision(allowed, limit, remaining(now, limit), now + resetAfter(now),
+                allowed ? 0 : retryAfter(now, permits, limit));
+    }
+
+    /**
+     * 지금 바로 소비할 수 있는 허용량을 계산합니다.
+     *
+     * @param now 현재 시간 (밀리초)
+     * @param limit 허용된 요청 수
+     * @return 남은 허용량 (0 이상)
+     */
+    abstract long remaining(long now, long limit);
+
+    /**
+     * 허용량이 모두 회복될 때까지 남은 시간을 계산합니다.
+     *
+     * @param now 현재 시간 (밀리초)
+     * @return 남은 시간 (밀리초, 이미 모두 회복되었으면 0)
+     */
+    abstract long resetAfter(long now);
+
+    /**
+     * 허용량 permits개를 소비하는 요청이 허용될 때까지 남은 시간을 계산합니다.
+     *
+     * @param now 현재 시간 (밀리초)
+     * @param permits 요청이 소비하려는 허용량
+     * @param limit 허용된 요청 수
+     * @return 남은 시간 (밀리초, 제한보다 많은 허용량이라 허용될 수 없으면 RateLimitDecision.UNKNOWN)
+     */
+    abstract long retryAfter(long now, long permits, long limit);
+
+    /**
+     * 마이크로초를 밀리초 단위로 올림합니다. (0보다 작으면 0)
+     */
+    static long ceilMillis(long micros) {
+        return micros <= 0 ? 0 : (micros + 999) / 1000;
+    }
+
+    /**
+     * 상태가 더 이상 판단에 영향을 주지 않아 제거해도 되는지 확인합니다.
+     *
+     * @param now 현재 시간 (밀리초)
+     * @return 제거해도 되면 true
+     */
+    abstract boolean isIdle(long now);
+}
@@ -0,0 +1,181 @@
+package project.springratelimiter.ratelimiter.service.memory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 애플리케이션 메모리를 사용한 슬라이딩 윈도우 카운터 알고리즘 기반 속도 제한 서비스 구현.
+ * Redis 스크립트와 같이 기간을 N개의 버킷으로 나누어 버킷별 요청 수를 저장하고,
+ * 윈도우에 완전히 포함된 버킷은 그대로, 윈도우 시작에 걸친 버킷은 포함된 비율만큼 더한 가중 합계로 판단합니다.
+ * 버킷 수가 1이면 이전/현재 윈도우 두 개로 판단하는 근사와 같습니다.
+ */
+@Service
+@RateLimiterType(value = RateLimit.Algorithm.SLIDING_WINDOW_COUNTER, backend = RateLimit.Backend.IN_MEMORY)
+public class InMemorySlidingWindowCounterRateLimiterService
+        extends AbstractInMemoryRateLimiterService<InMemorySlidingWindowCounterRateLimiterService.CounterState> {
+
+    // 기간을 나눌 버킷 수
+    private final int buckets;
+
+    /**
+     * 시계, 메트릭 레지스트리, 버킷 수를 사용하여 InMemorySlidingWindowCounterRateLimiterService를 생성합니다.
+     *
+     * @param clock 현재 시간을 제공하는 시계
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     * @param buckets 기간을 나눌 버킷 수 (최소 1, Redis 백엔드와 같은 설정을 사용)
+     */
+    public InMemorySlidingWindowCounterRateLimiterService(Clock clock, MeterRegistry meterRegistry,
+                                                          @Value("${rate-limiter.sliding-window-counter.buckets:10}") long buckets) {
+        super(clock, meterRegistry, "in_memory_sliding_window_counter_rate_limiter", "슬라이딩 윈도우 카운터");
+        this.buckets = (int) Math.max(1, buckets);
+    }
+
+    @Override
+    protected CounterState createState(long limit, long periodMillis) {
+        return new CounterState(periodMillis, buckets);
+    }
+
+    /**
+     * 키별 슬라이딩 윈도우 카운터 상태.
+     * 버킷 번호 b의 요청 수는 b % (N + 1) 위치의 슬롯에 상위 40비트 버킷 번호(하위 비트만), 하위 24비트 요청 수로 저장합니다.
+     * 요청은 현재 버킷의 슬롯만 CAS로 갱신하고 지난 버킷의 슬롯은 바뀌지 않으므로,
+     * 판단에 사용한 현재 버킷 값이 그대로일 때만 반영되어 Lua 스크립트와 같이 제한을 넘지 않습니다.
+     * 버킷당 요청 수는 최대 16,777,215로 제한됩니다.
+     */
+    static final class CounterState extends InMemoryRateLimitState {
+
+        private static final int COUNT_BITS = 24;
+        private static final long TAG_MASK = (1L << (64 - COUNT_BITS)) - 1;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+        private final int buckets;
+
+        // 버킷 크기 (밀리초, 최소 1)
+        private final long bucketSize;
+
+        // 버킷별 (버킷 번호 << 24) | 요청 수
+        private final AtomicLongArray slots;
+
+        CounterState(long periodMillis, int buckets) {
+            super(periodMillis);
+            this.buckets = buckets;
+            this.bucketSize = Math.max(1, periodMillis / buckets);
+            this.slots = new AtomicLongArray(buckets + 1);
+        }
+
+        @Override
+        boolean tryAcquire(long now, long permits, long limit) {
+            long current = now / bucketSize;
+            int slot = slot(current);
+            double budget = limit - permits + 1;
+
+            while (true) {
+                long observed = slots.get(slot);
+                long currentCount = count(observed, current);
+
+                // 가중 합계가 budget보다 작아야 허용량을 소비해도 제한을 넘지 않음 (permits가 1이면 제한과 같음)
+                if (weighted(now, current, currentCount) >= budget || currentCount + permits > COUNT_MASK) {
+                    return false;
+                }
+
+                long next = ((current & TAG_MASK) << COUNT_BITS) | (currentCount + permits);
+                if (slots.compareAndSet(slot, observed, next)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        long remaining(long now, long limit) {
+            long current = now / bucketSize;
+            return Math.max(0, (long) Math.floor(limit - weighted(now, current, count(current))));
+        }
+
+        @Override
+        long resetAfter(long now) {
+            // 요청이 있는 가장 최근 버킷이 윈도우에서 완전히 벗어나는 시점
+            long current = now / bucketSize;
+            for (long bucket = current; bucket >= current - buckets; bucket--) {
+                if (count(bucket) > 0) {
+                    return (bucket + buckets + 1) * bucketSize - now;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        long retryAfter(long now, long permits, long limit) {
+            if (permits > limit) {
+                return RateLimitDecision.UNKNOWN;
+            }
+            long current = now / bucketSize;
+            long elapsed = now - current * bucketSize;
+            double budget = limit - permits + 1;
+
+            // 이후 버킷 경계마다 가중 합계가 budget 아래로 내려가는 가장 이른 시점 (Lua 스크립트와 같은 계산)
+            double retryAt = (current + buckets + 1) * bucketSize;
+            for (long step = 0; step <= buckets; step++) {
+                long at = current + step;
+                long atElapsed = step == 0 ? elapsed : 0;
+
+                // 미래 버킷에는 요청이 없으므로 완전히 포함된 버킷 합계는 현재 버킷까지만 계산
+                long full = 0;
+                for (long bucket = at - buckets + 1; bucket <= current; bucket++) {
+                    full += count(bucket);
+                }
+
+                if (full < budget) {
+                    long partial = count(at - buckets);
+                    if (partial * (1 - (double) atElapsed / bucketSize) < budget - full) {
+                        retryAt = at * bucketSize + atElapsed;
+                    } else {
+                        // 걸친 버킷의 가중치가 충분히 줄어드는 시점
+                        retryAt = at * bucketSize + bucketSize * (1 - (budget - full) / partial);
+                    }
+                    break;
+                }
+            }
+            // 가중 합계가 budget과 같은 경계에서도 거부되므로 Lua 스크립트와 같이 최소 1밀리초
+            return Math.max(1, (long) Math.ceil(retryAt - now));
+        }
+
+        /**
+         * 현재 버킷의 요청 수를 currentCount로 보고 윈도우의 가중 합계를 계산합니다.
+         */
+        private double weighted(long now, long current, long currentCount) {
+            long total = currentCount;
+            for (long bucket = current - buckets + 1; bucket < current; bucket++) {
+                total += count(bucket);
+            }
+            double elapsed = (double) (now - current * bucketSize) / bucketSize;
+            return total + count(current - buckets) * (1 - elapsed);
+        }
+
+        private long count(long bucket) {
+            return count(slots.get(slot(bucket)), bucket);
+        }
+
+        /**
+         * 슬롯 값이 주어진 버킷의 값이면 요청 수를, 다른(지난) 버킷의 값이면 0을 반환합니다.
+         */
+        private static long count(long value, long bucket) {
+            return (value >>> COUNT_BITS) == (bucket & TAG_MASK) ? value & COUNT_MASK : 0;
+        }
+
+        private int slot(long bucket) {
+            return (int) Math.floorMod(bucket, (long) buckets + 1);
+        }
+
+        @Override
+        boolean isIdle(long now) {
+            return resetAfter(now) == 0;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package project.springratelimiter.ratelimiter.service.memory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 애플리케이션 메모리를 사용한 슬라이딩 윈도우 로그 알고리즘 기반 속도 제한 서비스 구현.
+ * Redis 구현의 Sorted Set 대신 limit 크기의 링 버퍼에 최근 요청의 타임스탬프를 저장합니다.
+ * 링 버퍼에서 가장 오래된 요청이 기간을 벗어났을 때만 새 요청을 허용하므로 Redis 구현과 같은 결과를 냅니다.
+ * 키마다 limit 개의 long을 미리 할당하므로 제한이 매우 큰 키에서는 메모리 사용량에 주의해야 합니다.
+ */
+@Service
+@RateLimiterType(value = RateLimit.Algorithm.SLIDING_WINDOW, backend = RateLimit.Backend.IN_MEMORY)
+public class InMemorySlidingWindowRateLimiterService
+        extends AbstractInMemoryRateLimiterService<InMemorySlidingWindowRateLimiterService.LogState> {
+
+    /**
+     * 시계와 메트릭 레지스트리를 사용하여 InMemorySlidingWindowRateLimiterService를 생성합니다.
+     *
+     * @param clock 현재 시간을 제공하는 시계
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     */
+    public InMemorySlidingWindowRateLimiterService(Clock clock, MeterRegistry meterRegistry) {
+        super(clock, meterRegistry, "in_memory_sliding_window_rate_limiter", "슬라이딩 윈도우 로그");
+    }
+
+    @Override
+    protected LogState createState(long limit, long periodMillis) {
+        return new LogState(limit, periodMillis);
+    }
+
+    @Override
+    protected LogState resizeState(LogState state, long limit) {
+        return state.resize(limit);
+    }
+
+    /**
+     * 키별 슬라이딩 윈도우 로그 상태.
+     * sequence % capacity 위치에 가장 오래된 요청의 타임스탬프가 있는 링 버퍼입니다.
+     * 제한이 capacity보다 작으면 가장 오래된 (capacity - 제한)개의 자리는 쓰지 않은 것으로 보고 그 다음 자리부터 판단하므로,
+     * 제한이 줄어도 링 버퍼를 다시 만들지 않습니다. 제한이 capacity보다 커질 때만 기록을 옮긴 더 큰 링 버퍼로 교체합니다.
+     * 허용량 여러 개를 소비하는 요청은 슬롯을 하나씩 차지하므로, 경합 중에는 일부 슬롯만 기록하고 허용할 수 있습니다.
+     * (이 노드 안에서만 판단하는 근사치이므로 원자성보다 잠금 없는 판단을 우선합니다.)
+     */
+    static final class LogState extends InMemoryRateLimitState {
+
+        private static final AtomicLongFieldUpdater<LogState> SEQUENCE =
+                AtomicLongFieldUpdater.newUpdater(LogState.class, "sequence");
+
+        // 키 하나가 보관할 수 있는 최대 타임스탬프 수 (약 8MB)
+        private static final int MAX_CAPACITY = 1 << 20;
+
+        private final int capacity;
+
+        // 요청 타임스탬프 링 버퍼 (밀리초)
+        private final AtomicLongArray timestamps;
+
+        // 지금까지 허용된 요청 수 (다음에 덮어쓸 슬롯 위치)
+        private volatile long sequence;
+
+        LogState(long limit, long periodMillis) {
+            super(periodMillis);
+            this.capacity = (int) Math.max(0, Math.min(limit, MAX_CAPACITY));
+            this.timestamps = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                timestamps.set(i, Long.MIN_VALUE);
+            }
+        }
+
+        @Override
+        boolean fits(long limit, long periodMillis) {
+            return super.fits(limit, periodMillis) && (limit <= capacity || capacity == MAX_CAPACITY);
+        }
+
+        /**
+         * 지금까지의 기록을 오래된 순서 그대로 옮긴, 제한을 담을 수 있는 새 상태를 만듭니다.
+         * 옮기는 동안 이 상태에 반영된 요청은 새 상태에 남지 않을 수 있습니다.
+         *
+         * @param limit 허용된 요청 수
+         * @return 새 상태
+         */
+        LogState resize(long limit) {
+            LogState resized = new LogState(limit, periodMillis);
+            int offset = resized.capacity - capacity;
+            long seq = sequence;
+            for (int i = 0; i < capacity; i++) {
+                resized.timestamps.set(offset + i, timestamps.get((int) ((seq + i) % capacity)));
+            }
+            return resized;
+        }
+
+        @Override
+        boolean tryAcquire(long now, long permits, long limit) {
+            long slots = Math.min(limit, capacity);
+            if (permits > slots) {
+                return false;
+            }
+            int unused = (int) (capacity - slots);
+            long expired = now - periodMillis;
+
+            // permits번째로 오래된 요청까지 기간을 벗어났는지 먼저 확인 (링 버퍼는 오래된 순서이므로 앞의 슬롯도 모두 만료됨)
+            if (unused + permits > 1
+                    && timestamps.get((int) ((sequence + unused + permits - 1) % capacity)) > expired) {
+                return false;
+            }
+
+            // 첫 슬롯을 차지하지 못하면 거부하고, 이후 슬롯은 경합으로 실패해도 이미 허용한 요청으로 취급
+            if (!claim(now, expired, unused)) {
+                return false;
+            }
+            for (long i = 1; i < permits; i++) {
+                if (!claim(now, expired, unused)) {
+                    break;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 가장 오래된 요청 자리 하나를 현재 요청으로 차지합니다.
+         *
+         * @param now 현재 시간 (밀리초)
+         * @param expired 이 시간 이하의 요청은 기간을 벗어난 것으로 간주
+         * @param unused 제한이 capacity보다 작아 쓰지 않는 가장 오래된 자리 수
+         * @return 자리를 차지했으면 true, 제한만큼의 요청이 기간 안에 있으면 false
+         */
+        private boolean claim(long now, long expired, int unused) {
+            while (true) {
+                long seq = sequence;
+                int slot = (int) (seq % capacity);
+                long oldest = timestamps.get(slot);
+
+                // 제한 안의 가장 오래된 요청도 기간 안에 있으면 가득 찬 것이므로 거부
+                if (oldest > expired
+                        || (unused > 0 && timestamps.get((int) ((seq + unused) % capacity)) > expired)) {
+                    return false;
+                }
+
+                // 가장 오래된 요청 자리를 차지한 스레드만 sequence를 전진시킴
+                if (timestamps.compareAndSet(slot, oldest, now)) {
+                    if (!SEQUENCE.compareAndSet(this, seq, seq + 1)) {
+                        // 그 사이 버퍼가 한 바퀴 돌아 sequence가 이 슬롯을 가리키면 한 번 더 전진
+                        long current = sequence;
+                        if (current != seq && current % capacity == slot) {
+                            SEQUENCE.compareAndSet(this, current, current + 1);
+                        }
+                    }
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        long remaining(long now, long limit) {
+            if (capacity == 0) {
+                return 0;
+            }
+            // 링 버퍼는 오래된 순서이므로 기간을 벗어난 요청 자리의 수를 이진 탐색으로 셈
+            long expired = now - periodMillis;
+            long seq = sequence;
+            int low = 0;
+            int high = capacity;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps.get((int) ((seq + mid) % capacity)) <= expired) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            // 쓰지 않는 자리는 남은 허용량에서 제외
+            return Math.max(0, low - (capacity - Math.max(0, Math.min(limit, capacity))));
+        }
+
+        @Override
+        long resetAfter(long now) {
+            if (capacity == 0) {
+                return 0;
+            }
+            // 가장 최근 요청이 기간을 벗어나면 모두 회복
+            long newest = timestamps.get((int) ((sequence + capacity - 1) % capacity));
+            return newest == Long.MIN_VALUE ? 0 : Math.max(0, newest + periodMillis - now);
+        }
+
+        @Override
+        long retryAfter(long now, long permits, long limit) {
+            long slots = Math.min(limit, capacity);
+            if (permits > slots) {
+                return RateLimitDecision.UNKNOWN;
+            }
+            // 제한 안에서 permits번째로 오래된 요청이 기간을 벗어나면 허용
+            long oldest = timestamps.get((int) ((sequence + capacity - slots + permits - 1) % capacity));
+            return oldest == Long.MIN_VALUE ? 0 : Math.max(0, oldest + periodMillis - now);
+        }
+
+        @Override
+        boolean isIdle(long now) {
+            if (capacity == 0) {
+                return true;
+            }
+            int newest = (int) ((sequence + capacity - 1) % capacity);
+            return timestamps.get(newest) <= now - periodMillis;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package project.springratelimiter.ratelimiter.service.memory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 애플리케이션 메모리를 사용한 토큰 버킷 알고리즘 기반 속도 제한 서비스 구현.
+ * Redis 구현과 같이 버킷 크기는 limit, 리필 속도는 limit/period이며 첫 요청 시 버킷이 가득 찬 상태로 시작합니다.
+ * 토큰 수와 마지막 리필 시간 대신 버킷이 다시 가득 차는 시각(TAT, 이론적 도착 시간) 하나만 저장하므로
+ * 두 값을 따로 갱신하지 않고 하나의 long에 대한 CAS로 판단할 수 있습니다.
+ */
+@Service
+@RateLimiterType(value = RateLimit.Algorithm.TOKEN_BUCKET, backend = RateLimit.Backend.IN_MEMORY)
+public class InMemoryTokenBucketRateLimiterService
+        extends AbstractInMemoryRateLimiterService<InMemoryTokenBucketRateLimiterService.BucketState> {
+
+    /**
+     * 시계와 메트릭 레지스트리를 사용하여 InMemoryTokenBucketRateLimiterService를 생성합니다.
+     *
+     * @param clock 현재 시간을 제공하는 시계
+     * @param meterRegistry 메트릭 수집을 위한 레지스트리
+     */
+    public InMemoryTokenBucketRateLimiterService(Clock clock, MeterRegistry meterRegistry) {
+        super(clock, meterRegistry, "in_memory_token_bucket_rate_limiter", "토큰 버킷");
+    }
+
+    @Override
+    protected BucketState createState(long limit, long periodMillis) {
+        return new BucketState(periodMillis);
+    }
+
+    /**
+     * 키별 토큰 버킷 상태.
+     * 토큰 하나가 리필되는 데 걸리는 시간(interval)을 단위로, 남은 토큰 수는 (now + period - tat) / interval 입니다.
+     * tat - now는 버킷에서 비어 있는 비율(기간 대비)이므로 제한이 바뀌면 interval만 다시 계산하고,
+     * 같은 비율을 새 제한의 토큰 수로 읽습니다. (제한이 바뀌어도 버킷이 다시 가득 차지 않음)
+     */
+    static final class BucketState extends InMemoryRateLimitState {
+
+        private static final AtomicLongFieldUpdater<BucketState> TAT =
+                AtomicLongFieldUpdater.newUpdater(BucketState.class, "tat");
+
+        // 이론적 도착 시간 (마이크로초)
+        private volatile long tat;
+
+        BucketState(long periodMillis) {
+            super(periodMillis);
+        }
+
+        @Override
+        boolean tryAcquire(long now, long permits, long limit) {
+            if (limit <= 0) {
+                return false;
+            }
+            long intervalMicros = intervalMicros(limit);
+            long nowMicros = now * 1000;
+            while (true) {
+                long current = tat;
+                long base = Math.max(current, nowMicros);
+
+                // 남은 토큰이 permits개 미만이면 거부
+                if (base - nowMicros > toleranceMicros(intervalMicros, permits)) {
+                    return false;
+                }
+
+                // 토큰 permits개 소비
+                if (TAT.compareAndSet(this, current, base + permits * intervalMicros)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        long remaining(long now, long limit) {
+            if (limit <= 0) {
+                return 0;
+            }
+            // tryAcquire의 허용 조건을 permits에 대해 푼 값
+            long backlog = Math.max(0, tat - now * 1000);
+            return Math.max(0, Math.min(limit, (periodMillis * 1000 - backlog) / intervalMicros(limit)));
+        }
+
+        @Override
+        long resetAfter(long now) {
+            return ceilMillis(tat - now * 1000);
+        }
+
+        @Override
+        long retryAfter(long now, long permits, long limit) {
+            if (limit <= 0 || permits > limit) {
+                return RateLimitDecision.UNKNOWN;
+            }
+            long backlog = Math.max(0, tat - now * 1000);
+            return ceilMillis(backlog - toleranceMicros(intervalMicros(limit), permits));
+        }
+
+        /**
+         * 토큰 하나가 리필되는 데 걸리는 시간을 계산합니다. (마이크로초, 최소 1)
+         */
+        private long intervalMicros(long limit) {
+            return Math.max(1, periodMillis * 1000 / limit);
+        }
+
+        /**
+         * 토큰 permits개를 소비하려면 tat가 현재 시각보다 앞서 있어도 되는 최대 시간을 계산합니다. (마이크로초)
+         */
+        private long toleranceMicros(long intervalMicros, long permits) {
+            return periodMillis * 1000 - permits * intervalMicros;
+        }
+
+        @Override
+        boolean isIdle(long now) {
+            // 버킷이 다시 가득 찼으면 상태가 없는 것과 같음
+            return tat <= now * 1000;
+        }
+    }
+}
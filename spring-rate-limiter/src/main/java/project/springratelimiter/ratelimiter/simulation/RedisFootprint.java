@@ -0,0 +1,186 @@
+package project.springratelimiter.ratelimiter.simulation;
+
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 재생 중 Redis 백엔드였다면 실행했을 명령 수와 유지했을 키 수를 RateLimiterConfig의 Lua 스크립트 기준으로 추정합니다.
+ *
+ * - 명령 수: 스크립트가 판단 한 번에 호출하는 redis.call 수 (드물게 실행되는 정리 명령은 제외)
+ * - 키 수: 스크립트가 설정하는 만료 시간(EXPIRE, PEXPIRE, SET PX)이 지나지 않은 키 수
+ * - 메모리: 최대 키 수 × 키 하나의 대략적인 크기 (자료구조별 상수, 슬라이딩 윈도우 로그는 limit개의 멤버를 가정한 상한)
+ *
+ * 제한이 log-limit-threshold보다 큰 슬라이딩 윈도우 키는 버킷 표현 스크립트(slidingWindowBucketedScript)로 추정합니다.
+ *
+ * 같은 알고리즘의 키는 쓸 때마다 같은 길이의 만료 시간을 받으므로, 마지막으로 쓴 순서가 곧 만료 순서입니다.
+ * 따라서 키를 쓴 순서대로 보관하고 앞에서부터 만료된 키를 제거합니다.
+ */
+final class RedisFootprint {
+
+    // 토큰 버킷, 누수 버킷 스크립트의 EXPIRE (초)
+    private static final long BUCKET_TTL_MILLIS = 3_600_000;
+
+    // Redis 키 하나의 고정 비용 (dictEntry, 키 객체, 만료 시간 항목의 대략적인 크기)
+    private static final long KEY_OVERHEAD_BYTES = 72;
+
+    private final RateLimit.Algorithm algorithm;
+    private final long limit;
+    private final long periodMillis;
+    private final int buckets;
+
+    // 슬라이딩 윈도우를 버킷 표현(Hash)으로 판단하는지 여부
+    private final boolean bucketedLog;
+
+    // 키별 만료 시각 (마지막으로 쓴 순서)
+    private final LinkedHashMap<String, Long> expiries = new LinkedHashMap<>();
+
+    private long commands;
+    private long peakKeys;
+
+    // 평균 키 길이 계산용 (만료 후 다시 만들어진 키도 한 번 더 셈)
+    private long keyBytes;
+    private long keysCreated;
+
+    /**
+     * 알고리즘 하나의 Redis 비용 추정기를 생성합니다.
+     *
+     * @param algorithm 알고리즘
+     * @param limit 허용된 요청 수
+     * @param periodMillis 기간 (밀리초)
+     * @param buckets Hash로 버킷별 요청 수를 저장하는 표현의 버킷 수 (슬라이딩 윈도우 카운터, 슬라이딩 윈도우 버킷 표현)
+     * @param bucketedLog 슬라이딩 윈도우를 요청 로그 대신 버킷 표현으로 판단하면 true
+     */
+    RedisFootprint(RateLimit.Algorithm algorithm, long limit, long periodMillis, int buckets, boolean bucketedLog) {
+        this.algorithm = algorithm;
+        this.limit = limit;
+        this.periodMillis = periodMillis;
+        this.buckets = buckets;
+        this.bucketedLog = algorithm == RateLimit.Algorithm.SLIDING_WINDOW && bucketedLog;
+    }
+
+    /**
+     * 판단 한 번을 기록합니다.
+     *
+     * @param key 속도 제한 키
+     * @param now 판단 시각 (밀리초)
+     * @param permits 소비한 허용량
+     * @param allowed 허용 여부
+     */
+    void record(String key, long now, long permits, boolean allowed) {
+        expire(now);
+        boolean live = expiries.containsKey(key);
+        commands += commands(permits, allowed, live);
+
+        long expiry = expiry(now, allowed);
+        if (expiry > now) {
+            if (live) {
+                expiries.remove(key);
+            } else {
+                keyBytes += key.length();
+                keysCreated++;
+            }
+            expiries.put(key, expiry);
+            peakKeys = Math.max(peakKeys, expiries.size());
+        }
+    }
+
+    /**
+     * 지금까지 실행했을 Redis 명령 수를 반환합니다.
+     *
+     * @return 명령 수
+     */
+    long commands() {
+        return commands;
+    }
+
+    /**
+     * 동시에 유지했을 최대 키 수를 반환합니다.
+     *
+     * @return 최대 키 수
+     */
+    long peakKeys() {
+        return peakKeys;
+    }
+
+    /**
+     * 최대 키 수에서의 대략적인 메모리 사용량을 반환합니다.
+     *
+     * @return 추정 메모리 (바이트)
+     */
+    long estimatedPeakBytes() {
+        long averageKeyLength = keysCreated == 0 ? 0 : keyBytes / keysCreated;
+        return peakKeys * (KEY_OVERHEAD_BYTES + averageKeyLength + valueBytes());
+    }
+
+    private void expire(long now) {
+        Iterator<Map.Entry<String, Long>> iterator = expiries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() > now) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 판단 한 번에 스크립트가 호출하는 Redis 명령 수.
+     */
+    private long commands(long permits, boolean allowed, boolean live) {
+        if (bucketedLog) {
+            // TYPE(요청 로그로 저장된 키인지 확인) + 슬라이딩 윈도우 카운터 스크립트
+            return allowed ? 4 : 2;
+        }
+        return switch (algorithm) {
+            // ZREMRANGEBYSCORE, ZCARD + 허용: 허용량마다 ZADD, EXPIRE / 거부: 재시도 시간 계산용 ZRANGE 두 번
+            case SLIDING_WINDOW -> allowed ? 3 + permits : 4;
+            // GET, PTTL + 허용: INCRBY (윈도우의 첫 요청이면 EXPIRE)
+            case FIXED_WINDOW -> allowed ? (live ? 3 : 4) : 2;
+            // HGETALL + 허용: HINCRBY, PEXPIRE
+            case SLIDING_WINDOW_COUNTER -> allowed ? 3 : 1;
+            // HMGET, HMSET, EXPIRE (거부되어도 상태를 갱신)
+            case TOKEN_BUCKET, LEAKY_BUCKET -> 3;
+            // GET + 허용: SET PX
+            case GCRA -> allowed ? 2 : 1;
+        };
+    }
+
+    /**
+     * 판단 후 키의 만료 시각. 만료 시간을 다시 설정하지 않는 판단이면 지금(갱신 없음)을 반환합니다.
+     */
+    private long expiry(long now, boolean allowed) {
+        if (bucketedLog) {
+            return allowed ? now + periodMillis + periodMillis / buckets : now;
+        }
+        return switch (algorithm) {
+            case TOKEN_BUCKET, LEAKY_BUCKET -> now + BUCKET_TTL_MILLIS;
+            case SLIDING_WINDOW -> allowed ? now + periodMillis : now;
+            // 윈도우마다 새 키를 사용하므로 키는 윈도우가 끝날 때 만료
+            case FIXED_WINDOW -> allowed ? (now / periodMillis + 1) * periodMillis : now;
+            case SLIDING_WINDOW_COUNTER -> allowed ? now + periodMillis + periodMillis / buckets : now;
+            // TAT까지 남은 시간만큼 보관 (기간을 넘지 않으므로 기간을 상한으로 사용)
+            case GCRA -> allowed ? now + periodMillis : now;
+        };
+    }
+
+    /**
+     * 키 하나에 저장되는 값의 대략적인 크기.
+     */
+    private long valueBytes() {
+        if (bucketedLog) {
+            return 16 + 24L * (buckets + 1);
+        }
+        return switch (algorithm) {
+            // 멤버(시각-난수-순번 문자열)와 점수, 최대 limit개
+            case SLIDING_WINDOW -> 48 * limit;
+            // 필드 두 개의 작은 Hash (listpack)
+            case TOKEN_BUCKET, LEAKY_BUCKET -> 64;
+            // 버킷 수 + 1개 필드의 Hash
+            case SLIDING_WINDOW_COUNTER -> 16 + 24L * (buckets + 1);
+            // 정수 문자열
+            case FIXED_WINDOW, GCRA -> 16;
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package project.springratelimiter.ratelimiter.simulation;
+
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+
+/**
+ * 알고리즘 하나로 요청 기록을 재생한 결과.
+ * Redis 명령 수, 키 수, 메모리는 Lua 스크립트 기준의 추정치입니다. (RedisFootprint 참고)
+ *
+ * @param algorithm 재생한 알고리즘
+ * @param events 재생한 요청 수
+ * @param admitted 허용된 요청 수
+ * @param rejected 거부된 요청 수
+ * @param peakAdmittedPerSecond 기록 시각 기준 1초 동안 허용된 허용량(permits 합)의 최댓값
+ * @param meanAdmittedPerSecond 기록 시각 기준 1초 동안 허용된 허용량(permits 합)의 평균
+ * @param stdDevAdmittedPerSecond 기록 시각 기준 1초 동안 허용된 허용량(permits 합)의 표준편차
+ * @param redisCommands Redis 백엔드였다면 스크립트가 실행했을 명령 수
+ * @param peakRedisKeys Redis 백엔드였다면 동시에 유지했을 최대 키 수
+ * @param estimatedRedisBytes 최대 키 수에서의 대략적인 Redis 메모리 사용량 (바이트)
+ * @param elapsedNanos 재생에 걸린 실제 시간 (나노초)
+ */
+public record SimulationResult(RateLimit.Algorithm algorithm,
+                               long events,
+                               long admitted,
+                               long rejected,
+                               long peakAdmittedPerSecond,
+                               double meanAdmittedPerSecond,
+                               double stdDevAdmittedPerSecond,
+                               long redisCommands,
+                               long peakRedisKeys,
+                               long estimatedRedisBytes,
+                               long elapsedNanos) {
+
+    /**
+     * 허용 비율을 반환합니다.
+     *
+     * @return 허용된 요청 수 / 전체 요청 수 (요청이 없으면 0)
+     */
+    public double admitRate() {
+        return events == 0 ? 0 : (double) admitted / events;
+    }
+
+    /**
+     * 거부 비율을 반환합니다.
+     *
+     * @return 거부된 요청 수 / 전체 요청 수 (요청이 없으면 0)
+     */
+    public double rejectRate() {
+        return events == 0 ? 0 : (double) rejected / events;
+    }
+
+    /**
+     * 허용된 요청이 얼마나 몰려서 나갔는지를 반환합니다.
+     * 1초당 허용량의 최댓값을 평균으로 나눈 값으로, 1에 가까울수록 하위 시스템에 고르게 전달됩니다.
+     *
+     * @return 최댓값 / 평균 (허용된 요청이 없으면 0)
+     */
+    public double burstiness() {
+        return meanAdmittedPerSecond == 0 ? 0 : peakAdmittedPerSecond / meanAdmittedPerSecond;
+    }
+
+    /**
+     * 요청 하나당 Redis 명령 수를 반환합니다.
+     *
+     * @return 명령 수 / 전체 요청 수 (요청이 없으면 0)
+     */
+    public double commandsPerEvent() {
+        return events == 0 ? 0 : (double) redisCommands / events;
+    }
+
+    /**
+     * 재생 속도를 반환합니다.
+     *
+     * @return 초당 재생한 요청 수 (실제 시간 기준)
+     */
+    public double eventsPerSecond() {
+        return elapsedNanos == 0 ? 0 : events * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,205 @@
+package project.springratelimiter.ratelimiter.simulation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 재생할 요청 기록.
+ * 요청마다 시각, 속도 제한 키, 소비할 허용량을 배열에 보관하여 재생 중에는 객체를 할당하지 않습니다.
+ * 같은 키 문자열은 하나의 인스턴스를 공유합니다.
+ *
+ * 파일 형식은 한 줄에 요청 하나인 CSV입니다. (빈 줄과 #으로 시작하는 줄은 무시)
+ * <pre>
+ * # timestamp(epoch 밀리초),key[,permits]
+ * 1700000000000,10.0.0.1
+ * 1700000000004,10.0.0.2,5
+ * </pre>
+ */
+public final class Trace {
+
+    private final long[] timestamps;
+    private final String[] keys;
+    private final long[] permits;
+    private final int distinctKeys;
+
+    private Trace(long[] timestamps, String[] keys, long[] permits, int distinctKeys) {
+        this.timestamps = timestamps;
+        this.keys = keys;
+        this.permits = permits;
+        this.distinctKeys = distinctKeys;
+    }
+
+    /**
+     * CSV 파일에서 요청 기록을 읽습니다.
+     *
+     * @param path 요청 기록 파일
+     * @return 요청 기록
+     * @throws IOException 파일을 읽지 못한 경우
+     * @throws IllegalArgumentException 형식이 잘못되었거나 시각이 감소하는 줄이 있는 경우
+     */
+    public static Trace read(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * CSV 형식의 요청 기록을 읽습니다.
+     *
+     * @param reader 요청 기록을 읽을 Reader
+     * @return 요청 기록
+     * @throws IOException 읽기에 실패한 경우
+     * @throws IllegalArgumentException 형식이 잘못되었거나 시각이 감소하는 줄이 있는 경우
+     */
+    public static Trace read(BufferedReader reader) throws IOException {
+        Builder builder = builder();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split(",", -1);
+            if (columns.length < 2 || columns.length > 3) {
+                throw new IllegalArgumentException("잘못된 요청 기록 형식입니다 (" + lineNumber + "번째 줄): " + line);
+            }
+            try {
+                builder.add(Long.parseLong(columns[0].trim()), columns[1].trim(),
+                        columns.length == 3 ? Long.parseLong(columns[2].trim()) : 1);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("잘못된 요청 기록입니다 (" + lineNumber + "번째 줄): " + line, e);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 요청 기록을 직접 만드는 빌더를 생성합니다.
+     *
+     * @return 빈 빌더
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 요청 수를 반환합니다.
+     *
+     * @return 요청 수
+     */
+    public int size() {
+        return timestamps.length;
+    }
+
+    /**
+     * 서로 다른 키의 수를 반환합니다.
+     *
+     * @return 서로 다른 키의 수
+     */
+    public int distinctKeys() {
+        return distinctKeys;
+    }
+
+    /**
+     * 요청의 시각을 반환합니다.
+     *
+     * @param index 요청 순서
+     * @return 시각 (epoch 밀리초)
+     */
+    public long timestamp(int index) {
+        return timestamps[index];
+    }
+
+    /**
+     * 요청의 속도 제한 키를 반환합니다.
+     *
+     * @param index 요청 순서
+     * @return 속도 제한 키
+     */
+    public String key(int index) {
+        return keys[index];
+    }
+
+    /**
+     * 요청이 소비할 허용량을 반환합니다.
+     *
+     * @param index 요청 순서
+     * @return 허용량 (1 이상)
+     */
+    public long permits(int index) {
+        return permits[index];
+    }
+
+    /**
+     * 기록의 첫 요청부터 마지막 요청까지의 시간을 반환합니다.
+     *
+     * @return 기록 길이 (밀리초)
+     */
+    public long durationMillis() {
+        return timestamps.length == 0 ? 0 : timestamps[timestamps.length - 1] - timestamps[0];
+    }
+
+    /**
+     * 요청 기록을 시각 순서대로 쌓는 빌더.
+     */
+    public static final class Builder {
+
+        private long[] timestamps = new long[1024];
+        private String[] keys = new String[1024];
+        private long[] permits = new long[1024];
+        private int size;
+
+        // 같은 키 문자열을 하나의 인스턴스로 공유
+        private final Map<String, String> interned = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 요청 하나를 추가합니다.
+         *
+         * @param timestamp 요청 시각 (epoch 밀리초, 이전 요청보다 작을 수 없음)
+         * @param key 속도 제한 키
+         * @param permits 소비할 허용량 (1 이상)
+         * @return 이 빌더
+         * @throws IllegalArgumentException 시각이 감소하거나 허용량이 1보다 작은 경우
+         */
+        public Builder add(long timestamp, String key, long permits) {
+            if (size > 0 && timestamp < timestamps[size - 1]) {
+                throw new IllegalArgumentException("요청 기록은 시각 순서여야 합니다: " + timestamp
+                        + " < " + timestamps[size - 1]);
+            }
+            if (permits < 1) {
+                throw new IllegalArgumentException("permits는 1 이상이어야 합니다: " + permits);
+            }
+            if (size == timestamps.length) {
+                int capacity = size * 2;
+                this.timestamps = Arrays.copyOf(this.timestamps, capacity);
+                this.keys = Arrays.copyOf(this.keys, capacity);
+                this.permits = Arrays.copyOf(this.permits, capacity);
+            }
+            timestamps[size] = timestamp;
+            keys[size] = interned.computeIfAbsent(key, k -> k);
+            this.permits[size] = permits;
+            size++;
+            return this;
+        }
+
+        /**
+         * 지금까지 추가한 요청으로 기록을 만듭니다.
+         *
+         * @return 요청 기록
+         */
+        public Trace build() {
+            return new Trace(Arrays.copyOf(timestamps, size), Arrays.copyOf(keys, size),
+                    Arrays.copyOf(permits, size), interned.size());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package project.springratelimiter.ratelimiter.simulation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 요청 기록 파일을 모든 알고리즘으로 재생하고 결과를 표로 출력하는 명령줄 도구.
+ * Spring 컨텍스트나 Redis 없이 실행됩니다.
+ *
+ * 실행: ./gradlew simulate -Ptrace=trace.csv -Plimit=100 -Pperiod=60 [-Pbuckets=10] [-PlogLimitThreshold=1000]
+ *      [-PslidingWindowBuckets=60]
+ */
+public final class TraceReplayCli {
+
+    private TraceReplayCli() {
+    }
+
+    /**
+     * 요청 기록을 재생합니다.
+     *
+     * @param args 요청 기록 파일, 제한, 기간(초), 슬라이딩 윈도우 카운터 버킷 수(선택, 기본 10),
+     *             슬라이딩 윈도우 로그 임계값(선택, 기본 1000), 슬라이딩 윈도우 버킷 표현의 버킷 수(선택, 기본 60)
+     * @throws IOException 요청 기록 파일을 읽지 못한 경우
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args.length > 6) {
+            System.err.println("사용법: TraceReplayCli <trace.csv> <limit> <period> [counterBuckets]"
+                    + " [logLimitThreshold] [slidingWindowBuckets]");
+            System.exit(2);
+        }
+
+        Trace trace = Trace.read(Path.of(args[0]));
+        long limit = Long.parseLong(args[1]);
+        long period = Long.parseLong(args[2]);
+        int buckets = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        long logLimitThreshold = args.length > 4 ? Long.parseLong(args[4])
+                : TraceReplaySimulator.DEFAULT_LOG_LIMIT_THRESHOLD;
+        int slidingWindowBuckets = args.length > 5 ? Integer.parseInt(args[5])
+                : TraceReplaySimulator.DEFAULT_SLIDING_WINDOW_BUCKETS;
+
+        System.out.printf("요청 %,d건, 키 %,d개, 기록 길이 %,d초, 설정 %d 요청/%d초%n",
+                trace.size(), trace.distinctKeys(), trace.durationMillis() / 1000, limit, period);
+
+        List<SimulationResult> results = new TraceReplaySimulator(limit, period, buckets, logLimitThreshold,
+                slidingWindowBuckets).replayAll(trace);
+        System.out.printf("%-24s %8s %8s %10s %10s %10s %12s %10s %12s %12s%n",
+                "algorithm", "admit%", "reject%", "peak/s", "mean/s", "burst", "redis cmds", "cmds/req",
+                "peak keys", "est. bytes");
+        for (SimulationResult result : results) {
+            System.out.printf("%-24s %8.2f %8.2f %,10d %10.1f %10.2f %,12d %10.2f %,12d %,12d%n",
+                    result.algorithm(), result.admitRate() * 100, result.rejectRate() * 100,
+                    result.peakAdmittedPerSecond(), result.meanAdmittedPerSecond(), result.burstiness(),
+                    result.redisCommands(), result.commandsPerEvent(),
+                    result.peakRedisKeys(), result.estimatedRedisBytes());
+        }
+        for (SimulationResult result : results) {
+            System.out.printf("%s 재생 속도: %,.0f 요청/초%n", result.algorithm(), result.eventsPerSecond());
+        }
+    }
+}
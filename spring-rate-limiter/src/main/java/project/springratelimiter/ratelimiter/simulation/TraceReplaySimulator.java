@@ -0,0 +1,200 @@
+package project.springratelimiter.ratelimiter.simulation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.service.RateLimiterService;
+import project.springratelimiter.ratelimiter.service.memory.AbstractInMemoryRateLimiterService;
+import project.springratelimiter.ratelimiter.service.memory.InMemoryFixedWindowRateLimiterService;
+import project.springratelimiter.ratelimiter.service.memory.InMemoryGcraRateLimiterService;
+import project.springratelimiter.ratelimiter.service.memory.InMemoryLeakyBucketRateLimiterService;
+import project.springratelimiter.ratelimiter.service.memory.InMemorySlidingWindowCounterRateLimiterService;
+import project.springratelimiter.ratelimiter.service.memory.InMemorySlidingWindowRateLimiterService;
+import project.springratelimiter.ratelimiter.service.memory.InMemoryTokenBucketRateLimiterService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기록된 요청을 속도 제한 알고리즘별로 재생하여 같은 설정이 어떻게 판단했을지 비교하는 시뮬레이터.
+ * 운영 환경에서 @RateLimit 설정을 바꾸기 전에 허용/거부 비율, 허용된 요청의 몰림 정도, Redis 비용을 미리 확인하는 데 사용합니다.
+ *
+ * 기본 재생은 인메모리 백엔드 서비스(Lua 스크립트와 같은 판단을 하는 JVM 구현)에 VirtualClock을 주입하여
+ * 기록의 시각을 실제 시간과 관계없이 최대 속도로 진행합니다. (초당 수백만 건)
+ * 슬라이딩 윈도우는 RedisRateLimiterService와 같이 제한이 logLimitThreshold보다 크면 요청 로그 대신
+ * 버킷 표현(slidingWindowBuckets개 버킷의 슬라이딩 윈도우 카운터)으로 판단하고 Redis 비용도 그 표현으로 추정합니다.
+ * Redis 백엔드 서비스도 setTimeSource로 VirtualClock을 주입하면 같은 방법으로 실제 Lua 스크립트를 재생할 수 있습니다.
+ */
+public final class TraceReplaySimulator {
+
+    // 인메모리 상태를 정리하는 주기 (rate-limiter.in-memory.eviction-interval-ms 기본값과 같음)
+    private static final long EVICTION_INTERVAL_MILLIS = 60_000;
+
+    // 슬라이딩 윈도우 표현 설정 기본값 (rate-limiter.sliding-window.* 기본값과 같음)
+    static final long DEFAULT_LOG_LIMIT_THRESHOLD = 1000;
+    static final int DEFAULT_SLIDING_WINDOW_BUCKETS = 60;
+
+    private final long limit;
+    private final long period;
+    private final int counterBuckets;
+    private final long logLimitThreshold;
+    private final int slidingWindowBuckets;
+
+    /**
+     * 재생할 속도 제한 설정으로 시뮬레이터를 생성합니다.
+     * 슬라이딩 윈도우 표현 설정은 기본값(log-limit-threshold 1000, buckets 60)을 사용합니다.
+     *
+     * @param limit 기간 내 허용되는 요청 수
+     * @param period 시간 기간(초)
+     * @param counterBuckets 슬라이딩 윈도우 카운터의 버킷 수 (판단과 Redis 비용 추정에 사용)
+     */
+    public TraceReplaySimulator(long limit, long period, int counterBuckets) {
+        this(limit, period, counterBuckets, DEFAULT_LOG_LIMIT_THRESHOLD, DEFAULT_SLIDING_WINDOW_BUCKETS);
+    }
+
+    /**
+     * 재생할 속도 제한 설정과 슬라이딩 윈도우 표현 설정으로 시뮬레이터를 생성합니다.
+     *
+     * @param limit 기간 내 허용되는 요청 수
+     * @param period 시간 기간(초)
+     * @param counterBuckets 슬라이딩 윈도우 카운터의 버킷 수 (판단과 Redis 비용 추정에 사용)
+     * @param logLimitThreshold 슬라이딩 윈도우를 요청 로그로 판단할 최대 제한 (rate-limiter.sliding-window.log-limit-threshold)
+     * @param slidingWindowBuckets 슬라이딩 윈도우 버킷 표현의 버킷 수 (rate-limiter.sliding-window.buckets)
+     */
+    public TraceReplaySimulator(long limit, long period, int counterBuckets, long logLimitThreshold,
+                                int slidingWindowBuckets) {
+        if (limit < 1 || period < 1 || counterBuckets < 1 || slidingWindowBuckets < 1) {
+            throw new IllegalArgumentException("limit, period, counterBuckets, slidingWindowBuckets는 1 이상이어야 합니다: limit="
+                    + limit + " period=" + period + " counterBuckets=" + counterBuckets
+                    + " slidingWindowBuckets=" + slidingWindowBuckets);
+        }
+        this.limit = limit;
+        this.period = period;
+        this.counterBuckets = counterBuckets;
+        this.logLimitThreshold = logLimitThreshold;
+        this.slidingWindowBuckets = slidingWindowBuckets;
+    }
+
+    /**
+     * 모든 알고리즘으로 요청 기록을 재생합니다.
+     *
+     * @param trace 요청 기록
+     * @return 알고리즘 선언 순서의 재생 결과
+     */
+    public List<SimulationResult> replayAll(Trace trace) {
+        List<SimulationResult> results = new ArrayList<>();
+        for (RateLimit.Algorithm algorithm : RateLimit.Algorithm.values()) {
+            results.add(replay(trace, algorithm));
+        }
+        return results;
+    }
+
+    /**
+     * 알고리즘의 인메모리 구현으로 요청 기록을 재생합니다.
+     *
+     * @param trace 요청 기록
+     * @param algorithm 재생할 알고리즘
+     * @return 재생 결과
+     */
+    public SimulationResult replay(Trace trace, RateLimit.Algorithm algorithm) {
+        VirtualClock clock = new VirtualClock(trace.size() == 0 ? 0 : trace.timestamp(0));
+        return replay(trace, algorithm, inMemoryService(algorithm, clock), clock);
+    }
+
+    /**
+     * 주어진 속도 제한 서비스로 요청 기록을 재생합니다.
+     * 서비스는 현재 시간을 clock에서 읽어야 합니다.
+     *
+     * @param trace 요청 기록
+     * @param algorithm 서비스의 알고리즘 (Redis 비용 추정에 사용)
+     * @param service 판단할 속도 제한 서비스
+     * @param clock 서비스에 주입된 시계
+     * @return 재생 결과
+     */
+    public SimulationResult replay(Trace trace, RateLimit.Algorithm algorithm, RateLimiterService service,
+                                   VirtualClock clock) {
+        RedisFootprint footprint = algorithm == RateLimit.Algorithm.SLIDING_WINDOW
+                ? new RedisFootprint(algorithm, limit, period * 1000, slidingWindowBuckets, bucketed())
+                : new RedisFootprint(algorithm, limit, period * 1000, counterBuckets, false);
+        AbstractInMemoryRateLimiterService<?> evictable = service instanceof AbstractInMemoryRateLimiterService<?> memory
+                ? memory
+                : null;
+
+        long admitted = 0;
+        long nextEviction = trace.size() == 0 ? 0 : trace.timestamp(0) + EVICTION_INTERVAL_MILLIS;
+
+        // 1초 단위 허용량 (기록 시각 기준, 허용된 요청의 permits 합, 요청이 없던 초는 0으로 셈)
+        long second = trace.size() == 0 ? 0 : Math.floorDiv(trace.timestamp(0), 1000);
+        long admittedInSecond = 0;
+        long seconds = 0;
+        long peak = 0;
+        double sum = 0;
+        double sumOfSquares = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < trace.size(); i++) {
+            long now = trace.timestamp(i);
+            clock.set(now);
+            if (evictable != null && now >= nextEviction) {
+                evictable.evictIdle();
+                nextEviction = now + EVICTION_INTERVAL_MILLIS;
+            }
+
+            long eventSecond = Math.floorDiv(now, 1000);
+            if (eventSecond != second) {
+                // 지난 초를 집계하고, 사이에 요청이 없던 초는 0으로 셈 (합계에는 영향 없음)
+                seconds += eventSecond - second;
+                peak = Math.max(peak, admittedInSecond);
+                sum += admittedInSecond;
+                sumOfSquares += (double) admittedInSecond * admittedInSecond;
+                admittedInSecond = 0;
+                second = eventSecond;
+            }
+
+            String key = trace.key(i);
+            long permits = trace.permits(i);
+            boolean allowed = service.tryAcquire(key, permits, limit, period);
+            footprint.record(key, now, permits, allowed);
+            if (allowed) {
+                admitted++;
+                admittedInSecond += permits;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (trace.size() > 0) {
+            seconds++;
+            peak = Math.max(peak, admittedInSecond);
+            sum += admittedInSecond;
+            sumOfSquares += (double) admittedInSecond * admittedInSecond;
+        }
+        double mean = seconds == 0 ? 0 : sum / seconds;
+        double variance = seconds == 0 ? 0 : Math.max(0, sumOfSquares / seconds - mean * mean);
+
+        return new SimulationResult(algorithm, trace.size(), admitted, trace.size() - admitted,
+                peak, mean, Math.sqrt(variance),
+                footprint.commands(), footprint.peakKeys(), footprint.estimatedPeakBytes(), elapsed);
+    }
+
+    private RateLimiterService inMemoryService(RateLimit.Algorithm algorithm, VirtualClock clock) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return switch (algorithm) {
+            // 제한이 임계값보다 크면 Redis 백엔드와 같이 버킷 표현으로 판단
+            case SLIDING_WINDOW -> bucketed()
+                    ? new InMemorySlidingWindowCounterRateLimiterService(clock, meterRegistry, slidingWindowBuckets)
+                    : new InMemorySlidingWindowRateLimiterService(clock, meterRegistry);
+            case SLIDING_WINDOW_COUNTER -> new InMemorySlidingWindowCounterRateLimiterService(clock, meterRegistry,
+                    counterBuckets);
+            case FIXED_WINDOW -> new InMemoryFixedWindowRateLimiterService(clock, meterRegistry);
+            case TOKEN_BUCKET -> new InMemoryTokenBucketRateLimiterService(clock, meterRegistry);
+            case LEAKY_BUCKET -> new InMemoryLeakyBucketRateLimiterService(clock, meterRegistry);
+            case GCRA -> new InMemoryGcraRateLimiterService(clock, meterRegistry);
+        };
+    }
+
+    /**
+     * 슬라이딩 윈도우를 요청 로그 대신 버킷 표현으로 판단하는지 반환합니다. (RedisRateLimiterService와 같은 조건)
+     */
+    private boolean bucketed() {
+        return limit > logLimitThreshold;
+    }
+}
@@ -0,0 +1,95 @@
+package project.springratelimiter.ratelimiter.simulation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * 재생 중인 요청 기록의 시각을 현재 시간으로 돌려주는 시계.
+ * 속도 제한 서비스에 이 시계를 주입하면 기록을 실제 시간과 관계없이 최대 속도로 재생할 수 있습니다.
+ * 재생은 한 스레드에서 수행하므로 동기화하지 않습니다.
+ */
+public final class VirtualClock extends Clock {
+
+    private long millis;
+
+    /**
+     * 주어진 시각에서 시작하는 시계를 생성합니다.
+     *
+     * @param millis 시작 시각 (epoch 밀리초)
+     */
+    public VirtualClock(long millis) {
+        this.millis = millis;
+    }
+
+    /**
+     * 현재 시각을 바꿉니다.
+     *
+     * @param millis 새 시각 (epoch 밀리초)
+     */
+    public void set(long millis) {
+        this.millis = millis;
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    /**
+     * 같은 시각을 다른 시간대로 보여주는 시계를 반환합니다.
+     * 반환된 시계는 이 시계의 시각을 그대로 읽으므로 set으로 바꾼 시각이 함께 반영됩니다.
+     *
+     * @param zone 시간대
+     * @return 시간대만 다른 시계
+     */
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return ZoneOffset.UTC.equals(zone) ? this : new ZonedView(this, zone);
+    }
+
+    /**
+     * VirtualClock의 시각을 다른 시간대로 보여주는 시계.
+     */
+    private static final class ZonedView extends Clock {
+
+        private final VirtualClock source;
+        private final ZoneId zone;
+
+        private ZonedView(VirtualClock source, ZoneId zone) {
+            this.source = source;
+            this.zone = zone;
+        }
+
+        @Override
+        public long millis() {
+            return source.millis();
+        }
+
+        @Override
+        public Instant instant() {
+            return source.instant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return source.withZone(zone);
+        }
+    }
+}
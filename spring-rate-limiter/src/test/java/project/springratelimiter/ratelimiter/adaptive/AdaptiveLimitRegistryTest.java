@@ -0,0 +1,105 @@
+package project.springratelimiter.ratelimiter.adaptive;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import project.springratelimiter.ratelimiter.plan.RateLimitPlan;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AdaptiveLimitRegistry에 대한 단위 테스트.
+ * 이 테스트는 과부하를 뜻하는 예외만 적응형 규칙의 실패(drop)로 반영되고,
+ * 클라이언트가 원인인 예외는 공유된 유효 제한을 줄이지 않는지 확인합니다.
+ */
+class AdaptiveLimitRegistryTest {
+
+    private static final long BASELINE_NANOS = 10_000_000;
+    private static final long WINDOW_NANOS = 1_000_000_000;
+    private static final int WINDOW_SAMPLES = 10;
+
+    private final AdaptiveLimitRegistry registry = registry(AdaptiveLimitRegistry.DEFAULT_DROP_EXCEPTIONS.split(","));
+
+    private long nanos;
+
+    /**
+     * 시간 초과, 작업 거부, 일시적인 데이터 접근 실패, 5xx 응답 예외만 과부하로 판단하는지 테스트합니다.
+     */
+    @Test
+    void isOverload_ShouldMatchOnlyOverloadErrors() {
+        assertTrue(registry.isOverload(new TimeoutException()));
+        assertTrue(registry.isOverload(new QueryTimeoutException("timeout")));
+        assertTrue(registry.isOverload(new IllegalStateException(new RejectedExecutionException())),
+                "원인이 과부하 예외면 과부하로 판단해야 합니다");
+        assertTrue(registry.isOverload(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE)));
+
+        assertFalse(registry.isOverload(new NoSuchElementException()));
+        assertFalse(registry.isOverload(new IllegalArgumentException("invalid")));
+        assertFalse(registry.isOverload(new DuplicateKeyException("duplicate")));
+        assertFalse(registry.isOverload(new ResponseStatusException(HttpStatus.BAD_REQUEST)));
+    }
+
+    /**
+     * 설정한 예외 클래스를 찾을 수 없거나 예외가 아니면 시작할 때 거부하는지 테스트합니다.
+     */
+    @Test
+    void constructor_WithInvalidDropException_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> registry("com.example.MissingException"));
+        assertThrows(IllegalArgumentException.class, () -> registry("java.lang.String"));
+    }
+
+    /**
+     * 클라이언트가 원인인 예외로 끝난 실행은 유효 제한을 줄이지 않고, 과부하 예외는 줄이는지 테스트합니다.
+     */
+    @Test
+    void recordFailure_ShouldBackOffOnlyOnOverload() {
+        // given: 최소 10 ~ 최대 100, 평소 처리 시간 10ms로 장기 지연 시간을 채운 규칙
+        GradientLimit limit = new GradientLimit(10, 100, 0.2, 1.5, 600, WINDOW_NANOS, WINDOW_SAMPLES, () -> nanos);
+        RateLimitPlan plan = new RateLimitPlan(List.of(), null, "endpoint", null, null, null, List.of(limit),
+                registry::isOverload);
+        for (int window = 0; window < 100; window++) {
+            closeWindow(plan, null);
+        }
+
+        // when & then
+        closeWindow(plan, new NoSuchElementException());
+        closeWindow(plan, new IllegalArgumentException("invalid"));
+        assertEquals(100, limit.getLimit(), "클라이언트 오류는 제한을 줄이면 안 됩니다");
+
+        closeWindow(plan, new TimeoutException());
+        assertEquals(90, limit.getLimit(), "과부하 예외는 제한을 줄여야 합니다");
+    }
+
+    /**
+     * 평소 처리 시간의 관측값으로 관측 창 하나를 채우고 닫습니다. 창을 닫기 직전에 예외로 끝난 실행 하나를 반영합니다.
+     *
+     * @param plan 적응형 규칙이 있는 판단 계획
+     * @param error 창을 닫기 직전에 반영할 예외 (없으면 null)
+     */
+    private void closeWindow(RateLimitPlan plan, Throwable error) {
+        for (int i = 0; i < WINDOW_SAMPLES - 1; i++) {
+            plan.recordLatency(BASELINE_NANOS);
+        }
+        if (error != null) {
+            plan.recordFailure(error);
+        }
+        nanos += WINDOW_NANOS;
+        plan.recordLatency(BASELINE_NANOS);
+    }
+
+    private static AdaptiveLimitRegistry registry(String... dropExceptions) {
+        return new AdaptiveLimitRegistry(new SimpleMeterRegistry(), 0.1, 0.2, 1.5, 600, 1000, 10, "node-1",
+                dropExceptions);
+    }
+}
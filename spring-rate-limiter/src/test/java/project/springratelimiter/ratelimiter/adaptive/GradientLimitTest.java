@@ -0,0 +1,127 @@
+package project.springratelimiter.ratelimiter.adaptive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GradientLimit에 대한 단위 테스트.
+ * 이 테스트는 처리 시간이 평소보다 길어지면 유효 제한이 줄어들고, 회복되면 선언된 제한까지 다시 늘어나는지,
+ * 관측값이 창 단위로 모여 반영되고 실패가 제한을 줄이는지 확인합니다.
+ */
+class GradientLimitTest {
+
+    private static final long BASELINE_NANOS = 10_000_000;
+    private static final long WINDOW_NANOS = 1_000_000_000;
+    private static final int WINDOW_SAMPLES = 10;
+
+    private long nanos;
+    private GradientLimit limit;
+
+    @BeforeEach
+    void setUp() {
+        // 최소 10 ~ 최대 100, 1초 / 10개 관측 창, 평소 처리 시간 10ms로 장기 지연 시간을 채움
+        limit = new GradientLimit(10, 100, 0.2, 1.5, 600, WINDOW_NANOS, WINDOW_SAMPLES, () -> nanos);
+        record(BASELINE_NANOS, 100);
+    }
+
+    /**
+     * 처리 시간이 평소와 같으면 선언된 제한을 유지하는지 테스트합니다.
+     */
+    @Test
+    void onSample_WhenLatencyIsSteady_ShouldKeepMaxLimit() {
+        assertEquals(100, limit.getLimit());
+    }
+
+    /**
+     * 처리 시간이 평소의 4배가 되면 유효 제한이 줄어들고, 회복되면 다시 선언된 제한까지 늘어나는지 테스트합니다.
+     */
+    @Test
+    void onSample_WhenLatencyIncreases_ShouldShrinkAndRecover() {
+        // when
+        record(BASELINE_NANOS * 4, 20);
+
+        // then
+        long reduced = limit.getLimit();
+        assertTrue(reduced < 50, "지연 시간이 늘어나면 제한이 줄어야 합니다: " + reduced);
+        assertTrue(reduced >= 10, "최소 제한 아래로 줄어들면 안 됩니다: " + reduced);
+
+        // 처리 시간이 평소로 돌아오면 선언된 제한까지 회복
+        record(BASELINE_NANOS, 100);
+        assertEquals(100, limit.getLimit());
+    }
+
+    /**
+     * 처리 시간이 계속 매우 길어도 최소 제한 아래로 줄어들지 않는지 테스트합니다.
+     */
+    @Test
+    void onSample_WhenLatencyStaysHigh_ShouldStopAtMinLimit() {
+        // when
+        record(BASELINE_NANOS * 100, 200);
+
+        // then
+        assertEquals(10, limit.getLimit());
+    }
+
+    /**
+     * 관측 창이 끝나기 전에는 느린 관측값이 많아도 제한이 움직이지 않고, 창이 닫힐 때 한 번만 갱신되는지 테스트합니다.
+     */
+    @Test
+    void onSample_BeforeWindowCloses_ShouldNotMoveLimit() {
+        // when: 시간이 흐르지 않은 채 느린 관측값 100개
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(BASELINE_NANOS * 100);
+        }
+
+        // then
+        assertEquals(100, limit.getLimit(), "창이 닫히기 전에는 제한이 그대로여야 합니다");
+
+        // 창이 끝난 뒤의 관측값이 창 전체(101개)의 평균으로 한 번 갱신
+        nanos += WINDOW_NANOS;
+        limit.onSample(BASELINE_NANOS * 100);
+        assertEquals(92, limit.getLimit());
+    }
+
+    /**
+     * 관측 창에 실패가 있으면 처리 시간과 관계없이 제한을 BACKOFF_RATIO배로 줄이고, 최소 제한에서 멈추는지 테스트합니다.
+     */
+    @Test
+    void onDrop_ShouldBackOffPerWindow() {
+        // when: 평소 처리 시간의 관측값 9개와 실패 1개로 이루어진 창
+        for (int i = 0; i < WINDOW_SAMPLES - 1; i++) {
+            limit.onSample(BASELINE_NANOS);
+        }
+        nanos += WINDOW_NANOS;
+        limit.onDrop();
+
+        // then
+        assertEquals(90, limit.getLimit());
+
+        // 실패만 계속되면 최소 제한까지 줄어듦
+        for (int window = 0; window < 50; window++) {
+            for (int i = 0; i < WINDOW_SAMPLES; i++) {
+                limit.onDrop();
+            }
+            nanos += WINDOW_NANOS;
+            limit.onDrop();
+        }
+        assertEquals(10, limit.getLimit());
+    }
+
+    /**
+     * 관측 창마다 같은 처리 시간의 관측값을 채우고 창을 닫습니다.
+     *
+     * @param rttNanos 요청 처리 시간 (나노초)
+     * @param windows 닫을 관측 창 수
+     */
+    private void record(long rttNanos, int windows) {
+        for (int window = 0; window < windows; window++) {
+            for (int i = 0; i < WINDOW_SAMPLES; i++) {
+                nanos += WINDOW_NANOS / WINDOW_SAMPLES;
+                limit.onSample(rttNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package project.springratelimiter.ratelimiter.factory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimiterType;
+import project.springratelimiter.ratelimiter.service.NearCacheRateLimiterService;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * RateLimiterFactory에 대한 단위 테스트.
+ * 이 테스트는 백엔드가 지원하지 않는 알고리즘이 다른 의미로 판단되지 않고 거부되는지 확인합니다.
+ */
+class RateLimiterFactoryTest {
+
+    private NearCacheRateLimiterService nearCacheRateLimiter;
+    private RateLimiterFactory rateLimiterFactory;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationContext applicationContext = mock(ApplicationContext.class);
+        when(applicationContext.getBeansWithAnnotation(RateLimiterType.class)).thenReturn(Map.of());
+        nearCacheRateLimiter = mock(NearCacheRateLimiterService.class);
+        rateLimiterFactory = new RateLimiterFactory(applicationContext, nearCacheRateLimiter);
+    }
+
+    /**
+     * 니어 캐시 백엔드는 고정 윈도우 예산을 임대하므로 FIXED_WINDOW 규칙에만 사용되는지 테스트합니다.
+     */
+    @Test
+    void getRateLimiter_NearCacheShouldOnlySupportFixedWindow() {
+        assertSame(nearCacheRateLimiter,
+                rateLimiterFactory.getRateLimiter(RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.NEAR_CACHE));
+
+        for (RateLimit.Algorithm algorithm : RateLimit.Algorithm.values()) {
+            if (algorithm != RateLimit.Algorithm.FIXED_WINDOW) {
+                assertThrows(IllegalArgumentException.class,
+                        () -> rateLimiterFactory.getRateLimiter(algorithm, RateLimit.Backend.NEAR_CACHE),
+                        "니어 캐시에 " + algorithm + " 알고리즘을 선언한 규칙은 거부해야 합니다");
+            }
+        }
+    }
+
+    /**
+     * 등록되지 않은 알고리즘과 백엔드 조합을 거부하는지 테스트합니다.
+     */
+    @Test
+    void getRateLimiter_ShouldRejectUnregisteredPair() {
+        assertThrows(IllegalArgumentException.class,
+                () -> rateLimiterFactory.getRateLimiter(RateLimit.Algorithm.GCRA, RateLimit.Backend.IN_MEMORY));
+    }
+}
@@ -0,0 +1,54 @@
+package project.springratelimiter.ratelimiter.header;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * RateLimitHeaders에 대한 단위 테스트.
+ * 이 테스트는 판단 결과가 초 단위의 표준 헤더로 기록되는지 확인합니다.
+ */
+class RateLimitHeadersTest {
+
+    /**
+     * 거부된 판단 결과가 RateLimit-* 헤더와 올림한 Retry-After 헤더로 기록되는지 테스트합니다.
+     */
+    @Test
+    void write_WhenRejected_ShouldIncludeRetryAfter() {
+        // given
+        long now = System.currentTimeMillis();
+        RateLimitDecision decision = new RateLimitDecision(false, 10, 0, now + 30_000, 1_500);
+        HttpHeaders headers = new HttpHeaders();
+
+        // when
+        RateLimitHeaders.write(decision, headers::set);
+
+        // then
+        assertEquals("10", headers.getFirst(RateLimitHeaders.LIMIT));
+        assertEquals("0", headers.getFirst(RateLimitHeaders.REMAINING));
+        assertEquals("2", headers.getFirst(RateLimitHeaders.RETRY_AFTER), "1.5초는 2초로 올림되어야 합니다");
+        assertFalse(Long.parseLong(headers.getFirst(RateLimitHeaders.RESET)) > 30);
+    }
+
+    /**
+     * 백엔드가 제공하지 않는 값의 헤더는 기록하지 않는지 테스트합니다.
+     */
+    @Test
+    void write_WhenValuesUnknown_ShouldWriteLimitOnly() {
+        // given
+        HttpHeaders headers = new HttpHeaders();
+
+        // when
+        RateLimitHeaders.write(RateLimitDecision.of(false, 5), headers::set);
+
+        // then
+        assertEquals("5", headers.getFirst(RateLimitHeaders.LIMIT));
+        assertNull(headers.getFirst(RateLimitHeaders.REMAINING));
+        assertNull(headers.getFirst(RateLimitHeaders.RESET));
+        assertNull(headers.getFirst(RateLimitHeaders.RETRY_AFTER));
+    }
+}
@@ -0,0 +1,82 @@
+package project.springratelimiter.ratelimiter.heavyhitter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SpaceSavingSketch에 대한 단위 테스트.
+ * 이 테스트는 카운터 수를 넘는 키가 들어와도 요청이 많은 키가 남고, 추정치가 실제 요청 수의 범위 안에 있는지 확인합니다.
+ */
+class SpaceSavingSketchTest {
+
+    /**
+     * 추적하는 키보다 많은 키가 들어와도 요청이 많은 키가 상위에 남는지 테스트합니다.
+     */
+    @Test
+    void record_WithManyKeys_ShouldKeepHeavyHitters() {
+        // given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+
+        // when: 두 키가 전체 요청의 대부분을 차지하고 나머지 키는 한 번씩만 요청
+        for (int i = 0; i < 1000; i++) {
+            sketch.record("10.0.0.1", 1);
+            if (i % 2 == 0) {
+                sketch.record("10.0.0.2", 1);
+            }
+            sketch.record("client-" + i, 1);
+        }
+
+        // then
+        List<HeavyHitter> top = sketch.top(2);
+        assertEquals("10.0.0.1", top.get(0).key());
+        assertEquals("10.0.0.2", top.get(1).key());
+        assertTrue(top.get(0).count() >= 1000, "추정치는 실제 요청 수 이상이어야 합니다");
+        assertTrue(top.get(0).guaranteed() <= 1000, "하한은 실제 요청 수 이하여야 합니다");
+        assertTrue(top.get(1).count() >= 500 && top.get(1).guaranteed() <= 500);
+        assertEquals(10, sketch.entries().size(), "추적하는 키 수는 용량을 넘지 않아야 합니다");
+    }
+
+    /**
+     * 카운터가 가득 찬 상태에서 새 키가 가장 작은 카운터를 물려받는지 테스트합니다.
+     */
+    @Test
+    void record_WhenFull_ShouldReplaceSmallestCounter() {
+        // given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        sketch.record("a", 5);
+        sketch.record("b", 2);
+        assertEquals(2, sketch.minCount());
+
+        // when
+        sketch.record("c", 1);
+
+        // then: c는 b의 카운터(2)를 물려받아 count = 3, error = 2
+        List<HeavyHitter> top = sketch.top(2);
+        assertEquals(new HeavyHitter("a", 5, 0), top.get(0));
+        assertEquals(new HeavyHitter("c", 3, 2), top.get(1));
+        assertEquals(3, sketch.minCount());
+    }
+
+    /**
+     * 비운 스케치는 추적하는 키가 없고 상한이 0인지 테스트합니다.
+     */
+    @Test
+    void clear_ShouldResetCounters() {
+        // given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(1);
+        sketch.record("a", 3);
+
+        // when
+        sketch.clear();
+
+        // then
+        assertTrue(sketch.entries().isEmpty());
+        assertEquals(0, sketch.minCount());
+        sketch.record("b", 1);
+        assertEquals(List.of(new HeavyHitter("b", 1, 0)), sketch.top(5));
+    }
+}
@@ -0,0 +1,129 @@
+package project.springratelimiter.ratelimiter.integration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import project.springratelimiter.ratelimiter.config.RateLimiterConfig;
+import project.springratelimiter.ratelimiter.service.AbstractRedisRateLimiterService;
+import project.springratelimiter.ratelimiter.service.GcraRateLimiterService;
+import project.springratelimiter.ratelimiter.service.TokenBucketRateLimiterService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 노드 간 시계 차이(skew)가 속도 제한 판단에 주는 영향을 측정하는 통합 테스트.
+ * 실제 Redis 인스턴스에 두 노드(시계가 정확한 노드 A, 시계가 skew만큼 앞선 노드 B)의 속도 제한 서비스를 연결하고,
+ * A가 허용량을 모두 소진한 직후 B가 요청했을 때 허용된 요청 수(초과 허용 오차)를 앱 노드 시간과 Redis 서버 시간에서 비교합니다.
+ * 이상적인 결과는 0입니다. (소진 직후의 실제 경과 시간 동안 리필되는 허용량은 1보다 훨씬 작음)
+ */
+@Testcontainers
+class ClockSkewIntegrationTest {
+
+    private static final long LIMIT = 100;
+    private static final long PERIOD = 10;
+
+    // 소진 직후 노드 B의 요청 횟수 (가장 큰 skew의 오차보다 충분히 크게)
+    private static final int ATTEMPTS = 20;
+
+    @Container
+    static final GenericContainer<?> redisContainer = new GenericContainer<>(DockerImageName.parse("redis:latest"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, Object> redisTemplate;
+
+    private final RateLimiterConfig config = new RateLimiterConfig();
+
+    @BeforeAll
+    static void setUpRedis() {
+        connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(), redisContainer.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void tearDownRedis() {
+        connectionFactory.destroy();
+    }
+
+    /**
+     * 토큰 버킷: 앞선 노드는 시계 차이만큼의 리필을 추가로 받고, Redis 서버 시간에서는 오차가 없는지 테스트합니다.
+     */
+    @ParameterizedTest
+    @ValueSource(longs = {0, 100, 500})
+    void tokenBucket_AdmissionErrorWithClockSkew(long skewMillis) {
+        Supplier<AbstractRedisRateLimiterService> factory = () -> new TokenBucketRateLimiterService(
+                redisTemplate, config.tokenBucketScript(), new SimpleMeterRegistry());
+
+        assertAdmissionError("TOKEN_BUCKET", factory, skewMillis);
+    }
+
+    /**
+     * GCRA: 앞선 노드는 시계 차이만큼 이론적 도착 시간을 먼저 통과하고, Redis 서버 시간에서는 오차가 없는지 테스트합니다.
+     */
+    @ParameterizedTest
+    @ValueSource(longs = {0, 100, 500})
+    void gcra_AdmissionErrorWithClockSkew(long skewMillis) {
+        Supplier<AbstractRedisRateLimiterService> factory = () -> new GcraRateLimiterService(
+                redisTemplate, config.gcraScript(), new SimpleMeterRegistry());
+
+        assertAdmissionError("GCRA", factory, skewMillis);
+    }
+
+    private void assertAdmissionError(String algorithm, Supplier<AbstractRedisRateLimiterService> factory,
+                                      long skewMillis) {
+        long appError = admissionError(factory, skewMillis, false);
+        long redisError = admissionError(factory, skewMillis, true);
+
+        // 초당 리필량(LIMIT / PERIOD)만큼이 시계 차이 1초당 초과 허용되는 요청 수
+        // (소진 직후의 실제 경과 시간 동안 리필되는 허용량 때문에 최대 1개까지 더 허용될 수 있음)
+        long expectedAppError = skewMillis * LIMIT / (PERIOD * 1000);
+
+        assertTrue(redisError <= 1, algorithm + ": Redis 서버 시간에서는 시계 차이(" + skewMillis
+                + "ms)와 관계없이 초과 허용이 없어야 합니다: " + redisError);
+        assertTrue(appError >= expectedAppError && appError <= expectedAppError + 1, algorithm
+                + ": 앱 노드 시간에서는 시계 차이(" + skewMillis + "ms)만큼만 초과 허용되어야 합니다: "
+                + appError + " (예상 " + expectedAppError + " ~ " + (expectedAppError + 1) + ")");
+    }
+
+    /**
+     * 노드 A가 허용량을 모두 소진한 직후 skew만큼 시계가 앞선 노드 B가 허용받은 요청 수를 반환합니다.
+     */
+    private long admissionError(Supplier<AbstractRedisRateLimiterService> factory, long skewMillis, boolean redisTime) {
+        AbstractRedisRateLimiterService nodeA = factory.get();
+        nodeA.setTimeSource(Clock.systemUTC(), redisTime);
+        AbstractRedisRateLimiterService nodeB = factory.get();
+        nodeB.setTimeSource(Clock.offset(Clock.systemUTC(), Duration.ofMillis(skewMillis)), redisTime);
+
+        // 노드 A가 거부될 때까지 허용량 소진 (소진하는 동안 리필된 허용량까지 사용)
+        String key = "clock-skew:" + UUID.randomUUID();
+        for (int i = 0; i < LIMIT * 2 && nodeA.acquire(key, LIMIT, PERIOD).allowed(); i++) {
+            // 허용되는 동안 계속 요청
+        }
+
+        long admitted = 0;
+        for (int i = 0; i < ATTEMPTS; i++) {
+            if (nodeB.acquire(key, LIMIT, PERIOD).allowed()) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+}
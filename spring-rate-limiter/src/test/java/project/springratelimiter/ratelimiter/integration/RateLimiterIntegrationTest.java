@@ -1,5 +1,6 @@
 package project.springratelimiter.ratelimiter.integration;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -7,12 +8,41 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.config.RateLimiterConfig;
+import project.springratelimiter.ratelimiter.header.RateLimitHeaders;
+import project.springratelimiter.ratelimiter.heavyhitter.HeavyHitter;
+import project.springratelimiter.ratelimiter.heavyhitter.HeavyHitterReport;
+import project.springratelimiter.ratelimiter.heavyhitter.HeavyHitterTracker;
+import project.springratelimiter.ratelimiter.resilience.RateLimiterResilience;
+import project.springratelimiter.ratelimiter.service.ConcurrencyLimiterService;
+import project.springratelimiter.ratelimiter.service.ConcurrencyPermit;
+import project.springratelimiter.ratelimiter.service.FixedWindowRateLimiterService;
+import project.springratelimiter.ratelimiter.service.GcraRateLimiterService;
+import project.springratelimiter.ratelimiter.service.LeakyBucketRateLimiterService;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
 import project.springratelimiter.ratelimiter.service.RateLimiterService;
+import project.springratelimiter.ratelimiter.service.RedisRateLimiterService;
+import project.springratelimiter.ratelimiter.service.ShapingDecision;
+import project.springratelimiter.ratelimiter.service.SlidingWindowCounterRateLimiterService;
+import project.springratelimiter.ratelimiter.service.TokenBucketRateLimiterService;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -28,6 +58,14 @@ class RateLimiterIntegrationTest {
     @Autowired
     private RateLimiterService rateLimiterService;
 
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private RateLimiterResilience resilience;
+
+    private final RateLimiterConfig config = new RateLimiterConfig();
+
     /**
      * 속도 제한 내에서 요청이 허용되는지 테스트합니다.
      */
@@ -50,6 +88,476 @@ class RateLimiterIntegrationTest {
                 "제한을 초과한 요청은 거부되어야 합니다");
     }
 
+    /**
+     * 셰이핑 판단이 요청마다 처리 간격만큼 늘어나는 대기 시간을 반환하고, 최대 대기 시간을 넘는 요청만 거부하는지 테스트합니다.
+     * 대기 시간에서는 처리 중인 요청에 이미 흐른 시간을 빼야 하므로 요청 사이에 시간을 진행시켜 함께 확인합니다.
+     */
+    @Test
+    void shape_ShouldDelayBurstUntilMaxDelay() {
+        // given: 10초에 5개 (2초마다 하나씩 처리), 최대 대기 5초, 앱 노드 시간을 직접 지정
+        LeakyBucketRateLimiterService service = new LeakyBucketRateLimiterService(
+                redisTemplate, config.leakyBucketScript(), new SimpleMeterRegistry());
+        String key = "test-integration-shaping-" + UUID.randomUUID();
+        long start = 1_000_000_000_000L;
+        long limit = 5;
+        long period = 10;
+        long maxDelay = 5000;
+
+        // when & then: 앞선 대기열이 처리될 때까지 0초, 2초, 4초를 기다리면 허용
+        service.setTimeSource(fixedClock(start), false);
+        for (int i = 0; i < 3; i++) {
+            ShapingDecision shaped = service.shape(key, 1, limit, period, maxDelay);
+            assertTrue(shaped.decision().allowed(), "요청 " + (i + 1) + "은(는) 지연 후 허용되어야 합니다");
+            assertEquals(i * 2000L, shaped.delayMillis());
+        }
+
+        // 6초를 기다려야 하는 요청은 대기열에 넣지 않고 거부
+        ShapingDecision rejected = service.shape(key, 1, limit, period, maxDelay);
+        assertFalse(rejected.decision().allowed(), "최대 대기 시간을 넘는 요청은 거부되어야 합니다");
+        assertEquals(0, rejected.delayMillis());
+        assertEquals(1000, rejected.decision().retryAfterMillis());
+
+        // 1.9초 뒤: 아직 처리된 요청은 없지만 처리 중인 요청에 1.9초가 흘렀으므로 4.1초만 기다리면 허용
+        service.setTimeSource(fixedClock(start + 1_900), false);
+        ShapingDecision carried = service.shape(key, 1, limit, period, maxDelay);
+        assertTrue(carried.decision().allowed(), "처리 중인 요청에 흐른 시간만큼 대기 시간이 줄어야 합니다");
+        assertEquals(4_100, carried.delayMillis());
+
+        // 2.1초 뒤: 하나가 처리되어 대기열은 3개이고, 다음 요청에는 0.1초만 흘렀으므로 5.9초를 기다려야 해서 거부
+        service.setTimeSource(fixedClock(start + 2_100), false);
+        rejected = service.shape(key, 1, limit, period, maxDelay);
+        assertFalse(rejected.decision().allowed(), "최대 대기 시간을 넘는 요청은 거부되어야 합니다");
+        assertEquals(900, rejected.decision().retryAfterMillis());
+
+        // 처리 속도에 가까운 간격(1.9초)으로 들어오는 요청은 앞선 요청의 남은 처리 시간(0.1초)만 기다림
+        String steadyKey = "test-integration-shaping-steady-" + UUID.randomUUID();
+        service.setTimeSource(fixedClock(start), false);
+        assertEquals(0, service.shape(steadyKey, 1, limit, period, maxDelay).delayMillis());
+        service.setTimeSource(fixedClock(start + 1_900), false);
+        ShapingDecision steady = service.shape(steadyKey, 1, limit, period, maxDelay);
+        assertTrue(steady.decision().allowed());
+        assertEquals(100, steady.delayMillis(), "처리 간격 전체가 아니라 남은 처리 시간만 기다려야 합니다");
+    }
+
+    /**
+     * 슬라이딩 윈도우 카운터 스크립트가 윈도우 시작에 걸친 버킷만 가중치로 반영하고,
+     * 버킷이 윈도우에서 벗어나면 그 요청 수를 더 이상 세지 않는지 테스트합니다.
+     */
+    @Test
+    void slidingWindowCounter_ShouldWeightBoundaryBucketAndRollOver() {
+        // given: 10초에 10개, 버킷 5개 (버킷 크기 2초), 앱 노드 시간을 직접 지정
+        SlidingWindowCounterRateLimiterService service = new SlidingWindowCounterRateLimiterService(
+                redisTemplate, config.slidingWindowCounterScript(), new SimpleMeterRegistry(), 5);
+        String key = "test-integration-counter-" + UUID.randomUUID();
+        long start = 1_000_000_000_000L;
+        long limit = 10;
+        long period = 10;
+
+        // when & then
+        service.setTimeSource(fixedClock(start), false);
+        assertDecision(service.acquire(key, limit, period), true, 9, 12_000, 0);
+        assertAllowed(service, key, limit, period, 9);
+        // 첫 버킷이 윈도우 시작에 걸치기 시작하는 10초 뒤부터 가중치가 줄어듦
+        assertDecision(service.acquire(key, limit, period), false, 0, 12_000, 10_000);
+
+        // 첫 버킷이 윈도우 시작에 절반만 걸친 시점: 10개 * 0.5 = 5개로 계산되어 5개 더 허용
+        service.setTimeSource(fixedClock(start + 11_000), false);
+        assertAllowed(service, key, limit, period, 5);
+        assertFalse(service.tryAcquire(key, limit, period), "경계 버킷의 가중 합계가 제한에 도달하면 거부되어야 합니다");
+
+        // 첫 버킷이 윈도우에서 완전히 벗어난 시점: 바로 앞 버킷의 5개만 남아 5개 더 허용
+        service.setTimeSource(fixedClock(start + 12_000), false);
+        assertAllowed(service, key, limit, period, 5);
+        assertFalse(service.tryAcquire(key, limit, period), "윈도우 안의 요청 수가 제한에 도달하면 거부되어야 합니다");
+    }
+
+    /**
+     * 슬라이딩 윈도우 키의 제한이 임계값을 넘나들도록 바뀌어도 그때까지 허용한 요청이 새 표현으로 옮겨져
+     * 제한을 다시 채우지 않는지, 옮긴 횟수가 카운터에 기록되는지 테스트합니다.
+     */
+    @Test
+    void slidingWindow_WhenLimitCrossesThreshold_ShouldMigrateState() {
+        // given: 제한이 10보다 크면 버킷 표현
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedisRateLimiterService service = new RedisRateLimiterService(redisTemplate, config.rateLimiterScript(),
+                config.slidingWindowBucketedScript(), meterRegistry, 10, 10);
+        String key = "test-integration-migration-" + UUID.randomUUID();
+        long period = 60;
+
+        // when & then
+        // 요청 로그로 5개 허용
+        assertAllowed(service, key, 5, period, 5);
+        assertFalse(service.tryAcquire(key, 5, period), "요청 로그의 제한을 초과한 요청은 거부되어야 합니다");
+
+        // 제한을 20으로 올리면 버킷 표현으로 옮겨진 5개를 포함해 15개만 더 허용
+        assertAllowed(service, key, 20, period, 15);
+        assertFalse(service.tryAcquire(key, 20, period), "옮겨진 요청까지 포함해 제한을 초과한 요청은 거부되어야 합니다");
+
+        // 제한을 8로 내리면 요청 로그로 옮겨진 요청(최대 8개)으로 이미 제한에 도달
+        assertFalse(service.tryAcquire(key, 8, period), "요청 로그로 옮겨진 요청으로 제한에 도달해야 합니다");
+
+        assertEquals(1, meterRegistry.counter("rate_limiter.representation.migrations",
+                "representation", "bucketed").count());
+        assertEquals(1, meterRegistry.counter("rate_limiter.representation.migrations",
+                "representation", "log").count());
+    }
+
+    /**
+     * GCRA 스크립트가 기간 동안 제한만큼의 버스트를 허용한 뒤 요청 간격(period / limit)마다 하나씩 허용하고,
+     * 거부할 때 다음 간격까지 남은 시간을 재시도 시간으로 반환하는지 테스트합니다.
+     */
+    @Test
+    void gcra_ShouldAllowBurstThenSteadyRate() {
+        // given: 10초에 5개 (요청 간격 2초), 앱 노드 시간을 직접 지정
+        GcraRateLimiterService service = new GcraRateLimiterService(
+                redisTemplate, config.gcraScript(), new SimpleMeterRegistry());
+        String key = "test-integration-gcra-" + UUID.randomUUID();
+        long start = 1_000_000_000_000L;
+        long limit = 5;
+        long period = 10;
+
+        // when & then
+        // 버스트: 한순간에 제한만큼 허용 (요청마다 이론적 도착 시간이 2초씩 밀림)
+        service.setTimeSource(fixedClock(start), false);
+        assertDecision(service.acquire(key, limit, period), true, 4, 2_000, 0);
+        assertAllowed(service, key, limit, period, 3);
+        assertDecision(service.acquire(key, limit, period), true, 0, 10_000, 0);
+        assertDecision(service.acquire(key, limit, period), false, 0, 10_000, 2_000);
+
+        // 일정한 속도: 요청 간격마다 하나씩만 허용
+        for (int i = 1; i <= 3; i++) {
+            service.setTimeSource(fixedClock(start + i * 2_000L), false);
+            assertDecision(service.acquire(key, limit, period), true, 0, 10_000, 0);
+            assertDecision(service.acquire(key, limit, period), false, 0, 10_000, 2_000);
+        }
+
+        // 재시도 시간: 간격 중간에는 다음 간격까지 남은 시간만큼 기다려야 함
+        service.setTimeSource(fixedClock(start + 6_500), false);
+        assertDecision(service.acquire(key, limit, period), false, 0, 9_500, 1_500);
+
+        // 이론적 도착 시간이 현재 시간으로 돌아오면 다시 제한만큼의 버스트를 허용
+        service.setTimeSource(fixedClock(start + 16_000), false);
+        assertAllowed(service, key, limit, period, 5);
+        assertFalse(service.tryAcquire(key, limit, period), "버스트가 회복된 뒤에도 제한을 초과한 요청은 거부되어야 합니다");
+    }
+
+    /**
+     * 동시 요청 세마포어 스크립트가 제한만큼 허가를 임대하고, 반납되지 않은 허가는 임대 기간이 지나면 회수하며,
+     * 반납한 허가의 자리는 바로 다시 사용할 수 있는지 테스트합니다.
+     */
+    @Test
+    void concurrency_ShouldLeaseReclaimExpiredAndRelease() {
+        // given: 최대 2개, 임대 기간 10초, 노드마다 시간을 직접 지정한 서비스
+        String key = "test-integration-concurrency-" + UUID.randomUUID();
+        long start = 1_000_000_000_000L;
+        long limit = 2;
+        long lease = 10;
+
+        // when & then
+        // 노드 A가 허가 2개를 얻고 반납하지 않은 채 종료
+        ConcurrencyLimiterService crashed = concurrencyLimiter(start);
+        ConcurrencyPermit first = crashed.tryAcquire("rule", key, limit, lease);
+        assertTrue(first.acquired());
+        assertEquals(1, first.decision().remaining());
+        assertEquals(start + 10_000, first.decision().resetAtMillis(), "허가는 임대 기간이 지나면 만료되어야 합니다");
+        assertTrue(crashed.tryAcquire("rule", key, limit, lease).acquired());
+
+        // 임대 기간 중에는 노드 B가 거부되고, 먼저 만료되는 허가까지 남은 시간을 재시도 시간으로 받음
+        ConcurrencyPermit rejected = concurrencyLimiter(start + 4_000).tryAcquire("rule", key, limit, lease);
+        assertFalse(rejected.acquired(), "허가가 모두 임대 중이면 거부되어야 합니다");
+        assertEquals(6_000, rejected.decision().retryAfterMillis());
+
+        // 임대 기간이 지나면 반납되지 않은 허가를 회수하여 노드 B가 다시 제한만큼 얻음
+        ConcurrencyLimiterService node = concurrencyLimiter(start + 10_001);
+        ConcurrencyPermit reclaimed = node.tryAcquire("rule", key, limit, lease);
+        assertTrue(reclaimed.acquired(), "임대 기간이 지난 허가는 회수되어야 합니다");
+        assertEquals(1, reclaimed.decision().remaining());
+        assertTrue(node.tryAcquire("rule", key, limit, lease).acquired());
+        assertFalse(node.tryAcquire("rule", key, limit, lease).acquired(), "회수한 자리까지 모두 사용하면 거부되어야 합니다");
+
+        // 반납한 허가의 자리는 임대 기간을 기다리지 않고 다시 사용
+        reclaimed.release();
+        assertTrue(concurrencyLimiter(start + 10_001).tryAcquire("rule", key, limit, lease).acquired(),
+                "반납한 허가의 자리는 바로 다시 사용할 수 있어야 합니다");
+    }
+
+    /**
+     * 고정 윈도우 스크립트가 허용량 여러 개를 한 번에 소비하고, 남은 허용량보다 큰 요청은 소비 없이 거부한 뒤
+     * 남은 허용량에 맞는 요청은 허용하는지 테스트합니다.
+     */
+    @Test
+    void fixedWindow_WithMultiplePermits_ShouldConsumeAndRejectPartial() {
+        // given: 10초에 10개, 윈도우 시작 시점
+        FixedWindowRateLimiterService service = new FixedWindowRateLimiterService(
+                redisTemplate, config.fixedWindowScript(), new SimpleMeterRegistry());
+        String key = "test-integration-fixed-permits-" + UUID.randomUUID();
+        service.setTimeSource(fixedClock(1_000_000_000_000L), false);
+
+        // when & then
+        assertDecision(service.acquire(key, 4, 10, 10), true, 6, 10_000, 0);
+        assertDecision(service.acquire(key, 4, 10, 10), true, 2, 10_000, 0);
+
+        // 남은 2개보다 큰 요청은 다음 윈도우까지 거부 (재시도 시간은 키의 실제 남은 만료 시간)
+        RateLimitDecision rejected = service.acquire(key, 4, 10, 10);
+        assertFalse(rejected.allowed(), "남은 허용량보다 큰 요청은 거부되어야 합니다");
+        assertEquals(0, rejected.remaining());
+        assertEquals(10_000, rejected.retryAfterMillis(), 100);
+        assertHeaders(rejected, "0", "10");
+
+        // 거부된 요청은 허용량을 소비하지 않으므로 남은 2개는 허용
+        assertDecision(service.acquire(key, 2, 10, 10), true, 0, 10_000, 0);
+    }
+
+    /**
+     * 슬라이딩 윈도우 로그 스크립트가 허용량만큼 요청을 기록하고, 거부할 때는 부족한 허용량만큼의 요청이 만료되는 시점을
+     * 재시도 시간으로 반환하는지 테스트합니다.
+     */
+    @Test
+    void slidingWindowLog_WithMultiplePermits_ShouldConsumeAndRejectPartial() {
+        // given: 10초에 10개 (요청 로그로 판단)
+        RedisRateLimiterService service = new RedisRateLimiterService(redisTemplate, config.rateLimiterScript(),
+                config.slidingWindowBucketedScript(), new SimpleMeterRegistry(), 1000, 10);
+        String key = "test-integration-log-permits-" + UUID.randomUUID();
+        long start = 1_000_000_000_000L;
+
+        // when & then
+        service.setTimeSource(fixedClock(start), false);
+        assertDecision(service.acquire(key, 4, 10, 10), true, 6, 10_000, 0);
+        service.setTimeSource(fixedClock(start + 1_000), false);
+        assertDecision(service.acquire(key, 4, 10, 10), true, 2, 10_000, 0);
+
+        // 4개를 더 허용하려면 가장 오래된 요청 2개(처음 요청)가 만료되어야 함
+        service.setTimeSource(fixedClock(start + 2_000), false);
+        RateLimitDecision rejected = service.acquire(key, 4, 10, 10);
+        assertDecision(rejected, false, 0, 9_000, 8_000);
+        assertHeaders(rejected, "0", "8");
+
+        assertDecision(service.acquire(key, 2, 10, 10), true, 0, 10_000, 0);
+    }
+
+    /**
+     * 토큰 버킷 스크립트가 허용량만큼 토큰을 소비하고, 거부할 때는 부족한 토큰이 채워지는 시간을 재시도 시간으로 반환하는지 테스트합니다.
+     */
+    @Test
+    void tokenBucket_WithMultiplePermits_ShouldConsumeAndRejectPartial() {
+        // given: 용량 10, 1초에 토큰 1개
+        TokenBucketRateLimiterService service = new TokenBucketRateLimiterService(
+                redisTemplate, config.tokenBucketScript(), new SimpleMeterRegistry());
+        String key = "test-integration-token-permits-" + UUID.randomUUID();
+        long start = 1_000_000_000_000L;
+
+        // when & then
+        service.setTimeSource(fixedClock(start), false);
+        assertDecision(service.acquire(key, 4, 10, 10), true, 6, 4_000, 0);
+        assertDecision(service.acquire(key, 4, 10, 10), true, 2, 8_000, 0);
+
+        // 남은 토큰 2개로는 부족하므로 2개가 더 채워질 때까지 거부
+        RateLimitDecision rejected = service.acquire(key, 4, 10, 10);
+        assertDecision(rejected, false, 0, 8_000, 2_000);
+        assertHeaders(rejected, "0", "2");
+
+        // 2초 뒤에는 토큰 4개로 허용
+        service.setTimeSource(fixedClock(start + 2_000), false);
+        assertDecision(service.acquire(key, 4, 10, 10), true, 0, 10_000, 0);
+    }
+
+    /**
+     * 누수 버킷 스크립트가 허용량만큼 대기열 자리를 차지하고, 거부할 때는 부족한 자리가 비는 시간을 재시도 시간으로 반환하는지 테스트합니다.
+     */
+    @Test
+    void leakyBucket_WithMultiplePermits_ShouldConsumeAndRejectPartial() {
+        // given: 대기열 10, 1초에 하나씩 처리
+        LeakyBucketRateLimiterService service = new LeakyBucketRateLimiterService(
+                redisTemplate, config.leakyBucketScript(), new SimpleMeterRegistry());
+        String key = "test-integration-leaky-permits-" + UUID.randomUUID();
+        long start = 1_000_000_000_000L;
+
+        // when & then
+        service.setTimeSource(fixedClock(start), false);
+        assertDecision(service.acquire(key, 4, 10, 10), true, 6, 4_000, 0);
+        assertDecision(service.acquire(key, 4, 10, 10), true, 2, 8_000, 0);
+
+        // 남은 자리 2개로는 부족하므로 2개가 처리될 때까지 거부
+        RateLimitDecision rejected = service.acquire(key, 4, 10, 10);
+        assertDecision(rejected, false, 0, 8_000, 2_000);
+        assertHeaders(rejected, "0", "2");
+
+        // 2초 뒤에는 자리 4개로 허용
+        service.setTimeSource(fixedClock(start + 2_000), false);
+        assertDecision(service.acquire(key, 4, 10, 10), true, 0, 10_000, 0);
+    }
+
+    /**
+     * 슬라이딩 윈도우 카운터 스크립트가 허용량만큼 버킷 카운터를 늘리고, 거부할 때는 가중 합계가 허용량이 들어갈 만큼
+     * 줄어드는 시점을 재시도 시간으로 반환하는지 테스트합니다.
+     */
+    @Test
+    void slidingWindowCounter_WithMultiplePermits_ShouldConsumeAndRejectPartial() {
+        // given: 10초에 10개, 버킷 5개 (버킷 크기 2초)
+        SlidingWindowCounterRateLimiterService service = new SlidingWindowCounterRateLimiterService(
+                redisTemplate, config.slidingWindowCounterScript(), new SimpleMeterRegistry(), 5);
+        String key = "test-integration-counter-permits-" + UUID.randomUUID();
+        service.setTimeSource(fixedClock(1_000_000_000_000L), false);
+
+        // when & then
+        assertDecision(service.acquire(key, 4, 10, 10), true, 6, 12_000, 0);
+        assertDecision(service.acquire(key, 4, 10, 10), true, 2, 12_000, 0);
+
+        // 버킷의 8개가 윈도우 시작에 걸쳐 6개 이하로 줄어드는 시점(10초 + 버킷의 1/8)까지 거부
+        RateLimitDecision rejected = service.acquire(key, 4, 10, 10);
+        assertDecision(rejected, false, 0, 12_000, 10_250);
+        assertHeaders(rejected, "0", "11");
+
+        assertDecision(service.acquire(key, 2, 10, 10), true, 0, 12_000, 0);
+    }
+
+    /**
+     * GCRA 스크립트가 허용량만큼 이론적 도착 시간을 밀고, 거부할 때는 허용량이 들어갈 만큼 이론적 도착 시간이
+     * 돌아오는 시간을 재시도 시간으로 반환하는지 테스트합니다.
+     */
+    @Test
+    void gcra_WithMultiplePermits_ShouldConsumeAndRejectPartial() {
+        // given: 10초에 10개 (요청 간격 1초)
+        GcraRateLimiterService service = new GcraRateLimiterService(
+                redisTemplate, config.gcraScript(), new SimpleMeterRegistry());
+        String key = "test-integration-gcra-permits-" + UUID.randomUUID();
+        service.setTimeSource(fixedClock(1_000_000_000_000L), false);
+
+        // when & then
+        assertDecision(service.acquire(key, 4, 10, 10), true, 6, 4_000, 0);
+        assertDecision(service.acquire(key, 4, 10, 10), true, 2, 8_000, 0);
+
+        RateLimitDecision rejected = service.acquire(key, 4, 10, 10);
+        assertDecision(rejected, false, 0, 8_000, 2_000);
+        assertHeaders(rejected, "0", "2");
+
+        assertDecision(service.acquire(key, 2, 10, 10), true, 0, 10_000, 0);
+    }
+
+    /**
+     * 여러 노드가 게시한 구간 결과를 합산할 때 어떤 노드의 결과에 없는 키에 그 노드의 상한을 더해,
+     * 모든 키의 실제 요청 수가 count - error와 count 사이에 있는지 테스트합니다.
+     * 요청이 없던 구간을 게시하면 이전 구간 결과가 지워지고 노드는 요청이 없는 노드로 남는지도 확인합니다.
+     */
+    @Test
+    void heavyHitters_ShouldMergeNodesWithinErrorBound() {
+        // given: 노드 3개가 같은 접두사에 게시, 키 유형별 카운터 2개
+        String prefix = "test-heavy-hitters-" + UUID.randomUUID() + ":";
+        HeavyHitterTracker nodeA = heavyHitterTracker(prefix, "node-a");
+        HeavyHitterTracker nodeB = heavyHitterTracker(prefix, "node-b");
+        HeavyHitterTracker nodeC = heavyHitterTracker(prefix, "node-c");
+
+        // 노드 A: a 5번, b 3번, c 1번 (c가 b의 카운터를 대신하여 b는 추적되지 않음, 상한 4)
+        record(nodeA, "a", 5);
+        record(nodeA, "b", 3);
+        record(nodeA, "c", 1);
+        // 노드 B: a 2번, b 6번 (상한 2), 노드 C: 요청 없음
+        record(nodeB, "a", 2);
+        record(nodeB, "b", 6);
+        Map<String, Long> actual = Map.of("a", 7L, "b", 9L, "c", 1L);
+
+        // when
+        nodeA.publish();
+        nodeB.publish();
+        nodeC.publish();
+        HeavyHitterReport report = nodeC.clusterTop(RateLimit.KeyType.IP, 10);
+
+        // then
+        assertEquals("cluster", report.source());
+        assertEquals(3, report.nodes(), "요청이 없던 노드도 노드 수에 포함되어야 합니다");
+        assertEquals(List.of(new HeavyHitter("b", 10, 4), new HeavyHitter("a", 7, 0), new HeavyHitter("c", 6, 5)),
+                report.top());
+        for (HeavyHitter hitter : report.top()) {
+            long count = actual.get(hitter.key());
+            assertTrue(hitter.guaranteed() <= count && count <= hitter.count(),
+                    hitter + "의 범위에 실제 요청 수 " + count + "이(가) 포함되어야 합니다");
+        }
+
+        // 노드 A가 요청이 없던 구간을 게시하면 이전 결과는 지워지고 노드 B의 결과만 남음
+        nodeA.publish();
+        HeavyHitterReport next = nodeC.clusterTop(RateLimit.KeyType.IP, 10);
+        assertEquals(3, next.nodes());
+        assertEquals(List.of(new HeavyHitter("b", 6, 0), new HeavyHitter("a", 2, 0)), next.top());
+    }
+
+    /**
+     * 게시를 멈춘 노드는 조회할 때 합산에서만 제외되고(조회는 노드 목록을 바꾸지 않음),
+     * 다른 노드가 게시할 때 노드 목록에서 삭제되며 노드 목록에는 만료 시간이 설정되는지 테스트합니다.
+     */
+    @Test
+    void heavyHitters_ShouldPruneStaleNodesOnPublishOnly() {
+        // given: 노드 하나가 게시한 뒤, 게시 주기(60초)의 두 배보다 오래전에 게시한 노드가 노드 목록에 남아 있음
+        String prefix = "test-heavy-hitters-" + UUID.randomUUID() + ":";
+        HeavyHitterTracker node = heavyHitterTracker(prefix, "node-a");
+        byte[] nodesKey = (prefix + "{IP}:nodes").getBytes(StandardCharsets.UTF_8);
+        byte[] staleNode = "node-gone".getBytes(StandardCharsets.UTF_8);
+        byte[] staleValue = ("3:" + (System.currentTimeMillis() - 180_000)).getBytes(StandardCharsets.UTF_8);
+        record(node, "a", 2);
+        node.publish();
+        redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.hashCommands().hSet(nodesKey, staleNode, staleValue));
+
+        // when
+        HeavyHitterReport report = node.clusterTop(RateLimit.KeyType.IP, 10);
+
+        // then: 조회는 오래된 노드를 합산하지 않지만 노드 목록에서 삭제하지도 않음
+        assertEquals(1, report.nodes());
+        assertEquals(List.of(new HeavyHitter("a", 2, 0)), report.top());
+        assertTrue(redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.hashCommands().hExists(nodesKey, staleNode)), "조회는 노드 목록을 바꾸지 않아야 합니다");
+
+        // 다음 게시에서 오래된 노드가 삭제되고 노드 목록은 보관 시간 뒤에 만료
+        node.publish();
+        assertFalse(redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.hashCommands().hExists(nodesKey, staleNode)), "게시할 때 오래된 노드를 삭제해야 합니다");
+        Long ttl = redisTemplate.execute((RedisCallback<Long>) connection -> connection.keyCommands().pTtl(nodesKey));
+        assertTrue(ttl != null && ttl > 0 && ttl <= 120_000, "노드 목록에는 보관 시간만큼 만료 시간이 있어야 합니다");
+    }
+
+    private ConcurrencyLimiterService concurrencyLimiter(long millis) {
+        return new ConcurrencyLimiterService(redisTemplate, config.concurrencyScript(), new SimpleMeterRegistry(),
+                resilience, fixedClock(millis), false);
+    }
+
+    private HeavyHitterTracker heavyHitterTracker(String prefix, String nodeId) {
+        return new HeavyHitterTracker(redisTemplate, config.heavyHitterPublishScript(), new SimpleMeterRegistry(),
+                2, 60_000, prefix, nodeId);
+    }
+
+    private static void record(HeavyHitterTracker tracker, String key, int count) {
+        for (int i = 0; i < count; i++) {
+            tracker.record(RateLimit.KeyType.IP, key);
+        }
+    }
+
+    private static Clock fixedClock(long millis) {
+        return Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private static void assertDecision(RateLimitDecision decision, boolean allowed, long remaining,
+                                       long resetAfter, long retryAfter) {
+        assertEquals(allowed, decision.allowed());
+        assertEquals(remaining, decision.remaining(), "남은 허용량");
+        // 초기화 시각은 스크립트가 반환한 남은 시간을 실제 현재 시간에 더한 값
+        assertEquals(resetAfter, decision.resetAtMillis() - System.currentTimeMillis(), 100, "초기화까지 남은 시간");
+        assertEquals(retryAfter, decision.retryAfterMillis(), "재시도까지 남은 시간");
+    }
+
+    private static void assertHeaders(RateLimitDecision decision, String remaining, String retryAfter) {
+        Map<String, String> headers = new HashMap<>();
+        RateLimitHeaders.write(decision, headers::put);
+        assertEquals(Long.toString(decision.limit()), headers.get(RateLimitHeaders.LIMIT));
+        assertEquals(remaining, headers.get(RateLimitHeaders.REMAINING), "RateLimit-Remaining 헤더");
+        assertEquals(retryAfter, headers.get(RateLimitHeaders.RETRY_AFTER), "Retry-After 헤더");
+    }
+
+    private static void assertAllowed(RateLimiterService service, String key, long limit, long period, int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(service.tryAcquire(key, limit, period),
+                    "제한 내의 요청 " + (i + 1) + "은(는) 허용되어야 합니다");
+        }
+    }
+
     /**
      * 테스트를 위한 Redis 컨테이너 설정.
      */
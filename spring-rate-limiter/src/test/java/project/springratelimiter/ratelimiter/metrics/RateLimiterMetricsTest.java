@@ -0,0 +1,131 @@
+package project.springratelimiter.ratelimiter.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RateLimiterMetrics와 TraceparentSpanContext에 대한 단위 테스트.
+ * 이 테스트는 판단 결과가 알고리즘, 엔드포인트, 결과 태그가 붙은 SLO 히스토그램으로 기록되고(동시 요청 제한 포함),
+ * traceparent 헤더가 기록하는 동안에만 트레이스 정보로 제공되는지 확인합니다.
+ */
+class RateLimiterMetricsTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Method method;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        method = Endpoints.class.getMethod("search");
+    }
+
+    /**
+     * 판단 결과별 Timer에 기록되고, 판단 시간이 SLO 버킷에 나뉘어 쌓이는지 테스트합니다.
+     */
+    @Test
+    void record_ShouldTagByAlgorithmEndpointAndOutcome() {
+        // given
+        RateLimiterMetrics metrics = new RateLimiterMetrics(meterRegistry,
+                List.of(Duration.ofMillis(1), Duration.ofMillis(10)), null);
+        DecisionMeters meters = metrics.forRule(method, method.getAnnotation(RateLimit.class));
+
+        // when
+        metrics.record(meters, true, TimeUnit.MICROSECONDS.toNanos(500), null);
+        metrics.record(meters, true, TimeUnit.MILLISECONDS.toNanos(5), null);
+        metrics.record(meters, false, TimeUnit.MICROSECONDS.toNanos(200), null);
+
+        // then
+        Timer allowed = meterRegistry.get("rate_limiter.decision")
+                .tags("algorithm", "token_bucket", "endpoint", "Endpoints.search", "outcome", "allowed")
+                .timer();
+        Timer rejected = meterRegistry.get("rate_limiter.decision")
+                .tags("algorithm", "token_bucket", "endpoint", "Endpoints.search", "outcome", "rejected")
+                .timer();
+        assertEquals(2, allowed.count());
+        assertEquals(1, rejected.count());
+
+        CountAtBucket[] buckets = allowed.takeSnapshot().histogramCounts();
+        assertEquals(2, buckets.length, "SLO 경계마다 버킷 하나");
+        assertEquals(1, buckets[0].count(), "1ms 이하");
+        assertEquals(2, buckets[1].count(), "10ms 이하 (누적)");
+    }
+
+    /**
+     * 동시 요청 제한의 허가 판단이 algorithm=concurrency로 같은 Timer에 기록되는지 테스트합니다.
+     */
+    @Test
+    void forConcurrencyLimit_ShouldShareDecisionTimer() {
+        // given
+        RateLimiterMetrics metrics = new RateLimiterMetrics(meterRegistry, List.of(Duration.ofMillis(1)), null);
+        DecisionMeters meters = metrics.forConcurrencyLimit(method);
+
+        // when
+        metrics.record(meters, true, 1000, null);
+        metrics.record(meters, false, 1000, null);
+        metrics.record(meters, false, 1000, null);
+
+        // then
+        assertEquals(1, meterRegistry.get("rate_limiter.decision")
+                .tags("algorithm", "concurrency", "endpoint", "Endpoints.search", "outcome", "allowed")
+                .timer().count());
+        assertEquals(2, meterRegistry.get("rate_limiter.decision")
+                .tags("algorithm", "concurrency", "endpoint", "Endpoints.search", "outcome", "rejected")
+                .timer().count());
+    }
+
+    /**
+     * traceparent 헤더를 기록하는 동안에만 트레이스 ID와 sampled 플래그를 제공하는지 테스트합니다.
+     */
+    @Test
+    void spanContext_ShouldExposeTraceparentOnlyWhileRecording() {
+        // given
+        TraceparentSpanContext spanContext = new TraceparentSpanContext();
+        RateLimiterMetrics metrics = new RateLimiterMetrics(meterRegistry, List.of(Duration.ofMillis(1)), spanContext);
+        DecisionMeters meters = metrics.forRule(method, method.getAnnotation(RateLimit.class));
+
+        // when
+        metrics.record(meters, true, 1000, TRACEPARENT);
+
+        // then
+        assertTrue(metrics.isExemplarEnabled());
+        assertNull(spanContext.getCurrentTraceId(), "기록이 끝나면 트레이스 정보를 지워야 합니다");
+
+        spanContext.set(TRACEPARENT);
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", spanContext.getCurrentTraceId());
+        assertEquals("00f067aa0ba902b7", spanContext.getCurrentSpanId());
+        assertTrue(spanContext.isCurrentSpanSampled());
+
+        spanContext.set(TRACEPARENT.substring(0, TRACEPARENT.length() - 2) + "00");
+        assertNotNull(spanContext.getCurrentTraceId());
+        assertFalse(spanContext.isCurrentSpanSampled(), "sampled 플래그가 꺼진 트레이스는 사용하지 않습니다");
+
+        spanContext.set("invalid");
+        assertNull(spanContext.getCurrentTraceId());
+        spanContext.clear();
+    }
+
+    static class Endpoints {
+
+        @RateLimit(algorithm = RateLimit.Algorithm.TOKEN_BUCKET, limit = 10)
+        public void search() {
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package project.springratelimiter.ratelimiter.override;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import project.springratelimiter.ratelimiter.adaptive.AdaptiveLimitRegistry;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.factory.RateLimiterFactory;
+import project.springratelimiter.ratelimiter.metrics.RateLimiterMetrics;
+import project.springratelimiter.ratelimiter.plan.RateLimitPlanCache;
+import project.springratelimiter.ratelimiter.plan.RateLimitRule;
+import project.springratelimiter.ratelimiter.plan.RequestKeys;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * RateLimitOverrideRegistry에 대한 단위 테스트.
+ * 이 테스트는 Redis Hash의 재정의 항목이 구체적인 순서대로 적용되고, 내용이 바뀔 때만 스냅샷이 교체되는지 확인합니다.
+ */
+class RateLimitOverrideRegistryTest {
+
+    private static final String RULE_ID = Endpoints.class.getName() + ".search";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private RateLimitOverrideRegistry registry;
+
+    private RateLimitRule rule;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        MockitoAnnotations.openMocks(this);
+        registry = new RateLimitOverrideRegistry(redisTemplate, new SimpleMeterRegistry(), "rate_limiter:overrides");
+        RateLimit rateLimit = Endpoints.class.getMethod("search").getAnnotation(RateLimit.class);
+        rule = new RateLimitRule(rateLimit, null, null, "", null, null, RULE_ID, null);
+    }
+
+    /**
+     * 요청 키, 규칙, 키 유형 순서로 더 구체적인 재정의가 적용되는지 테스트합니다.
+     */
+    @Test
+    void resolve_ShouldPreferMostSpecificOverride() {
+        // given
+        stubHash(Map.of(
+                "type:IP", "8",
+                RULE_ID, "5/10",
+                RULE_ID + "@10.0.0.1", "100/60"));
+
+        // when
+        registry.refresh();
+
+        // then
+        RateLimitOverride tenant = registry.resolve(rule, "10.0.0.1");
+        assertEquals(100, tenant.limit(rule));
+        assertEquals(60, tenant.period(rule));
+
+        RateLimitOverride endpoint = registry.resolve(rule, "10.0.0.2");
+        assertEquals(5, endpoint.limit(rule));
+        assertEquals(10, endpoint.period(rule));
+
+        stubHash(Map.of("type:IP", "8"));
+        registry.refresh();
+        RateLimitOverride keyType = registry.resolve(rule, "10.0.0.2");
+        assertEquals(8, keyType.limit(rule));
+        assertEquals(30, keyType.period(rule), "재정의하지 않은 기간은 선언된 값을 사용해야 합니다");
+    }
+
+    /**
+     * 겹쳐 선언된 적응형 규칙은 카운터 키에 선언 순서와 노드 ID가 붙어도, 요청 키 재정의를 요청 키 그대로 찾는지 테스트합니다.
+     */
+    @Test
+    void resolve_WithStackedAdaptiveRule_ShouldMatchRawRequestKey() throws NoSuchMethodException {
+        // given
+        RateLimitPlanCache planCache = new RateLimitPlanCache(mock(RateLimiterFactory.class),
+                new AdaptiveLimitRegistry(new SimpleMeterRegistry(), 0.1, 0.2, 1.5, 600, 1000, 10, "node-1",
+                        AdaptiveLimitRegistry.DEFAULT_DROP_EXCEPTIONS.split(",")),
+                new RateLimiterMetrics(new SimpleMeterRegistry(), List.of(Duration.ofMillis(1)), null));
+        RateLimitRule adaptiveRule = planCache.planFor(Endpoints.class.getMethod("layered")).rules().get(1);
+        String ruleId = Endpoints.class.getName() + ".layered#1";
+        stubHash(Map.of(ruleId + "@10.0.0.1", "10/60"));
+
+        // when
+        registry.refresh();
+        String requestKey = RequestKeys.requestKey(adaptiveRule, header -> null, () -> "10.0.0.1");
+
+        // then
+        assertEquals("10.0.0.1#1@node-1", RequestKeys.ruleKey(adaptiveRule, requestKey),
+                "카운터 키에는 선언 순서와 노드 ID가 붙어야 합니다");
+        RateLimitOverride tenant = registry.resolve(adaptiveRule, requestKey);
+        assertEquals(10, tenant.limit(adaptiveRule));
+        assertEquals(60, tenant.period(adaptiveRule));
+        assertSame(RateLimitOverride.NONE, registry.resolve(adaptiveRule, "10.0.0.2"));
+        assertSame(RateLimitOverride.NONE, registry.resolve(adaptiveRule, RequestKeys.ruleKey(adaptiveRule, requestKey)),
+                "접미사가 붙은 카운터 키로는 재정의를 찾지 않아야 합니다");
+    }
+
+    /**
+     * Hash 내용이 같으면 스냅샷을 교체하지 않고, 잘못된 항목은 건너뛰는지 테스트합니다.
+     */
+    @Test
+    void refresh_WhenUnchanged_ShouldKeepSnapshot() {
+        // given
+        stubHash(Map.of(RULE_ID, "5", "type:NONE", "1", RULE_ID + "#1", "not-a-number"));
+
+        // when
+        registry.refresh();
+        RateLimitOverrideSnapshot first = registry.snapshot();
+        registry.refresh();
+
+        // then
+        assertSame(first, registry.snapshot(), "내용이 바뀌지 않으면 같은 스냅샷을 사용해야 합니다");
+        assertEquals(1, first.version());
+        assertEquals(1, first.size(), "잘못된 항목은 건너뛰어야 합니다");
+    }
+
+    /**
+     * Redis를 읽지 못하면 마지막 스냅샷을 계속 사용하는지 테스트합니다.
+     */
+    @Test
+    void refresh_WhenRedisFails_ShouldKeepLastSnapshot() {
+        // given
+        stubHash(Map.of(RULE_ID, "5"));
+        registry.refresh();
+
+        // when
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Redis 연결 실패"));
+        registry.refresh();
+
+        // then
+        assertEquals(5, registry.resolve(rule, "10.0.0.1").limit(rule));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubHash(Map<String, String> entries) {
+        Map<byte[], byte[]> raw = new LinkedHashMap<>();
+        entries.forEach((field, value) -> raw.put(field.getBytes(StandardCharsets.UTF_8),
+                value.getBytes(StandardCharsets.UTF_8)));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(raw);
+    }
+
+    static class Endpoints {
+
+        @RateLimit(limit = 20, period = 30)
+        public void search() {
+        }
+
+        @RateLimit(limit = 20, period = 30)
+        @RateLimit(limit = 50, period = 30, adaptive = true)
+        public void layered() {
+        }
+    }
+}
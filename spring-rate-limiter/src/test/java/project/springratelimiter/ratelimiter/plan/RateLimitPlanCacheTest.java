@@ -0,0 +1,227 @@
+package project.springratelimiter.ratelimiter.plan;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import project.springratelimiter.ratelimiter.adaptive.AdaptiveLimitRegistry;
+import project.springratelimiter.ratelimiter.annotation.ConcurrencyLimit;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.factory.RateLimiterFactory;
+import project.springratelimiter.ratelimiter.metrics.RateLimiterMetrics;
+import project.springratelimiter.ratelimiter.service.LeakyBucketRateLimiterService;
+import project.springratelimiter.ratelimiter.service.RateLimiterService;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RateLimitPlanCache에 대한 단위 테스트.
+ * 이 테스트는 어노테이션과 서비스가 메서드마다 한 번만 해석되고, 요청과 관계없는 키가 미리 만들어지는지 확인합니다.
+ */
+class RateLimitPlanCacheTest {
+
+    @Mock
+    private RateLimiterFactory rateLimiterFactory;
+
+    private RateLimitPlanCache planCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        planCache = new RateLimitPlanCache(rateLimiterFactory,
+                new AdaptiveLimitRegistry(new SimpleMeterRegistry(), 0.1, 0.2, 1.5, 600, 1000, 10, "node-1",
+                        AdaptiveLimitRegistry.DEFAULT_DROP_EXCEPTIONS.split(",")),
+                new RateLimiterMetrics(new SimpleMeterRegistry(), List.of(Duration.ofMillis(1)), null));
+    }
+
+    /**
+     * 같은 메서드에 대해서는 계획을 한 번만 만들고, 겹친 규칙의 키에 선언 순서를 붙이는지 테스트합니다.
+     */
+    @Test
+    void planFor_ShouldResolveOncePerMethod() throws NoSuchMethodException {
+        // given
+        RateLimiterService tokenBucket = mock(RateLimiterService.class);
+        RateLimiterService fixedWindow = mock(RateLimiterService.class);
+        when(rateLimiterFactory.getRateLimiter(RateLimit.Algorithm.TOKEN_BUCKET, RateLimit.Backend.REDIS))
+                .thenReturn(tokenBucket);
+        when(rateLimiterFactory.getRateLimiter(RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.REDIS))
+                .thenReturn(fixedWindow);
+        Method method = Endpoints.class.getMethod("layered");
+
+        // when
+        RateLimitPlan plan = planCache.planFor(method);
+        RateLimitPlan cached = planCache.planFor(method);
+
+        // then
+        assertSame(plan, cached, "같은 메서드는 같은 계획을 반환해야 합니다");
+        verify(rateLimiterFactory, times(1)).getRateLimiter(RateLimit.Algorithm.TOKEN_BUCKET, RateLimit.Backend.REDIS);
+
+        assertEquals(2, plan.rules().size());
+        RateLimitRule ipRule = plan.rules().get(0);
+        assertSame(tokenBucket, ipRule.service());
+        assertNull(ipRule.fixedKey(), "IP 키는 요청마다 만들어야 합니다");
+        assertEquals("#0", ipRule.keySuffix());
+
+        RateLimitRule methodRule = plan.rules().get(1);
+        assertSame(fixedWindow, methodRule.service());
+        assertEquals(Endpoints.class.getName() + ".layered#1", methodRule.fixedKey());
+        assertNull(plan.concurrencyMeters(), "동시 요청 제한이 없으면 Timer 핸들도 없어야 합니다");
+    }
+
+    /**
+     * 적응형 규칙은 유효 제한이 노드마다 다르므로 카운터 키에 노드 ID를 붙이고, 재정의 이름에는 붙이지 않는지 테스트합니다.
+     */
+    @Test
+    void planFor_WithAdaptiveRule_ShouldUseNodeLocalKeys() throws NoSuchMethodException {
+        // when
+        RateLimitPlan plan = planCache.planFor(Endpoints.class.getMethod("adaptive"));
+
+        // then
+        String methodKey = Endpoints.class.getName() + ".adaptive";
+        RateLimitRule rule = plan.rules().get(0);
+        assertEquals(methodKey + "@node-1", rule.fixedKey());
+        assertEquals(methodKey, rule.ruleId());
+        assertEquals(methodKey + "@node-1", plan.concurrencyKey());
+        assertNotNull(plan.concurrencyMeters());
+        assertEquals(2, plan.adaptiveLimits().size());
+    }
+
+    /**
+     * 속도 제한이 없는 메서드는 빈 계획을 반환하는지 테스트합니다.
+     */
+    @Test
+    void planFor_WhenNotAnnotated_ShouldReturnEmptyPlan() throws NoSuchMethodException {
+        // when
+        RateLimitPlan plan = planCache.planFor(Endpoints.class.getMethod("unlimited"));
+
+        // then
+        assertFalse(plan.isLimited());
+    }
+
+    /**
+     * 허용량 표현식은 계획을 만들 때 파싱되고 요청마다 메서드 인자로 계산되는지 테스트합니다.
+     */
+    @Test
+    void cost_WithExpression_ShouldEvaluateMethodArguments() throws NoSuchMethodException {
+        // given
+        Method method = Endpoints.class.getMethod("bulk", int.class);
+        RateLimitRule rule = planCache.planFor(method).rules().get(0);
+
+        // when & then
+        assertEquals(25, rule.cost(method, new Object[]{25}));
+        assertThrows(IllegalArgumentException.class, () -> rule.cost(method, new Object[]{0}),
+                "1보다 작은 허용량은 거부되어야 합니다");
+        assertEquals(1, planCache.planFor(Endpoints.class.getMethod("layered")).rules().get(0)
+                .cost(method, new Object[0]), "표현식이 없으면 선언된 cost를 사용해야 합니다");
+    }
+
+    /**
+     * 1보다 작은 cost가 선언된 메서드는 계획을 만들 때 거부하는지 테스트합니다.
+     */
+    @Test
+    void planFor_WhenCostBelowOne_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> planCache.planFor(Endpoints.class.getMethod("free")));
+    }
+
+    /**
+     * 셰이핑 규칙은 대기 시간을 계산할 수 있는 서비스의 단일 규칙에만 허용되는지 테스트합니다.
+     */
+    @Test
+    void planFor_WithMaxDelay_ShouldRequireShapingService() throws NoSuchMethodException {
+        // given
+        when(rateLimiterFactory.getRateLimiter(RateLimit.Algorithm.LEAKY_BUCKET, RateLimit.Backend.REDIS))
+                .thenReturn(mock(LeakyBucketRateLimiterService.class));
+        when(rateLimiterFactory.getRateLimiter(RateLimit.Algorithm.TOKEN_BUCKET, RateLimit.Backend.REDIS))
+                .thenReturn(mock(RateLimiterService.class));
+
+        // when & then
+        assertEquals(500, planCache.planFor(Endpoints.class.getMethod("shaped")).rules().get(0)
+                .rateLimit().maxDelayMillis());
+        assertThrows(IllegalArgumentException.class,
+                () -> planCache.planFor(Endpoints.class.getMethod("shapedTokenBucket")),
+                "누수 버킷이 아닌 규칙은 셰이핑할 수 없습니다");
+        assertThrows(IllegalArgumentException.class,
+                () -> planCache.planFor(Endpoints.class.getMethod("shapedLayered")),
+                "겹쳐 선언된 규칙은 셰이핑할 수 없습니다");
+    }
+
+    /**
+     * WebFlux 필터는 동시 요청 허가를 얻지 않으므로 @ConcurrencyLimit이 선언된 메서드를 거부하는지 테스트합니다.
+     */
+    @Test
+    void reactivePlanFor_WithConcurrencyLimit_ShouldThrow() throws NoSuchMethodException {
+        // when & then
+        assertEquals(2, planCache.reactivePlanFor(Endpoints.class.getMethod("layered")).rules().size());
+        assertThrows(IllegalArgumentException.class,
+                () -> planCache.reactivePlanFor(Endpoints.class.getMethod("adaptive")),
+                "WebFlux에서 동시 요청 제한이 조용히 무시되면 안 됩니다");
+        assertThrows(IllegalArgumentException.class,
+                () -> planCache.reactivePlanFor(Endpoints.class.getMethod("concurrent")));
+    }
+
+    /**
+     * WebFlux 필터는 메서드 인자를 알 수 없으므로 허용량 표현식이 선언된 메서드를 거부하는지 테스트합니다.
+     */
+    @Test
+    void reactivePlanFor_WithCostExpression_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> planCache.reactivePlanFor(Endpoints.class.getMethod("bulk", int.class)),
+                "WebFlux에서 허용량 표현식이 선언된 cost로 조용히 바뀌면 안 됩니다");
+    }
+
+    static class Endpoints {
+
+        @RateLimit(algorithm = RateLimit.Algorithm.TOKEN_BUCKET, limit = 5, period = 30)
+        @RateLimit(keyType = RateLimit.KeyType.METHOD, algorithm = RateLimit.Algorithm.FIXED_WINDOW, limit = 50, period = 60)
+        public void layered() {
+        }
+
+        public void unlimited() {
+        }
+
+        @RateLimit(keyType = RateLimit.KeyType.METHOD, limit = 100, period = 60, adaptive = true)
+        @ConcurrencyLimit(limit = 8, adaptive = true)
+        public void adaptive() {
+        }
+
+        @ConcurrencyLimit(limit = 4)
+        public void concurrent() {
+        }
+
+        @RateLimit(limit = 100, costExpression = "#p0")
+        public void bulk(int size) {
+        }
+
+        @RateLimit(cost = 0)
+        public void free() {
+        }
+
+        @RateLimit(algorithm = RateLimit.Algorithm.LEAKY_BUCKET, limit = 10, maxDelayMillis = 500)
+        public void shaped() {
+        }
+
+        @RateLimit(algorithm = RateLimit.Algorithm.TOKEN_BUCKET, limit = 10, maxDelayMillis = 500)
+        public void shapedTokenBucket() {
+        }
+
+        @RateLimit(algorithm = RateLimit.Algorithm.LEAKY_BUCKET, limit = 10, maxDelayMillis = 500)
+        @RateLimit(keyType = RateLimit.KeyType.METHOD, algorithm = RateLimit.Algorithm.LEAKY_BUCKET, limit = 100)
+        public void shapedLayered() {
+        }
+    }
+}
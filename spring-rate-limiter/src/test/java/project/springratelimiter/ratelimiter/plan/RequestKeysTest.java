@@ -0,0 +1,43 @@
+package project.springratelimiter.ratelimiter.plan;
+
+import org.junit.jupiter.api.Test;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * RequestKeys에 대한 단위 테스트.
+ * 이 테스트는 서블릿과 리액티브 요청이 같은 헤더에서 같은 키를 얻는지 확인합니다.
+ */
+class RequestKeysTest {
+
+    /**
+     * 값이 없거나 unknown인 헤더를 건너뛰고 우선순위가 높은 헤더의 값을 사용하는지 테스트합니다.
+     */
+    @Test
+    void clientIp_ShouldUseFirstMeaningfulHeader() {
+        Map<String, String> headers = Map.of("X-Forwarded-For", "unknown", "Proxy-Client-IP", "",
+                "WL-Proxy-Client-IP", "10.0.0.7", "HTTP_CLIENT_IP", "10.0.0.8");
+
+        assertEquals("10.0.0.7", RequestKeys.clientIp(headers::get, () -> "192.168.0.1"));
+    }
+
+    /**
+     * 프록시 헤더가 없으면 원격 주소를 사용하는지 테스트합니다.
+     */
+    @Test
+    void clientIp_WithoutProxyHeaders_ShouldUseRemoteAddress() {
+        assertEquals("192.168.0.1", RequestKeys.clientIp(header -> null, () -> "192.168.0.1"));
+    }
+
+    /**
+     * 키 유형에 따라 사용자 ID나 클라이언트 IP 주소를 사용하는지 테스트합니다.
+     */
+    @Test
+    void requestKey_ShouldFollowKeyType() {
+        assertEquals("anonymous", RequestKeys.requestKey(RateLimit.KeyType.USER, header -> "10.0.0.7", () -> "192.168.0.1"));
+        assertEquals("10.0.0.7", RequestKeys.requestKey(RateLimit.KeyType.IP, header -> "10.0.0.7", () -> "192.168.0.1"));
+    }
+}
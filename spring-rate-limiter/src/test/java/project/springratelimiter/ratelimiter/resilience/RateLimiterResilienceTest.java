@@ -0,0 +1,233 @@
+package project.springratelimiter.ratelimiter.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.factory.RateLimiterFactory;
+import project.springratelimiter.ratelimiter.service.LimitSpec;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+import project.springratelimiter.ratelimiter.service.memory.InMemoryFixedWindowRateLimiterService;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * RateLimiterResilience와 RedisCircuitBreaker에 대한 단위 테스트.
+ * 이 테스트는 Redis 장애 시 실패 정책에 따라 판단하고, 연속 실패 후 회로가 열려 Redis를 호출하지 않는지 확인합니다.
+ */
+class RateLimiterResilienceTest {
+
+    @Mock
+    private RateLimiterFactory rateLimiterFactory;
+
+    // 테스트용 SimpleMeterRegistry 사용
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimiterResilience resilience;
+
+    private final LimitSpec spec =
+            new LimitSpec("resilience-key", 10, 60, RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.REDIS);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(rateLimiterFactory.getRateLimiter(RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY))
+                .thenReturn(new InMemoryFixedWindowRateLimiterService(Clock.systemUTC(), meterRegistry));
+
+        // 연속 2회 실패하면 회로가 열리고, 노드 2개 기준으로 제한을 나눔
+        resilience = new RateLimiterResilience(rateLimiterFactory, meterRegistry, 50, 2, 60000, 2);
+    }
+
+    /**
+     * Redis 호출이 실패하면 FALLBACK 정책이 노드 수로 나눈 제한의 인메모리 속도 제한기로 판단하는지 테스트합니다.
+     */
+    @Test
+    void execute_WhenRedisFails_ShouldFallBackToInMemoryWithSplitLimit() {
+        // when
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            RateLimitDecision decision = resilience.execute(
+                    () -> { throw new QueryTimeoutException("Redis command timed out"); },
+                    () -> resilience.degrade(RateLimit.FailurePolicy.FALLBACK, spec));
+            if (decision.allowed()) {
+                allowed++;
+            }
+        }
+
+        // then
+        // 제한 10을 노드 2개로 나눈 5개만 허용되어야 함
+        assertEquals(5, allowed);
+        assertEquals(10.0, meterRegistry.get("rate_limiter.degraded.decisions")
+                .tag("policy", "fallback").counter().count());
+    }
+
+    /**
+     * 연속 실패가 임계값에 도달하면 회로가 열려 더 이상 Redis를 호출하지 않는지 테스트합니다.
+     */
+    @Test
+    void execute_WhenFailureThresholdReached_ShouldOpenCircuit() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            resilience.execute(() -> {
+                calls.incrementAndGet();
+                throw new QueryTimeoutException("Redis command timed out");
+            }, () -> resilience.degrade(RateLimit.FailurePolicy.FAIL_CLOSED, spec));
+        }
+
+        // then
+        assertEquals(2, calls.get(), "회로가 열린 뒤에는 Redis를 호출하지 않아야 합니다");
+        assertEquals(RedisCircuitBreaker.State.OPEN, resilience.getState());
+        assertEquals(1.0, meterRegistry.get("rate_limiter.degraded").gauge().value());
+        assertEquals(1.0, meterRegistry.get("rate_limiter.degraded.transitions").tag("to", "open").counter().count());
+    }
+
+    /**
+     * 리액티브 호출이 제한 시간을 넘으면 실패 정책으로 판단하는지 테스트합니다.
+     */
+    @Test
+    void executeReactive_WhenDeadlineExceeded_ShouldApplyFailurePolicy() {
+        // when
+        RateLimitDecision decision = resilience.executeReactive(
+                        () -> Mono.just(RateLimitDecision.of(true, 10)).delayElement(Duration.ofSeconds(1)),
+                        () -> resilience.degrade(RateLimit.FailurePolicy.FAIL_CLOSED, spec))
+                .block();
+
+        // then
+        assertFalse(decision.allowed(), "FAIL_CLOSED 정책은 요청을 거부해야 합니다");
+        assertTrue(decision.retryAfterMillis() > 0, "재시도 시간이 지정되어야 합니다");
+    }
+
+    /**
+     * 열림 유지 시간이 지나면 시험 호출 하나만 허용하고, 성공하면 회로가 닫히는지 테스트합니다.
+     */
+    @Test
+    void circuitBreaker_AfterOpenDuration_ShouldAllowSingleProbe() {
+        // given
+        AtomicLong now = new AtomicLong();
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(1, 1000, now::get, (from, to) -> { });
+        breaker.onFailure();
+
+        // when
+        now.set(1000);
+        boolean probe = breaker.tryAcquirePermission();
+        boolean concurrent = breaker.tryAcquirePermission();
+        breaker.onSuccess();
+
+        // then
+        assertTrue(probe, "열림 유지 시간이 지나면 시험 호출을 허용해야 합니다");
+        assertFalse(concurrent, "시험 중에는 다른 호출을 허용하지 않아야 합니다");
+        assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    /**
+     * 리액티브 시험 호출이 빈 결과로 끝나면 시험 호출을 반납하여 다음 호출이 다시 시험할 수 있는지 테스트합니다.
+     */
+    @Test
+    void executeReactive_WhenProbeCompletesEmpty_ShouldReleaseProbe() {
+        // given
+        RateLimiterResilience probing = openCircuitWithImmediateProbe();
+
+        // when
+        RateLimitDecision empty = probing.executeReactive(Mono::empty,
+                () -> probing.degrade(RateLimit.FailurePolicy.FAIL_CLOSED, spec)).block();
+
+        // then
+        assertNull(empty);
+        assertProbeReleased(probing);
+    }
+
+    /**
+     * 리액티브 시험 호출이 취소되면 시험 호출을 반납하는지 테스트합니다.
+     */
+    @Test
+    void executeReactive_WhenProbeCancelled_ShouldReleaseProbe() {
+        // given
+        RateLimiterResilience probing = openCircuitWithImmediateProbe();
+
+        // when
+        Disposable subscription = probing.executeReactive(Mono::never,
+                () -> probing.degrade(RateLimit.FailurePolicy.FAIL_CLOSED, spec)).subscribe();
+        subscription.dispose();
+
+        // then
+        assertProbeReleased(probing);
+    }
+
+    /**
+     * 리액티브 시험 호출이 Redis와 관계없는 예외로 끝나면 예외를 그대로 전달하고 시험 호출을 반납하는지 테스트합니다.
+     */
+    @Test
+    void executeReactive_WhenProbeFailsWithNonRedisException_ShouldReleaseProbe() {
+        // given
+        RateLimiterResilience probing = openCircuitWithImmediateProbe();
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> probing.executeReactive(
+                () -> Mono.error(new IllegalStateException("not a Redis failure")),
+                () -> probing.degrade(RateLimit.FailurePolicy.FAIL_CLOSED, spec)).block());
+        assertProbeReleased(probing);
+    }
+
+    /**
+     * 시험 호출이 Redis와 관계없는 예외를 던지면 예외를 그대로 전달하고 시험 호출을 반납하는지 테스트합니다.
+     */
+    @Test
+    void execute_WhenProbeThrowsNonRedisException_ShouldReleaseProbe() {
+        // given
+        RateLimiterResilience probing = openCircuitWithImmediateProbe();
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> probing.execute(
+                () -> { throw new IllegalStateException("not a Redis failure"); },
+                () -> probing.degrade(RateLimit.FailurePolicy.FAIL_CLOSED, spec)));
+        assertProbeReleased(probing);
+    }
+
+    /**
+     * 한 번의 실패로 회로가 열리고 열림 유지 시간 없이 바로 시험 호출을 허용하는 인스턴스를 만듭니다.
+     */
+    private RateLimiterResilience openCircuitWithImmediateProbe() {
+        RateLimiterResilience probing = new RateLimiterResilience(rateLimiterFactory, meterRegistry, 50, 1, 0, 1);
+        probing.execute(() -> { throw new QueryTimeoutException("Redis command timed out"); },
+                () -> probing.degrade(RateLimit.FailurePolicy.FAIL_OPEN, spec));
+        assertEquals(RedisCircuitBreaker.State.OPEN, probing.getState());
+        return probing;
+    }
+
+    /**
+     * 시험 호출이 반납되어 회로가 시험 중 상태에 머물지 않고, 다음 호출이 시험하여 회로를 닫는지 확인합니다.
+     */
+    private void assertProbeReleased(RateLimiterResilience probing) {
+        assertEquals(RedisCircuitBreaker.State.OPEN, probing.getState(), "시험 호출이 반납되어야 합니다");
+
+        AtomicInteger calls = new AtomicInteger();
+        RateLimitDecision decision = probing.execute(() -> {
+            calls.incrementAndGet();
+            return RateLimitDecision.of(true, 10);
+        }, () -> probing.degrade(RateLimit.FailurePolicy.FAIL_CLOSED, spec));
+
+        assertEquals(1, calls.get(), "다음 호출이 시험 호출로 Redis를 호출해야 합니다");
+        assertTrue(decision.allowed());
+        assertEquals(RedisCircuitBreaker.State.CLOSED, probing.getState());
+    }
+}
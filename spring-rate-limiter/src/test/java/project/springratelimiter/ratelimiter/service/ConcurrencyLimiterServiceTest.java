@@ -0,0 +1,103 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import project.springratelimiter.ratelimiter.config.RateLimiterConfig;
+import project.springratelimiter.ratelimiter.factory.RateLimiterFactory;
+import project.springratelimiter.ratelimiter.resilience.RateLimiterResilience;
+
+import java.time.Clock;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ConcurrencyLimiterService에 대한 단위 테스트.
+ * 이 테스트는 로컬 동시 요청 수만으로 제한에 도달한 키가 Redis를 호출하지 않고 거부되는지,
+ * 반납한 허가가 로컬 카운터와 게이지에서 빠지는지 확인합니다.
+ */
+class ConcurrencyLimiterServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RateLimiterFactory rateLimiterFactory;
+
+    private RedisScript<List<Long>> concurrencyScript = new RateLimiterConfig().concurrencyScript();
+
+    // 테스트용 SimpleMeterRegistry 사용
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConcurrencyLimiterService concurrencyLimiterService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        RateLimiterResilience resilience = new RateLimiterResilience(rateLimiterFactory, meterRegistry, 100, 5, 5000, 1);
+        concurrencyLimiterService = new ConcurrencyLimiterService(redisTemplate, concurrencyScript, meterRegistry,
+                resilience, Clock.systemUTC(), false);
+
+        // Redis 세마포어는 항상 허가를 내주도록 설정 (스크립트 실행과 반납 모두 RedisCallback으로 실행됨)
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(List.of(1L, 0L, 30000L, 0L));
+    }
+
+    /**
+     * 이 노드에서 이미 제한만큼 처리 중인 키는 Redis를 호출하지 않고 거부하는지 테스트합니다.
+     */
+    @Test
+    void tryAcquire_WhenLocalInFlightReachesLimit_ShouldRejectWithoutRedis() {
+        // given
+        String key = "concurrency-key";
+        ConcurrencyPermit first = concurrencyLimiterService.tryAcquire("rule", key, 2, 30);
+        ConcurrencyPermit second = concurrencyLimiterService.tryAcquire("rule", key, 2, 30);
+
+        // when
+        ConcurrencyPermit third = concurrencyLimiterService.tryAcquire("rule", key, 2, 30);
+
+        // then
+        assertTrue(first.acquired(), "제한 내의 첫 요청은 허가를 얻어야 합니다");
+        assertTrue(second.acquired(), "제한 내의 두 번째 요청은 허가를 얻어야 합니다");
+        assertFalse(third.acquired(), "로컬 동시 요청 수가 제한에 도달하면 거부되어야 합니다");
+
+        // 허가를 얻은 두 요청만 Redis를 호출해야 함
+        verify(redisTemplate, times(2)).execute(any(RedisCallback.class));
+        assertEquals(2, concurrencyLimiterService.localInFlight(key));
+        assertEquals(1.0, meterRegistry.get("concurrency_limiter.decisions")
+                .tag("source", "local").tag("outcome", "rejected").counter().count());
+    }
+
+    /**
+     * 반납한 허가는 한 번만 로컬 카운터와 게이지에서 빠지고, 빈 자리로 새 허가를 얻을 수 있는지 테스트합니다.
+     */
+    @Test
+    void release_ShouldFreeSlotOnce() {
+        // given
+        String key = "concurrency-release-key";
+        ConcurrencyPermit permit = concurrencyLimiterService.tryAcquire("rule", key, 1, 30);
+        assertEquals(1.0, meterRegistry.get("concurrency_limiter.in_flight").tag("rule", "rule").gauge().value());
+
+        // when
+        permit.release();
+        permit.release();
+
+        // then
+        assertEquals(0, concurrencyLimiterService.localInFlight(key));
+        assertEquals(0.0, meterRegistry.get("concurrency_limiter.in_flight").tag("rule", "rule").gauge().value());
+        assertTrue(concurrencyLimiterService.tryAcquire("rule", key, 1, 30).acquired(),
+                "반납한 자리로 새 허가를 얻을 수 있어야 합니다");
+    }
+}
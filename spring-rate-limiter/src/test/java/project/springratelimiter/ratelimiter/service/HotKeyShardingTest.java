@@ -0,0 +1,250 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.service.memory.InMemoryFixedWindowRateLimiterService;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HotKeySharding에 대한 단위 테스트.
+ * 이 테스트는 제한이 하위 키로 나뉘고, 하위 키가 소진되면 제한된 수의 다른 하위 키에서 남은 허용량을 사용하는지 확인합니다.
+ */
+class HotKeyShardingTest {
+
+    private final HotKeySharding hotKeySharding = new HotKeySharding();
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-01-01T00:00:10Z"), ZoneOffset.UTC);
+
+    private final LimitSpec spec = new LimitSpec("DemoController.method", 5, 60,
+            RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY);
+
+    /**
+     * 제한이 하위 키마다 고르게 나뉘고 나머지는 앞쪽 하위 키에 배정되는지 테스트합니다.
+     */
+    @Test
+    void shard_ShouldSplitLimitAcrossSubKeys() {
+        // when
+        LimitSpec first = HotKeySharding.shard(spec, 2, 0);
+        LimitSpec second = HotKeySharding.shard(spec, 2, 1);
+
+        // then
+        assertEquals("DemoController.method:shard:0", first.key());
+        assertEquals(3, first.limit());
+        assertEquals("DemoController.method:shard:1", second.key());
+        assertEquals(2, second.limit());
+        assertSame(spec, HotKeySharding.shard(spec, 1, 0), "하위 키가 하나면 규칙을 그대로 사용해야 합니다");
+        assertEquals(5, HotKeySharding.effectiveShards(spec, 16), "하위 키 수는 제한을 넘지 않아야 합니다");
+    }
+
+    /**
+     * 허용량이 하위 키 하나의 몫보다 큰 요청은 나누지 않은 원래 키로 판단하는지 테스트합니다.
+     */
+    @Test
+    void acquire_WhenPermitsExceedShare_ShouldUseUnshardedKey() {
+        // given: 제한 10을 하위 키 4개로 나누면 가장 작은 몫은 2
+        LimitSpec bulk = new LimitSpec("DemoController.method", 10, 60,
+                RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY, 3);
+        LimitSpec fitting = new LimitSpec("DemoController.method", 10, 60,
+                RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY, 2);
+        RateLimiterService service = new InMemoryFixedWindowRateLimiterService(clock, new SimpleMeterRegistry());
+
+        // when & then
+        assertEquals(1, HotKeySharding.effectiveShards(bulk, 4));
+        assertEquals(4, HotKeySharding.effectiveShards(fitting, 4));
+        assertSame(bulk, hotKeySharding.route(bulk, 4), "몫보다 큰 요청은 원래 키로 판단해야 합니다");
+
+        RateLimitDecision decision = hotKeySharding.acquire(service, bulk, 4);
+        assertTrue(decision.allowed(), "어느 하위 키에도 들어가지 않는 요청도 전체 제한 안에서는 허용되어야 합니다");
+        assertEquals(10, decision.limit());
+        assertEquals(7, decision.remaining());
+    }
+
+    /**
+     * 하위 키 하나가 소진되어도 다른 하위 키의 허용량으로 전체 제한까지 허용하는지 테스트합니다.
+     */
+    @Test
+    void acquire_ShouldSpillOverToNextShardUntilGlobalLimit() {
+        // given
+        RateLimiterService service = new InMemoryFixedWindowRateLimiterService(clock, new SimpleMeterRegistry());
+
+        // when & then
+        for (int i = 0; i < 5; i++) {
+            RateLimitDecision decision = hotKeySharding.acquire(service, spec, 2);
+            assertTrue(decision.allowed(), "전체 제한 내의 요청 " + (i + 1) + "은(는) 허용되어야 합니다");
+            assertEquals(5, decision.limit(), "판단 결과는 전체 제한 기준이어야 합니다");
+        }
+        assertFalse(hotKeySharding.acquire(service, spec, 2).allowed(), "모든 하위 키가 소진되면 거부되어야 합니다");
+    }
+
+    /**
+     * 재시도 범위 안의 하위 키에 남은 허용량을 사용하고, 시작 위치가 바뀌는 다음 요청들이 나머지를 사용하는지 테스트합니다.
+     */
+    @Test
+    void acquire_ShouldSpillOverWithinProbeBound() {
+        // given: 제한 10을 하위 키 4개(3, 3, 2, 2)로 나누고, 마지막 하위 키만 남기고 소진
+        LimitSpec wide = new LimitSpec("DemoController.method", 10, 60,
+                RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY);
+        RateLimiterService service = new InMemoryFixedWindowRateLimiterService(clock, new SimpleMeterRegistry());
+        exhaust(service, wide, 4, 3);
+
+        // when: 시작 위치가 하위 키 4개를 한 바퀴 도는 동안
+        int admitted = 0;
+        for (int i = 0; i < 4; i++) {
+            if (hotKeySharding.acquire(service, wide, 4).allowed()) {
+                admitted++;
+            }
+        }
+
+        // then
+        assertEquals(2, admitted, "남은 하위 키의 허용량을 모두 사용해야 합니다");
+        assertFalse(hotKeySharding.acquire(service, wide, 4).allowed(), "모든 하위 키가 소진되면 거부되어야 합니다");
+    }
+
+    /**
+     * 제한에 도달한 규칙에서 거부되는 요청은 하위 키 수와 관계없이 최대 재시도 수만큼만 판단하는지 테스트합니다.
+     */
+    @Test
+    void acquire_WhenSaturated_ShouldBoundCallsPerRejection() {
+        // given: 하위 키 16개를 모두 소진
+        LimitSpec wide = new LimitSpec("DemoController.method", 64, 60,
+                RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY);
+        RateLimiterService delegate = new InMemoryFixedWindowRateLimiterService(clock, new SimpleMeterRegistry());
+        exhaust(delegate, wide, 16, 16);
+        AtomicInteger calls = new AtomicInteger();
+        RateLimiterService service = new RateLimiterService() {
+            @Override
+            public boolean tryAcquire(String key, long permits, long limit, long period) {
+                return acquire(key, permits, limit, period).allowed();
+            }
+
+            @Override
+            public RateLimitDecision acquire(String key, long permits, long limit, long period) {
+                calls.incrementAndGet();
+                return delegate.acquire(key, permits, limit, period);
+            }
+        };
+        ReactiveRateLimiterService reactive = reactive(service);
+
+        // when & then
+        for (int i = 0; i < 10; i++) {
+            calls.set(0);
+            assertFalse(hotKeySharding.acquire(service, wide, 16).allowed());
+            assertEquals(1 + HotKeySharding.MAX_SPILL_OVER, calls.get(), "거부된 요청의 판단 횟수는 재시도 수로 제한되어야 합니다");
+
+            calls.set(0);
+            assertFalse(hotKeySharding.acquire(reactive, wide, 16).block().allowed());
+            assertEquals(1 + HotKeySharding.MAX_SPILL_OVER, calls.get(), "리액티브 판단도 재시도 수로 제한되어야 합니다");
+        }
+    }
+
+    /**
+     * 여러 스레드가 동시에 요청해도 전체 허용 수가 제한과 같은지 테스트합니다.
+     */
+    @Test
+    void acquire_WithConcurrentRequests_ShouldAdmitExactlyLimit() throws Exception {
+        // given
+        LimitSpec wide = new LimitSpec("DemoController.method", 50, 60,
+                RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY);
+        RateLimiterService service = new InMemoryFixedWindowRateLimiterService(clock, new SimpleMeterRegistry());
+        int threads = 8;
+        int attemptsPerThread = 25;
+
+        // when
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            Callable<Integer> task = () -> {
+                int admitted = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (hotKeySharding.acquire(service, wide, 16).allowed()) {
+                        admitted++;
+                    }
+                }
+                return admitted;
+            };
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(task));
+            }
+        }
+
+        // then
+        int admitted = 0;
+        for (Future<Integer> result : results) {
+            admitted += result.get();
+        }
+        assertEquals(50, admitted, "전체 허용 수는 제한과 같아야 합니다");
+    }
+
+    /**
+     * 리액티브 판단도 나머지 하위 키를 차례로 시도하여 전체 제한까지 허용하는지 테스트합니다.
+     */
+    @Test
+    void acquireReactive_ShouldAdmitExactlyLimit() {
+        // given
+        LimitSpec wide = new LimitSpec("DemoController.method", 10, 60,
+                RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY);
+        RateLimiterService service = new InMemoryFixedWindowRateLimiterService(clock, new SimpleMeterRegistry());
+        ReactiveRateLimiterService reactive = reactive(service);
+
+        // when
+        int admitted = 0;
+        for (int i = 0; i < 30; i++) {
+            if (hotKeySharding.acquire(reactive, wide, 4).block().allowed()) {
+                admitted++;
+            }
+        }
+
+        // then
+        assertEquals(10, admitted, "전체 허용 수는 제한과 같아야 합니다");
+    }
+
+    /**
+     * 하위 키의 허용량을 모두 소진시킵니다.
+     *
+     * @param service 판단에 사용할 속도 제한 서비스
+     * @param spec 나누기 전의 규칙
+     * @param count 하위 키 수
+     * @param shards 앞에서부터 소진시킬 하위 키 수
+     */
+    private static void exhaust(RateLimiterService service, LimitSpec spec, int count, int shards) {
+        for (int shard = 0; shard < shards; shard++) {
+            LimitSpec sharded = HotKeySharding.shard(spec, count, shard);
+            for (int i = 0; i < sharded.limit(); i++) {
+                assertTrue(service.tryAcquire(sharded.key(), sharded.limit(), sharded.period()));
+            }
+        }
+    }
+
+    /**
+     * 속도 제한 서비스를 호출 스레드에서 판단하는 리액티브 서비스로 감쌉니다.
+     */
+    private static ReactiveRateLimiterService reactive(RateLimiterService service) {
+        return new ReactiveRateLimiterService() {
+            @Override
+            public Mono<RateLimitDecision> acquire(LimitSpec spec) {
+                return Mono.fromSupplier(() -> service.acquire(spec.key(), spec.permits(), spec.limit(), spec.period()));
+            }
+
+            @Override
+            public Mono<ShapingDecision> shape(LimitSpec spec, long maxDelayMillis) {
+                return Mono.error(new UnsupportedOperationException());
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.factory.RateLimiterFactory;
+import project.springratelimiter.ratelimiter.service.memory.InMemoryFixedWindowRateLimiterService;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * LettuceReactiveRateLimiterService에 대한 단위 테스트.
+ * 이 테스트는 인메모리 백엔드 규칙이 Redis 연결 없이 판단되고, 여러 규칙의 결과가 규칙 순서대로 반환되는지 확인합니다.
+ */
+class LettuceReactiveRateLimiterServiceTest {
+
+    @Mock
+    private RateLimiterFactory rateLimiterFactory;
+
+    @Mock
+    private ReactiveRedisConnectionFactory connectionFactory;
+
+    // 테스트용 SimpleMeterRegistry 사용
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LettuceReactiveRateLimiterService rateLimiterService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(rateLimiterFactory.getRateLimiter(any(RateLimit.Algorithm.class), any(RateLimit.Backend.class)))
+                .thenReturn(new InMemoryFixedWindowRateLimiterService(Clock.systemUTC(), meterRegistry));
+        rateLimiterService = new LettuceReactiveRateLimiterService(rateLimiterFactory, connectionFactory);
+    }
+
+    /**
+     * 인메모리 규칙은 제한까지 허용하고 이후 거부하며, Redis 연결을 사용하지 않는지 테스트합니다.
+     */
+    @Test
+    void acquire_WithInMemoryRule_ShouldDecideWithoutRedis() {
+        // given
+        LimitSpec spec = new LimitSpec("reactive-key", 1, 60,
+                RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY);
+
+        // when & then
+        StepVerifier.create(rateLimiterService.acquire(spec))
+                .expectNextMatches(RateLimitDecision::allowed)
+                .verifyComplete();
+        StepVerifier.create(rateLimiterService.acquire(spec))
+                .expectNextMatches(decision -> !decision.allowed())
+                .verifyComplete();
+        verifyNoInteractions(connectionFactory);
+    }
+
+    /**
+     * 여러 규칙의 판단 결과가 규칙 순서대로 반환되는지 테스트합니다.
+     */
+    @Test
+    void acquireAll_ShouldPreserveRuleOrder() {
+        // given
+        LimitSpec exhausted = new LimitSpec("reactive-exhausted", 0, 60,
+                RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY);
+        LimitSpec available = new LimitSpec("reactive-available", 5, 60,
+                RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY);
+
+        // when & then
+        StepVerifier.create(rateLimiterService.acquireAll(List.of(available, exhausted, available)))
+                .expectNextMatches(decisions -> decisions.stream().map(RateLimitDecision::allowed).toList()
+                        .equals(List.of(true, false, true)))
+                .verifyComplete();
+    }
+}
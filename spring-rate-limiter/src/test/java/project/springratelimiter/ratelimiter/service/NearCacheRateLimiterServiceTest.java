@@ -0,0 +1,121 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * NearCacheRateLimiterService에 대한 단위 테스트.
+ * 이 테스트는 로컬 허용량으로 판단되는 요청이 Redis를 호출하지 않는지 확인합니다.
+ */
+class NearCacheRateLimiterServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    // 실행 경로는 RedisTemplate 모의 객체에서 끝나므로 스크립트 본문은 사용되지 않음
+    private RedisScript<Long> quotaLeaseScript = RedisScript.of("return 0", Long.class);
+
+    // 테스트용 SimpleMeterRegistry 사용
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NearCacheRateLimiterService rateLimiterService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // 한 번에 제한의 절반을 임대하고, 허용량을 모두 소비한 뒤에만 다음 묶음을 임대하도록 설정
+        rateLimiterService = new NearCacheRateLimiterService(redisTemplate, quotaLeaseScript, meterRegistry, 0.5, 0.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateLimiterService.shutdown();
+    }
+
+    /**
+     * 임대한 허용량이 남아 있는 동안에는 Redis를 다시 호출하지 않는지 테스트합니다.
+     */
+    @Test
+    void tryAcquire_WhenLocalTokensRemain_ShouldNotCallRedis() {
+        // given
+        String key = "near-cache-key";
+        long limit = 10;
+        long period = 60;
+
+        // 첫 임대에서 5개의 허용량을 받도록 설정
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(5L);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            assertTrue(rateLimiterService.tryAcquire(key, limit, period),
+                    "임대한 허용량 내의 요청 " + (i + 1) + "은(는) 허용되어야 합니다");
+        }
+
+        // then
+        // 첫 요청의 동기 임대 한 번만 Redis를 호출해야 함
+        verify(redisTemplate, times(1)).execute(any(RedisCallback.class));
+        assertEquals(3.0, meterRegistry.get("near_cache_rate_limiter.decisions")
+                .tag("source", "local").tag("outcome", "allowed").counter().count());
+    }
+
+    /**
+     * 예산이 소진된 윈도우에서는 Redis를 다시 호출하지 않고 로컬에서 거부하는지 테스트합니다.
+     */
+    @Test
+    void tryAcquire_WhenBudgetExhausted_ShouldRejectLocally() {
+        // given
+        String key = "near-cache-exhausted-key";
+        long limit = 10;
+        long period = 60;
+
+        // 임대할 예산이 남아 있지 않도록 설정
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(0L);
+
+        // when
+        boolean first = rateLimiterService.tryAcquire(key, limit, period);
+        boolean second = rateLimiterService.tryAcquire(key, limit, period);
+
+        // then
+        assertFalse(first, "예산이 소진되었을 때 false를 반환해야 합니다");
+        assertFalse(second, "예산이 소진된 윈도우에서는 false를 반환해야 합니다");
+        verify(redisTemplate, times(1)).execute(any(RedisCallback.class));
+        assertEquals(1.0, meterRegistry.get("near_cache_rate_limiter.decisions")
+                .tag("source", "local").tag("outcome", "rejected").counter().count());
+    }
+
+    /**
+     * 예산이 소진되면 고정 윈도우의 종료 시각을 재시도 시간으로 알려주고,
+     * 다른 노드의 임대량을 알 수 없는 남은 요청 수는 제공하지 않는지 테스트합니다.
+     */
+    @Test
+    void acquire_WhenBudgetExhausted_ShouldReportWindowEnd() {
+        // given
+        long period = 60;
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(0L);
+
+        // when
+        RateLimitDecision decision = rateLimiterService.acquire("near-cache-headers", 10, period);
+
+        // then
+        assertFalse(decision.allowed());
+        assertEquals(RateLimitDecision.UNKNOWN, decision.remaining());
+        assertEquals(0, decision.resetAtMillis() % (period * 1000), "초기화 시각은 윈도우 종료 시각이어야 합니다");
+        assertTrue(decision.retryAfterMillis() > 0 && decision.retryAfterMillis() <= period * 1000);
+    }
+}
@@ -0,0 +1,128 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.config.RateLimiterConfig;
+import project.springratelimiter.ratelimiter.factory.RateLimiterFactory;
+import project.springratelimiter.ratelimiter.resilience.RateLimiterResilience;
+import project.springratelimiter.ratelimiter.service.memory.InMemoryFixedWindowRateLimiterService;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * PipelinedRateLimiter에 대한 단위 테스트.
+ * 이 테스트는 Redis 백엔드 규칙이 알고리즘과 관계없이 하나의 파이프라인으로 평가되는지 확인합니다.
+ */
+class PipelinedRateLimiterTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    // 실행 경로는 RedisTemplate 모의 객체에서 끝나므로 스크립트 본문은 사용되지 않음
+    private RedisScript<List<Long>> rateLimiterScript = new RateLimiterConfig().rateLimiterScript();
+    private RedisScript<List<Long>> slidingWindowBucketedScript = new RateLimiterConfig().slidingWindowBucketedScript();
+    private RedisScript<List<Long>> tokenBucketScript = new RateLimiterConfig().tokenBucketScript();
+
+    @Mock
+    private RateLimiterFactory rateLimiterFactory;
+
+    // 테스트용 SimpleMeterRegistry 사용
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PipelinedRateLimiter pipelinedRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(rateLimiterFactory.getRateLimiter(RateLimit.Algorithm.SLIDING_WINDOW, RateLimit.Backend.REDIS))
+                .thenReturn(new RedisRateLimiterService(redisTemplate, rateLimiterScript, slidingWindowBucketedScript,
+                        meterRegistry, 1000, 60));
+        when(rateLimiterFactory.getRateLimiter(RateLimit.Algorithm.TOKEN_BUCKET, RateLimit.Backend.REDIS))
+                .thenReturn(new TokenBucketRateLimiterService(redisTemplate, tokenBucketScript, meterRegistry));
+        when(rateLimiterFactory.getRateLimiter(RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY))
+                .thenReturn(new InMemoryFixedWindowRateLimiterService(Clock.systemUTC(), meterRegistry));
+
+        pipelinedRateLimiter = new PipelinedRateLimiter(rateLimiterFactory, redisTemplate,
+                new RateLimiterResilience(rateLimiterFactory, meterRegistry, 100, 5, 5000, 1));
+    }
+
+    /**
+     * 서로 다른 알고리즘의 Redis 규칙이 한 번의 파이프라인으로 평가되고,
+     * 결과가 규칙 순서대로 반환되는지 테스트합니다.
+     */
+    @Test
+    void acquireAll_WithMixedRules_ShouldPipelineRedisRules() {
+        // given
+        List<LimitSpec> specs = List.of(
+                new LimitSpec("ip#0", 10, 60, RateLimit.Algorithm.SLIDING_WINDOW, RateLimit.Backend.REDIS),
+                new LimitSpec("node#1", 1, 60, RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY),
+                new LimitSpec("method#2", 5, 30, RateLimit.Algorithm.TOKEN_BUCKET, RateLimit.Backend.REDIS));
+
+        // 파이프라인 결과: 슬라이딩 윈도우 허용, 토큰 버킷 거부
+        when(redisTemplate.executePipelined(any(RedisCallback.class), isNull()))
+                .thenReturn(List.of(List.of(1L, 9L, 60000L, 0L), List.of(0L, 0L, 30000L, 6000L)));
+
+        // when
+        List<RateLimitDecision> results = pipelinedRateLimiter.acquireAll(specs);
+
+        // then
+        assertEquals(List.of(true, true, false), results.stream().map(RateLimitDecision::allowed).toList());
+        assertEquals(9, results.get(0).remaining());
+        assertEquals(6000, results.get(2).retryAfterMillis());
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class), isNull());
+        verify(redisTemplate, never()).execute(any(RedisCallback.class));
+        assertEquals(1.0, meterRegistry.get("token_bucket_rate_limiter.requests.rejected").counter().count());
+    }
+
+    /**
+     * 파이프라인 실행이 실패하면 파이프라인에 포함된 규칙만 저하 모드로 판단하고,
+     * 이미 평가된 인메모리 규칙은 다시 평가하지 않는지 테스트합니다.
+     */
+    @Test
+    void acquireAll_WhenPipelineFails_ShouldDegradeOnlyPipelinedRules() {
+        // given
+        List<LimitSpec> specs = List.of(
+                new LimitSpec("ip#0", 10, 60, RateLimit.Algorithm.SLIDING_WINDOW, RateLimit.Backend.REDIS),
+                new LimitSpec("node#1", 1, 60, RateLimit.Algorithm.FIXED_WINDOW, RateLimit.Backend.IN_MEMORY));
+        List<RateLimiterService> services = specs.stream()
+                .map(spec -> rateLimiterFactory.getRateLimiter(spec.algorithm(), spec.backend()))
+                .toList();
+
+        when(redisTemplate.executePipelined(any(RedisCallback.class), isNull()))
+                .thenThrow(new QueryTimeoutException("Redis command timed out"));
+
+        // when
+        List<Integer> degradedIndexes = new ArrayList<>();
+        List<RateLimitDecision> results = pipelinedRateLimiter.acquireAll(specs, services, index -> {
+            degradedIndexes.add(index);
+            return RateLimitDecision.of(false, specs.get(index).limit());
+        });
+
+        // then
+        assertEquals(List.of(0), degradedIndexes);
+        assertFalse(results.get(0).allowed(), "저하 모드 판단 결과가 사용되어야 합니다");
+        assertTrue(results.get(1).allowed(), "인메모리 규칙은 파이프라인 실패와 관계없이 판단되어야 합니다");
+    }
+}
@@ -0,0 +1,66 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.lettuce.core.cluster.SlotHash;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * RedisKeys에 대한 단위 테스트.
+ * 이 테스트는 같은 속도 제한 키에서 만든 Redis 키가 같은 Cluster 슬롯에 위치하고,
+ * 핫 키 분산의 하위 키는 서로 다른 슬롯으로 분산되는지 확인합니다.
+ */
+class RedisKeysTest {
+
+    /**
+     * 접두사와 윈도우 시작 시간이 달라도 같은 속도 제한 키는 같은 슬롯에 위치하는지 테스트합니다.
+     */
+    @Test
+    void of_WithSameKey_ShouldMapToSameSlot() {
+        int slot = SlotHash.getSlot(RedisKeys.of("rate_limit:", "user_123"));
+
+        assertEquals("rate_limit:{user_123}", RedisKeys.of("rate_limit:", "user_123"));
+        assertEquals(slot, SlotHash.getSlot(RedisKeys.of("fixed_window:", "user_123", 1_627_776_000L)));
+        assertEquals(slot, SlotHash.getSlot(RedisKeys.of("fixed_window:", "user_123", 1_627_776_060L)));
+        assertEquals(slot, SlotHash.getSlot(RedisKeys.of("near_cache:", "user_123", 1_627_776_000_000L)));
+    }
+
+    /**
+     * 핫 키 분산의 하위 키가 서로 다른 해시 태그를 가져 여러 슬롯으로 분산되는지 테스트합니다.
+     */
+    @Test
+    void of_WithShardKeys_ShouldSpreadAcrossSlots() {
+        LimitSpec spec = new LimitSpec("DemoController.global", 100, 60, null, null);
+
+        int first = SlotHash.getSlot(RedisKeys.of("rate_limit:", HotKeySharding.shard(spec, 4, 0).key()));
+        int second = SlotHash.getSlot(RedisKeys.of("rate_limit:", HotKeySharding.shard(spec, 4, 1).key()));
+
+        assertNotEquals(first, second);
+    }
+
+    /**
+     * 중괄호가 있는 속도 제한 키도 태그 전체가 키가 되어, 접두사와 윈도우가 달라도 같은 슬롯에 위치하는지 테스트합니다.
+     */
+    @Test
+    void of_WithBracesInKey_ShouldKeepWholeKeyAsTag() {
+        // "}"로 시작하는 키를 그대로 감싸면 태그가 비어 키 전체로 슬롯을 계산함
+        String key = "}user{123}";
+        int slot = SlotHash.getSlot(RedisKeys.of("rate_limit:", key));
+
+        assertEquals("rate_limit:{%7Duser%7B123%7D}", RedisKeys.of("rate_limit:", key));
+        assertEquals(slot, SlotHash.getSlot(RedisKeys.of("fixed_window:", key, 1_627_776_000L)));
+        assertEquals(slot, SlotHash.getSlot(RedisKeys.of("fixed_window:", key, 1_627_776_060L)));
+        assertEquals(slot, SlotHash.getSlot(RedisKeys.of("near_cache:", key, 1_627_776_000_000L)));
+    }
+
+    /**
+     * '%'도 바꾸므로 이미 바뀐 형태의 키와 중괄호가 있는 키가 같은 Redis 키가 되지 않는지 테스트합니다.
+     */
+    @Test
+    void escape_ShouldNotCollide() {
+        assertEquals("user_123", RedisKeys.escape("user_123"));
+        assertEquals("a%257B", RedisKeys.escape("a%7B"));
+        assertNotEquals(RedisKeys.escape("a{"), RedisKeys.escape("a%7B"));
+    }
+}
@@ -6,17 +6,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+import project.springratelimiter.ratelimiter.config.RateLimiterConfig;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -28,8 +34,9 @@ class RedisRateLimiterServiceTest {
     @Mock
     private RedisTemplate<String, Object> redisTemplate;
 
-    @Mock
-    private RedisScript<Boolean> rateLimiterScript;
+    // 실행 경로는 RedisTemplate 모의 객체에서 끝나므로 스크립트 본문은 사용되지 않음
+    private RedisScript<List<Long>> rateLimiterScript = new RateLimiterConfig().rateLimiterScript();
+    private RedisScript<List<Long>> slidingWindowBucketedScript = new RateLimiterConfig().slidingWindowBucketedScript();
     
     // 테스트용 SimpleMeterRegistry 사용
     private MeterRegistry meterRegistry = new SimpleMeterRegistry();
@@ -39,7 +46,8 @@ class RedisRateLimiterServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        rateLimiterService = new RedisRateLimiterService(redisTemplate, rateLimiterScript, meterRegistry);
+        rateLimiterService = new RedisRateLimiterService(redisTemplate, rateLimiterScript, slidingWindowBucketedScript,
+                meterRegistry, 1000, 60);
     }
 
     /**
@@ -52,12 +60,8 @@ class RedisRateLimiterServiceTest {
         long limit = 10;
         long period = 60;
 
-        // Lua 스크립트가 true를 반환하도록 설정 (속도 제한 내)
-        when(redisTemplate.execute(
-                any(RedisScript.class),
-                anyList(),
-                any(Object[].class))
-        ).thenReturn(Boolean.TRUE);
+        // Lua 스크립트가 허용 결과를 반환하도록 설정 (속도 제한 내)
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(List.of(1L, 9L, 60000L, 0L));
 
         // when
         boolean result = rateLimiterService.tryAcquire(key, limit, period);
@@ -76,12 +80,8 @@ class RedisRateLimiterServiceTest {
         long limit = 10;
         long period = 60;
 
-        // Lua 스크립트가 false를 반환하도록 설정 (속도 제한 초과)
-        when(redisTemplate.execute(
-                any(RedisScript.class),
-                anyList(),
-                any(Object[].class))
-        ).thenReturn(Boolean.FALSE);
+        // Lua 스크립트가 거부 결과를 반환하도록 설정 (속도 제한 초과)
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(List.of(0L, 0L, 60000L, 1500L));
 
         // when
         boolean result = rateLimiterService.tryAcquire(key, limit, period);
@@ -89,4 +89,87 @@ class RedisRateLimiterServiceTest {
         // then
         assertFalse(result, "속도 제한을 초과할 때 false를 반환해야 합니다");
     }
-}
\ No newline at end of file
+
+    /**
+     * 요청이 거부될 때 acquire 메서드가 스크립트가 계산한 남은 허용량과 재시도 시간을 반환하는지 테스트합니다.
+     */
+    @Test
+    void acquire_WhenOverLimit_ShouldReturnRetryAfter() {
+        // given
+        String key = "test-key";
+        long limit = 10;
+        long period = 60;
+
+        // Lua 스크립트가 1.5초 후 재시도 가능한 거부 결과를 반환하도록 설정
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(List.of(0L, 0L, 60000L, 1500L));
+
+        // when
+        long before = System.currentTimeMillis();
+        RateLimitDecision decision = rateLimiterService.acquire(key, limit, period);
+
+        // then
+        assertFalse(decision.allowed(), "속도 제한을 초과할 때 거부되어야 합니다");
+        assertEquals(limit, decision.limit());
+        assertEquals(0, decision.remaining());
+        assertEquals(1500, decision.retryAfterMillis());
+        assertTrue(decision.resetAtMillis() >= before + 60000, "초기화 시각은 현재 시간 + 스크립트가 반환한 시간이어야 합니다");
+    }
+
+    /**
+     * 제한이 임계값 이하인 키는 요청 로그(Sorted Set)로, 임계값보다 큰 키는 버킷 표현(Hash)으로 판단하고,
+     * 두 표현이 같은 키를 사용하는지 테스트합니다.
+     */
+    @Test
+    void prepare_WhenLimitAboveThreshold_ShouldUseBucketedRepresentation() {
+        // when
+        RedisScriptInvocation log = rateLimiterService.prepare("user_123", 1, 1000, 60);
+        RedisScriptInvocation bucketed = rateLimiterService.prepare("user_123", 1, 100_000, 60);
+
+        // then
+        assertEquals(rateLimiterScript.getSha1(), log.script().sha1());
+        assertEquals("rate_limit:{user_123}", new String(log.keysAndArgs()[0], StandardCharsets.UTF_8));
+        assertEquals(6, log.keysAndArgs().length);
+
+        assertEquals(slidingWindowBucketedScript.getSha1(), bucketed.script().sha1());
+        assertEquals("rate_limit:{user_123}", new String(bucketed.keysAndArgs()[0], StandardCharsets.UTF_8));
+        assertEquals("100000", new String(bucketed.keysAndArgs()[2], StandardCharsets.US_ASCII));
+        assertEquals("60000", new String(bucketed.keysAndArgs()[3], StandardCharsets.US_ASCII));
+        assertEquals("60", new String(bucketed.keysAndArgs()[4], StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 스크립트가 다른 표현으로 저장된 키를 옮겼다고 반환하면 옮긴 뒤의 표현별 카운터에 기록하는지 테스트합니다.
+     */
+    @Test
+    void acquire_WhenScriptMigratedKey_ShouldCountMigration() {
+        // given: 다섯 번째 반환값 1은 키를 옮겼다는 의미
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(List.of(1L, 4L, 60000L, 0L, 1L));
+
+        // when
+        RateLimitDecision decision = rateLimiterService.acquire("test-key", 100_000, 60);
+
+        // then
+        assertTrue(decision.allowed());
+        assertEquals(4, decision.remaining());
+        assertEquals(1, meterRegistry.counter("rate_limiter.representation.migrations",
+                "representation", "bucketed").count());
+        assertEquals(0, meterRegistry.counter("rate_limiter.representation.migrations",
+                "representation", "log").count());
+    }
+
+    /**
+     * 다른 알고리즘이나 백엔드의 규칙이 섞인 일괄 판단을 Redis에 보내기 전에 거부하는지 테스트합니다.
+     */
+    @Test
+    void acquireAll_WithForeignAlgorithmOrBackend_ShouldFailFast() {
+        // given
+        LimitSpec own = new LimitSpec("user_123", 10, 60, RateLimit.Algorithm.SLIDING_WINDOW, RateLimit.Backend.REDIS);
+        LimitSpec otherAlgorithm = new LimitSpec("user_123", 10, 60, RateLimit.Algorithm.TOKEN_BUCKET, RateLimit.Backend.REDIS);
+        LimitSpec otherBackend = new LimitSpec("user_123", 10, 60, RateLimit.Algorithm.SLIDING_WINDOW, RateLimit.Backend.IN_MEMORY);
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> rateLimiterService.acquireAll(List.of(own, otherAlgorithm)));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiterService.acquireAll(List.of(own, otherBackend)));
+        verifyNoInteractions(redisTemplate);
+    }
+}
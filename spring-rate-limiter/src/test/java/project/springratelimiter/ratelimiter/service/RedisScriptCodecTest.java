@@ -0,0 +1,39 @@
+package project.springratelimiter.ratelimiter.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * RedisScriptCodec에 대한 단위 테스트.
+ * 이 테스트는 인코딩된 인자가 Lua의 tonumber로 읽을 수 있는 10진수 표기와 같은지 확인합니다.
+ */
+class RedisScriptCodecTest {
+
+    /**
+     * 정수 인자가 Long.toString과 같은 바이트로 인코딩되는지 테스트합니다.
+     */
+    @Test
+    void number_WithLongValues_ShouldMatchDecimalString() {
+        long[] values = { 0, 7, 10, 99, 1_000, 1_627_776_000_000L, -1, -42, Long.MAX_VALUE, Long.MIN_VALUE };
+
+        for (long value : values) {
+            assertEquals(Long.toString(value),
+                    new String(RedisScriptCodec.number(value), StandardCharsets.US_ASCII),
+                    value + "의 인코딩 결과가 10진수 표기와 같아야 합니다");
+        }
+    }
+
+    /**
+     * 실수 인자와 키가 올바르게 인코딩되는지 테스트합니다.
+     */
+    @Test
+    void numberAndKey_ShouldEncodeAsText() {
+        assertEquals("1.6666666666666666E-4",
+                new String(RedisScriptCodec.number(5.0 / 30_000), StandardCharsets.US_ASCII));
+        assertEquals("rate_limit:사용자",
+                new String(RedisScriptCodec.key("rate_limit:사용자"), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,97 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import project.springratelimiter.ratelimiter.config.RateLimiterConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RedisScriptExecutor의 리액티브 실행 경로에 대한 단위 테스트.
+ * 이 테스트는 Redis가 스크립트를 잃은 경우(NOSCRIPT) EVAL로 다시 실행해 스크립트를 적재하고,
+ * 그 밖의 오류는 다시 실행하지 않고 전파하는지 확인합니다.
+ */
+class RedisScriptExecutorTest {
+
+    @Mock
+    private ReactiveRedisConnectionFactory connectionFactory;
+
+    @Mock
+    private ReactiveRedisConnection connection;
+
+    @Mock
+    private ReactiveScriptingCommands scriptingCommands;
+
+    private RedisScriptInvocation invocation;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(connectionFactory.getReactiveConnection()).thenReturn(connection);
+        when(connection.scriptingCommands()).thenReturn(scriptingCommands);
+        when(connection.closeLater()).thenReturn(Mono.empty());
+
+        TokenBucketRateLimiterService service = new TokenBucketRateLimiterService(null,
+                new RateLimiterConfig().tokenBucketScript(), new SimpleMeterRegistry());
+        invocation = service.prepare("user_123", 1, 10, 60);
+    }
+
+    /**
+     * EVALSHA가 NOSCRIPT로 실패하면 EVAL로 한 번 다시 실행하고 그 결과를 반환하는지 테스트합니다.
+     */
+    @Test
+    void executeReactive_WhenNoScript_ShouldReloadWithEval() {
+        // given
+        doReturn(Flux.error(new RedisSystemException("NOSCRIPT No matching script", null)))
+                .when(scriptingCommands).evalSha(anyString(), any(ReturnType.class), anyInt(), any(ByteBuffer[].class));
+        doReturn(Flux.just(List.of(1L, 9L, 6000L, 0L)))
+                .when(scriptingCommands).eval(any(ByteBuffer.class), any(ReturnType.class), anyInt(), any(ByteBuffer[].class));
+
+        // when & then
+        StepVerifier.create(RedisScriptExecutor.executeReactive(connectionFactory, invocation))
+                .expectNext(List.of(1L, 9L, 6000L, 0L))
+                .verifyComplete();
+        verify(scriptingCommands, times(1)).eval(any(ByteBuffer.class), any(ReturnType.class), anyInt(),
+                any(ByteBuffer[].class));
+        verify(connection).closeLater();
+    }
+
+    /**
+     * NOSCRIPT가 아닌 오류는 EVAL로 다시 실행하지 않고 그대로 전파하는지 테스트합니다.
+     */
+    @Test
+    void executeReactive_WhenOtherError_ShouldPropagateWithoutEval() {
+        // given
+        doReturn(Flux.error(new RedisSystemException("ERR connection reset", null)))
+                .when(scriptingCommands).evalSha(anyString(), any(ReturnType.class), anyInt(), any(ByteBuffer[].class));
+
+        // when & then
+        StepVerifier.create(RedisScriptExecutor.executeReactive(connectionFactory, invocation))
+                .expectError(RedisSystemException.class)
+                .verify();
+        verify(scriptingCommands, never()).eval(any(ByteBuffer.class), any(ReturnType.class), anyInt(),
+                any(ByteBuffer[].class));
+        verify(connection).closeLater();
+    }
+}
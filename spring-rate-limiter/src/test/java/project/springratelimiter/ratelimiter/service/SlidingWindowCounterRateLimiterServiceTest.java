@@ -0,0 +1,38 @@
+package project.springratelimiter.ratelimiter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import project.springratelimiter.ratelimiter.config.RateLimiterConfig;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * SlidingWindowCounterRateLimiterService에 대한 단위 테스트.
+ * 이 테스트는 설정된 기간과 버킷 수가 스크립트 인자로 전달되는지 확인합니다.
+ */
+class SlidingWindowCounterRateLimiterServiceTest {
+
+    /**
+     * 기간이 고정된 60초가 아니라 설정된 값(밀리초)으로, 버킷 수와 함께 전달되는지 테스트합니다.
+     */
+    @Test
+    void prepare_ShouldPassConfiguredPeriodAndBuckets() {
+        // given
+        SlidingWindowCounterRateLimiterService service = new SlidingWindowCounterRateLimiterService(
+                null, new RateLimiterConfig().slidingWindowCounterScript(), new SimpleMeterRegistry(), 6);
+
+        // when
+        RedisScriptInvocation invocation = service.prepare("user_123", 2, 5, 30);
+
+        // then
+        byte[][] keysAndArgs = invocation.keysAndArgs();
+        assertEquals(1, invocation.numKeys());
+        assertEquals("sliding_window_counter:{user_123}", new String(keysAndArgs[0], StandardCharsets.UTF_8));
+        assertEquals("5", new String(keysAndArgs[2], StandardCharsets.US_ASCII));
+        assertEquals("30000", new String(keysAndArgs[3], StandardCharsets.US_ASCII));
+        assertEquals("6", new String(keysAndArgs[4], StandardCharsets.US_ASCII));
+        assertEquals("2", new String(keysAndArgs[5], StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,404 @@
+package project.springratelimiter.ratelimiter.service.memory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import project.springratelimiter.ratelimiter.service.RateLimitDecision;
+import project.springratelimiter.ratelimiter.service.RateLimiterService;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 인메모리 속도 제한 서비스에 대한 단위 테스트.
+ * 이 테스트는 시간을 직접 움직이는 시계로 각 알고리즘의 허용/거부 경계를 확인합니다.
+ */
+class InMemoryRateLimiterServiceTest {
+
+    // 테스트용 SimpleMeterRegistry 사용
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MutableClock clock = new MutableClock(1_700_000_000_000L);
+
+    /**
+     * 고정 윈도우는 윈도우 내 limit 개까지 허용하고 다음 윈도우에서 초기화되는지 테스트합니다.
+     */
+    @Test
+    void fixedWindow_ShouldResetAtNextWindow() {
+        // given
+        RateLimiterService service = new InMemoryFixedWindowRateLimiterService(clock, meterRegistry);
+        clock.set(60_000L * 1000);
+
+        // when & then
+        assertAllowed(service, "fixed", 5, 60, 5);
+        assertFalse(service.tryAcquire("fixed", 5, 60), "윈도우 내 제한을 초과한 요청은 거부되어야 합니다");
+
+        clock.advance(60_000);
+        assertTrue(service.tryAcquire("fixed", 5, 60), "다음 윈도우의 첫 요청은 허용되어야 합니다");
+    }
+
+    /**
+     * 슬라이딩 윈도우 로그는 가장 오래된 요청이 기간을 벗어난 뒤에만 다시 허용하는지 테스트합니다.
+     */
+    @Test
+    void slidingWindow_ShouldAllowAfterOldestRequestExpires() {
+        // given
+        RateLimiterService service = new InMemorySlidingWindowRateLimiterService(clock, meterRegistry);
+
+        // when & then
+        assertTrue(service.tryAcquire("log", 2, 10));
+        clock.advance(5_000);
+        assertTrue(service.tryAcquire("log", 2, 10));
+        assertFalse(service.tryAcquire("log", 2, 10), "기간 내 요청이 가득 차면 거부되어야 합니다");
+
+        // 첫 요청만 기간을 벗어남
+        clock.advance(5_000);
+        assertTrue(service.tryAcquire("log", 2, 10), "가장 오래된 요청이 만료되면 허용되어야 합니다");
+        assertFalse(service.tryAcquire("log", 2, 10), "두 번째 요청은 아직 기간 내이므로 거부되어야 합니다");
+    }
+
+    /**
+     * 슬라이딩 윈도우 카운터는 이전 윈도우의 요청 수를 가중치로 반영하는지 테스트합니다.
+     */
+    @Test
+    void slidingWindowCounter_ShouldWeightPreviousWindow() {
+        // given
+        RateLimiterService service = new InMemorySlidingWindowCounterRateLimiterService(clock, meterRegistry, 1);
+        clock.set(10_000L * 1000);
+
+        // when & then
+        assertAllowed(service, "counter", 10, 10, 10);
+
+        // 다음 윈도우의 절반 지점: 이전 윈도우 10개 * 0.5 = 5개로 계산되어 5개 더 허용
+        clock.advance(15_000);
+        assertAllowed(service, "counter", 10, 10, 5);
+        assertFalse(service.tryAcquire("counter", 10, 10), "가중 합계가 제한에 도달하면 거부되어야 합니다");
+    }
+
+    /**
+     * 토큰 버킷은 가득 찬 상태로 시작하고 limit/period 속도로 리필되는지 테스트합니다.
+     */
+    @Test
+    void tokenBucket_ShouldRefillAtConfiguredRate() {
+        // given
+        RateLimiterService service = new InMemoryTokenBucketRateLimiterService(clock, meterRegistry);
+
+        // when & then
+        assertAllowed(service, "bucket", 5, 10, 5);
+        assertFalse(service.tryAcquire("bucket", 5, 10), "토큰을 모두 소비하면 거부되어야 합니다");
+
+        // 2초마다 토큰 하나가 리필됨
+        clock.advance(2_000);
+        assertTrue(service.tryAcquire("bucket", 5, 10), "리필된 토큰으로 허용되어야 합니다");
+        assertFalse(service.tryAcquire("bucket", 5, 10));
+    }
+
+    /**
+     * 누수 버킷은 대기열이 가득 차면 거부하고 처리 속도만큼 비워진 뒤 다시 허용하는지 테스트합니다.
+     */
+    @Test
+    void leakyBucket_ShouldDrainAtConfiguredRate() {
+        // given
+        RateLimiterService service = new InMemoryLeakyBucketRateLimiterService(clock, meterRegistry);
+
+        // when & then
+        assertAllowed(service, "queue", 3, 3, 3);
+        assertFalse(service.tryAcquire("queue", 3, 3), "대기열이 가득 차면 거부되어야 합니다");
+
+        // 1초마다 요청 하나가 처리됨
+        clock.advance(1_000);
+        assertTrue(service.tryAcquire("queue", 3, 3), "처리된 자리만큼 허용되어야 합니다");
+        assertFalse(service.tryAcquire("queue", 3, 3));
+    }
+
+    /**
+     * GCRA는 limit개까지 버스트를 허용하고 이후에는 period/limit 간격으로만 허용하는지 테스트합니다.
+     */
+    @Test
+    void gcra_ShouldSpaceRequestsByEmissionInterval() {
+        // given
+        RateLimiterService service = new InMemoryGcraRateLimiterService(clock, meterRegistry);
+
+        // when & then
+        assertAllowed(service, "gcra", 4, 8, 4);
+        assertFalse(service.tryAcquire("gcra", 4, 8), "버스트를 모두 사용하면 거부되어야 합니다");
+
+        // 요청 하나가 차지하는 시간(2초)이 지나기 전에는 거부됨
+        clock.advance(1_999);
+        assertFalse(service.tryAcquire("gcra", 4, 8));
+        clock.advance(1);
+        assertTrue(service.tryAcquire("gcra", 4, 8), "간격이 지나면 허용되어야 합니다");
+    }
+
+    /**
+     * 토큰 버킷은 남은 토큰이 cost보다 적으면 토큰을 소비하지 않고 거부하는지 테스트합니다.
+     */
+    @Test
+    void tokenBucket_WithPermits_ShouldRequireEnoughTokens() {
+        // given
+        RateLimiterService service = new InMemoryTokenBucketRateLimiterService(clock, meterRegistry);
+
+        // when & then
+        assertTrue(service.tryAcquire("weighted", 4, 10, 10));
+        assertTrue(service.tryAcquire("weighted", 6, 10, 10), "남은 토큰을 모두 사용하는 요청은 허용되어야 합니다");
+        assertFalse(service.tryAcquire("weighted", 1, 10, 10), "토큰을 모두 소비하면 거부되어야 합니다");
+
+        // 1초마다 토큰 하나가 리필되므로 3초 뒤에는 3개만 남음
+        clock.advance(3_000);
+        assertFalse(service.tryAcquire("weighted", 4, 10, 10), "남은 토큰보다 큰 요청은 거부되어야 합니다");
+        assertTrue(service.tryAcquire("weighted", 3, 10, 10), "거부된 요청은 토큰을 소비하지 않아야 합니다");
+    }
+
+    /**
+     * 슬라이딩 윈도우 로그는 cost만큼 자리를 차지하고, 자리가 부족한 요청은 기록하지 않고 거부하는지 테스트합니다.
+     */
+    @Test
+    void slidingWindow_WithPermits_ShouldOccupyOneSlotPerPermit() {
+        // given
+        RateLimiterService service = new InMemorySlidingWindowRateLimiterService(clock, meterRegistry);
+
+        // when & then
+        assertTrue(service.tryAcquire("weighted-log", 3, 5, 10));
+        clock.advance(1_000);
+        assertFalse(service.tryAcquire("weighted-log", 3, 5, 10), "남은 자리보다 큰 요청은 거부되어야 합니다");
+        assertTrue(service.tryAcquire("weighted-log", 2, 5, 10), "거부된 요청은 자리를 차지하지 않아야 합니다");
+
+        // 첫 요청의 세 자리만 기간을 벗어남
+        clock.advance(9_000);
+        assertTrue(service.tryAcquire("weighted-log", 3, 5, 10), "만료된 자리만큼 허용되어야 합니다");
+        assertFalse(service.tryAcquire("weighted-log", 1, 5, 10));
+    }
+
+    /**
+     * 고정 윈도우는 윈도우 내 요청 수와 윈도우 종료 시각으로 남은 허용량과 재시도 시간을 계산하는지 테스트합니다.
+     */
+    @Test
+    void fixedWindow_Acquire_ShouldReportWindowState() {
+        // given
+        RateLimiterService service = new InMemoryFixedWindowRateLimiterService(clock, meterRegistry);
+        clock.set(60_000L * 1000);
+
+        // when & then
+        assertDecision(service.acquire("fixed-headers", 3, 5, 60), true, 2, 60_000, 0);
+        clock.advance(10_000);
+        assertDecision(service.acquire("fixed-headers", 3, 5, 60), false, 2, 50_000, 50_000);
+    }
+
+    /**
+     * 슬라이딩 윈도우 로그는 가장 오래된 요청이 기간을 벗어나는 시각을 재시도 시간으로 계산하는지 테스트합니다.
+     */
+    @Test
+    void slidingWindow_Acquire_ShouldReportOldestRequestExpiry() {
+        // given
+        RateLimiterService service = new InMemorySlidingWindowRateLimiterService(clock, meterRegistry);
+
+        // when & then
+        assertDecision(service.acquire("log-headers", 2, 10), true, 1, 10_000, 0);
+        clock.advance(5_000);
+        assertDecision(service.acquire("log-headers", 2, 10), true, 0, 10_000, 0);
+        // 첫 요청이 기간을 벗어나는 5초 뒤에 허용
+        assertDecision(service.acquire("log-headers", 2, 10), false, 0, 10_000, 5_000);
+    }
+
+    /**
+     * 슬라이딩 윈도우 카운터는 이전 윈도우의 가중치를 반영해 남은 허용량과 재시도 시간을 계산하는지 테스트합니다.
+     */
+    @Test
+    void slidingWindowCounter_Acquire_ShouldReportWeightedState() {
+        // given
+        RateLimiterService service = new InMemorySlidingWindowCounterRateLimiterService(clock, meterRegistry, 1);
+        clock.set(10_000L * 1000);
+        assertAllowed(service, "counter-headers", 10, 10, 10);
+
+        // when & then
+        // 다음 윈도우의 40% 지점: 이전 윈도우 10개 * 0.6 = 6개
+        clock.advance(14_000);
+        // 현재 윈도우의 요청은 다음 윈도우가 끝날 때까지 반영됨
+        assertDecision(service.acquire("counter-headers", 10, 10), true, 3, 16_000, 0);
+
+        // 가중 합계 10에서 2개를 요청하면 이전 윈도우의 가중치가 5개로 줄어드는 1초 뒤에 허용
+        assertAllowed(service, "counter-headers", 10, 10, 3);
+        assertDecision(service.acquire("counter-headers", 2, 10, 10), false, 0, 16_000, 1_000);
+    }
+
+    /**
+     * 슬라이딩 윈도우 카운터는 기간을 N개의 버킷으로 나누어 윈도우 시작에 걸친 버킷만 가중치로 반영하고,
+     * 버킷이 윈도우에서 벗어나면 그 요청 수를 더 이상 세지 않는지 테스트합니다.
+     */
+    @Test
+    void slidingWindowCounter_WithBuckets_ShouldWeightOnlyBoundaryBucket() {
+        // given: 10초에 10개, 버킷 5개 (버킷 크기 2초)
+        RateLimiterService service = new InMemorySlidingWindowCounterRateLimiterService(clock, meterRegistry, 5);
+        clock.set(1_000_000_000_000L);
+
+        // when & then
+        assertDecision(service.acquire("buckets", 10, 10), true, 9, 12_000, 0);
+        assertAllowed(service, "buckets", 10, 10, 9);
+        // 첫 버킷이 윈도우 시작에 걸치기 시작하는 10초 뒤부터 가중치가 줄어듦
+        assertDecision(service.acquire("buckets", 10, 10), false, 0, 12_000, 10_000);
+
+        // 첫 버킷이 윈도우 시작에 절반만 걸친 시점: 10개 * 0.5 = 5개로 계산되어 5개 더 허용
+        clock.advance(11_000);
+        assertAllowed(service, "buckets", 10, 10, 5);
+        assertFalse(service.tryAcquire("buckets", 10, 10), "경계 버킷의 가중 합계가 제한에 도달하면 거부되어야 합니다");
+
+        // 첫 버킷이 윈도우에서 완전히 벗어난 시점: 바로 앞 버킷의 5개만 남아 5개 더 허용
+        clock.advance(1_000);
+        assertAllowed(service, "buckets", 10, 10, 5);
+        assertFalse(service.tryAcquire("buckets", 10, 10), "윈도우 안의 요청 수가 제한에 도달하면 거부되어야 합니다");
+    }
+
+    /**
+     * 토큰 버킷은 남은 토큰 수와 다음 토큰이 리필될 때까지의 시간을 계산하는지 테스트합니다.
+     */
+    @Test
+    void tokenBucket_Acquire_ShouldReportTokens() {
+        // given
+        RateLimiterService service = new InMemoryTokenBucketRateLimiterService(clock, meterRegistry);
+
+        // when
+        RateLimitDecision first = service.acquire("bucket-headers", 5, 10);
+        assertAllowed(service, "bucket-headers", 5, 10, 4);
+        RateLimitDecision rejected = service.acquire("bucket-headers", 5, 10);
+
+        // then
+        // 2초마다 토큰 하나가 리필됨
+        assertDecision(first, true, 4, 2_000, 0);
+        assertDecision(rejected, false, 0, 10_000, 2_000);
+    }
+
+    /**
+     * 누수 버킷은 대기열의 빈 자리와 자리가 날 때까지의 시간을 계산하는지 테스트합니다.
+     */
+    @Test
+    void leakyBucket_Acquire_ShouldReportQueueState() {
+        // given
+        RateLimiterService service = new InMemoryLeakyBucketRateLimiterService(clock, meterRegistry);
+
+        // when
+        assertAllowed(service, "queue-headers", 3, 3, 3);
+        RateLimitDecision rejected = service.acquire("queue-headers", 3, 3);
+
+        // then
+        assertDecision(rejected, false, 0, 3_000, 1_000);
+    }
+
+    /**
+     * 기간 중에 제한이 바뀌어도(적응형 규칙, 저하 모드의 노드별 제한) 지금까지 소비한 허용량이 유지되어
+     * 새 허용량을 다시 받지 않는지 모든 알고리즘에 대해 테스트합니다.
+     */
+    @Test
+    void limitChangeMidWindow_ShouldNotGrantNewBudget() {
+        List<RateLimiterService> services = List.of(
+                new InMemoryFixedWindowRateLimiterService(clock, meterRegistry),
+                new InMemorySlidingWindowRateLimiterService(clock, meterRegistry),
+                new InMemorySlidingWindowCounterRateLimiterService(clock, meterRegistry, 10),
+                new InMemoryTokenBucketRateLimiterService(clock, meterRegistry),
+                new InMemoryLeakyBucketRateLimiterService(clock, meterRegistry),
+                new InMemoryGcraRateLimiterService(clock, meterRegistry));
+        clock.set(1_000_000_000_000L);
+
+        for (RateLimiterService service : services) {
+            String name = service.getClass().getSimpleName();
+            assertAllowed(service, "adaptive", 10, 10, 10);
+            clock.advance(100);
+
+            // 제한이 줄면 이미 소비한 허용량으로 거부
+            assertFalse(service.tryAcquire("adaptive", 9, 10), name + ": 줄어든 제한에서 새 허용량을 받으면 안 됩니다");
+            assertFalse(service.acquire("adaptive", 9, 10).allowed(), name);
+
+            // 제한이 늘어도 늘어난 만큼을 넘어서 허용하지 않음
+            int allowed = 0;
+            for (int i = 0; i < 5; i++) {
+                if (service.tryAcquire("adaptive", 11, 10)) {
+                    allowed++;
+                }
+            }
+            assertTrue(allowed <= 1, name + ": 늘어난 제한만큼만 허용되어야 합니다 (허용 " + allowed + "개)");
+        }
+    }
+
+    /**
+     * 슬라이딩 윈도우 로그는 제한이 링 버퍼 크기보다 커지면 기록을 옮긴 더 큰 버퍼로 교체하고,
+     * 다시 줄어든 제한은 기존 버퍼로 판단하는지 테스트합니다.
+     */
+    @Test
+    void slidingWindow_WhenLimitGrows_ShouldKeepLog() {
+        // given
+        RateLimiterService service = new InMemorySlidingWindowRateLimiterService(clock, meterRegistry);
+        assertAllowed(service, "growing-log", 3, 10, 3);
+
+        // when & then
+        clock.advance(1_000);
+        assertAllowed(service, "growing-log", 5, 10, 2);
+        assertFalse(service.tryAcquire("growing-log", 5, 10), "옮긴 기록과 새 요청이 제한을 채우면 거부되어야 합니다");
+        assertDecision(service.acquire("growing-log", 4, 10), false, 0, 10_000, 9_000);
+
+        // 처음 세 요청만 기간을 벗어난 시점: 줄어든 제한 4에서 기간 안의 요청 2개를 빼고 2개 허용
+        clock.advance(9_000);
+        assertAllowed(service, "growing-log", 4, 10, 2);
+        assertFalse(service.tryAcquire("growing-log", 4, 10));
+    }
+
+    private void assertDecision(RateLimitDecision decision, boolean allowed, long remaining, long resetAfter,
+                                long retryAfter) {
+        assertEquals(allowed, decision.allowed());
+        assertEquals(remaining, decision.remaining(), "남은 허용량");
+        assertEquals(clock.millis() + resetAfter, decision.resetAtMillis(), "초기화 시각");
+        assertEquals(retryAfter, decision.retryAfterMillis(), "재시도까지 남은 시간");
+    }
+
+    private void assertAllowed(RateLimiterService service, String key, long limit, long period, int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(service.tryAcquire(key, limit, period),
+                    "제한 내의 요청 " + (i + 1) + "은(는) 허용되어야 합니다");
+        }
+    }
+
+    /**
+     * 테스트에서 시간을 직접 움직일 수 있는 시계.
+     */
+    private static final class MutableClock extends Clock {
+
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void set(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long deltaMillis) {
+            this.millis += deltaMillis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package project.springratelimiter.ratelimiter.simulation;
+
+import org.junit.jupiter.api.Test;
+import project.springratelimiter.ratelimiter.annotation.RateLimit;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TraceReplaySimulator에 대한 단위 테스트.
+ * 이 테스트는 요청 기록의 시각이 가상 시계로 재생되어 알고리즘마다 같은 설정의 허용 수가 계산되고,
+ * Redis 명령 수와 키 수가 스크립트 기준으로 추정되는지 확인합니다.
+ * 슬라이딩 윈도우가 운영 환경과 같은 임계값으로 버킷 표현을 사용하는지와 가상 시계의 시간대 변환도 확인합니다.
+ */
+class TraceReplaySimulatorTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    /**
+     * 한순간에 몰린 요청은 모든 알고리즘에서 제한만큼만 허용되고, 기간이 지나면 다시 허용되는지 테스트합니다.
+     */
+    @Test
+    void replayAll_WithBurst_ShouldAdmitLimitPerAlgorithm() {
+        // given: 같은 키로 같은 시각에 100건, 기간(10초)의 두 배가 지난 뒤 1건
+        // (슬라이딩 윈도우 카운터가 이전 윈도우의 요청 수를 가중치로 더하지 않도록 두 기간 뒤에 요청)
+        Trace.Builder builder = Trace.builder();
+        for (int i = 0; i < 100; i++) {
+            builder.add(START, "10.0.0.1", 1);
+        }
+        builder.add(START + 20_000, "10.0.0.1", 1);
+        Trace trace = builder.build();
+
+        // when & then
+        for (SimulationResult result : new TraceReplaySimulator(10, 10, 10).replayAll(trace)) {
+            assertEquals(101, result.events());
+            assertEquals(11, result.admitted(), result.algorithm() + "는 순간 버스트 중 제한만큼 허용해야 합니다");
+            assertEquals(90, result.rejected());
+            assertEquals(10, result.peakAdmittedPerSecond());
+        }
+    }
+
+    /**
+     * Redis 명령 수와 최대 키 수가 스크립트의 명령과 만료 시간 기준으로 추정되는지 테스트합니다.
+     */
+    @Test
+    void replay_ShouldEstimateRedisFootprint() {
+        // given: 키 두 개가 1초 간격으로 2건씩, 세 번째 키는 두 키가 만료된 뒤(기간 10초) 요청
+        Trace trace = Trace.builder()
+                .add(START, "a", 1)
+                .add(START, "b", 1)
+                .add(START + 1_000, "a", 1)
+                .add(START + 1_000, "b", 1)
+                .add(START + 20_000, "c", 1)
+                .build();
+        TraceReplaySimulator simulator = new TraceReplaySimulator(10, 10, 10);
+
+        // when
+        SimulationResult gcra = simulator.replay(trace, RateLimit.Algorithm.GCRA);
+        SimulationResult tokenBucket = simulator.replay(trace, RateLimit.Algorithm.TOKEN_BUCKET);
+
+        // then: GCRA는 허용마다 GET, SET 두 번이고 키는 기간이 지나면 만료
+        assertEquals(5, gcra.admitted());
+        assertEquals(10, gcra.redisCommands());
+        assertEquals(2, gcra.peakRedisKeys());
+
+        // 토큰 버킷은 요청마다 HMGET, HMSET, EXPIRE 세 번이고 키는 1시간 동안 유지
+        assertEquals(15, tokenBucket.redisCommands());
+        assertEquals(3, tokenBucket.peakRedisKeys());
+    }
+
+    /**
+     * 1초당 허용 수가 요청이 없던 초를 0으로 포함하여 집계되는지 테스트합니다.
+     */
+    @Test
+    void replay_ShouldMeasureBurstiness() {
+        // given: 첫 초에 4건, 3초 뒤에 한 건 (4초 동안 허용 수 4, 0, 0, 1)
+        Trace trace = Trace.builder()
+                .add(START, "a", 1).add(START, "b", 1).add(START, "c", 1).add(START, "d", 1)
+                .add(START + 3_000, "a", 1)
+                .build();
+
+        // when
+        SimulationResult result = new TraceReplaySimulator(10, 10, 10).replay(trace, RateLimit.Algorithm.FIXED_WINDOW);
+
+        // then
+        assertEquals(4, result.peakAdmittedPerSecond());
+        assertEquals(1.25, result.meanAdmittedPerSecond(), 1e-9);
+        assertEquals(3.2, result.burstiness(), 1e-9);
+    }
+
+    /**
+     * 1초당 허용량이 허용된 요청 수가 아니라 허용된 요청의 permits 합으로 집계되는지 테스트합니다.
+     */
+    @Test
+    void replay_ShouldCountPermitsPerSecond() {
+        // given: 같은 초에 허용량 3, 4, 5를 소비하는 요청 (제한 10이므로 마지막 요청은 거부)
+        Trace trace = Trace.builder()
+                .add(START, "a", 3).add(START, "a", 4).add(START, "a", 5)
+                .build();
+
+        // when
+        SimulationResult result = new TraceReplaySimulator(10, 10, 10).replay(trace, RateLimit.Algorithm.FIXED_WINDOW);
+
+        // then
+        assertEquals(2, result.admitted());
+        assertEquals(7, result.peakAdmittedPerSecond());
+        assertEquals(7, result.meanAdmittedPerSecond(), 1e-9);
+    }
+
+    /**
+     * 슬라이딩 윈도우의 제한이 log-limit-threshold보다 크면 버킷 표현 스크립트 기준으로 판단하고 비용을 추정하는지 테스트합니다.
+     */
+    @Test
+    void replay_WhenLimitExceedsLogThreshold_ShouldUseBucketedRepresentation() {
+        // given: 같은 키로 같은 시각에 100건
+        Trace.Builder builder = Trace.builder();
+        for (int i = 0; i < 100; i++) {
+            builder.add(START, "10.0.0.1", 1);
+        }
+        Trace trace = builder.build();
+
+        // when: 제한 10, 임계값 1000(요청 로그)과 임계값 5(버킷 10개의 버킷 표현)
+        SimulationResult log = new TraceReplaySimulator(10, 10, 10)
+                .replay(trace, RateLimit.Algorithm.SLIDING_WINDOW);
+        SimulationResult bucketed = new TraceReplaySimulator(10, 10, 10, 5, 10)
+                .replay(trace, RateLimit.Algorithm.SLIDING_WINDOW);
+
+        // then: 요청 로그는 허용마다 ZREMRANGEBYSCORE, ZCARD, ZADD, EXPIRE / 거부마다 ZREMRANGEBYSCORE, ZCARD, ZRANGE 두 번
+        assertEquals(10, log.admitted());
+        assertEquals(10 * 4 + 90 * 4, log.redisCommands());
+
+        // 버킷 표현은 허용마다 TYPE, HGETALL, HINCRBY, PEXPIRE / 거부마다 TYPE, HGETALL
+        assertEquals(10, bucketed.admitted());
+        assertEquals(10 * 4 + 90 * 2, bucketed.redisCommands());
+        assertEquals(1, bucketed.peakRedisKeys());
+        assertTrue(bucketed.estimatedRedisBytes() < log.estimatedRedisBytes(),
+                "버킷 표현의 메모리는 limit이 아니라 버킷 수에 비례해야 합니다");
+    }
+
+    /**
+     * 가상 시계의 시간대를 바꾼 시계가 같은 시각을 읽고, 원래 시계의 시각 변경을 따라가는지 테스트합니다.
+     */
+    @Test
+    void withZone_ShouldShareVirtualTime() {
+        // given
+        VirtualClock clock = new VirtualClock(START);
+        ZoneId seoul = ZoneId.of("Asia/Seoul");
+
+        // when
+        Clock zoned = clock.withZone(seoul);
+        clock.set(START + 1_000);
+
+        // then
+        assertEquals(seoul, zoned.getZone());
+        assertEquals(START + 1_000, zoned.millis());
+        assertEquals(ZonedDateTime.ofInstant(clock.instant(), seoul), ZonedDateTime.now(zoned));
+        assertEquals(clock, zoned.withZone(clock.getZone()));
+    }
+
+    /**
+     * CSV 요청 기록에서 주석과 빈 줄을 건너뛰고, 시각이 감소하는 기록은 거부하는지 테스트합니다.
+     */
+    @Test
+    void read_ShouldParseCsvTrace() throws IOException {
+        // given
+        String csv = """
+                # timestamp,key,permits
+                1700000000000,10.0.0.1
+
+                1700000000004,10.0.0.2,5
+                1700000000004,10.0.0.1
+                """;
+
+        // when
+        Trace trace = Trace.read(new BufferedReader(new StringReader(csv)));
+
+        // then
+        assertEquals(3, trace.size());
+        assertEquals(2, trace.distinctKeys());
+        assertEquals(5, trace.permits(1));
+        assertEquals(4, trace.durationMillis());
+        assertThrows(IllegalArgumentException.class, () -> Trace.read(new BufferedReader(new StringReader(
+                "1700000000004,a\n1700000000000,a\n"))));
+    }
+}